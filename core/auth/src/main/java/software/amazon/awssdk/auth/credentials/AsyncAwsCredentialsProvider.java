@@ -0,0 +1,59 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.credentials;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * An {@link AwsCredentialsProvider} that can load {@link AwsCredentials} without blocking the calling thread.
+ *
+ * <p>Asynchronous clients use {@link #resolveCredentialsAsync()} to load the credentials of a request, so that a provider that
+ * needs to call a remote service to load them, such as the {@link InstanceProfileCredentialsProvider}, the
+ * {@link ContainerCredentialsProvider} or the AWS Security Token Service (STS) credentials providers, doesn't block the thread
+ * that is executing the request.</p>
+ */
+@FunctionalInterface
+@SdkPublicApi
+public interface AsyncAwsCredentialsProvider extends AwsCredentialsProvider {
+    /**
+     * Returns a future that is completed with {@link AwsCredentials} that can be used to authorize an AWS request. This must not
+     * block the calling thread.
+     *
+     * <p>If an error occurs during the loading of credentials or credentials could not be found, the returned future will be
+     * completed exceptionally.</p>
+     *
+     * @return A future of AwsCredentials which the caller can use to authorize an AWS request.
+     */
+    CompletableFuture<AwsCredentials> resolveCredentialsAsync();
+
+    /**
+     * Returns {@link AwsCredentials} that can be used to authorize an AWS request, blocking until they have been loaded by
+     * {@link #resolveCredentialsAsync()}.
+     */
+    @Override
+    default AwsCredentials resolveCredentials() {
+        try {
+            return resolveCredentialsAsync().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -20,8 +20,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
@@ -40,11 +43,14 @@ import software.amazon.awssdk.utils.Validate;
  * will continue to use that provider when credentials are requested in the future, instead of traversing the chain each time.
  * This behavior can be controlled through the {@link Builder#reuseLastProviderEnabled(Boolean)} method.</p>
  *
+ * <p>When credentials are requested with {@link #resolveCredentialsAsync()}, the providers in the chain that are
+ * {@link AsyncAwsCredentialsProvider}s are asked for credentials without blocking the calling thread.</p>
+ *
  * <p>This chain implements {@link AutoCloseable}. When closed, it will call the {@link AutoCloseable#close()} on any credential
  * providers in the chain that need to be closed.</p>
  */
 @SdkPublicApi
-public final class AwsCredentialsProviderChain implements AwsCredentialsProvider, SdkAutoCloseable {
+public final class AwsCredentialsProviderChain implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
     private static final Logger log = Logger.loggerFor(AwsCredentialsProviderChain.class);
 
     private final List<AwsCredentialsProvider> credentialsProviders;
@@ -106,10 +112,52 @@ public final class AwsCredentialsProviderChain implements AwsCredentialsProvider
             }
         }
 
-        throw SdkClientException.builder()
-                                .message("Unable to load credentials from any of the providers in the chain " +
-                                         this + " : " + exceptionMessages)
-                                .build();
+        throw noCredentialsException(exceptionMessages);
+    }
+
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        if (reuseLastProviderEnabled && lastUsedProvider != null) {
+            return CredentialUtils.resolveCredentialsAsync(lastUsedProvider);
+        }
+
+        return resolveCredentialsAsync(0, null);
+    }
+
+    /**
+     * Resolve the credentials from the provider at the given index in the chain, moving on to the next provider if it can't
+     * provide them.
+     */
+    private CompletableFuture<AwsCredentials> resolveCredentialsAsync(int providerIndex, List<String> exceptionMessages) {
+        if (providerIndex == credentialsProviders.size()) {
+            return CompletableFutureUtils.failedFuture(noCredentialsException(exceptionMessages));
+        }
+
+        AwsCredentialsProvider provider = credentialsProviders.get(providerIndex);
+        return CredentialUtils.resolveCredentialsAsync(provider).handle((credentials, t) -> {
+            if (t == null) {
+                log.debug(() -> "Loading credentials from " + provider);
+
+                lastUsedProvider = provider;
+                return CompletableFuture.completedFuture(credentials);
+            }
+
+            // Ignore any exceptions and move onto the next provider
+            Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            String message = provider + ": " + cause.getMessage();
+            log.debug(() -> "Unable to load credentials from " + message , cause);
+
+            List<String> messages = exceptionMessages == null ? new ArrayList<>() : exceptionMessages;
+            messages.add(message);
+            return resolveCredentialsAsync(providerIndex + 1, messages);
+        }).thenCompose(f -> f);
+    }
+
+    private SdkClientException noCredentialsException(List<String> exceptionMessages) {
+        return SdkClientException.builder()
+                                 .message("Unable to load credentials from any of the providers in the chain " +
+                                          this + " : " + exceptionMessages)
+                                 .build();
     }
 
     @Override
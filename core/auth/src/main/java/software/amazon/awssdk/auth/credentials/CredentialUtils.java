@@ -15,7 +15,9 @@
 
 package software.amazon.awssdk.auth.credentials;
 
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 
 @SdkProtectedApi
 public final class CredentialUtils {
@@ -30,4 +32,22 @@ public final class CredentialUtils {
     public static boolean isAnonymous(AwsCredentials credentials) {
         return credentials.secretAccessKey() == null && credentials.accessKeyId() == null;
     }
+
+    /**
+     * Resolve the credentials of the provided provider without blocking the calling thread if it's an
+     * {@link AsyncAwsCredentialsProvider}, and otherwise on the calling thread.
+     *
+     * @return A future that is completed with the credentials, or exceptionally if they could not be resolved.
+     */
+    public static CompletableFuture<AwsCredentials> resolveCredentialsAsync(AwsCredentialsProvider credentialsProvider) {
+        if (credentialsProvider instanceof AsyncAwsCredentialsProvider) {
+            return ((AsyncAwsCredentialsProvider) credentialsProvider).resolveCredentialsAsync();
+        }
+
+        try {
+            return CompletableFuture.completedFuture(credentialsProvider.resolveCredentials());
+        } catch (RuntimeException e) {
+            return CompletableFutureUtils.failedFuture(e);
+        }
+    }
 }
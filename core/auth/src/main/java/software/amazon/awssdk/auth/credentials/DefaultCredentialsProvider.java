@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.auth.credentials;
 
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.auth.credentials.internal.LazyAwsCredentialsProvider;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
@@ -39,7 +40,7 @@ import software.amazon.awssdk.utils.ToString;
  * @see InstanceProfileCredentialsProvider
  */
 @SdkPublicApi
-public final class DefaultCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+public final class DefaultCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
 
     private static final DefaultCredentialsProvider DEFAULT_CREDENTIALS_PROVIDER = new DefaultCredentialsProvider(builder());
 
@@ -100,6 +101,11 @@ public final class DefaultCredentialsProvider implements AwsCredentialsProvider,
         return providerChain.resolveCredentials();
     }
 
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        return providerChain.resolveCredentialsAsync();
+    }
+
     @Override
     public void close() {
         providerChain.close();
@@ -21,15 +21,19 @@ import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.util.json.JacksonUtils;
 import software.amazon.awssdk.regions.util.HttpResourcesUtils;
 import software.amazon.awssdk.regions.util.ResourcesEndpointProvider;
 import software.amazon.awssdk.utils.ComparableUtils;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.DateUtils;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.cache.CacheRefreshExecutor;
+import software.amazon.awssdk.utils.cache.CacheRefreshStatistics;
 import software.amazon.awssdk.utils.cache.CachedSupplier;
 import software.amazon.awssdk.utils.cache.NonBlocking;
 import software.amazon.awssdk.utils.cache.RefreshResult;
@@ -39,7 +43,7 @@ import software.amazon.awssdk.utils.cache.RefreshResult;
  * a container (e.g. an EC2 instance).
  */
 @SdkProtectedApi
-public abstract class HttpCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+public abstract class HttpCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
     private final Optional<CachedSupplier<AwsCredentials>> credentialsCache;
 
     protected HttpCredentialsProvider(BuilderImpl<?, ?> builder) {
@@ -69,9 +73,16 @@ public abstract class HttpCredentialsProvider implements AwsCredentialsProvider,
         return false;
     }
 
+    /**
+     * Load the JSON document that holds the credentials. By default, it's read from {@link #getCredentialsEndpointProvider()}.
+     */
+    String loadCredentialsResponse() throws IOException {
+        return HttpResourcesUtils.instance().readResource(getCredentialsEndpointProvider());
+    }
+
     private RefreshResult<AwsCredentials> refreshCredentials() {
         try {
-            String credentialsResponse = HttpResourcesUtils.instance().readResource(getCredentialsEndpointProvider());
+            String credentialsResponse = loadCredentialsResponse();
 
             JsonNode node = JacksonUtils.sensitiveJsonNodeOf(credentialsResponse);
             JsonNode accessKey = node.get("AccessKeyId");
@@ -138,15 +149,41 @@ public abstract class HttpCredentialsProvider implements AwsCredentialsProvider,
     @Override
     public AwsCredentials resolveCredentials() {
         if (isLocalCredentialLoadingDisabled()) {
-            throw SdkClientException.builder()
-                                    .message("Loading credentials from local endpoint is disabled. Unable to load " +
-                                             "credentials from service endpoint.")
-                                    .build();
+            throw localCredentialLoadingDisabledException();
         }
         return credentialsCache.map(CachedSupplier::get).orElseThrow(() ->
                 SdkClientException.builder().message("Unable to load credentials from service endpoint").build());
     }
 
+    /**
+     * Load the credentials without blocking the calling thread. When the cached credentials need to be refreshed, the service
+     * endpoint is called on a shared background thread.
+     */
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        if (isLocalCredentialLoadingDisabled()) {
+            return CompletableFutureUtils.failedFuture(localCredentialLoadingDisabledException());
+        }
+        return credentialsCache.map(c -> c.getAsync(CacheRefreshExecutor.get())).orElseGet(() ->
+                CompletableFutureUtils.failedFuture(SdkClientException.builder()
+                                                                      .message("Unable to load credentials from service endpoint")
+                                                                      .build()));
+    }
+
+    private static SdkClientException localCredentialLoadingDisabledException() {
+        return SdkClientException.builder()
+                                 .message("Loading credentials from local endpoint is disabled. Unable to load " +
+                                          "credentials from service endpoint.")
+                                 .build();
+    }
+
+    /**
+     * Retrieve the statistics of the calls this provider has made to the service endpoint to refresh its cached credentials.
+     */
+    public CacheRefreshStatistics refreshStatistics() {
+        return credentialsCache.map(CachedSupplier::refreshStatistics).orElseGet(() -> CacheRefreshStatistics.builder().build());
+    }
+
     @Override
     public void close() {
         credentialsCache.ifPresent(CachedSupplier::close);
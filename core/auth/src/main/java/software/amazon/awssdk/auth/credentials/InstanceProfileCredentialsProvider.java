@@ -15,17 +15,12 @@
 
 package software.amazon.awssdk.auth.credentials;
 
-import java.io.IOException;
 import java.net.URI;
-import java.util.HashMap;
-import java.util.Map;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.core.exception.SdkClientException;
-
-import software.amazon.awssdk.core.internal.util.UserAgentUtils;
-import software.amazon.awssdk.regions.internal.util.EC2MetadataUtils;
-import software.amazon.awssdk.regions.util.HttpResourcesUtils;
+import software.amazon.awssdk.regions.internal.util.Ec2MetadataClient;
 import software.amazon.awssdk.regions.util.ResourcesEndpointProvider;
 import software.amazon.awssdk.utils.ToString;
 
@@ -35,18 +30,23 @@ import software.amazon.awssdk.utils.ToString;
  * <P>
  * If {@link SdkSystemSetting#AWS_EC2_METADATA_DISABLED} is set to true, it will not try to load
  * credentials from EC2 metadata service and will return null.
+ *
+ * <p>The credentials are loaded through the metadata client that is shared by the SDK, so that all the providers in the
+ * process reuse one session token and the connections to the metadata service, instead of requesting a new token for every
+ * refresh.
  */
 @SdkPublicApi
 public final class InstanceProfileCredentialsProvider extends HttpCredentialsProvider {
-    private static final String EC2_METADATA_TOKEN_HEADER = "x-aws-ec2-metadata-token";
-
     private static final String SECURITY_CREDENTIALS_RESOURCE = "/latest/meta-data/iam/security-credentials/";
 
+    private final Ec2MetadataClient metadataClient;
+
     /**
      * @see #builder()
      */
     private InstanceProfileCredentialsProvider(BuilderImpl builder) {
         super(builder);
+        this.metadataClient = builder.metadataClient;
     }
 
     /**
@@ -65,9 +65,19 @@ public final class InstanceProfileCredentialsProvider extends HttpCredentialsPro
         return builder().build();
     }
 
+    @Override
+    String loadCredentialsResponse() {
+        return metadataClient.getData(SECURITY_CREDENTIALS_RESOURCE + roleName());
+    }
+
+    /**
+     * The endpoint of the credentials of the instance's role. The credentials are loaded through the metadata client by
+     * {@link #loadCredentialsResponse()}, which also authenticates the requests with the client's session token.
+     */
     @Override
     protected ResourcesEndpointProvider getCredentialsEndpointProvider() {
-        return new InstanceProviderCredentialsEndpointProvider(getToken());
+        return () -> URI.create(SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.getStringValueOrThrow() +
+                                SECURITY_CREDENTIALS_RESOURCE + roleName());
     }
 
     @Override
@@ -80,70 +90,14 @@ public final class InstanceProfileCredentialsProvider extends HttpCredentialsPro
         return ToString.create("InstanceProfileCredentialsProvider");
     }
 
-    private String getToken() {
-        return EC2MetadataUtils.getToken();
-    }
-
-    private static ResourcesEndpointProvider includeTokenHeader(ResourcesEndpointProvider provider, String token) {
-        return new ResourcesEndpointProvider() {
-            @Override
-            public URI endpoint() throws IOException {
-                return provider.endpoint();
-            }
-
-            @Override
-            public Map<String, String> headers() {
-                Map<String, String> headers = new HashMap<>(provider.headers());
-                headers.put(EC2_METADATA_TOKEN_HEADER, token);
-                return headers;
-            }
-        };
-    }
-
-    private static final class InstanceProviderCredentialsEndpointProvider implements ResourcesEndpointProvider {
-        private final String metadataToken;
-
-        private InstanceProviderCredentialsEndpointProvider(String metadataToken) {
-            this.metadataToken = metadataToken;
-        }
-
-        @Override
-        public URI endpoint() throws IOException {
-            String host = SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.getStringValueOrThrow();
-
-            URI endpoint = URI.create(host + SECURITY_CREDENTIALS_RESOURCE);
-            ResourcesEndpointProvider endpointProvider = () -> endpoint;
-
-            if (metadataToken != null) {
-                endpointProvider = includeTokenHeader(endpointProvider, metadataToken);
-            }
-
-            String securityCredentialsList = HttpResourcesUtils.instance().readResource(endpointProvider);
-            String[] securityCredentials = securityCredentialsList.trim().split("\n");
-
-            if (securityCredentials.length == 0) {
-                throw SdkClientException.builder().message("Unable to load credentials path").build();
-            }
-
-            return URI.create(host + SECURITY_CREDENTIALS_RESOURCE + securityCredentials[0]);
-        }
-
-        @Override
-        public Map<String, String> headers() {
-            Map<String, String> requestHeaders = new HashMap<>();
-            requestHeaders.put("User-Agent", UserAgentUtils.getUserAgent());
-            requestHeaders.put("Accept", "*/*");
-            requestHeaders.put("Connection", "keep-alive");
-
-            if (metadataToken != null) {
-                requestHeaders.put(EC2_METADATA_TOKEN_HEADER, metadataToken);
-            }
-
-            return requestHeaders;
+    private String roleName() {
+        String[] securityCredentials = metadataClient.getData(SECURITY_CREDENTIALS_RESOURCE).trim().split("\n");
+        if (securityCredentials[0].isEmpty()) {
+            throw SdkClientException.builder().message("Unable to load credentials path").build();
         }
+        return securityCredentials[0];
     }
 
-
     /**
      * A builder for creating a custom a {@link InstanceProfileCredentialsProvider}.
      */
@@ -156,14 +110,22 @@ public final class InstanceProfileCredentialsProvider extends HttpCredentialsPro
         InstanceProfileCredentialsProvider build();
     }
 
-    private static final class BuilderImpl
+    static final class BuilderImpl
         extends HttpCredentialsProvider.BuilderImpl<InstanceProfileCredentialsProvider, Builder>
         implements Builder {
 
-        private BuilderImpl() {
+        private Ec2MetadataClient metadataClient = Ec2MetadataClient.getInstance();
+
+        BuilderImpl() {
             super.asyncThreadName("instance-profile-credentials-provider");
         }
 
+        @SdkTestInternalApi
+        Builder metadataClient(Ec2MetadataClient metadataClient) {
+            this.metadataClient = metadataClient;
+            return this;
+        }
+
         @Override
         public InstanceProfileCredentialsProvider build() {
             return new InstanceProfileCredentialsProvider(this);
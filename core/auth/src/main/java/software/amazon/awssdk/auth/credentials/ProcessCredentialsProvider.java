@@ -24,16 +24,19 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
-import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
 import software.amazon.awssdk.core.util.json.JacksonUtils;
 import software.amazon.awssdk.utils.DateUtils;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.Platform;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.cache.CacheRefreshExecutor;
+import software.amazon.awssdk.utils.cache.CacheRefreshStatistics;
 import software.amazon.awssdk.utils.cache.CachedSupplier;
 import software.amazon.awssdk.utils.cache.NonBlocking;
 import software.amazon.awssdk.utils.cache.RefreshResult;
@@ -54,10 +57,15 @@ import software.amazon.awssdk.utils.cache.RefreshResult;
  *     seconds.</li>
  *     <li>ProcessOutputLimit - The maximum amount of data that can be returned by the external process before an exception is
  *     raised. Default: 64000 bytes (64KB).</li>
+ *     <li>AsyncCredentialUpdateEnabled - Whether the credentials should be refreshed by a background thread before they expire,
+ *     so that no caller waits for the process to run. Default: false.</li>
  * </ul>
+ *
+ * If asynchronous credential updates are enabled, this provider should be closed with {@link #close()} when it's no longer
+ * needed, so that it stops refreshing its credentials.
  */
 @SdkPublicApi
-public final class ProcessCredentialsProvider implements AwsCredentialsProvider {
+public final class ProcessCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
     private final List<String> command;
     private final Duration credentialRefreshThreshold;
     private final long processOutputLimit;
@@ -88,7 +96,7 @@ public final class ProcessCredentialsProvider implements AwsCredentialsProvider
 
         CachedSupplier.Builder<AwsCredentials> cacheBuilder = CachedSupplier.builder(this::refreshCredentials);
         if (builder.asyncCredentialUpdateEnabled) {
-            cacheBuilder.prefetchStrategy(new NonBlocking("process-credentials-provider"));
+            cacheBuilder.prefetchStrategy(new NonBlocking("process-credentials-provider", true));
         }
 
         this.processCredentialCache = cacheBuilder.build();
@@ -106,6 +114,28 @@ public final class ProcessCredentialsProvider implements AwsCredentialsProvider
         return processCredentialCache.get();
     }
 
+    /**
+     * Load the credentials without blocking the calling thread. When the cached credentials need to be refreshed, the process is
+     * executed on a shared background thread.
+     */
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        return processCredentialCache.getAsync(CacheRefreshExecutor.get());
+    }
+
+    /**
+     * Retrieve the statistics of the runs of the credentials process that this provider has made to refresh its cached
+     * credentials.
+     */
+    public CacheRefreshStatistics refreshStatistics() {
+        return processCredentialCache.refreshStatistics();
+    }
+
+    @Override
+    public void close() {
+        processCredentialCache.close();
+    }
+
     private RefreshResult<AwsCredentials> refreshCredentials() {
         try {
             String processOutput = executeCommand();
@@ -230,8 +260,11 @@ public final class ProcessCredentialsProvider implements AwsCredentialsProvider
         private Builder() {}
 
         /**
-         * Configure whether the provider should fetch credentials asynchronously in the background. If this is true, threads are
-         * less likely to block when credentials are loaded, but additional resources are used to maintain the provider.
+         * Configure whether the provider should fetch credentials asynchronously in the background. If this is true, the process
+         * is run by a background thread when the {@link #credentialRefreshThreshold(Duration)} before the credentials expire is
+         * reached, even if no credentials are resolved at that time. At most one process runs at a time, and callers keep
+         * getting the current credentials while it runs, so they only wait for the process if the credentials have expired.
+         * The provider should then be closed when it's no longer needed.
          *
          * <p>By default, this is disabled.</p>
          */
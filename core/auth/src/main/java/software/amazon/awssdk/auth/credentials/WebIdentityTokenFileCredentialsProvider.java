@@ -20,10 +20,12 @@ import static software.amazon.awssdk.utils.StringUtils.trim;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.auth.credentials.internal.WebIdentityCredentialsUtils;
 import software.amazon.awssdk.auth.credentials.internal.WebIdentityTokenCredentialProperties;
 import software.amazon.awssdk.core.SdkSystemSetting;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.ToString;
 
 /**
@@ -33,7 +35,7 @@ import software.amazon.awssdk.utils.ToString;
  * the 'sts' module to be on the classpath.
  */
 @SdkPublicApi
-public class WebIdentityTokenFileCredentialsProvider implements AwsCredentialsProvider {
+public class WebIdentityTokenFileCredentialsProvider implements AsyncAwsCredentialsProvider {
 
     private final AwsCredentialsProvider credentialsProvider;
     private final RuntimeException loadException;
@@ -87,6 +89,14 @@ public class WebIdentityTokenFileCredentialsProvider implements AwsCredentialsPr
         return credentialsProvider.resolveCredentials();
     }
 
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        if (loadException != null) {
+            return CompletableFutureUtils.failedFuture(loadException);
+        }
+        return CredentialUtils.resolveCredentialsAsync(credentialsProvider);
+    }
+
     public static Builder builder() {
         return new BuilderImpl();
     }
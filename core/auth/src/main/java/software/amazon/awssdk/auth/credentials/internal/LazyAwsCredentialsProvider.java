@@ -15,10 +15,13 @@
 
 package software.amazon.awssdk.auth.credentials.internal;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.auth.credentials.AsyncAwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.CredentialUtils;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.ToString;
@@ -28,7 +31,7 @@ import software.amazon.awssdk.utils.ToString;
  * {@link AwsCredentialsProvider#resolveCredentials()} method is invoked.
  */
 @SdkInternalApi
-public class LazyAwsCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+public class LazyAwsCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
     private final Supplier<AwsCredentialsProvider> delegateConstructor;
     private volatile AwsCredentialsProvider delegate;
 
@@ -42,6 +45,15 @@ public class LazyAwsCredentialsProvider implements AwsCredentialsProvider, SdkAu
 
     @Override
     public AwsCredentials resolveCredentials() {
+        return delegate().resolveCredentials();
+    }
+
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        return CredentialUtils.resolveCredentialsAsync(delegate());
+    }
+
+    private AwsCredentialsProvider delegate() {
         if (delegate == null) {
             synchronized (this) {
                 if (delegate == null) {
@@ -49,7 +61,7 @@ public class LazyAwsCredentialsProvider implements AwsCredentialsProvider, SdkAu
                 }
             }
         }
-        return delegate.resolveCredentials();
+        return delegate;
     }
 
     @Override
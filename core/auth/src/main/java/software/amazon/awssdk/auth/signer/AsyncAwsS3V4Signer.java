@@ -0,0 +1,141 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer;
+
+import static software.amazon.awssdk.auth.signer.internal.SignerConstant.X_AMZ_CONTENT_SHA256;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.auth.signer.internal.Aws4SignerRequestParams;
+import software.amazon.awssdk.auth.signer.internal.Aws4SignerUtils;
+import software.amazon.awssdk.auth.signer.internal.AwsChunkedEncodingInputStream;
+import software.amazon.awssdk.auth.signer.internal.AwsChunkedEncodingPublisher;
+import software.amazon.awssdk.auth.signer.internal.BaseAsyncAws4Signer;
+import software.amazon.awssdk.auth.signer.params.Aws4PresignerParams;
+import software.amazon.awssdk.auth.signer.params.Aws4SignerParams;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+
+/**
+ * AWS4 signer implementation for the S3 asynchronous clients, which signs the payload of uploads as it's sent, using the
+ * aws-chunked encoding, as {@link AwsS3V4Signer} does with chunked encoding enabled. The payload is read once, rather than once
+ * to compute its hash and once to send it, and isn't buffered.
+ *
+ * <p>The payload is signed as it's sent when the request body is asynchronous and of known length. The small payloads of
+ * requests that hold their content are hashed up front, as {@link Aws4Signer} does, and the other payloads are sent
+ * unsigned.
+ *
+ * <p>To use it, override the signer of the asynchronous client:
+ * <pre>
+ * S3AsyncClient.builder()
+ *              .overrideConfiguration(o -&gt; o.putAdvancedOption(SdkAdvancedClientOption.SIGNER, AsyncAwsS3V4Signer.create()))
+ *              .build();
+ * </pre>
+ */
+@SdkPublicApi
+public final class AsyncAwsS3V4Signer extends BaseAsyncAws4Signer {
+
+    private static final String CONTENT_SHA_256 = "STREAMING-AWS4-HMAC-SHA256-PAYLOAD";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final String CONTENT_LENGTH = "Content-Length";
+    private static final String DECODED_CONTENT_LENGTH = "x-amz-decoded-content-length";
+    private static final String X_AMZ_DATE = "X-Amz-Date";
+
+    private AsyncAwsS3V4Signer() {
+    }
+
+    public static AsyncAwsS3V4Signer create() {
+        return new AsyncAwsS3V4Signer();
+    }
+
+    @Override
+    public AsyncRequestBody signAsyncRequestBody(SdkHttpFullRequest request, AsyncRequestBody asyncRequestBody,
+                                                 ExecutionAttributes executionAttributes) {
+        boolean chunkEncoded = request.firstMatchingHeader(X_AMZ_CONTENT_SHA256)
+                                      .filter(CONTENT_SHA_256::equals)
+                                      .isPresent();
+        if (!chunkEncoded || asyncRequestBody == null) {
+            return asyncRequestBody;
+        }
+
+        // The chunks must be signed with the date and scope the headers were signed with, which may be in an earlier second,
+        // or day, than now.
+        Aws4SignerParams signingParams = extractSignerParams(Aws4SignerParams.builder(), executionAttributes)
+            .signingClockOverride(Clock.fixed(headerSigningTime(request), ZoneOffset.UTC))
+            .build();
+        return signAsync(request, asyncRequestBody, new Aws4SignerRequestParams(signingParams), signingParams);
+    }
+
+    private static Instant headerSigningTime(SdkHttpFullRequest request) {
+        String signingDateTime = request.firstMatchingHeader(X_AMZ_DATE).orElseThrow(
+            () -> SdkClientException.builder().message(X_AMZ_DATE + " is missing from the signed request.").build());
+        try {
+            return Aws4SignerUtils.parseTimestamp(signingDateTime);
+        } catch (DateTimeParseException e) {
+            throw SdkClientException.builder()
+                                    .message("Unable to parse " + X_AMZ_DATE + " of the signed request: " + signingDateTime)
+                                    .cause(e)
+                                    .build();
+        }
+    }
+
+    @Override
+    protected AsyncRequestBody transformRequestProvider(String headerSignature,
+                                                        byte[] signingKey,
+                                                        Aws4SignerRequestParams signerRequestParams,
+                                                        Aws4SignerParams signerParams,
+                                                        AsyncRequestBody asyncRequestBody) {
+        return new AwsChunkedEncodingPublisher(asyncRequestBody,
+                                               signingKey,
+                                               signerRequestParams.getFormattedRequestSigningDateTime(),
+                                               signerRequestParams.getScope(),
+                                               headerSignature);
+    }
+
+    /**
+     * Returns the pre-defined header value and sets the headers of a chunk-encoded request, if the request has an asynchronous
+     * body of known length. The payload of a request that holds its content, which is small, is hashed up front, and a body of
+     * unknown length is sent unsigned.
+     */
+    @Override
+    protected String calculateContentHash(SdkHttpFullRequest.Builder mutableRequest, Aws4SignerParams signerParams) {
+        Optional<Long> contentLength = mutableRequest.firstMatchingHeader(CONTENT_LENGTH).map(Long::parseLong);
+        String contentSha256;
+        if (mutableRequest.contentStreamProvider() != null) {
+            contentSha256 = super.calculateContentHash(mutableRequest, signerParams);
+        } else if (contentLength.isPresent() && contentLength.get() > 0) {
+            mutableRequest.putHeader(DECODED_CONTENT_LENGTH, Long.toString(contentLength.get()));
+            mutableRequest.putHeader(CONTENT_LENGTH, Long.toString(
+                AwsChunkedEncodingInputStream.calculateStreamContentLength(contentLength.get())));
+            contentSha256 = CONTENT_SHA_256;
+        } else {
+            contentSha256 = UNSIGNED_PAYLOAD;
+        }
+        mutableRequest.putHeader(X_AMZ_CONTENT_SHA256, contentSha256);
+        return contentSha256;
+    }
+
+    @Override
+    protected String calculateContentHashPresign(SdkHttpFullRequest.Builder mutableRequest, Aws4PresignerParams signerParams) {
+        return UNSIGNED_PAYLOAD;
+    }
+}
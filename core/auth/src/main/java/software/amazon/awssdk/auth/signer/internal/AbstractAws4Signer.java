@@ -15,16 +15,12 @@
 
 package software.amazon.awssdk.auth.signer.internal;
 
-import static software.amazon.awssdk.utils.DateUtils.numberOfDaysSinceEpoch;
-import static software.amazon.awssdk.utils.StringUtils.lowerCase;
-
 import java.io.InputStream;
-import java.nio.charset.Charset;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
@@ -38,6 +34,7 @@ import software.amazon.awssdk.core.signer.Presigner;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
 /**
@@ -52,9 +49,6 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
     public static final String EMPTY_STRING_SHA256_HEX = BinaryUtils.toHex(hash(""));
 
     private static final Logger LOG = Logger.loggerFor(Aws4Signer.class);
-    private static final int SIGNER_CACHE_MAX_SIZE = 300;
-    private static final FifoCache<SignerKey> SIGNER_CACHE =
-        new FifoCache<>(SIGNER_CACHE_MAX_SIZE);
     private static final List<String> LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE =
         Arrays.asList("connection", "x-amzn-trace-id", "user-agent", "expect");
 
@@ -76,16 +70,19 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                       .filter(h -> h.equals("required"))
                       .ifPresent(h -> mutableRequest.putHeader(SignerConstant.X_AMZ_CONTENT_SHA256, contentSha256));
 
-        String canonicalRequest = createCanonicalRequest(mutableRequest, contentSha256, signingParams.doubleUrlEncode());
+        SigningBuffers buffers = SigningBuffers.get();
+        String signedHeaders = sortSignedHeaders(buffers, mutableRequest.headers());
+
+        createCanonicalRequest(buffers, mutableRequest, signedHeaders, contentSha256, signingParams.doubleUrlEncode());
 
-        String stringToSign = createStringToSign(canonicalRequest, requestParams);
+        createStringToSign(buffers, requestParams);
 
         byte[] signingKey = deriveSigningKey(sanitizedCredentials, requestParams);
 
-        byte[] signature = computeSignature(stringToSign, signingKey);
+        byte[] signature = computeSignature(buffers, signingKey);
 
         mutableRequest.putHeader(SignerConstant.AUTHORIZATION,
-                                 buildAuthorizationHeader(signature, sanitizedCredentials, requestParams, mutableRequest));
+                                 buildAuthorizationHeader(signature, sanitizedCredentials, requestParams, signedHeaders));
 
         processRequestPayload(mutableRequest, signature, signingKey, requestParams, signingParams);
 
@@ -110,18 +107,21 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                                                 ((AwsSessionCredentials) sanitizedCredentials).sessionToken());
         }
 
+        SigningBuffers buffers = SigningBuffers.get();
+        String signedHeaders = sortSignedHeaders(buffers, mutableRequest.headers());
+
         // Add the important parameters for v4 signing
-        addPreSignInformationToRequest(mutableRequest, sanitizedCredentials, requestParams, expirationInSeconds);
+        addPreSignInformationToRequest(mutableRequest, sanitizedCredentials, requestParams, expirationInSeconds, signedHeaders);
 
         String contentSha256 = calculateContentHashPresign(mutableRequest, signingParams);
 
-        String canonicalRequest = createCanonicalRequest(mutableRequest, contentSha256, signingParams.doubleUrlEncode());
+        createCanonicalRequest(buffers, mutableRequest, signedHeaders, contentSha256, signingParams.doubleUrlEncode());
 
-        String stringToSign = createStringToSign(canonicalRequest, requestParams);
+        createStringToSign(buffers, requestParams);
 
         byte[] signingKey = deriveSigningKey(sanitizedCredentials, requestParams);
 
-        byte[] signature = computeSignature(stringToSign, signingKey);
+        byte[] signature = computeSignature(buffers, signingKey);
 
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_SIGNATURE, BinaryUtils.toHex(signature));
 
@@ -161,24 +161,10 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
      * .com/general/latest/gr/sigv4-calculate-signature.html
      */
     protected byte[] deriveSigningKey(AwsCredentials credentials, Aws4SignerRequestParams signerRequestParams) {
-
-        String cacheKey = computeSigningCacheKeyName(credentials, signerRequestParams);
-        long daysSinceEpochSigningDate = numberOfDaysSinceEpoch(signerRequestParams.getRequestSigningDateTimeMilli());
-
-        SignerKey signerKey = SIGNER_CACHE.get(cacheKey);
-
-        if (signerKey != null && daysSinceEpochSigningDate == signerKey.getNumberOfDaysSinceEpoch()) {
-            return signerKey.getSigningKey();
-        }
-
-        LOG.trace(() -> "Generating a new signing key as the signing key not available in the cache for the date: " +
-            TimeUnit.DAYS.toMillis(daysSinceEpochSigningDate));
-        byte[] signingKey = newSigningKey(credentials,
-            signerRequestParams.getFormattedRequestSigningDate(),
-            signerRequestParams.getRegionName(),
-            signerRequestParams.getServiceSigningName());
-        SIGNER_CACHE.add(cacheKey, new SignerKey(daysSinceEpochSigningDate, signingKey));
-        return signingKey;
+        return SigningKeyCache.getInstance().signingKey(credentials.secretAccessKey(),
+                                                        signerRequestParams.getRequestSigningDateTimeMilli(),
+                                                        signerRequestParams.getRegionName(),
+                                                        signerRequestParams.getServiceSigningName());
     }
 
     /**
@@ -186,56 +172,55 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
      * http://docs.aws
      * .amazon.com/general/latest/gr/sigv4-create-canonical-request.html to
      * generate the canonical request.
+     *
+     * The canonical request is left in the character buffer of the given buffers, rather than copied into a string.
      */
-    private String createCanonicalRequest(SdkHttpFullRequest.Builder request,
-                                          String contentSha256,
-                                          boolean doubleUrlEncode) {
-
-        String canonicalRequest = request.method().toString() +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  // This would optionally double url-encode the resource path
-                                  getCanonicalizedResourcePath(request.encodedPath(), doubleUrlEncode) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  getCanonicalizedQueryString(request.rawQueryParameters()) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  getCanonicalizedHeaderString(request.headers()) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  getSignedHeadersString(request.headers()) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  contentSha256;
+    private void createCanonicalRequest(SigningBuffers buffers,
+                                        SdkHttpFullRequest.Builder request,
+                                        String signedHeaders,
+                                        String contentSha256,
+                                        boolean doubleUrlEncode) {
+
+        StringBuilder canonicalRequest = buffers.chars();
+        canonicalRequest.append(request.method().toString())
+                        .append(SignerConstant.LINE_SEPARATOR)
+                        // This would optionally double url-encode the resource path
+                        .append(getCanonicalizedResourcePath(request.encodedPath(), doubleUrlEncode))
+                        .append(SignerConstant.LINE_SEPARATOR)
+                        .append(getCanonicalizedQueryString(request.rawQueryParameters()))
+                        .append(SignerConstant.LINE_SEPARATOR);
+        appendCanonicalizedHeaders(canonicalRequest, buffers.headerNames(), request.headers());
+        canonicalRequest.append(SignerConstant.LINE_SEPARATOR)
+                        .append(signedHeaders)
+                        .append(SignerConstant.LINE_SEPARATOR)
+                        .append(contentSha256);
 
         LOG.trace(() -> "AWS4 Canonical Request: " + canonicalRequest);
-        return canonicalRequest;
     }
 
     /**
      * Step 2 of the AWS Signature version 4 calculation. Refer to
      * http://docs.aws
      * .amazon.com/general/latest/gr/sigv4-create-string-to-sign.html.
+     *
+     * The string to sign replaces the canonical request in the character buffer of the given buffers.
      */
-    private String createStringToSign(String canonicalRequest,
-                                      Aws4SignerRequestParams requestParams) {
-
-        String stringToSign = requestParams.getSigningAlgorithm() +
-                                    SignerConstant.LINE_SEPARATOR +
-                                    requestParams.getFormattedRequestSigningDateTime() +
-                                    SignerConstant.LINE_SEPARATOR +
-                                    requestParams.getScope() +
-                                    SignerConstant.LINE_SEPARATOR +
-                                    BinaryUtils.toHex(hash(canonicalRequest));
+    private void createStringToSign(SigningBuffers buffers,
+                                    Aws4SignerRequestParams requestParams) {
 
-        LOG.debug(() -> "AWS4 String to sign: " + stringToSign);
-        return stringToSign;
-    }
+        byte[] canonicalRequestHash = buffers.hashChars();
+        buffers.clearChars();
 
+        StringBuilder stringToSign = buffers.chars();
+        stringToSign.append(requestParams.getSigningAlgorithm())
+                    .append(SignerConstant.LINE_SEPARATOR)
+                    .append(requestParams.getFormattedRequestSigningDateTime())
+                    .append(SignerConstant.LINE_SEPARATOR)
+                    .append(requestParams.getScope())
+                    .append(SignerConstant.LINE_SEPARATOR);
+        buffers.appendHex(canonicalRequestHash);
 
-    /**
-     * Computes the name to be used to reference the signing key in the cache.
-     */
-    private String computeSigningCacheKeyName(AwsCredentials credentials,
-                                              Aws4SignerRequestParams signerRequestParams) {
-        return credentials.secretAccessKey() + "-" + signerRequestParams.getRegionName() + "-" +
-               signerRequestParams.getServiceSigningName();
+        LOG.debug(() -> "AWS4 String to sign: " + stringToSign);
     }
 
     /**
@@ -244,9 +229,17 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
      * http://docs.aws.amazon
      * .com/general/latest/gr/sigv4-calculate-signature.html
      */
-    private byte[] computeSignature(String stringToSign, byte[] signingKey) {
-        return sign(stringToSign.getBytes(Charset.forName("UTF-8")), signingKey,
-                    SigningAlgorithm.HmacSHA256);
+    private byte[] computeSignature(SigningBuffers buffers, byte[] signingKey) {
+        try {
+            Mac mac = SigningAlgorithm.HmacSHA256.getMac();
+            mac.init(new SecretKeySpec(signingKey, SigningAlgorithm.HmacSHA256.toString()));
+            return buffers.macChars(mac);
+        } catch (Exception e) {
+            throw SdkClientException.builder()
+                                    .message("Unable to calculate a request signature: " + e.getMessage())
+                                    .cause(e)
+                                    .build();
+        }
     }
 
     /**
@@ -255,15 +248,12 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
     private String buildAuthorizationHeader(byte[] signature,
                                             AwsCredentials credentials,
                                             Aws4SignerRequestParams signerParams,
-                                            SdkHttpFullRequest.Builder mutableRequest) {
-
-        String signingCredentials = credentials.accessKeyId() + "/" + signerParams.getScope();
-        String credential = "Credential=" + signingCredentials;
-        String signerHeaders = "SignedHeaders=" +
-                               getSignedHeadersString(mutableRequest.headers());
-        String signatureHeader = "Signature=" + BinaryUtils.toHex(signature);
+                                            String signedHeaders) {
 
-        return SignerConstant.AWS4_SIGNING_ALGORITHM + " " + credential + ", " + signerHeaders + ", " + signatureHeader;
+        return SignerConstant.AWS4_SIGNING_ALGORITHM + " " +
+               "Credential=" + credentials.accessKeyId() + "/" + signerParams.getScope() + ", " +
+               "SignedHeaders=" + signedHeaders + ", " +
+               "Signature=" + BinaryUtils.toHex(signature);
     }
 
     /**
@@ -272,33 +262,55 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
     private void addPreSignInformationToRequest(SdkHttpFullRequest.Builder mutableRequest,
                                                 AwsCredentials sanitizedCredentials,
                                                 Aws4SignerRequestParams signerParams,
-                                                long expirationInSeconds) {
+                                                long expirationInSeconds,
+                                                String signedHeaders) {
 
         String signingCredentials = sanitizedCredentials.accessKeyId() + "/" + signerParams.getScope();
 
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_ALGORITHM, SignerConstant.AWS4_SIGNING_ALGORITHM);
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_DATE, signerParams.getFormattedRequestSigningDateTime());
-        mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_SIGNED_HEADER,
-                                            getSignedHeadersString(mutableRequest.headers()));
+        mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_SIGNED_HEADER, signedHeaders);
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_EXPIRES,
                                             Long.toString(expirationInSeconds));
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_CREDENTIAL, signingCredentials);
     }
 
 
-    private String getCanonicalizedHeaderString(Map<String, List<String>> headers) {
-        List<String> sortedHeaders = new ArrayList<>(headers.keySet());
+    /**
+     * Sort the names of the headers to sign into the header name list of the given buffers.
+     *
+     * @return The signed headers string: the lower-case names of the sorted headers, separated by semicolons.
+     */
+    private String sortSignedHeaders(SigningBuffers buffers, Map<String, List<String>> headers) {
+        List<String> sortedHeaders = buffers.headerNames();
+        for (String header : headers.keySet()) {
+            if (!shouldExcludeHeaderFromSigning(header)) {
+                sortedHeaders.add(header);
+            }
+        }
         sortedHeaders.sort(String.CASE_INSENSITIVE_ORDER);
 
-        StringBuilder buffer = new StringBuilder();
+        StringBuilder buffer = buffers.chars();
         for (String header : sortedHeaders) {
-            if (shouldExcludeHeaderFromSigning(header)) {
-                continue;
+            if (buffer.length() > 0) {
+                buffer.append(";");
             }
-            String key = lowerCase(header);
+            appendLowerCase(buffer, header);
+        }
+
+        String signedHeaders = buffer.toString();
+        buffers.clearChars();
+        return signedHeaders;
+    }
 
+    private void appendCanonicalizedHeaders(StringBuilder buffer,
+                                            List<String> sortedHeaders,
+                                            Map<String, List<String>> headers) {
+        for (String header : sortedHeaders) {
             for (String headerValue : headers.get(header)) {
-                appendCompactedString(buffer, key);
+                int keyStart = buffer.length();
+                appendLowerCase(buffer, header);
+                compactWhiteSpace(buffer, keyStart);
                 buffer.append(":");
                 if (headerValue != null) {
                     appendCompactedString(buffer, headerValue);
@@ -306,8 +318,47 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                 buffer.append("\n");
             }
         }
+    }
+
+    /**
+     * Appends the lower-case form of the given header name, as {@link StringUtils#lowerCase(String)} would produce it, without
+     * creating a new string for the usual ASCII name.
+     */
+    private void appendLowerCase(StringBuilder destination, String source) {
+        int start = destination.length();
+        int length = source.length();
+        for (int i = 0; i < length; i++) {
+            char ch = source.charAt(i);
+            if (ch >= 0x80) {
+                destination.setLength(start);
+                destination.append(StringUtils.lowerCase(source));
+                return;
+            }
+            destination.append(ch >= 'A' && ch <= 'Z' ? (char) (ch + ('a' - 'A')) : ch);
+        }
+    }
 
-        return buffer.toString();
+    /**
+     * Collapses contiguous white space into a single space in the destination, from the given index to its end.
+     */
+    private void compactWhiteSpace(StringBuilder destination, int start) {
+        int length = destination.length();
+        int write = start;
+        boolean previousIsWhiteSpace = false;
+        for (int read = start; read < length; read++) {
+            char ch = destination.charAt(read);
+            if (isWhiteSpace(ch)) {
+                if (previousIsWhiteSpace) {
+                    continue;
+                }
+                ch = ' ';
+                previousIsWhiteSpace = true;
+            } else {
+                previousIsWhiteSpace = false;
+            }
+            destination.setCharAt(write++, ch);
+        }
+        destination.setLength(write);
     }
 
     /**
@@ -351,26 +402,13 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
         return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000b' || ch == '\r' || ch == '\f';
     }
 
-    private String getSignedHeadersString(Map<String, List<String>> headers) {
-        List<String> sortedHeaders = new ArrayList<>(headers.keySet());
-        sortedHeaders.sort(String.CASE_INSENSITIVE_ORDER);
-
-        StringBuilder buffer = new StringBuilder();
-        for (String header : sortedHeaders) {
-            if (shouldExcludeHeaderFromSigning(header)) {
-                continue;
-            }
-            if (buffer.length() > 0) {
-                buffer.append(";");
+    private boolean shouldExcludeHeaderFromSigning(String header) {
+        for (String ignoredHeader : LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE) {
+            if (ignoredHeader.equalsIgnoreCase(header)) {
+                return true;
             }
-            buffer.append(lowerCase(header));
         }
-
-        return buffer.toString();
-    }
-
-    private boolean shouldExcludeHeaderFromSigning(String header) {
-        return LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE.contains(lowerCase(header));
+        return false;
     }
 
     private void addHostHeader(SdkHttpFullRequest.Builder mutableRequest) {
@@ -412,20 +450,6 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
         return expirationInSeconds;
     }
 
-    /**
-     * Generates a new signing key from the given parameters and returns it.
-     */
-    private byte[] newSigningKey(AwsCredentials credentials,
-                                 String dateStamp, String regionName, String serviceName) {
-        byte[] kSecret = ("AWS4" + credentials.secretAccessKey())
-            .getBytes(Charset.forName("UTF-8"));
-        byte[] kDate = sign(dateStamp, kSecret, SigningAlgorithm.HmacSHA256);
-        byte[] kRegion = sign(regionName, kDate, SigningAlgorithm.HmacSHA256);
-        byte[] kService = sign(serviceName, kRegion,
-                               SigningAlgorithm.HmacSHA256);
-        return sign(SignerConstant.AWS4_TERMINATOR, kService, SigningAlgorithm.HmacSHA256);
-    }
-
     protected <B extends Aws4PresignerParams.Builder> B extractPresignerParams(B builder,
                                                                                ExecutionAttributes executionAttributes) {
         builder = extractSignerParams(builder, executionAttributes);
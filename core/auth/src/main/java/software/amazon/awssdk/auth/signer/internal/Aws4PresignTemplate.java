@@ -0,0 +1,244 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.StringUtils;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
+
+/**
+ * Presigns requests that differ from an already presigned request only in the end of their path and in additional query
+ * parameters, such as the requests for the objects of one bucket.
+ *
+ * <p>Everything that the requests share is computed once, from the presigned request: the signing key, the part of the canonical
+ * request before the end of the path, the canonicalized query parameters and headers, and the start of the string to sign. Each
+ * request is then presigned by canonicalizing only what it doesn't share.
+ *
+ * <p>A template is only created if it reproduces the signature of the presigned request it's created from, so that the requests
+ * it presigns are presigned as the signer would have presigned them.
+ */
+@SdkInternalApi
+@NotThreadSafe
+public final class Aws4PresignTemplate {
+    private static final Logger LOG = Logger.loggerFor(Aws4PresignTemplate.class);
+
+    private final SdkHttpFullRequest presignedRequest;
+    private final String encodedPathPrefix;
+    private final String canonicalRequestPrefix;
+    private final SortedMap<String, List<String>> canonicalQueryParameters;
+    private final String canonicalQueryString;
+    private final String canonicalRequestSuffix;
+    private final String stringToSignPrefix;
+    private final Mac mac;
+
+    private Aws4PresignTemplate(SdkHttpFullRequest presignedRequest,
+                                String encodedPathPrefix,
+                                SortedMap<String, List<String>> canonicalQueryParameters,
+                                String canonicalRequestSuffix,
+                                String stringToSignPrefix,
+                                Mac mac) {
+        this.presignedRequest = presignedRequest;
+        this.encodedPathPrefix = encodedPathPrefix;
+        this.canonicalRequestPrefix = presignedRequest.method().toString() + SignerConstant.LINE_SEPARATOR +
+                                      (encodedPathPrefix.startsWith("/") ? "" : "/") + encodedPathPrefix;
+        this.canonicalQueryParameters = canonicalQueryParameters;
+        this.canonicalQueryString = SdkHttpUtils.flattenQueryParameters(canonicalQueryParameters).orElse("");
+        this.canonicalRequestSuffix = canonicalRequestSuffix;
+        this.stringToSignPrefix = stringToSignPrefix;
+        this.mac = mac;
+    }
+
+    /**
+     * Create a template from a request presigned with SigV4, without double url-encoding of its path.
+     *
+     * @param presignedRequest  The presigned request.
+     * @param encodedPathPrefix The start of the encoded path of the presigned request, which the requests presigned with the
+     *                          template share.
+     * @param credentials       The credentials the request was presigned with.
+     * @param contentSha256     The payload hash the request was presigned with.
+     * @return The template, or empty if the request wasn't presigned in a way that the template can reproduce.
+     */
+    public static Optional<Aws4PresignTemplate> create(SdkHttpFullRequest presignedRequest,
+                                                       String encodedPathPrefix,
+                                                       AwsCredentials credentials,
+                                                       String contentSha256) {
+        Map<String, List<String>> queryParameters = presignedRequest.rawQueryParameters();
+        String algorithm = firstValue(queryParameters, SignerConstant.X_AMZ_ALGORITHM);
+        String dateTime = firstValue(queryParameters, SignerConstant.X_AMZ_DATE);
+        String credential = firstValue(queryParameters, SignerConstant.X_AMZ_CREDENTIAL);
+        String signedHeaders = firstValue(queryParameters, SignerConstant.X_AMZ_SIGNED_HEADER);
+        String signature = firstValue(queryParameters, SignerConstant.X_AMZ_SIGNATURE);
+
+        if (!SignerConstant.AWS4_SIGNING_ALGORITHM.equals(algorithm) || dateTime == null || credential == null ||
+            signedHeaders == null || signature == null || !presignedRequest.encodedPath().startsWith(encodedPathPrefix)) {
+            return Optional.empty();
+        }
+
+        // The credential is the access key ID, followed by the scope: date/region/service/aws4_request.
+        String scope = credential.substring(credential.indexOf('/') + 1);
+        String[] scopeParts = scope.split("/");
+        if (scopeParts.length != 4) {
+            return Optional.empty();
+        }
+
+        long signingDateMilli;
+        try {
+            signingDateMilli = LocalDate.parse(scopeParts[0], DateTimeFormatter.BASIC_ISO_DATE)
+                                        .atStartOfDay(ZoneOffset.UTC)
+                                        .toInstant()
+                                        .toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+
+        SortedMap<String, List<String>> canonicalQueryParameters = new TreeMap<>();
+        queryParameters.forEach((name, values) -> {
+            if (!SignerConstant.X_AMZ_SIGNATURE.equals(name)) {
+                addCanonicalQueryParameter(canonicalQueryParameters, name, values);
+            }
+        });
+
+        StringBuilder canonicalRequestSuffix = new StringBuilder(SignerConstant.LINE_SEPARATOR);
+        for (String header : signedHeaders.split(";")) {
+            List<String> values = presignedRequest.headers().get(header);
+            if (values == null || values.isEmpty()) {
+                return Optional.empty();
+            }
+            for (String value : values) {
+                canonicalRequestSuffix.append(header)
+                                      .append(':')
+                                      .append(value.trim().replaceAll("\\s+", " "))
+                                      .append(SignerConstant.LINE_SEPARATOR);
+            }
+        }
+        canonicalRequestSuffix.append(SignerConstant.LINE_SEPARATOR)
+                              .append(signedHeaders)
+                              .append(SignerConstant.LINE_SEPARATOR)
+                              .append(contentSha256);
+
+        String stringToSignPrefix = algorithm + SignerConstant.LINE_SEPARATOR +
+                                    dateTime + SignerConstant.LINE_SEPARATOR +
+                                    scope + SignerConstant.LINE_SEPARATOR;
+
+        byte[] signingKey = SigningKeyCache.getInstance().signingKey(StringUtils.trim(credentials.secretAccessKey()),
+                                                                     signingDateMilli, scopeParts[1], scopeParts[2]);
+        // The thread-local Mac of SigningAlgorithm is re-initialized by every signer on the thread, e.g. by a request presigned
+        // between two requests presigned with this template, so the template keys a Mac of its own.
+        Mac mac;
+        try {
+            mac = Mac.getInstance(SigningAlgorithm.HmacSHA256.toString());
+            mac.init(new SecretKeySpec(signingKey, SigningAlgorithm.HmacSHA256.toString()));
+        } catch (Exception e) {
+            throw SdkClientException.builder()
+                                    .message("Unable to calculate a request signature: " + e.getMessage())
+                                    .cause(e)
+                                    .build();
+        }
+
+        Aws4PresignTemplate template = new Aws4PresignTemplate(presignedRequest, encodedPathPrefix, canonicalQueryParameters,
+                                                               canonicalRequestSuffix.toString(), stringToSignPrefix, mac);
+
+        String encodedPathSuffix = presignedRequest.encodedPath().substring(encodedPathPrefix.length());
+        if (!signature.equals(template.signature(encodedPathSuffix, template.canonicalQueryString))) {
+            LOG.debug(() -> "The presigned request could not be reproduced, so it can't be used as a template.");
+            return Optional.empty();
+        }
+        return Optional.of(template);
+    }
+
+    /**
+     * Presign the request that differs from the presigned request of this template in the given end of its path and the given
+     * additional query parameters.
+     *
+     * @param encodedPathSuffix          The encoded end of the path, which follows the shared start of the path.
+     * @param additionalQueryParameters  The raw query parameters to add to those of the presigned request of this template.
+     * @return The presigned request.
+     */
+    public SdkHttpFullRequest presign(String encodedPathSuffix, Map<String, List<String>> additionalQueryParameters) {
+        SdkHttpFullRequest.Builder request = presignedRequest.toBuilder()
+                                                             .encodedPath(encodedPathPrefix + encodedPathSuffix);
+
+        String queryString = canonicalQueryString;
+        if (!additionalQueryParameters.isEmpty()) {
+            SortedMap<String, List<String>> queryParameters = new TreeMap<>(canonicalQueryParameters);
+            additionalQueryParameters.forEach((name, values) -> {
+                addCanonicalQueryParameter(queryParameters, name, values);
+                values.forEach(value -> request.appendRawQueryParameter(name, value));
+            });
+            queryString = SdkHttpUtils.flattenQueryParameters(queryParameters).orElse("");
+        }
+
+        return request.putRawQueryParameter(SignerConstant.X_AMZ_SIGNATURE, signature(encodedPathSuffix, queryString))
+                      .build();
+    }
+
+    private String signature(String encodedPathSuffix, String queryString) {
+        SigningBuffers buffers = SigningBuffers.get();
+        buffers.chars()
+               .append(canonicalRequestPrefix)
+               .append(encodedPathSuffix)
+               .append(SignerConstant.LINE_SEPARATOR)
+               .append(queryString)
+               .append(canonicalRequestSuffix);
+        byte[] canonicalRequestHash = buffers.hashChars();
+        buffers.clearChars();
+
+        buffers.chars().append(stringToSignPrefix);
+        buffers.appendHex(canonicalRequestHash);
+        return BinaryUtils.toHex(buffers.macChars(mac));
+    }
+
+    /**
+     * Add a query parameter as {@link AbstractAwsSigner#getCanonicalizedQueryString(Map)} canonicalizes it.
+     */
+    private static void addCanonicalQueryParameter(SortedMap<String, List<String>> canonicalQueryParameters,
+                                                   String name,
+                                                   List<String> values) {
+        List<String> encodedValues = new ArrayList<>(values.size());
+        canonicalQueryParameters.getOrDefault(SdkHttpUtils.urlEncode(name), Collections.emptyList())
+                                .forEach(encodedValues::add);
+        for (String value : values) {
+            String encodedValue = SdkHttpUtils.urlEncode(value);
+            encodedValues.add(encodedValue == null ? "" : encodedValue);
+        }
+        Collections.sort(encodedValues);
+        canonicalQueryParameters.put(SdkHttpUtils.urlEncode(name), encodedValues);
+    }
+
+    private static String firstValue(Map<String, List<String>> queryParameters, String name) {
+        List<String> values = queryParameters.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+}
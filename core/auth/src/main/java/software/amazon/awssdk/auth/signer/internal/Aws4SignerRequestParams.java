@@ -67,7 +67,7 @@ public final class Aws4SignerRequestParams {
         this.formattedRequestSigningDate = Aws4SignerUtils.formatDateStamp(requestSigningDateTimeMilli);
         this.serviceSigningName = signerParams.signingName();
         this.regionName = getRegion(signerParams.signingRegion());
-        this.scope = generateScope(formattedRequestSigningDate, this.serviceSigningName, regionName);
+        this.scope = CredentialScopeCache.scope(requestSigningDateTimeMilli, regionName, serviceSigningName);
         this.formattedRequestSigningDateTime = Aws4SignerUtils.formatTimestamp(requestSigningDateTimeMilli);
     }
 
@@ -143,11 +143,4 @@ public final class Aws4SignerRequestParams {
     private String getRegion(Region region) {
         return region != null ? region.id() : null;
     }
-
-    /**
-     * Returns the scope to be used for the signing.
-     */
-    private String generateScope(String dateStamp, String serviceName, String regionName) {
-        return dateStamp + "/" + regionName + "/" + serviceName + "/" + SignerConstant.AWS4_TERMINATOR;
-    }
 }
@@ -18,6 +18,7 @@ package software.amazon.awssdk.auth.signer.internal;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 
 /**
@@ -33,6 +34,8 @@ public final class Aws4SignerUtils {
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter
             .ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneId.of("UTC"));
 
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
     private Aws4SignerUtils() {
     }
 
@@ -43,7 +46,8 @@ public final class Aws4SignerUtils {
      * For example, given a time "1416863450581", this method returns "20141124"
      */
     public static String formatDateStamp(long timeMilli) {
-        return DATE_FORMATTER.format(Instant.ofEpochMilli(timeMilli));
+        String dateStamp = CredentialScopeCache.dateStamp(timeMilli);
+        return dateStamp != null ? dateStamp : DATE_FORMATTER.format(Instant.ofEpochMilli(timeMilli));
     }
 
     public static String formatDateStamp(Instant instant) {
@@ -58,10 +62,36 @@ public final class Aws4SignerUtils {
      * "20141124T211050Z"
      */
     public static String formatTimestamp(long timeMilli) {
-        return TIME_FORMATTER.format(Instant.ofEpochMilli(timeMilli));
+        String dateStamp = CredentialScopeCache.dateStamp(timeMilli);
+        if (dateStamp == null) {
+            return TIME_FORMATTER.format(Instant.ofEpochMilli(timeMilli));
+        }
+        int secondOfDay = (int) (Math.floorMod(timeMilli, MILLIS_PER_DAY) / 1000);
+        char[] timestamp = new char[16];
+        dateStamp.getChars(0, 8, timestamp, 0);
+        timestamp[8] = 'T';
+        putTwoDigits(timestamp, 9, secondOfDay / 3600);
+        putTwoDigits(timestamp, 11, secondOfDay / 60 % 60);
+        putTwoDigits(timestamp, 13, secondOfDay % 60);
+        timestamp[15] = 'Z';
+        return new String(timestamp);
     }
 
     public static String formatTimestamp(Instant instant) {
         return TIME_FORMATTER.format(instant);
     }
+
+    /**
+     * Parses a date time in yyyyMMdd'T'HHmmss'Z' format, as returned by {@link #formatTimestamp(long)}.
+     *
+     * @throws java.time.format.DateTimeParseException If the date time is not in that format.
+     */
+    public static Instant parseTimestamp(String timestamp) {
+        return TIME_FORMATTER.parse(timestamp, Instant::from);
+    }
+
+    private static void putTwoDigits(char[] destination, int offset, int value) {
+        destination[offset] = (char) ('0' + value / 10);
+        destination[offset + 1] = (char) ('0' + value % 10);
+    }
 }
@@ -37,7 +37,11 @@ import software.amazon.awssdk.utils.Logger;
 @SdkInternalApi
 public final class AwsChunkedEncodingInputStream extends SdkInputStream {
 
-    private static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
+    /**
+     * The size of the chunks, which {@link #calculateStreamContentLength(long)} depends on. {@link AwsChunkedEncodingPublisher}
+     * uses the same size, so that they agree on the length of the encoded content.
+     */
+    static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
     private static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
 
     private static final String CRLF = "\r\n";
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static software.amazon.awssdk.auth.signer.internal.AwsChunkedEncodingInputStream.DEFAULT_CHUNK_SIZE;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * The asynchronous counterpart of {@link AwsChunkedEncodingInputStream}: a request body that encodes the wrapped body with
+ * aws-chunked encoding, signing each chunk as it's published.
+ *
+ * <p>The chunks are cut at the same size as {@link AwsChunkedEncodingInputStream}, so that the length of the encoded content
+ * is given by {@link AwsChunkedEncodingInputStream#calculateStreamContentLength(long)}. The content is copied once, into the
+ * buffer of the chunk it belongs to, and hashed as it's copied. Only one chunk is filled at a time, and a chunk is published
+ * as soon as it's full, so the buffered content is bounded by the chunk size, plus the chunks cut from a single buffer of
+ * the wrapped body.
+ */
+@SdkInternalApi
+public final class AwsChunkedEncodingPublisher implements AsyncRequestBody {
+    private static final String CRLF = "\r\n";
+    private static final String CHUNK_STRING_TO_SIGN_PREFIX = "AWS4-HMAC-SHA256-PAYLOAD";
+    private static final String CHUNK_SIGNATURE_HEADER = ";chunk-signature=";
+    private static final int SIGNATURE_LENGTH = 64;
+
+    /**
+     * The offset of the content in the buffer of a chunk: the length of the longest chunk header, which is the header of a
+     * full chunk. A shorter header is written so that it ends at the same offset.
+     */
+    private static final int CONTENT_OFFSET =
+        Integer.toHexString(DEFAULT_CHUNK_SIZE).length() + CHUNK_SIGNATURE_HEADER.length() + SIGNATURE_LENGTH + CRLF.length();
+
+    private final AsyncRequestBody body;
+    private final long decodedContentLength;
+    private final byte[] signingKey;
+    private final String dateTime;
+    private final String scope;
+    private final String headerSignature;
+
+    /**
+     * @param body            The body to encode, which must have a known length.
+     * @param signingKey      Signing key.
+     * @param dateTime        Datetime, as used in SigV4.
+     * @param scope           Credential scope, as used in SigV4.
+     * @param headerSignature The signature of the signed headers, which the signature of the first chunk is chained to.
+     */
+    public AwsChunkedEncodingPublisher(AsyncRequestBody body, byte[] signingKey,
+                                       String dateTime, String scope, String headerSignature) {
+        // This happens when the request is retried, and is signed again.
+        this.body = body instanceof AwsChunkedEncodingPublisher ? ((AwsChunkedEncodingPublisher) body).body : body;
+        this.decodedContentLength = Validate.paramNotNull(this.body.contentLength().orElse(null), "body.contentLength()");
+        this.signingKey = signingKey.clone();
+        this.dateTime = dateTime;
+        this.scope = scope;
+        this.headerSignature = headerSignature;
+    }
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.of(AwsChunkedEncodingInputStream.calculateStreamContentLength(decodedContentLength));
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        // The trailing empty frame marks the end of the body, so that the last chunks can be published.
+        Publisher<ByteBuffer> bodyWithTrailingEmptyFrame = s -> body.subscribe(new AsyncSigV4SubscriberAdapter(s));
+
+        SdkPublisher.adapt(bodyWithTrailingEmptyFrame)
+                    .flatMapIterable(new ChunkEncoder())
+                    .subscribe(subscriber);
+    }
+
+    /**
+     * Cuts the buffers of the body into signed chunks. A new encoder is used for each subscription, because the chunk
+     * signatures are chained from the header signature.
+     */
+    private final class ChunkEncoder implements Function<ByteBuffer, Iterable<ByteBuffer>> {
+        private final MessageDigest sha256;
+        private final Mac hmacSha256;
+
+        private String priorChunkSignature = headerSignature;
+        private ByteBuffer chunk;
+        private long received;
+        private boolean finished;
+
+        private ChunkEncoder() {
+            try {
+                this.sha256 = MessageDigest.getInstance("SHA-256");
+                String signingAlgo = SigningAlgorithm.HmacSHA256.toString();
+                this.hmacSha256 = Mac.getInstance(signingAlgo);
+                hmacSha256.init(new SecretKeySpec(signingKey, signingAlgo));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            } catch (InvalidKeyException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        @Override
+        public Iterable<ByteBuffer> apply(ByteBuffer buffer) {
+            if (finished) {
+                return Collections.emptyList();
+            }
+
+            List<ByteBuffer> chunks = new ArrayList<>(1);
+            ByteBuffer content = buffer.duplicate();
+            received += content.remaining();
+
+            while (content.hasRemaining()) {
+                if (chunk == null) {
+                    chunk = ByteBuffer.allocate(CONTENT_OFFSET + DEFAULT_CHUNK_SIZE + CRLF.length());
+                    chunk.position(CONTENT_OFFSET);
+                }
+
+                int length = Math.min(content.remaining(), CONTENT_OFFSET + DEFAULT_CHUNK_SIZE - chunk.position());
+                ByteBuffer part = content.duplicate();
+                part.limit(part.position() + length);
+                content.position(content.position() + length);
+
+                sha256.update(part.duplicate());
+                chunk.put(part);
+
+                if (chunk.position() == CONTENT_OFFSET + DEFAULT_CHUNK_SIZE) {
+                    chunks.add(signChunk());
+                }
+            }
+
+            // An empty buffer may also be published by the body itself, but only the trailing one comes after all the
+            // content.
+            if (!buffer.hasRemaining() && received >= decodedContentLength) {
+                if (chunk != null) {
+                    chunks.add(signChunk());
+                }
+                chunk = ByteBuffer.allocate(CONTENT_OFFSET + CRLF.length());
+                chunk.position(CONTENT_OFFSET);
+                chunks.add(signChunk());
+                finished = true;
+            }
+            return chunks;
+        }
+
+        /**
+         * Write the header and the trailer of the current chunk, around its content.
+         *
+         * @return The signed chunk, ready to be published.
+         */
+        private ByteBuffer signChunk() {
+            int contentLength = chunk.position() - CONTENT_OFFSET;
+            String chunkStringToSign =
+                CHUNK_STRING_TO_SIGN_PREFIX + "\n" +
+                dateTime + "\n" +
+                scope + "\n" +
+                priorChunkSignature + "\n" +
+                AbstractAws4Signer.EMPTY_STRING_SHA256_HEX + "\n" +
+                BinaryUtils.toHex(sha256.digest());
+            String chunkSignature = BinaryUtils.toHex(hmacSha256.doFinal(chunkStringToSign.getBytes(StandardCharsets.UTF_8)));
+            priorChunkSignature = chunkSignature;
+
+            byte[] header = (Integer.toHexString(contentLength) + CHUNK_SIGNATURE_HEADER + chunkSignature + CRLF)
+                .getBytes(StandardCharsets.UTF_8);
+            int headerOffset = CONTENT_OFFSET - header.length;
+            for (int i = 0; i < header.length; i++) {
+                chunk.put(headerOffset + i, header[i]);
+            }
+            chunk.put(CRLF.getBytes(StandardCharsets.UTF_8));
+            chunk.flip();
+            chunk.position(headerOffset);
+
+            ByteBuffer signedChunk = chunk;
+            chunk = null;
+            return signedChunk;
+        }
+    }
+}
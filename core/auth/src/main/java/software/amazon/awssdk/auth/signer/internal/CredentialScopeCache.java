@@ -0,0 +1,118 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Caches the date stamp of the current signing day, and the credential scopes built from it, so that signing a request does
+ * not format the date or concatenate the scope again. The cache holds a single day: it's replaced by the first signature
+ * made on the following day.
+ */
+@SdkInternalApi
+final class CredentialScopeCache {
+    /**
+     * The last day with a four digit year, after which the date stamps are not cached.
+     */
+    private static final long MAX_EPOCH_DAY = LocalDate.of(9999, 12, 31).toEpochDay();
+
+    /**
+     * Bounds the scopes kept for a day, for a client that signs for an unusual number of regions and services.
+     */
+    private static final int MAX_SCOPES_PER_DAY = 512;
+
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    private static volatile Day currentDay = new Day(0);
+
+    private CredentialScopeCache() {
+    }
+
+    /**
+     * @return The date stamp of the given time, in yyyyMMdd format, or null if the time is outside the years that are cached.
+     */
+    static String dateStamp(long timeMilli) {
+        Day day = day(timeMilli);
+        return day == null ? null : day.dateStamp;
+    }
+
+    /**
+     * @return The credential scope of a signature made at the given time, for the given region and service.
+     */
+    static String scope(long timeMilli, String regionName, String serviceName) {
+        Day day = day(timeMilli);
+        if (day == null) {
+            return generateScope(Aws4SignerUtils.formatDateStamp(timeMilli), regionName, serviceName);
+        }
+        if (regionName == null || serviceName == null) {
+            return generateScope(day.dateStamp, regionName, serviceName);
+        }
+
+        Map<String, String> regionScopes = day.scopes.get(regionName);
+        String scope = regionScopes == null ? null : regionScopes.get(serviceName);
+        if (scope != null) {
+            return scope;
+        }
+
+        scope = generateScope(day.dateStamp, regionName, serviceName);
+        if (day.size < MAX_SCOPES_PER_DAY) {
+            day.scopes.computeIfAbsent(regionName, r -> new ConcurrentHashMap<>()).put(serviceName, scope);
+            // Racy, but it only needs to stop the growth eventually.
+            day.size++;
+        }
+        return scope;
+    }
+
+    private static Day day(long timeMilli) {
+        long epochDay = Math.floorDiv(timeMilli, MILLIS_PER_DAY);
+        if (epochDay < 0 || epochDay > MAX_EPOCH_DAY) {
+            return null;
+        }
+        Day day = currentDay;
+        if (day.epochDay == epochDay) {
+            return day;
+        }
+        day = new Day(epochDay);
+        // Only move forward, so that a signature made with a skewed clock doesn't evict the current day.
+        if (epochDay > currentDay.epochDay) {
+            currentDay = day;
+        }
+        return day;
+    }
+
+    private static String generateScope(String dateStamp, String regionName, String serviceName) {
+        return dateStamp + "/" + regionName + "/" + serviceName + "/" + SignerConstant.AWS4_TERMINATOR;
+    }
+
+    private static final class Day {
+        private final long epochDay;
+        private final String dateStamp;
+        private final Map<String, Map<String, String>> scopes = new ConcurrentHashMap<>();
+        private volatile int size;
+
+        private Day(long epochDay) {
+            this.epochDay = epochDay;
+            Instant startOfDay = LocalDate.ofEpochDay(epochDay).atStartOfDay().toInstant(ZoneOffset.UTC);
+            this.dateStamp = Aws4SignerUtils.formatDateStamp(startOfDay);
+        }
+    }
+}
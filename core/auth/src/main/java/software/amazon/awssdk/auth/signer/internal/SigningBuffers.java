@@ -0,0 +1,169 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.crypto.Mac;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+/**
+ * Per-thread buffers used to build the canonical request and the string to sign of a SigV4 signature, and to feed them to the
+ * SHA-256 digest and the HMAC without first copying them into a {@code String} and a UTF-8 byte array.
+ *
+ * <p>The buffers are reused by every signature made on the thread, so they must not be used again before the previous use is
+ * complete.
+ */
+@SdkInternalApi
+final class SigningBuffers {
+    /**
+     * Buffers grown beyond this by a very large request are dropped rather than kept for the life of the thread.
+     */
+    private static final int MAX_RETAINED_CHARS = 16 * 1024;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<SigningBuffers> BUFFERS = ThreadLocal.withInitial(SigningBuffers::new);
+
+    private final MessageDigest sha256;
+    private final byte[] bytes = new byte[4096];
+    private final List<String> headerNames = new ArrayList<>();
+    private StringBuilder chars = new StringBuilder(1024);
+    private int encodedLength;
+
+    private SigningBuffers() {
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw SdkClientException.builder()
+                                    .message("Unable to get SHA256 Function" + e.getMessage())
+                                    .cause(e)
+                                    .build();
+        }
+    }
+
+    /**
+     * @return The buffers of the current thread, emptied.
+     */
+    static SigningBuffers get() {
+        SigningBuffers buffers = BUFFERS.get();
+        buffers.clear();
+        return buffers;
+    }
+
+    /**
+     * @return The character buffer, in which the canonical request and then the string to sign are built.
+     */
+    StringBuilder chars() {
+        return chars;
+    }
+
+    /**
+     * @return A list to sort the header names of the request in.
+     */
+    List<String> headerNames() {
+        return headerNames;
+    }
+
+    /**
+     * Empty the character buffer, so that it can be reused for the next piece of the signature.
+     */
+    void clearChars() {
+        if (chars.capacity() > MAX_RETAINED_CHARS) {
+            chars = new StringBuilder(1024);
+        } else {
+            chars.setLength(0);
+        }
+    }
+
+    /**
+     * @return The SHA-256 hash of the UTF-8 encoding of the character buffer.
+     */
+    byte[] hashChars() {
+        sha256.reset();
+        int position = 0;
+        while (position < chars.length()) {
+            position = encodeUtf8(position);
+            sha256.update(bytes, 0, encodedLength);
+        }
+        return sha256.digest();
+    }
+
+    /**
+     * @return The HMAC of the UTF-8 encoding of the character buffer, computed by the given initialized MAC.
+     */
+    byte[] macChars(Mac mac) {
+        int position = 0;
+        while (position < chars.length()) {
+            position = encodeUtf8(position);
+            mac.update(bytes, 0, encodedLength);
+        }
+        return mac.doFinal();
+    }
+
+    /**
+     * Append the lower-case hexadecimal encoding of the given bytes to the character buffer.
+     */
+    void appendHex(byte[] data) {
+        for (byte b : data) {
+            chars.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+        }
+    }
+
+    /**
+     * Encode the character buffer from the given position into the byte buffer, until either is exhausted. The number of
+     * encoded bytes is left in {@link #encodedLength}.
+     *
+     * @return The position of the first character that was not encoded.
+     */
+    private int encodeUtf8(int position) {
+        int length = chars.length();
+        // Leave room for the longest encoding of a character, so the loop only checks the space once per character.
+        int limit = bytes.length - 4;
+        int count = 0;
+        int i = position;
+        while (i < length && count <= limit) {
+            char c = chars.charAt(i++);
+            if (c < 0x80) {
+                bytes[count++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[count++] = (byte) (0xC0 | (c >> 6));
+                bytes[count++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i < length && Character.isLowSurrogate(chars.charAt(i))) {
+                int codePoint = Character.toCodePoint(c, chars.charAt(i++));
+                bytes[count++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[count++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates are replaced, as String.getBytes(UTF_8) does.
+                bytes[count++] = (byte) '?';
+            } else {
+                bytes[count++] = (byte) (0xE0 | (c >> 12));
+                bytes[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        encodedLength = count;
+        return i;
+    }
+
+    private void clear() {
+        clearChars();
+        headerNames.clear();
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.SdkSystemSetting;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.utils.ExecutorUtils;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A concurrent cache of SigV4 signing keys, keyed by secret key, signing date, region and service, that evicts the least
+ * recently used keys when it's full.
+ *
+ * <p>A key used during the last minutes of a UTC day has the key of the following day derived in the background, so that
+ * the first requests signed after midnight don't pay for the derivation.
+ *
+ * <p>The size of the cache is read from {@link SdkSystemSetting#AWS_SIGNING_KEY_CACHE_SIZE}.
+ */
+@ThreadSafe
+@SdkInternalApi
+final class SigningKeyCache {
+    private static final Logger log = Logger.loggerFor(SigningKeyCache.class);
+
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    /**
+     * How long before midnight a used key has the key of the following day derived.
+     */
+    private static final long NEXT_DAY_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * The share of the cache that's evicted at once when it's full, so that the scan for the least recently used keys is
+     * amortized over many insertions.
+     */
+    private static final int EVICTION_DIVISOR = 10;
+
+    private static final SigningKeyCache INSTANCE =
+        new SigningKeyCache(configuredMaxSize(),
+                            ExecutorUtils.newSingleDaemonThreadExecutor(64, "sdk-signing-key-derivation"));
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maxSize;
+    private final Executor nextDayExecutor;
+
+    SigningKeyCache(int maxSize, Executor nextDayExecutor) {
+        this.maxSize = Validate.isPositive(maxSize, "maxSize");
+        this.nextDayExecutor = nextDayExecutor;
+    }
+
+    static SigningKeyCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return The signing key for the given secret key, region and service, at the given signing time.
+     */
+    byte[] signingKey(String secretKey, long signingTimeMilli, String regionName, String serviceName) {
+        long epochDay = Math.floorDiv(signingTimeMilli, MILLIS_PER_DAY);
+        Key key = new Key(secretKey, epochDay, regionName, serviceName);
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            log.trace(() -> "Generating a new signing key as the signing key not available in the cache for the date: " +
+                            TimeUnit.DAYS.toMillis(epochDay));
+            entry = put(key, deriveSigningKey(key));
+        }
+        entry.lastUsed = System.nanoTime();
+
+        if (MILLIS_PER_DAY - Math.floorMod(signingTimeMilli, MILLIS_PER_DAY) <= NEXT_DAY_WINDOW_MILLIS) {
+            deriveNextDayKey(key, entry);
+        }
+        return entry.signingKey.clone();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private Entry put(Key key, byte[] signingKey) {
+        Entry entry = new Entry(signingKey);
+        Entry existing = entries.putIfAbsent(key, entry);
+        if (existing != null) {
+            return existing;
+        }
+        if (entries.size() > maxSize) {
+            evictLeastRecentlyUsed();
+        }
+        return entry;
+    }
+
+    private void deriveNextDayKey(Key key, Entry entry) {
+        if (!entry.nextDayDerivationStarted.compareAndSet(false, true)) {
+            return;
+        }
+        Key nextDayKey = new Key(key.secretKey, key.epochDay + 1, key.regionName, key.serviceName);
+        try {
+            nextDayExecutor.execute(() -> {
+                try {
+                    if (!entries.containsKey(nextDayKey)) {
+                        put(nextDayKey, deriveSigningKey(nextDayKey));
+                    }
+                } catch (RuntimeException e) {
+                    log.debug(() -> "Failed to derive the signing key of the next day.", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The derivation queue is full. The key will be derived when it's first used.
+            log.debug(() -> "Skipped deriving the signing key of the next day.", e);
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        // A single thread evicts at a time. The others go on, and the cache goes over its size for a moment.
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int toEvict = entries.size() - maxSize;
+            if (toEvict <= 0) {
+                return;
+            }
+            toEvict = Math.max(toEvict, maxSize / EVICTION_DIVISOR);
+
+            // The last use times are copied, because the sort needs them to stay the same while it runs.
+            List<EvictionCandidate> candidates = new ArrayList<>(entries.size());
+            entries.forEach((k, e) -> candidates.add(new EvictionCandidate(k, e)));
+            candidates.sort(Comparator.comparingLong(c -> c.lastUsed));
+            for (int i = 0; i < toEvict && i < candidates.size(); i++) {
+                EvictionCandidate evicted = candidates.get(i);
+                entries.remove(evicted.key, evicted.entry);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Derive the signing key of the given cache key, as described in
+     * http://docs.aws.amazon.com/general/latest/gr/sigv4-calculate-signature.html
+     */
+    private static byte[] deriveSigningKey(Key key) {
+        try {
+            Mac mac = SigningAlgorithm.HmacSHA256.getMac();
+            byte[] kSecret = ("AWS4" + key.secretKey).getBytes(StandardCharsets.UTF_8);
+            byte[] kDate = hmac(mac, kSecret, Aws4SignerUtils.formatDateStamp(key.epochDay * MILLIS_PER_DAY));
+            byte[] kRegion = hmac(mac, kDate, key.regionName);
+            byte[] kService = hmac(mac, kRegion, key.serviceName);
+            return hmac(mac, kService, SignerConstant.AWS4_TERMINATOR);
+        } catch (Exception e) {
+            throw SdkClientException.builder()
+                                    .message("Unable to calculate a request signature: " + e.getMessage())
+                                    .cause(e)
+                                    .build();
+        }
+    }
+
+    private static byte[] hmac(Mac mac, byte[] key, String data) throws Exception {
+        mac.init(new SecretKeySpec(key, SigningAlgorithm.HmacSHA256.toString()));
+        return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read the size of the cache. An invalid size is logged and ignored instead of failing, because this is invoked while the
+     * shared instance is initialized: an exception would make every later signing attempt fail with
+     * {@link NoClassDefFoundError}.
+     */
+    static int configuredMaxSize() {
+        SdkSystemSetting setting = SdkSystemSetting.AWS_SIGNING_KEY_CACHE_SIZE;
+        String value = setting.getStringValueOrThrow();
+        try {
+            return Validate.isPositive(Integer.parseInt(value.trim()), setting.property());
+        } catch (IllegalArgumentException e) {
+            log.warn(() -> "Environment variable '" + setting.environmentVariable() + "' or system property '" +
+                           setting.property() + "' was defined as '" + value + "', but should be a positive integer. " +
+                           "Using the default size of " + setting.defaultValue() + " instead.", e);
+            return Integer.parseInt(setting.defaultValue());
+        }
+    }
+
+    private static final class Key {
+        private final String secretKey;
+        private final long epochDay;
+        private final String regionName;
+        private final String serviceName;
+        private final int hashCode;
+
+        private Key(String secretKey, long epochDay, String regionName, String serviceName) {
+            this.secretKey = secretKey;
+            this.epochDay = epochDay;
+            this.regionName = regionName;
+            this.serviceName = serviceName;
+            this.hashCode = Objects.hash(secretKey, epochDay, regionName, serviceName);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return epochDay == other.epochDay &&
+                   Objects.equals(secretKey, other.secretKey) &&
+                   Objects.equals(regionName, other.regionName) &&
+                   Objects.equals(serviceName, other.serviceName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] signingKey;
+        private final AtomicBoolean nextDayDerivationStarted = new AtomicBoolean();
+        private volatile long lastUsed = System.nanoTime();
+
+        private Entry(byte[] signingKey) {
+            this.signingKey = signingKey;
+        }
+    }
+
+    private static final class EvictionCandidate {
+        private final Key key;
+        private final Entry entry;
+        private final long lastUsed;
+
+        private EvictionCandidate(Key key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastUsed = entry.lastUsed;
+        }
+    }
+}
@@ -15,8 +15,12 @@
 
 package software.amazon.awssdk.auth.credentials;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertEquals;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -121,6 +125,47 @@ public class AwsCredentialsProviderChainTest {
         chain.resolveCredentials();
     }
 
+    /**
+     * Tests that asynchronous resolution waits for asynchronous providers, moves on to the next provider when one fails, and
+     * remembers which provider was able to provide credentials.
+     */
+    @Test
+    public void testResolveCredentialsAsync() {
+        CompletableFuture<AwsCredentials> failedCredentials = new CompletableFuture<>();
+        CompletableFuture<AwsCredentials> credentials = new CompletableFuture<>();
+        AsyncAwsCredentialsProvider provider1 = () -> failedCredentials;
+        AsyncAwsCredentialsProvider provider2 = () -> credentials;
+        MockCredentialsProvider provider3 = new MockCredentialsProvider();
+        AwsCredentialsProviderChain chain = AwsCredentialsProviderChain.builder()
+                                                                       .credentialsProviders(provider1, provider2, provider3)
+                                                                       .build();
+
+        CompletableFuture<AwsCredentials> resolvedCredentials = chain.resolveCredentialsAsync();
+        failedCredentials.completeExceptionally(new RuntimeException("Failed!"));
+        assertThat(resolvedCredentials).isNotDone();
+
+        credentials.complete(AwsBasicCredentials.create("asyncAccessKey", "asyncSecretKey"));
+        assertThat(resolvedCredentials.join().accessKeyId()).isEqualTo("asyncAccessKey");
+        assertThat(chain.resolveCredentialsAsync().join().accessKeyId()).isEqualTo("asyncAccessKey");
+        assertEquals(0, provider3.getCredentialsCallCount);
+    }
+
+    @Test
+    public void testResolveCredentialsAsyncException() {
+        MockCredentialsProvider provider1 = new MockCredentialsProvider("Failed!");
+        AsyncAwsCredentialsProvider provider2 = () -> CompletableFuture.supplyAsync(() -> {
+            throw new RuntimeException("Bad!");
+        });
+        AwsCredentialsProviderChain chain = AwsCredentialsProviderChain.builder()
+                                                                       .credentialsProviders(provider1, provider2)
+                                                                       .build();
+
+        assertThatThrownBy(() -> chain.resolveCredentialsAsync().join()).isInstanceOf(CompletionException.class)
+                                                                        .hasCauseInstanceOf(SdkClientException.class)
+                                                                        .hasMessageContaining("Failed!")
+                                                                        .hasMessageContaining("Bad!");
+    }
+
 
     private static final class MockCredentialsProvider implements AwsCredentialsProvider {
         private final StaticCredentialsProvider staticCredentialsProvider;
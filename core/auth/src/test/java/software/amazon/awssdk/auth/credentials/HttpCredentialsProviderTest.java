@@ -77,6 +77,24 @@ public class HttpCredentialsProviderTest {
         assertThat(credentials.sessionToken()).isEqualTo("TOKEN_TOKEN_TOKEN");
     }
 
+    /**
+     * Test that resolveCredentialsAsync loads the credentials in the background, and then returns the cached credentials.
+     */
+    @Test
+    public void testResolveCredentialsAsyncLoadsCredentialsInBackground() {
+        stubForSuccessResponseWithCustomBody(successResponse);
+
+        HttpCredentialsProvider credentialsProvider = testCredentialsProvider();
+        AwsSessionCredentials credentials = (AwsSessionCredentials) credentialsProvider.resolveCredentialsAsync().join();
+
+        assertThat(credentials.accessKeyId()).isEqualTo("ACCESS_KEY_ID");
+        assertThat(credentials.sessionToken()).isEqualTo("TOKEN_TOKEN_TOKEN");
+
+        // Break the server, and make sure the cached credentials are returned right away.
+        stubForErrorResponse();
+        assertThat(credentialsProvider.resolveCredentialsAsync()).isCompletedWithValue(credentials);
+    }
+
     /**
      * Test that when credentials are null and response from client does not have access key/secret key,
      * throws RuntimeException.
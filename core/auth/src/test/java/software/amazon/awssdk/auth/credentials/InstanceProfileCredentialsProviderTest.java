@@ -37,6 +37,7 @@ import org.junit.rules.ExpectedException;
 import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.internal.util.UserAgentUtils;
+import software.amazon.awssdk.regions.internal.util.Ec2MetadataClient;
 import software.amazon.awssdk.utils.DateUtils;
 
 public class InstanceProfileCredentialsProviderTest {
@@ -84,7 +85,7 @@ public class InstanceProfileCredentialsProviderTest {
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH)).willReturn(aResponse().withBody("some-profile")));
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH + "some-profile")).willReturn(aResponse().withBody(STUB_CREDENTIALS)));
 
-        InstanceProfileCredentialsProvider provider = InstanceProfileCredentialsProvider.builder().build();
+        InstanceProfileCredentialsProvider provider = provider(Ec2MetadataClient.builder().build());
 
         provider.resolveCredentials();
 
@@ -101,13 +102,28 @@ public class InstanceProfileCredentialsProviderTest {
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH)).willReturn(aResponse().withBody("some-profile")));
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH + "some-profile")).willReturn(aResponse().withBody(STUB_CREDENTIALS)));
 
-        InstanceProfileCredentialsProvider provider = InstanceProfileCredentialsProvider.builder().build();
+        InstanceProfileCredentialsProvider provider = provider(Ec2MetadataClient.builder().build());
 
         provider.resolveCredentials();
 
         WireMock.verify(putRequestedFor(urlPathEqualTo(TOKEN_RESOURCE_PATH)).withHeader(EC2_METADATA_TOKEN_TTL_HEADER, equalTo("21600")));
     }
 
+    @Test
+    public void resolveCredentials_tokenIsReusedByProvidersSharingMetadataClient() {
+        stubFor(put(urlPathEqualTo(TOKEN_RESOURCE_PATH)).willReturn(aResponse().withBody("some-token")));
+        stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH)).willReturn(aResponse().withBody("some-profile")));
+        stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH + "some-profile")).willReturn(aResponse().withBody(STUB_CREDENTIALS)));
+
+        Ec2MetadataClient metadataClient = Ec2MetadataClient.builder().build();
+        provider(metadataClient).resolveCredentials();
+        provider(metadataClient).resolveCredentials();
+
+        WireMock.verify(1, putRequestedFor(urlPathEqualTo(TOKEN_RESOURCE_PATH)));
+        WireMock.verify(2, getRequestedFor(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH + "some-profile"))
+            .withHeader(TOKEN_HEADER, equalTo("some-token")));
+    }
+
     @Test
     public void resolveCredentials_queriesTokenResource_includedInCredentialsRequests() {
         String stubToken = "some-token";
@@ -115,7 +131,7 @@ public class InstanceProfileCredentialsProviderTest {
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH)).willReturn(aResponse().withBody("some-profile")));
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH + "some-profile")).willReturn(aResponse().withBody(STUB_CREDENTIALS)));
 
-        InstanceProfileCredentialsProvider provider = InstanceProfileCredentialsProvider.builder().build();
+        InstanceProfileCredentialsProvider provider = provider(Ec2MetadataClient.builder().build());
 
         provider.resolveCredentials();
 
@@ -129,7 +145,7 @@ public class InstanceProfileCredentialsProviderTest {
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH)).willReturn(aResponse().withBody("some-profile")));
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH + "some-profile")).willReturn(aResponse().withBody(STUB_CREDENTIALS)));
 
-        InstanceProfileCredentialsProvider provider = InstanceProfileCredentialsProvider.builder().build();
+        InstanceProfileCredentialsProvider provider = provider(Ec2MetadataClient.builder().build());
 
         provider.resolveCredentials();
 
@@ -143,7 +159,7 @@ public class InstanceProfileCredentialsProviderTest {
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH)).willReturn(aResponse().withBody("some-profile")));
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH + "some-profile")).willReturn(aResponse().withBody(STUB_CREDENTIALS)));
 
-        InstanceProfileCredentialsProvider provider = InstanceProfileCredentialsProvider.builder().build();
+        InstanceProfileCredentialsProvider provider = provider(Ec2MetadataClient.builder().build());
 
         provider.resolveCredentials();
 
@@ -157,7 +173,7 @@ public class InstanceProfileCredentialsProviderTest {
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH)).willReturn(aResponse().withBody("some-profile")));
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH + "some-profile")).willReturn(aResponse().withBody(STUB_CREDENTIALS)));
 
-        InstanceProfileCredentialsProvider provider = InstanceProfileCredentialsProvider.builder().build();
+        InstanceProfileCredentialsProvider provider = provider(Ec2MetadataClient.builder().build());
 
         provider.resolveCredentials();
 
@@ -172,7 +188,7 @@ public class InstanceProfileCredentialsProviderTest {
 
         stubFor(put(urlPathEqualTo(TOKEN_RESOURCE_PATH)).willReturn(aResponse().withStatus(400).withBody("oops")));
 
-        InstanceProfileCredentialsProvider provider = InstanceProfileCredentialsProvider.builder().build();
+        InstanceProfileCredentialsProvider provider = provider(Ec2MetadataClient.builder().build());
 
         provider.resolveCredentials();
     }
@@ -183,7 +199,7 @@ public class InstanceProfileCredentialsProviderTest {
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH)).willReturn(aResponse().withBody("some-profile")));
         stubFor(get(urlPathEqualTo(CREDENTIALS_RESOURCE_PATH + "some-profile")).willReturn(aResponse().withBody(STUB_CREDENTIALS)));
 
-        InstanceProfileCredentialsProvider provider = InstanceProfileCredentialsProvider.builder().build();
+        InstanceProfileCredentialsProvider provider = provider(Ec2MetadataClient.builder().build());
 
         provider.resolveCredentials();
 
@@ -196,7 +212,7 @@ public class InstanceProfileCredentialsProviderTest {
         thrown.expect(SdkClientException.class);
 
         System.setProperty(SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.property(), "");
-        InstanceProfileCredentialsProvider provider = InstanceProfileCredentialsProvider.builder().build();
+        InstanceProfileCredentialsProvider provider = provider(Ec2MetadataClient.builder().build());
 
         provider.resolveCredentials();
     }
@@ -206,8 +222,12 @@ public class InstanceProfileCredentialsProviderTest {
         thrown.expect(SdkClientException.class);
 
         System.setProperty(SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.property(), "some-host-that-does-not-exist");
-        InstanceProfileCredentialsProvider provider = InstanceProfileCredentialsProvider.builder().build();
+        InstanceProfileCredentialsProvider provider = provider(Ec2MetadataClient.builder().build());
 
         provider.resolveCredentials();
     }
+
+    private static InstanceProfileCredentialsProvider provider(Ec2MetadataClient metadataClient) {
+        return new InstanceProfileCredentialsProvider.BuilderImpl().metadataClient(metadataClient).build();
+    }
 }
@@ -97,6 +97,8 @@ public class ProcessCredentialsProviderTest {
         AwsCredentials request2 = credentialsProvider.resolveCredentials();
 
         Assert.assertEquals(request1, request2);
+        Assert.assertEquals(1, credentialsProvider.refreshStatistics().refreshCount());
+        Assert.assertEquals(0, credentialsProvider.refreshStatistics().refreshFailureCount());
     }
 
     @Test
@@ -116,6 +118,28 @@ public class ProcessCredentialsProviderTest {
         Assert.assertNotEquals(request1, request2);
     }
 
+    @Test
+    public void asyncCredentialUpdateRefreshesBeforeExpirationWithoutBlocking() throws InterruptedException {
+        try (ProcessCredentialsProvider credentialsProvider =
+                 ProcessCredentialsProvider.builder()
+                                           .command(String.format("%s accessKeyId secretAccessKey %s %s",
+                                                                  scriptLocation,
+                                                                  RANDOM_SESSION_TOKEN,
+                                                                  DateUtils.formatIso8601Date(Instant.now().plusSeconds(4))))
+                                           .credentialRefreshThreshold(Duration.ofSeconds(3))
+                                           .asyncCredentialUpdateEnabled(true)
+                                           .build()) {
+            AwsCredentials request1 = credentialsProvider.resolveCredentials();
+
+            // The credentials are refreshed in the background at their prefetch time, between 1 and 2.5 seconds from now, so
+            // the next caller gets the refreshed credentials right away.
+            Thread.sleep(3_000);
+            AwsCredentials request2 = credentialsProvider.resolveCredentials();
+
+            Assert.assertNotEquals(request1, request2);
+        }
+    }
+
     @Test
     public void lackOfExpirationIsCachedForever() {
         ProcessCredentialsProvider credentialsProvider =
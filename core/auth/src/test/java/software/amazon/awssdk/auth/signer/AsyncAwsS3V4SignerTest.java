@@ -0,0 +1,118 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.signer.internal.AwsChunkedEncodingInputStream;
+import software.amazon.awssdk.auth.signer.internal.AwsChunkedEncodingPublisher;
+import software.amazon.awssdk.auth.signer.internal.SignerTestUtils;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.regions.Region;
+
+public class AsyncAwsS3V4SignerTest {
+    private static final AwsCredentials CREDENTIALS = AwsBasicCredentials.create("access", "secret");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2020-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private final AsyncAwsS3V4Signer signer = AsyncAwsS3V4Signer.create();
+
+    @Test
+    public void asyncBodyOfKnownLength_isChunkEncoded() {
+        AsyncRequestBody body = AsyncRequestBody.fromString("content");
+        SdkHttpFullRequest signed = sign(request().putHeader("Content-Length", "7"));
+
+        assertThat(signed.firstMatchingHeader("x-amz-content-sha256")).hasValue("STREAMING-AWS4-HMAC-SHA256-PAYLOAD");
+        assertThat(signed.firstMatchingHeader("x-amz-decoded-content-length")).hasValue("7");
+        assertThat(signed.firstMatchingHeader("Content-Length"))
+            .hasValue(Long.toString(AwsChunkedEncodingInputStream.calculateStreamContentLength(7)));
+
+        AsyncRequestBody signedBody = SignerTestUtils.signAsyncRequest(signer, signed, body, CREDENTIALS, "s3", CLOCK,
+                                                                       "us-east-1");
+        assertThat(signedBody).isInstanceOf(AwsChunkedEncodingPublisher.class);
+        assertThat(signedBody.contentLength()).hasValue(AwsChunkedEncodingInputStream.calculateStreamContentLength(7));
+    }
+
+    @Test
+    public void chunks_areSignedWithTheDateAndScopeOfTheHeaders() {
+        // The headers are signed just before midnight, and the body is signed later, with the current time.
+        Clock beforeMidnight = Clock.fixed(Instant.parse("2019-12-31T23:59:59.900Z"), ZoneOffset.UTC);
+        SdkHttpFullRequest signed = SignerTestUtils.signRequest(signer, request().putHeader("Content-Length", "7").build(),
+                                                                CREDENTIALS, "s3", beforeMidnight, "us-east-1");
+
+        ExecutionAttributes executionAttributes = new ExecutionAttributes();
+        executionAttributes.putAttribute(AwsSignerExecutionAttribute.AWS_CREDENTIALS, CREDENTIALS);
+        executionAttributes.putAttribute(AwsSignerExecutionAttribute.SERVICE_SIGNING_NAME, "s3");
+        executionAttributes.putAttribute(AwsSignerExecutionAttribute.SIGNING_REGION, Region.US_EAST_1);
+        AsyncRequestBody signedBody = signer.signAsyncRequestBody(signed, AsyncRequestBody.fromString("content"),
+                                                                  executionAttributes);
+
+        AsyncRequestBody expectedBody = SignerTestUtils.signAsyncRequest(signer, signed, AsyncRequestBody.fromString("content"),
+                                                                         CREDENTIALS, "s3", beforeMidnight, "us-east-1");
+        assertThat(collect(signedBody)).isEqualTo(collect(expectedBody));
+    }
+
+    @Test
+    public void asyncBodyOfUnknownLength_isUnsigned() {
+        AsyncRequestBody body = AsyncRequestBody.fromString("content");
+        SdkHttpFullRequest signed = sign(request());
+
+        assertThat(signed.firstMatchingHeader("x-amz-content-sha256")).hasValue("UNSIGNED-PAYLOAD");
+        assertThat(signed.firstMatchingHeader("x-amz-decoded-content-length")).isEmpty();
+        assertThat(signer.signAsyncRequestBody(signed, body, null)).isSameAs(body);
+    }
+
+    @Test
+    public void contentHeldByRequest_isHashed() {
+        SdkHttpFullRequest signed = sign(request().putHeader("Content-Length", "7")
+                                                  .contentStreamProvider(() -> new ByteArrayInputStream("content".getBytes())));
+
+        assertThat(signed.firstMatchingHeader("x-amz-content-sha256"))
+            .hasValue("ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73");
+        assertThat(signed.firstMatchingHeader("Content-Length")).hasValue("7");
+    }
+
+    private SdkHttpFullRequest sign(SdkHttpFullRequest.Builder request) {
+        return SignerTestUtils.signRequest(signer, request.build(), CREDENTIALS, "s3", CLOCK, "us-east-1");
+    }
+
+    private static byte[] collect(AsyncRequestBody body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.subscribe(b -> {
+            byte[] bytes = new byte[b.remaining()];
+            b.get(bytes);
+            out.write(bytes, 0, bytes.length);
+        }).join();
+        return out.toByteArray();
+    }
+
+    private static SdkHttpFullRequest.Builder request() {
+        return SdkHttpFullRequest.builder()
+                                 .method(SdkHttpMethod.PUT)
+                                 .uri(URI.create("https://bucket.s3.amazonaws.com/key"));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+import software.amazon.awssdk.auth.signer.AwsS3V4Signer;
+import software.amazon.awssdk.auth.signer.params.Aws4PresignerParams;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.regions.Region;
+
+public class Aws4PresignTemplateTest {
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2020-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private final AwsS3V4Signer signer = AwsS3V4Signer.create();
+
+    @Test
+    public void presign_matchesSigner() {
+        AwsCredentials credentials = AwsBasicCredentials.create("access", "secret");
+        Aws4PresignTemplate template = template(credentials);
+
+        assertSameRequest(template.presign("other/key%20name", Collections.emptyMap()),
+                          presign(request("/bucket/other/key%20name"), credentials));
+    }
+
+    @Test
+    public void presignWithAdditionalQueryParameters_matchesSigner() {
+        AwsCredentials credentials = AwsBasicCredentials.create("access", "secret");
+        Aws4PresignTemplate template = template(credentials);
+
+        Map<String, List<String>> queryParameters = Collections.singletonMap("response-content-type",
+                                                                             Collections.singletonList("text/plain"));
+        SdkHttpFullRequest expected = presign(request("/bucket/key").toBuilder()
+                                                                    .rawQueryParameters(queryParameters)
+                                                                    .build(),
+                                              credentials);
+
+        assertSameRequest(template.presign("key", queryParameters), expected);
+    }
+
+    @Test
+    public void presignWithSessionCredentials_matchesSigner() {
+        AwsCredentials credentials = AwsSessionCredentials.create("access", "secret", "token");
+        Aws4PresignTemplate template = template(credentials);
+
+        assertSameRequest(template.presign("key", Collections.emptyMap()), presign(request("/bucket/key"), credentials));
+    }
+
+    @Test
+    public void presignAfterSignerUsedOtherCredentialsOnSameThread_matchesSigner() {
+        AwsCredentials credentials = AwsBasicCredentials.create("access", "secret");
+        Aws4PresignTemplate template = template(credentials);
+
+        presign(request("/bucket/other"), AwsBasicCredentials.create("other-access", "other-secret"));
+
+        assertSameRequest(template.presign("key", Collections.emptyMap()), presign(request("/bucket/key"), credentials));
+    }
+
+    @Test
+    public void requestThatCannotBeReproduced_isNotATemplate() {
+        AwsCredentials credentials = AwsBasicCredentials.create("access", "secret");
+        SdkHttpFullRequest presigned = presign(request("/bucket/presign%20template"), credentials);
+
+        assertThat(Aws4PresignTemplate.create(presigned, "/bucket/", credentials, "another hash")).isEmpty();
+        assertThat(Aws4PresignTemplate.create(presigned, "/other/", credentials, UNSIGNED_PAYLOAD)).isEmpty();
+        assertThat(Aws4PresignTemplate.create(request("/bucket/key"), "/bucket/", credentials, UNSIGNED_PAYLOAD)).isEmpty();
+    }
+
+    private static void assertSameRequest(SdkHttpFullRequest actual, SdkHttpFullRequest expected) {
+        assertThat(actual.encodedPath()).isEqualTo(expected.encodedPath());
+        assertThat(actual.headers()).isEqualTo(expected.headers());
+        assertThat(actual.rawQueryParameters()).isEqualTo(expected.rawQueryParameters());
+    }
+
+    private Aws4PresignTemplate template(AwsCredentials credentials) {
+        SdkHttpFullRequest presigned = presign(request("/bucket/presign%20template"), credentials);
+        Optional<Aws4PresignTemplate> template = Aws4PresignTemplate.create(presigned, "/bucket/", credentials,
+                                                                            UNSIGNED_PAYLOAD);
+        assertThat(template).isPresent();
+        return template.get();
+    }
+
+    private SdkHttpFullRequest presign(SdkHttpFullRequest request, AwsCredentials credentials) {
+        return signer.presign(request, Aws4PresignerParams.builder()
+                                                          .awsCredentials(credentials)
+                                                          .expirationTime(CLOCK.instant().plus(Duration.ofMinutes(10)))
+                                                          .signingName("s3")
+                                                          .signingClockOverride(CLOCK)
+                                                          .signingRegion(Region.US_EAST_1)
+                                                          .doubleUrlEncode(false)
+                                                          .build());
+    }
+
+    private static SdkHttpFullRequest request(String encodedPath) {
+        return SdkHttpFullRequest.builder()
+                                 .method(SdkHttpMethod.GET)
+                                 .protocol("https")
+                                 .host("s3.amazonaws.com")
+                                 .encodedPath(encodedPath)
+                                 .build();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.auth.signer.AwsS3V4Signer;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+
+public class AwsChunkedEncodingPublisherTest {
+    private static final byte[] SIGNING_KEY = new byte[32];
+    private static final String DATE_TIME = "20200101T000000Z";
+    private static final String SCOPE = "20200101/us-east-1/s3/aws4_request";
+    private static final String HEADER_SIGNATURE = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    @Test
+    public void emptyBody_publishesFinalChunkOnly() throws IOException {
+        assertEncodingMatchesInputStream(new byte[0], 1);
+    }
+
+    @Test
+    public void bodyInSmallBuffers_matchesInputStreamEncoding() throws IOException {
+        assertEncodingMatchesInputStream(randomBytes(300 * 1024 + 7), 1000);
+    }
+
+    @Test
+    public void bodyInBuffersLargerThanChunks_matchesInputStreamEncoding() throws IOException {
+        assertEncodingMatchesInputStream(randomBytes(3 * AwsChunkedEncodingInputStream.DEFAULT_CHUNK_SIZE), 200 * 1024);
+    }
+
+    @Test
+    public void resubscribing_restartsSignatureChain() throws IOException {
+        byte[] content = randomBytes(1024);
+        AwsChunkedEncodingPublisher publisher = publisher(content, 100);
+
+        assertThat(collect(publisher)).isEqualTo(collect(publisher));
+    }
+
+    @Test
+    public void rewrappedBody_encodesOriginalBody() throws IOException {
+        byte[] content = randomBytes(1024);
+        AwsChunkedEncodingPublisher publisher = new AwsChunkedEncodingPublisher(publisher(content, 100), SIGNING_KEY,
+                                                                                DATE_TIME, SCOPE, HEADER_SIGNATURE);
+
+        assertThat(publisher.contentLength()).hasValue(AwsChunkedEncodingInputStream.calculateStreamContentLength(1024));
+        assertThat(collect(publisher)).isEqualTo(inputStreamEncoding(content));
+    }
+
+    private static void assertEncodingMatchesInputStream(byte[] content, int bufferSize) throws IOException {
+        AwsChunkedEncodingPublisher publisher = publisher(content, bufferSize);
+        byte[] encoded = collect(publisher);
+
+        assertThat(encoded).isEqualTo(inputStreamEncoding(content));
+        assertThat(publisher.contentLength()).hasValue((long) encoded.length);
+    }
+
+    private static AwsChunkedEncodingPublisher publisher(byte[] content, int bufferSize) {
+        return new AwsChunkedEncodingPublisher(new BufferedBody(content, bufferSize), SIGNING_KEY,
+                                               DATE_TIME, SCOPE, HEADER_SIGNATURE);
+    }
+
+    private static byte[] inputStreamEncoding(byte[] content) throws IOException {
+        InputStream in = new AwsChunkedEncodingInputStream(new ByteArrayInputStream(content), SIGNING_KEY, DATE_TIME,
+                                                           SCOPE, HEADER_SIGNATURE, AwsS3V4Signer.create());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] collect(AsyncRequestBody body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.subscribe(b -> {
+            byte[] bytes = new byte[b.remaining()];
+            b.get(bytes);
+            out.write(bytes, 0, bytes.length);
+        }).join();
+        return out.toByteArray();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Publishes the content in buffers of the given size.
+     */
+    private static final class BufferedBody implements AsyncRequestBody {
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+        private final long length;
+
+        private BufferedBody(byte[] content, int bufferSize) {
+            for (int i = 0; i < content.length; i += bufferSize) {
+                buffers.add(ByteBuffer.wrap(content, i, Math.min(bufferSize, content.length - i)).slice());
+            }
+            this.length = content.length;
+        }
+
+        @Override
+        public Optional<Long> contentLength() {
+            return Optional.of(length);
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> s) {
+            s.onSubscribe(new Subscription() {
+                private final AtomicLong demand = new AtomicLong();
+                private int next;
+                private boolean done;
+
+                @Override
+                public void request(long n) {
+                    // Only the thread that raised the demand from zero publishes, so that requests made from onNext
+                    // don't recurse.
+                    if (demand.getAndAdd(n) != 0) {
+                        return;
+                    }
+                    do {
+                        if (done) {
+                            return;
+                        }
+                        if (next == buffers.size()) {
+                            done = true;
+                            s.onComplete();
+                            return;
+                        }
+                        s.onNext(buffers.get(next++).duplicate());
+                    } while (demand.decrementAndGet() != 0);
+                }
+
+                @Override
+                public void cancel() {
+                    done = true;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.Test;
+
+public class SigningBuffersTest {
+
+    @Test
+    public void hashChars_matchesHashOfUtf8String() throws Exception {
+        assertHashMatches("");
+        assertHashMatches("GET\n/\n\nhost:example.com\n");
+        assertHashMatches("café € 😀");
+        // An unpaired surrogate is encoded as '?', as String.getBytes does.
+        assertHashMatches("a\ud83db");
+    }
+
+    @Test
+    public void hashChars_longerThanByteBuffer_matchesHashOfUtf8String() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            text.append("x€😀");
+        }
+        assertHashMatches(text.toString());
+    }
+
+    @Test
+    public void macChars_matchesMacOfUtf8String() throws Exception {
+        byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+        String text = "AWS4-HMAC-SHA256\n20200101T000000Z\né";
+
+        SigningBuffers buffers = SigningBuffers.get();
+        buffers.chars().append(text);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        byte[] actual = buffers.macChars(mac);
+
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        assertThat(actual).isEqualTo(mac.doFinal(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void get_returnsEmptiedBuffers() {
+        SigningBuffers buffers = SigningBuffers.get();
+        buffers.chars().append("content");
+        buffers.headerNames().add("Host");
+
+        buffers = SigningBuffers.get();
+        assertThat(buffers.chars().length()).isZero();
+        assertThat(buffers.headerNames()).isEmpty();
+    }
+
+    @Test
+    public void formattedDates_matchFormatter() {
+        long[] times = {0L, 1416863450581L, 1577836799999L, 1577836800000L, 253402300799999L};
+        for (long time : times) {
+            Instant instant = Instant.ofEpochMilli(time);
+            assertThat(Aws4SignerUtils.formatDateStamp(time)).isEqualTo(Aws4SignerUtils.formatDateStamp(instant));
+            assertThat(Aws4SignerUtils.formatTimestamp(time)).isEqualTo(Aws4SignerUtils.formatTimestamp(instant));
+        }
+    }
+
+    @Test
+    public void scope_isBuiltFromDateRegionAndService() {
+        assertThat(CredentialScopeCache.scope(1416863450581L, "us-east-1", "s3")).isEqualTo("20141124/us-east-1/s3/aws4_request");
+        assertThat(CredentialScopeCache.scope(1416863450581L, null, "s3")).isEqualTo("20141124/null/s3/aws4_request");
+    }
+
+    private static void assertHashMatches(String text) throws Exception {
+        SigningBuffers buffers = SigningBuffers.get();
+        buffers.chars().append(text);
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+        assertThat(buffers.hashChars()).isEqualTo(expected);
+    }
+}
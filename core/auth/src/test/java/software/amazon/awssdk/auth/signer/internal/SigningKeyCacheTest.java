@@ -0,0 +1,121 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkSystemSetting;
+import software.amazon.awssdk.utils.BinaryUtils;
+
+public class SigningKeyCacheTest {
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    // 2015-08-30T12:36:00Z
+    private static final long SIGNING_TIME = 1440938160000L;
+
+    private final List<Runnable> backgroundTasks = new ArrayList<>();
+
+    @Test
+    public void signingKey_matchesDocumentedDerivation() {
+        // http://docs.aws.amazon.com/general/latest/gr/signature-v4-examples.html
+        SigningKeyCache cache = new SigningKeyCache(10, backgroundTasks::add);
+        byte[] key = cache.signingKey("wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY",
+                                      1329264000000L, // 2012-02-15
+                                      "us-east-1", "iam");
+
+        assertThat(BinaryUtils.toHex(key)).isEqualTo("f4780e2d9f65fa895f9c67b32ce1baf0b0d8a43505a000a1a9e090d414db404d");
+    }
+
+    @Test
+    public void signingKey_isCachedPerSecretDayRegionAndService() {
+        SigningKeyCache cache = new SigningKeyCache(10, backgroundTasks::add);
+        byte[] key = cache.signingKey("secret", SIGNING_TIME, "us-east-1", "s3");
+
+        assertThat(cache.signingKey("secret", SIGNING_TIME + 1000, "us-east-1", "s3")).isEqualTo(key);
+        assertThat(cache.size()).isEqualTo(1);
+
+        assertThat(cache.signingKey("other", SIGNING_TIME, "us-east-1", "s3")).isNotEqualTo(key);
+        assertThat(cache.signingKey("secret", SIGNING_TIME + DAY, "us-east-1", "s3")).isNotEqualTo(key);
+        assertThat(cache.signingKey("secret", SIGNING_TIME, "us-west-2", "s3")).isNotEqualTo(key);
+        assertThat(cache.signingKey("secret", SIGNING_TIME, "us-east-1", "sqs")).isNotEqualTo(key);
+        assertThat(cache.size()).isEqualTo(5);
+    }
+
+    @Test
+    public void fullCache_evictsLeastRecentlyUsedKeys() {
+        SigningKeyCache cache = new SigningKeyCache(3, backgroundTasks::add);
+        byte[] first = cache.signingKey("first", SIGNING_TIME, "us-east-1", "s3");
+        cache.signingKey("second", SIGNING_TIME, "us-east-1", "s3");
+        cache.signingKey("third", SIGNING_TIME, "us-east-1", "s3");
+
+        // Use the first key again, so that the second is the least recently used.
+        cache.signingKey("first", SIGNING_TIME, "us-east-1", "s3");
+        cache.signingKey("fourth", SIGNING_TIME, "us-east-1", "s3");
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.signingKey("first", SIGNING_TIME, "us-east-1", "s3")).isEqualTo(first);
+        assertThat(cache.size()).isEqualTo(3);
+        cache.signingKey("second", SIGNING_TIME, "us-east-1", "s3");
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void keyUsedBeforeMidnight_derivesNextDayKeyInBackground() {
+        SigningKeyCache cache = new SigningKeyCache(10, backgroundTasks::add);
+        long midnight = Math.floorDiv(SIGNING_TIME, DAY) * DAY + DAY;
+
+        cache.signingKey("secret", midnight - TimeUnit.HOURS.toMillis(1), "us-east-1", "s3");
+        assertThat(backgroundTasks).isEmpty();
+
+        cache.signingKey("secret", midnight - TimeUnit.MINUTES.toMillis(1), "us-east-1", "s3");
+        cache.signingKey("secret", midnight - TimeUnit.SECONDS.toMillis(1), "us-east-1", "s3");
+        assertThat(backgroundTasks).hasSize(1);
+
+        backgroundTasks.get(0).run();
+        assertThat(cache.size()).isEqualTo(2);
+
+        byte[] nextDayKey = cache.signingKey("secret", midnight, "us-east-1", "s3");
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(nextDayKey).isEqualTo(new SigningKeyCache(10, backgroundTasks::add)
+                                             .signingKey("secret", midnight, "us-east-1", "s3"));
+    }
+
+    @Test
+    public void configuredMaxSize_readsSystemProperty() {
+        System.setProperty(SdkSystemSetting.AWS_SIGNING_KEY_CACHE_SIZE.property(), "42");
+        try {
+            assertThat(SigningKeyCache.configuredMaxSize()).isEqualTo(42);
+        } finally {
+            System.clearProperty(SdkSystemSetting.AWS_SIGNING_KEY_CACHE_SIZE.property());
+        }
+    }
+
+    @Test
+    public void configuredMaxSize_invalidValue_usesDefault() {
+        System.setProperty(SdkSystemSetting.AWS_SIGNING_KEY_CACHE_SIZE.property(), "-1");
+        try {
+            assertThat(SigningKeyCache.configuredMaxSize()).isEqualTo(300);
+            System.setProperty(SdkSystemSetting.AWS_SIGNING_KEY_CACHE_SIZE.property(), "many");
+            assertThat(SigningKeyCache.configuredMaxSize()).isEqualTo(300);
+        } finally {
+            System.clearProperty(SdkSystemSetting.AWS_SIGNING_KEY_CACHE_SIZE.property());
+        }
+    }
+}
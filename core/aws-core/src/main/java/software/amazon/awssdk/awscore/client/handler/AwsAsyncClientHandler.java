@@ -19,6 +19,7 @@ import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.Immutable;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.auth.credentials.AsyncAwsCredentialsProvider;
 import software.amazon.awssdk.awscore.internal.client.config.AwsClientOptionValidation;
 import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.SdkResponse;
@@ -65,4 +66,15 @@ public final class AwsAsyncClientHandler extends SdkAsyncClientHandler implement
         return AwsClientHandlerUtils.createExecutionContext(executionParams, clientConfiguration, executionAttributes);
     }
 
+    /**
+     * Create the execution context of a request without blocking the calling thread, if the credentials provider of the request
+     * is an {@link AsyncAwsCredentialsProvider}.
+     */
+    @Override
+    protected <InputT extends SdkRequest, OutputT extends SdkResponse> CompletableFuture<ExecutionContext>
+        createExecutionContextAsync(ClientExecutionParams<InputT, OutputT> executionParams,
+                                    ExecutionAttributes executionAttributes) {
+        return AwsClientHandlerUtils.createExecutionContextAsync(executionParams, clientConfiguration, executionAttributes);
+    }
+
 }
@@ -21,10 +21,13 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.auth.credentials.AsyncAwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.CredentialUtils;
 import software.amazon.awssdk.auth.signer.AwsSignerExecutionAttribute;
 import software.amazon.awssdk.awscore.AwsExecutionAttribute;
 import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
@@ -61,15 +64,42 @@ public final class AwsClientHandlerUtils {
         SdkClientConfiguration clientConfig,
         ExecutionAttributes executionAttributes) {
 
-        SdkRequest originalRequest = executionParams.getInput();
+        AwsCredentials credentials = resolveCredentialsProvider(executionParams.getInput(), clientConfig).resolveCredentials();
+        return createExecutionContext(executionParams, clientConfig, executionAttributes, credentials);
+    }
+
+    /**
+     * Create the execution context of a request once its credentials have been resolved, without blocking the calling thread
+     * while they're resolved by an {@link AsyncAwsCredentialsProvider}.
+     */
+    static <InputT extends SdkRequest, OutputT extends SdkResponse> CompletableFuture<ExecutionContext>
+        createExecutionContextAsync(ClientExecutionParams<InputT, OutputT> executionParams,
+                                    SdkClientConfiguration clientConfig,
+                                    ExecutionAttributes executionAttributes) {
+
+        AwsCredentialsProvider credentialsProvider = resolveCredentialsProvider(executionParams.getInput(), clientConfig);
+        return CredentialUtils.resolveCredentialsAsync(credentialsProvider)
+                              .thenApply(credentials -> createExecutionContext(executionParams, clientConfig,
+                                                                               executionAttributes, credentials));
+    }
+
+    private static AwsCredentialsProvider resolveCredentialsProvider(SdkRequest originalRequest,
+                                                                     SdkClientConfiguration clientConfig) {
         AwsCredentialsProvider clientCredentials = clientConfig.option(AwsClientOption.CREDENTIALS_PROVIDER);
-        AwsCredentialsProvider credentialsProvider = originalRequest.overrideConfiguration()
-                                                                    .filter(c -> c instanceof AwsRequestOverrideConfiguration)
-                                                                    .map(c -> (AwsRequestOverrideConfiguration) c)
-                                                                    .flatMap(AwsRequestOverrideConfiguration::credentialsProvider)
-                                                                    .orElse(clientCredentials);
+        return originalRequest.overrideConfiguration()
+                              .filter(c -> c instanceof AwsRequestOverrideConfiguration)
+                              .map(c -> (AwsRequestOverrideConfiguration) c)
+                              .flatMap(AwsRequestOverrideConfiguration::credentialsProvider)
+                              .orElse(clientCredentials);
+    }
 
-        AwsCredentials credentials = credentialsProvider.resolveCredentials();
+    private static <InputT extends SdkRequest, OutputT extends SdkResponse> ExecutionContext createExecutionContext(
+        ClientExecutionParams<InputT, OutputT> executionParams,
+        SdkClientConfiguration clientConfig,
+        ExecutionAttributes executionAttributes,
+        AwsCredentials credentials) {
+
+        SdkRequest originalRequest = executionParams.getInput();
 
         Validate.validState(credentials != null, "Credential providers must never return null.");
 
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.regions.internal.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.SdkSystemSetting;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.internal.util.UserAgentUtils;
+import software.amazon.awssdk.regions.internal.util.EC2MetadataUtils.InstanceInfo;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.cache.CacheRefreshExecutor;
+import software.amazon.awssdk.utils.cache.CachedSupplier;
+import software.amazon.awssdk.utils.cache.RefreshResult;
+
+/**
+ * A reusable client for the Amazon EC2 Instance Metadata Service (IMDS).
+ *
+ * <p>Unlike {@link EC2MetadataUtils}, this client:
+ * <ul>
+ *     <li>Reuses its session token until shortly before it expires, instead of requesting a new token for every fetch.</li>
+ *     <li>Reads every response and error response to its end, so that the JDK keeps the connection alive and reuses it.</li>
+ *     <li>Retries a failed connection once, right away, instead of sleeping between retries. A failed connection is most
+ *     likely a kept-alive connection that the metadata service has closed.</li>
+ *     <li>Caches static metadata, such as the instance identity document that the region is read from, for a configurable
+ *     time.</li>
+ *     <li>Offers asynchronous fetches, which are performed on a shared background executor.</li>
+ * </ul>
+ *
+ * <p>If {@link SdkSystemSetting#AWS_EC2_METADATA_DISABLED} is set to true, an {@link SdkClientException} is thrown for any
+ * metadata retrieval attempt.
+ *
+ * <p>Unless an endpoint is configured, the endpoint is resolved from {@link SdkSystemSetting#AWS_EC2_METADATA_SERVICE_ENDPOINT}
+ * for every fetch, and tokens and cached metadata are kept per endpoint.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class Ec2MetadataClient {
+    private static final Logger log = LoggerFactory.getLogger(Ec2MetadataClient.class);
+
+    private static final String TOKEN_RESOURCE_PATH = "/latest/api/token";
+    private static final String INSTANCE_IDENTITY_DOCUMENT_PATH = "/latest/dynamic/instance-identity/document";
+    private static final String EC2_METADATA_TOKEN_HEADER = "x-aws-ec2-metadata-token";
+    private static final String EC2_METADATA_TOKEN_TTL_HEADER = "x-aws-ec2-metadata-token-ttl-seconds";
+
+    private static final Duration DEFAULT_TOKEN_TTL = Duration.ofHours(6);
+    private static final Duration DEFAULT_STATIC_DATA_TTL = Duration.ofHours(1);
+
+    /**
+     * How long before a token expires that it is no longer used, so that it doesn't expire while a request is in flight.
+     */
+    private static final Duration TOKEN_EXPIRATION_BUFFER = Duration.ofMinutes(1);
+
+    private static final Ec2MetadataClient INSTANCE = builder().build();
+
+    private final URI endpoint;
+    private final Duration tokenTtl;
+    private final Duration staticDataTtl;
+    private final Executor executor;
+    private final ConnectionUtils connectionUtils = ConnectionUtils.create();
+
+    /**
+     * The unexpired session token of each endpoint. Tokens are requested while holding the lock on this map, so that
+     * concurrent fetches share one token request.
+     */
+    private final Map<URI, MetadataToken> tokens = new ConcurrentHashMap<>();
+
+    /**
+     * The static metadata cached by {@link #getCachedData(String)}, by its URI.
+     */
+    private final Map<URI, CachedSupplier<String>> staticData = new ConcurrentHashMap<>();
+
+    private Ec2MetadataClient(Builder builder) {
+        this.endpoint = builder.endpoint == null ? null : trimTrailingSlash(builder.endpoint.toString());
+        this.tokenTtl = Validate.isPositive(builder.tokenTtl, "tokenTtl");
+        Validate.isTrue(tokenTtl.compareTo(TOKEN_EXPIRATION_BUFFER) > 0, "tokenTtl must be longer than %s.",
+                        TOKEN_EXPIRATION_BUFFER);
+        this.staticDataTtl = Validate.isPositive(builder.staticDataTtl, "staticDataTtl");
+        this.executor = builder.executor == null ? CacheRefreshExecutor.get() : builder.executor;
+    }
+
+    /**
+     * Retrieve the client shared by the SDK, which resolves its endpoint from
+     * {@link SdkSystemSetting#AWS_EC2_METADATA_SERVICE_ENDPOINT}.
+     */
+    public static Ec2MetadataClient getInstance() {
+        return INSTANCE;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Fetch the metadata at the provided path, such as {@code /latest/meta-data/ami-id}.
+     *
+     * @throws SdkClientException If the metadata service can't be reached, or the metadata isn't found.
+     * @throws SdkServiceException If the metadata service returns an error.
+     */
+    public String getData(String path) {
+        assertMetadataEnabled();
+        return getData(endpoint(), path);
+    }
+
+    /**
+     * Fetch the metadata at the provided path in the background.
+     *
+     * @see #getData(String)
+     */
+    public CompletableFuture<String> getDataAsync(String path) {
+        return CompletableFuture.supplyAsync(() -> getData(path), executor);
+    }
+
+    /**
+     * Fetch the metadata at the provided path, or return it from the cache if it was fetched within the static data TTL. This
+     * should only be used for metadata that doesn't change while the instance is running, such as the instance identity
+     * document.
+     *
+     * @see #getData(String)
+     */
+    public String getCachedData(String path) {
+        assertMetadataEnabled();
+        return staticDataCache(endpoint(), path).get();
+    }
+
+    /**
+     * Fetch the metadata at the provided path in the background, unless it is cached.
+     *
+     * @see #getCachedData(String)
+     */
+    public CompletableFuture<String> getCachedDataAsync(String path) {
+        try {
+            assertMetadataEnabled();
+            return staticDataCache(endpoint(), path).getAsync(executor);
+        } catch (RuntimeException e) {
+            CompletableFuture<String> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+
+    /**
+     * Retrieve the region of this instance from its cached instance identity document, or null if the document can't be
+     * parsed.
+     */
+    public String getEc2InstanceRegion() {
+        return EC2MetadataUtils.doGetEC2InstanceRegion(getCachedData(INSTANCE_IDENTITY_DOCUMENT_PATH));
+    }
+
+    /**
+     * Retrieve the region of this instance in the background.
+     *
+     * @see #getEc2InstanceRegion()
+     */
+    public CompletableFuture<String> getEc2InstanceRegionAsync() {
+        return getCachedDataAsync(INSTANCE_IDENTITY_DOCUMENT_PATH).thenApply(EC2MetadataUtils::doGetEC2InstanceRegion);
+    }
+
+    /**
+     * Retrieve the cached instance identity document of this instance, or null if it can't be parsed.
+     */
+    public InstanceInfo getInstanceInfo() {
+        return EC2MetadataUtils.doGetInstanceInfo(getCachedData(INSTANCE_IDENTITY_DOCUMENT_PATH));
+    }
+
+    private CachedSupplier<String> staticDataCache(URI endpoint, String path) {
+        return staticData.computeIfAbsent(URI.create(endpoint + path), uri -> CachedSupplier.builder(() -> {
+            return RefreshResult.builder(getData(endpoint, path))
+                                .staleTime(Instant.now().plus(staticDataTtl))
+                                .build();
+        }).build());
+    }
+
+    private String getData(URI endpoint, String path) {
+        String token = token(endpoint);
+        try {
+            return read(endpoint, path, token);
+        } catch (SdkServiceException e) {
+            if (token == null || e.statusCode() != HttpURLConnection.HTTP_UNAUTHORIZED) {
+                throw e;
+            }
+
+            // The token was rejected before it expired, so request a new one.
+            log.debug("The EC2 metadata token was rejected. Requesting a new one.");
+            tokens.remove(endpoint);
+            return read(endpoint, path, token(endpoint));
+        }
+    }
+
+    private String read(URI endpoint, String path, String token) {
+        Map<String, String> headers = defaultHeaders();
+        if (token != null) {
+            headers.put(EC2_METADATA_TOKEN_HEADER, token);
+        }
+        return request(URI.create(endpoint + path), "GET", headers);
+    }
+
+    /**
+     * Retrieve the unexpired session token of the provided endpoint, requesting a new one if there is none. Returns null if
+     * the metadata service doesn't support tokens, in which case metadata is fetched without a token.
+     */
+    private String token(URI endpoint) {
+        MetadataToken token = tokens.get(endpoint);
+        if (token != null && !token.isExpired()) {
+            return token.value;
+        }
+
+        synchronized (tokens) {
+            token = tokens.get(endpoint);
+            if (token != null && !token.isExpired()) {
+                return token.value;
+            }
+
+            Instant expiration = Instant.now().plus(tokenTtl).minus(TOKEN_EXPIRATION_BUFFER);
+            String value = requestToken(endpoint);
+            if (value == null) {
+                tokens.remove(endpoint);
+                return null;
+            }
+
+            tokens.put(endpoint, new MetadataToken(value, expiration));
+            return value;
+        }
+    }
+
+    private String requestToken(URI endpoint) {
+        Map<String, String> headers = defaultHeaders();
+        headers.put(EC2_METADATA_TOKEN_TTL_HEADER, Long.toString(tokenTtl.getSeconds()));
+
+        try {
+            return request(URI.create(endpoint + TOKEN_RESOURCE_PATH), "PUT", headers);
+        } catch (SdkServiceException e) {
+            // Metadata resolution must not continue to the token-less flow for a 400.
+            if (e.statusCode() == HttpURLConnection.HTTP_BAD_REQUEST) {
+                throw SdkClientException.builder()
+                                        .message("Unable to fetch metadata token")
+                                        .cause(e)
+                                        .build();
+            }
+            return null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Send a request, retrying once right away if the connection fails.
+     */
+    private String request(URI uri, String method, Map<String, String> headers) {
+        try {
+            return requestOnce(uri, method, headers);
+        } catch (IOException e) {
+            log.debug("Unable to connect to the EC2 metadata service at {}. Retrying once.", uri, e);
+        }
+
+        try {
+            return requestOnce(uri, method, headers);
+        } catch (IOException e) {
+            throw SdkClientException.builder()
+                                    .message("Unable to contact EC2 metadata service.")
+                                    .cause(e)
+                                    .build();
+        }
+    }
+
+    private String requestOnce(URI uri, String method, Map<String, String> headers) throws IOException {
+        HttpURLConnection connection = connectionUtils.connectToEndpoint(uri, headers, method);
+        int statusCode = connection.getResponseCode();
+
+        if (statusCode == HttpURLConnection.HTTP_OK) {
+            try (InputStream inputStream = connection.getInputStream()) {
+                return IoUtils.toUtf8String(inputStream);
+            }
+        }
+
+        // Read the error response to its end, so that the connection can be reused.
+        try (InputStream errorStream = connection.getErrorStream()) {
+            if (errorStream != null) {
+                IoUtils.drainInputStream(errorStream);
+            }
+        }
+
+        if (statusCode == HttpURLConnection.HTTP_NOT_FOUND) {
+            throw SdkClientException.builder()
+                                    .message("The requested metadata is not found at " + uri)
+                                    .build();
+        }
+
+        throw SdkServiceException.builder()
+                                 .message(connection.getResponseMessage())
+                                 .statusCode(statusCode)
+                                 .build();
+    }
+
+    private URI endpoint() {
+        if (endpoint != null) {
+            return endpoint;
+        }
+        return trimTrailingSlash(SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.getStringValueOrThrow());
+    }
+
+    private static URI trimTrailingSlash(String endpoint) {
+        return URI.create(endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint);
+    }
+
+    private static Map<String, String> defaultHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("User-Agent", UserAgentUtils.getUserAgent());
+        headers.put("Accept", "*/*");
+        headers.put("Connection", "keep-alive");
+        return headers;
+    }
+
+    private static void assertMetadataEnabled() {
+        if (SdkSystemSetting.AWS_EC2_METADATA_DISABLED.getBooleanValueOrThrow()) {
+            throw SdkClientException.builder().message("EC2 metadata usage is disabled.").build();
+        }
+    }
+
+    private static final class MetadataToken {
+        private final String value;
+        private final Instant expiration;
+
+        private MetadataToken(String value, Instant expiration) {
+            this.value = value;
+            this.expiration = expiration;
+        }
+
+        private boolean isExpired() {
+            return !Instant.now().isBefore(expiration);
+        }
+    }
+
+    /**
+     * A builder for an {@link Ec2MetadataClient}, created with {@link #builder()}.
+     */
+    public static final class Builder {
+        private URI endpoint;
+        private Duration tokenTtl = DEFAULT_TOKEN_TTL;
+        private Duration staticDataTtl = DEFAULT_STATIC_DATA_TTL;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * Configure the endpoint of the metadata service, such as a local stand-in server in tests. By default, the endpoint is
+         * resolved from {@link SdkSystemSetting#AWS_EC2_METADATA_SERVICE_ENDPOINT} for every fetch.
+         */
+        public Builder endpoint(URI endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
+        /**
+         * Configure how long the session tokens requested by the client are valid. By default, this is 6 hours.
+         */
+        public Builder tokenTtl(Duration tokenTtl) {
+            this.tokenTtl = tokenTtl;
+            return this;
+        }
+
+        /**
+         * Configure how long static metadata is cached by {@link Ec2MetadataClient#getCachedData(String)}. By default, this is
+         * 1 hour.
+         */
+        public Builder staticDataTtl(Duration staticDataTtl) {
+            this.staticDataTtl = staticDataTtl;
+            return this;
+        }
+
+        /**
+         * Configure the executor that asynchronous fetches are performed on. By default, this is the shared
+         * {@link CacheRefreshExecutor}.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Ec2MetadataClient build() {
+            return new Ec2MetadataClient(this);
+        }
+    }
+}
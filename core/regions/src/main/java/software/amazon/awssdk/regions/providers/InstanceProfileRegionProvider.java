@@ -19,7 +19,7 @@ import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.regions.internal.util.EC2MetadataUtils;
+import software.amazon.awssdk.regions.internal.util.Ec2MetadataClient;
 
 /**
  * Attempts to load region information from the EC2 Metadata service. If the application is not
@@ -65,6 +65,6 @@ public final class InstanceProfileRegionProvider implements AwsRegionProvider {
     }
 
     private String tryDetectRegion() {
-        return EC2MetadataUtils.getEC2InstanceRegion();
+        return Ec2MetadataClient.getInstance().getEc2InstanceRegion();
     }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.regions.internal.util;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkSystemSetting;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+public class Ec2MetadataClientTest {
+    private static final String TOKEN_RESOURCE_PATH = "/latest/api/token";
+    private static final String TOKEN_HEADER = "x-aws-ec2-metadata-token";
+    private static final String EC2_METADATA_TOKEN_TTL_HEADER = "x-aws-ec2-metadata-token-ttl-seconds";
+
+    private static final String AMI_ID_RESOURCE = "/latest/meta-data/ami-id";
+    private static final String INSTANCE_IDENTITY_DOCUMENT_RESOURCE = "/latest/dynamic/instance-identity/document";
+
+    @Rule
+    public WireMockRule mockMetadataEndpoint = new WireMockRule(0);
+
+    private Ec2MetadataClient client;
+
+    @Before
+    public void methodSetup() {
+        client = Ec2MetadataClient.builder()
+                                  .endpoint(URI.create("http://localhost:" + mockMetadataEndpoint.port()))
+                                  .build();
+    }
+
+    @Test
+    public void getData_includesToken() {
+        stubFor(put(urlPathEqualTo(TOKEN_RESOURCE_PATH)).willReturn(aResponse().withBody("some-token")));
+        stubFor(get(urlPathEqualTo(AMI_ID_RESOURCE)).willReturn(aResponse().withBody("ami-1234")));
+
+        assertThat(client.getData(AMI_ID_RESOURCE)).isEqualTo("ami-1234");
+
+        WireMock.verify(putRequestedFor(urlPathEqualTo(TOKEN_RESOURCE_PATH)).withHeader(EC2_METADATA_TOKEN_TTL_HEADER, equalTo("21600")));
+        WireMock.verify(getRequestedFor(urlPathEqualTo(AMI_ID_RESOURCE)).withHeader(TOKEN_HEADER, equalTo("some-token")));
+    }
+
+    @Test
+    public void getData_reusesToken() {
+        stubFor(put(urlPathEqualTo(TOKEN_RESOURCE_PATH)).willReturn(aResponse().withBody("some-token")));
+        stubFor(get(urlPathEqualTo(AMI_ID_RESOURCE)).willReturn(aResponse().withBody("ami-1234")));
+
+        client.getData(AMI_ID_RESOURCE);
+        client.getData(AMI_ID_RESOURCE);
+
+        WireMock.verify(1, putRequestedFor(urlPathEqualTo(TOKEN_RESOURCE_PATH)));
+        WireMock.verify(2, getRequestedFor(urlPathEqualTo(AMI_ID_RESOURCE)).withHeader(TOKEN_HEADER, equalTo("some-token")));
+    }
+
+    @Test
+    public void getData_tokenRejected_requestsNewToken() {
+        stubFor(put(urlPathEqualTo(TOKEN_RESOURCE_PATH)).inScenario("token")
+                                                        .whenScenarioStateIs(STARTED)
+                                                        .willSetStateTo("rejected")
+                                                        .willReturn(aResponse().withBody("old-token")));
+        stubFor(put(urlPathEqualTo(TOKEN_RESOURCE_PATH)).inScenario("token")
+                                                        .whenScenarioStateIs("rejected")
+                                                        .willReturn(aResponse().withBody("new-token")));
+        stubFor(get(urlPathEqualTo(AMI_ID_RESOURCE)).withHeader(TOKEN_HEADER, equalTo("old-token"))
+                                                    .willReturn(aResponse().withStatus(401)));
+        stubFor(get(urlPathEqualTo(AMI_ID_RESOURCE)).withHeader(TOKEN_HEADER, equalTo("new-token"))
+                                                    .willReturn(aResponse().withBody("ami-1234")));
+
+        assertThat(client.getData(AMI_ID_RESOURCE)).isEqualTo("ami-1234");
+
+        WireMock.verify(2, putRequestedFor(urlPathEqualTo(TOKEN_RESOURCE_PATH)));
+    }
+
+    @Test
+    public void getData_tokenQuery403Error_fallsBackToInsecure() {
+        stubFor(put(urlPathEqualTo(TOKEN_RESOURCE_PATH)).willReturn(aResponse().withStatus(403).withBody("oops")));
+        stubFor(get(urlPathEqualTo(AMI_ID_RESOURCE)).willReturn(aResponse().withBody("ami-1234")));
+
+        assertThat(client.getData(AMI_ID_RESOURCE)).isEqualTo("ami-1234");
+
+        WireMock.verify(getRequestedFor(urlPathEqualTo(AMI_ID_RESOURCE)).withoutHeader(TOKEN_HEADER));
+    }
+
+    @Test
+    public void getData_tokenQuery400Error_throws() {
+        stubFor(put(urlPathEqualTo(TOKEN_RESOURCE_PATH)).willReturn(aResponse().withStatus(400).withBody("oops")));
+        stubFor(get(urlPathEqualTo(AMI_ID_RESOURCE)).willReturn(aResponse().withBody("ami-1234")));
+
+        assertThatThrownBy(() -> client.getData(AMI_ID_RESOURCE)).isInstanceOf(SdkClientException.class)
+                                                                  .hasMessageContaining("token");
+    }
+
+    @Test
+    public void getData_notFound_throws() {
+        stubFor(put(urlPathEqualTo(TOKEN_RESOURCE_PATH)).willReturn(aResponse().withBody("some-token")));
+        stubFor(get(urlPathEqualTo(AMI_ID_RESOURCE)).willReturn(aResponse().withStatus(404)));
+
+        assertThatThrownBy(() -> client.getData(AMI_ID_RESOURCE)).isInstanceOf(SdkClientException.class)
+                                                                  .hasMessageContaining("not found");
+    }
+
+    @Test
+    public void getData_metadataDisabled_throws() {
+        try {
+            System.setProperty(SdkSystemSetting.AWS_EC2_METADATA_DISABLED.property(), "true");
+            assertThatThrownBy(() -> client.getData(AMI_ID_RESOURCE)).isInstanceOf(SdkClientException.class)
+                                                                      .hasMessageContaining("disabled");
+        } finally {
+            System.clearProperty(SdkSystemSetting.AWS_EC2_METADATA_DISABLED.property());
+        }
+    }
+
+    @Test
+    public void getCachedData_fetchesOnce() {
+        stubFor(put(urlPathEqualTo(TOKEN_RESOURCE_PATH)).willReturn(aResponse().withBody("some-token")));
+        stubFor(get(urlPathEqualTo(AMI_ID_RESOURCE)).willReturn(aResponse().withBody("ami-1234")));
+
+        assertThat(client.getCachedData(AMI_ID_RESOURCE)).isEqualTo("ami-1234");
+        assertThat(client.getCachedData(AMI_ID_RESOURCE)).isEqualTo("ami-1234");
+
+        WireMock.verify(1, getRequestedFor(urlPathEqualTo(AMI_ID_RESOURCE)));
+    }
+
+    @Test
+    public void getEc2InstanceRegionAsync_readsInstanceIdentityDocument() throws Exception {
+        stubFor(put(urlPathEqualTo(TOKEN_RESOURCE_PATH)).willReturn(aResponse().withBody("some-token")));
+        stubFor(get(urlPathEqualTo(INSTANCE_IDENTITY_DOCUMENT_RESOURCE))
+                    .willReturn(aResponse().withBody("{\"region\":\"us-west-2\"}")));
+
+        assertThat(client.getEc2InstanceRegionAsync().get(10, TimeUnit.SECONDS)).isEqualTo("us-west-2");
+        assertThat(client.getEc2InstanceRegion()).isEqualTo("us-west-2");
+
+        WireMock.verify(1, getRequestedFor(urlPathEqualTo(INSTANCE_IDENTITY_DOCUMENT_RESOURCE)));
+    }
+
+    @Test
+    public void getDataAsync_fetchesInBackground() throws Exception {
+        stubFor(put(urlPathEqualTo(TOKEN_RESOURCE_PATH)).willReturn(aResponse().withBody("some-token")));
+        stubFor(get(urlPathEqualTo(AMI_ID_RESOURCE)).willReturn(aResponse().withBody("ami-1234")));
+
+        assertThat(client.getDataAsync(AMI_ID_RESOURCE).get(10, TimeUnit.SECONDS)).isEqualTo("ami-1234");
+    }
+}
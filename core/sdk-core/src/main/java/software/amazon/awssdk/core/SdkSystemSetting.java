@@ -149,7 +149,13 @@ public enum SdkSystemSetting implements SystemSetting {
      * the SDK to use the {@code s3.us-east-1.amazonaws.com} endpoint when using the {@code US_EAST_1} region instead of
      * the global {@code s3.amazonaws.com}. Using the regional endpoint is disabled by default.
      */
-    AWS_S3_US_EAST_1_REGIONAL_ENDPOINT("aws.s3UseUsEast1RegionalEndpoint", null);
+    AWS_S3_US_EAST_1_REGIONAL_ENDPOINT("aws.s3UseUsEast1RegionalEndpoint", null),
+
+    /**
+     * The number of SigV4 signing keys cached by the signers. A signing key is derived for each combination of credentials,
+     * region, service and day, so processes that use many roles may need a larger cache.
+     */
+    AWS_SIGNING_KEY_CACHE_SIZE("aws.signingKeyCacheSize", "300");
 
     private final String systemProperty;
     private final String defaultValue;
@@ -54,6 +54,7 @@ import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.interceptor.ClasspathInterceptorChainFactory;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.internal.http.async.AsyncToSyncHttpClientAdapter;
 import software.amazon.awssdk.core.internal.http.loader.DefaultSdkAsyncHttpClientBuilder;
 import software.amazon.awssdk.core.internal.http.loader.DefaultSdkHttpClientBuilder;
 import software.amazon.awssdk.core.internal.util.UserAgentUtils;
@@ -208,6 +209,8 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
     private SdkClientConfiguration finalizeSyncConfiguration(SdkClientConfiguration config) {
         return config.toBuilder()
                      .option(SdkClientOption.SYNC_HTTP_CLIENT, resolveSyncHttpClient(config))
+                     // An async HTTP client configured on a sync builder is only used through the sync client above
+                     .option(ASYNC_HTTP_CLIENT, null)
                      .option(SdkClientOption.CLIENT_TYPE, SYNC)
                      .build();
     }
@@ -240,6 +243,13 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
         Validate.isTrue(config.option(SdkClientOption.SYNC_HTTP_CLIENT) == null || httpClientBuilder == null,
                         "The httpClient and the httpClientBuilder can't both be configured.");
 
+        SdkAsyncHttpClient asyncHttpClient = config.option(ASYNC_HTTP_CLIENT);
+        if (asyncHttpClient != null) {
+            Validate.isTrue(config.option(SdkClientOption.SYNC_HTTP_CLIENT) == null && httpClientBuilder == null,
+                            "An async httpClient can't be configured with a sync httpClient or httpClientBuilder.");
+            return new AsyncToSyncHttpClientAdapter(new NonManagedSdkAsyncHttpClient(asyncHttpClient));
+        }
+
         return Either.fromNullable(config.option(SdkClientOption.SYNC_HTTP_CLIENT), httpClientBuilder)
                      .map(e -> e.map(NonManagedSdkHttpClient::new, b -> b.buildWithDefaults(childHttpConfig())))
                      .orElseGet(() -> defaultHttpClientBuilder.buildWithDefaults(childHttpConfig()));
@@ -424,6 +434,11 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
         public void close() {
             // Do nothing, this client is managed by the customer.
         }
+
+        @Override
+        public String clientName() {
+            return delegate.clientName();
+        }
     }
 
 
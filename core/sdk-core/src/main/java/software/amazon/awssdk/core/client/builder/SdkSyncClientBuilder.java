@@ -17,6 +17,7 @@ package software.amazon.awssdk.core.client.builder;
 
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 
 /**
  * This includes required and optional override configuration required by every sync client builder. An instance can be acquired
@@ -54,4 +55,19 @@ public interface SdkSyncClientBuilder<B extends SdkSyncClientBuilder<B, C>, C> {
      * </p>
      */
     B httpClientBuilder(SdkHttpClient.Builder httpClientBuilder);
+
+    /**
+     * Sets an {@link SdkAsyncHttpClient} that the SDK service client will use to make HTTP calls instead of a sync
+     * {@link SdkHttpClient}. This allows sync and async service clients to share one connection pool and set of I/O threads.
+     * Each call blocks the calling thread until the response headers are received. The response body is then streamed from
+     * the async HTTP client, buffering a bounded amount of it at a time.
+     *
+     * <p>This can't be combined with {@link #httpClient(SdkHttpClient)} or {@link #httpClientBuilder(SdkHttpClient.Builder)}.
+     *
+     * <p>
+     * <b>This client must be closed by the user when it is ready to be disposed. The SDK will not close the HTTP client
+     * when the service client is closed.</b>
+     * </p>
+     */
+    B httpClient(SdkAsyncHttpClient httpClient);
 }
@@ -30,11 +30,16 @@ import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.internal.util.NoopSubscription;
+import software.amazon.awssdk.utils.SdkBufferPool;
 import software.amazon.awssdk.utils.builder.SdkBuilder;
 
 /**
  * Implementation of {@link AsyncRequestBody} that reads data from a file.
  *
+ * <p>Chunks are read into buffers leased from a {@link SdkBufferPool}. A subscriber that is done with a chunk may return it
+ * to its pool with {@link SdkBufferPool#releaseToOwningPool(ByteBuffer)}; chunks that are not returned are left to the
+ * garbage collector.
+ *
  * @see AsyncRequestBody#fromFile(Path)
  * @see AsyncRequestBody#fromFile(java.io.File)
  */
@@ -56,9 +61,22 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
      */
     private final int chunkSizeInBytes;
 
+    /**
+     * Pool the chunks are leased from.
+     */
+    private final SdkBufferPool bufferPool;
+
     private FileAsyncRequestBody(DefaultBuilder builder) {
         this.path = builder.path;
         this.chunkSizeInBytes = builder.chunkSizeInBytes == null ? DEFAULT_CHUNK_SIZE : builder.chunkSizeInBytes;
+        this.bufferPool = builder.bufferPool == null ? SdkBufferPool.defaultPool() : builder.bufferPool;
+    }
+
+    /**
+     * @return The file this body reads from.
+     */
+    public Path path() {
+        return path;
     }
 
     @Override
@@ -78,7 +96,7 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
             // We need to synchronize here because the subscriber could call
             // request() from within onSubscribe which would potentially
             // trigger onNext before onSubscribe is finished.
-            Subscription subscription = new FileSubscription(channel, s, chunkSizeInBytes);
+            Subscription subscription = new FileSubscription(channel, s, chunkSizeInBytes, bufferPool);
             synchronized (subscription) {
                 s.onSubscribe(subscription);
             }
@@ -122,12 +140,22 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
          */
         Builder chunkSizeInBytes(Integer chunkSize);
 
+        /**
+         * Sets the pool the chunks read from the file are leased from. By default, {@link SdkBufferPool#defaultPool()} is
+         * used.
+         *
+         * @param bufferPool The buffer pool.
+         * @return This builder for method chaining.
+         */
+        Builder bufferPool(SdkBufferPool bufferPool);
+
     }
 
     private static final class DefaultBuilder implements Builder {
 
         private Path path;
         private Integer chunkSizeInBytes;
+        private SdkBufferPool bufferPool;
 
         @Override
         public Builder path(Path path) {
@@ -149,6 +177,16 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
             chunkSizeInBytes(chunkSizeInBytes);
         }
 
+        @Override
+        public Builder bufferPool(SdkBufferPool bufferPool) {
+            this.bufferPool = bufferPool;
+            return this;
+        }
+
+        public void setBufferPool(SdkBufferPool bufferPool) {
+            bufferPool(bufferPool);
+        }
+
         @Override
         public FileAsyncRequestBody build() {
             return new FileAsyncRequestBody(this);
@@ -162,16 +200,21 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
         private final AsynchronousFileChannel inputChannel;
         private final Subscriber<? super ByteBuffer> subscriber;
         private final int chunkSize;
+        private final SdkBufferPool bufferPool;
 
         private long position = 0;
         private AtomicLong outstandingDemand = new AtomicLong(0);
         private boolean writeInProgress = false;
         private volatile boolean done = false;
 
-        private FileSubscription(AsynchronousFileChannel inputChannel, Subscriber<? super ByteBuffer> subscriber, int chunkSize) {
+        private FileSubscription(AsynchronousFileChannel inputChannel,
+                                 Subscriber<? super ByteBuffer> subscriber,
+                                 int chunkSize,
+                                 SdkBufferPool bufferPool) {
             this.inputChannel = inputChannel;
             this.subscriber = subscriber;
             this.chunkSize = chunkSize;
+            this.bufferPool = bufferPool;
         }
 
         @Override
@@ -225,7 +268,7 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
                 return;
             }
 
-            ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+            ByteBuffer buffer = bufferPool.acquire(chunkSize);
             inputChannel.read(buffer, position, buffer, new CompletionHandler<Integer, ByteBuffer>() {
                 @Override
                 public void completed(Integer result, ByteBuffer attachment) {
@@ -240,6 +283,7 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
                         }
                     } else {
                         // Reached the end of the file, notify the subscriber and cleanup
+                        bufferPool.release(attachment);
                         signalOnComplete();
                         closeFile();
                     }
@@ -251,6 +295,7 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
 
                 @Override
                 public void failed(Throwable exc, ByteBuffer attachment) {
+                    bufferPool.release(attachment);
                     signalOnError(exc);
                     closeFile();
                 }
@@ -269,8 +314,10 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
             synchronized (this) {
                 if (!done) {
                     subscriber.onNext(bb);
+                    return;
                 }
             }
+            bufferPool.release(bb);
         }
 
         private void signalOnComplete() {
@@ -19,6 +19,8 @@ import static software.amazon.awssdk.utils.FunctionalUtils.runAndLogError;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import software.amazon.awssdk.annotations.SdkInternalApi;
@@ -27,6 +29,7 @@ import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.SdkResponse;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.client.handler.AsyncClientHandler;
 import software.amazon.awssdk.core.client.handler.ClientExecutionParams;
@@ -71,20 +74,24 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
         ClientExecutionParams<InputT, OutputT> executionParams) {
 
         validateExecutionParams(executionParams);
-        ExecutionContext executionContext = createExecutionContext(executionParams, createInitialExecutionAttributes());
-        TransformingAsyncResponseHandler<Response<OutputT>> combinedResponseHandler;
-
-        /* Decorate and combine provided response handlers into a single decorated response handler */
-        if (executionParams.getCombinedResponseHandler() == null) {
-            combinedResponseHandler = createDecoratedHandler(executionParams.getResponseHandler(),
-                                                             executionParams.getErrorResponseHandler(),
-                                                             executionContext);
-        } else {
-            combinedResponseHandler = createDecoratedHandler(executionParams.getCombinedResponseHandler(),
-                                                             executionContext);
-        }
+        CompletableFuture<ExecutionContext> executionContextFuture =
+            createExecutionContextAsync(executionParams, createInitialExecutionAttributes());
+
+        return executeWithExecutionContext(executionContextFuture, executionContext -> {
+            TransformingAsyncResponseHandler<Response<OutputT>> combinedResponseHandler;
+
+            /* Decorate and combine provided response handlers into a single decorated response handler */
+            if (executionParams.getCombinedResponseHandler() == null) {
+                combinedResponseHandler = createDecoratedHandler(executionParams.getResponseHandler(),
+                                                                 executionParams.getErrorResponseHandler(),
+                                                                 executionContext);
+            } else {
+                combinedResponseHandler = createDecoratedHandler(executionParams.getCombinedResponseHandler(),
+                                                                 executionContext);
+            }
 
-        return doExecute(executionParams, executionContext, combinedResponseHandler);
+            return doExecute(executionParams, executionContext, combinedResponseHandler);
+        });
     }
 
     @Override
@@ -118,20 +125,78 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
                 Integer::equals);
         wrappedAsyncStreamingResponseHandler.prepare();
 
-        ExecutionContext context = createExecutionContext(executionParams, executionAttributes);
+        CompletableFuture<ExecutionContext> executionContextFuture =
+            createExecutionContextAsync(executionParams, executionAttributes);
 
-        HttpResponseHandler<OutputT> decoratedResponseHandlers =
-            decorateResponseHandlers(executionParams.getResponseHandler(), context);
+        return executeWithExecutionContext(executionContextFuture, executionContext -> {
+            HttpResponseHandler<OutputT> decoratedResponseHandlers =
+                decorateResponseHandlers(executionParams.getResponseHandler(), executionContext);
+
+            asyncStreamingResponseHandler.responseHandler(decoratedResponseHandlers);
+
+            TransformingAsyncResponseHandler<? extends SdkException> errorHandler =
+                resolveErrorResponseHandler(executionParams.getErrorResponseHandler(), executionContext, crc32Validator);
 
-        asyncStreamingResponseHandler.responseHandler(decoratedResponseHandlers);
+            TransformingAsyncResponseHandler<Response<ReturnT>> combinedResponseHandler =
+                new CombinedResponseAsyncHttpResponseHandler<>(wrappedAsyncStreamingResponseHandler, errorHandler);
 
-        TransformingAsyncResponseHandler<? extends SdkException> errorHandler =
-            resolveErrorResponseHandler(executionParams.getErrorResponseHandler(), context, crc32Validator);
+            return doExecute(executionParams, executionContext, combinedResponseHandler);
+        });
+    }
 
-        TransformingAsyncResponseHandler<Response<ReturnT>> combinedResponseHandler =
-            new CombinedResponseAsyncHttpResponseHandler<>(wrappedAsyncStreamingResponseHandler, errorHandler);
+    /**
+     * Create the execution context of a request without blocking the calling thread. By default, it's created on the calling
+     * thread by {@link #createExecutionContext(ClientExecutionParams, ExecutionAttributes)}, but handlers that need to wait for
+     * something to create it, such as the credentials of the request, can override this to wait for it asynchronously.
+     */
+    protected <InputT extends SdkRequest, OutputT extends SdkResponse> CompletableFuture<ExecutionContext>
+        createExecutionContextAsync(ClientExecutionParams<InputT, OutputT> executionParams,
+                                    ExecutionAttributes executionAttributes) {
+        return CompletableFuture.completedFuture(createExecutionContext(executionParams, executionAttributes));
+    }
 
-        return doExecute(executionParams, context, combinedResponseHandler);
+    /**
+     * Execute a request once its execution context has been created. If it has already been created, the request is executed on
+     * the calling thread. Otherwise, it's executed on the future completion executor once it has been, rather than on the thread
+     * that created it, so that the request doesn't hold up whatever created it.
+     */
+    private <ReturnT> CompletableFuture<ReturnT> executeWithExecutionContext(
+        CompletableFuture<ExecutionContext> executionContextFuture,
+        Function<ExecutionContext, CompletableFuture<ReturnT>> execution) {
+
+        if (executionContextFuture.isDone() && !executionContextFuture.isCompletedExceptionally()) {
+            return execution.apply(executionContextFuture.join());
+        }
+
+        CompletableFuture<ReturnT> executeFuture = new CompletableFuture<>();
+        Executor futureCompletionExecutor = clientConfiguration.option(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR);
+        executionContextFuture.whenCompleteAsync((executionContext, t) -> {
+            if (t != null) {
+                Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+                executeFuture.completeExceptionally(ThrowableUtils.asSdkException(cause));
+                return;
+            }
+
+            // The request may have been cancelled while the execution context was being created.
+            if (executeFuture.isDone()) {
+                return;
+            }
+
+            try {
+                CompletableFuture<ReturnT> executionFuture = execution.apply(executionContext);
+                CompletableFutureUtils.forwardExceptionTo(executeFuture, executionFuture);
+                executionFuture.whenComplete((r, e) -> {
+                    if (e != null) {
+                        executeFuture.completeExceptionally(e);
+                    } else {
+                        executeFuture.complete(r);
+                    }
+                });
+            } catch (Throwable e) {
+                executeFuture.completeExceptionally(ThrowableUtils.asSdkException(e));
+            }
+        }, futureCompletionExecutor);
+        return executeFuture;
     }
 
     /**
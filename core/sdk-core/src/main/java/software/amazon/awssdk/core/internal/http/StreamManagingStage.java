@@ -18,12 +18,15 @@ package software.amazon.awssdk.core.internal.http;
 import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 
 import java.io.InputStream;
-
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.Response;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.io.ReleasableInputStream;
+import software.amazon.awssdk.http.ByteBufferContentStreamProvider;
 import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.FileRegionContentStreamProvider;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.utils.Logger;
 
@@ -62,7 +65,17 @@ public final class StreamManagingStage<OutputT> implements RequestPipeline<SdkHt
         }
     }
 
+    /**
+     * The managed provider keeps implementing the optional interfaces of the wrapped one, so that the HTTP client can still
+     * write in-memory and file content directly.
+     */
     private static ClosingStreamProvider createManagedProvider(ContentStreamProvider contentStreamProvider) {
+        if (contentStreamProvider instanceof ByteBufferContentStreamProvider) {
+            return new ClosingByteBufferStreamProvider((ByteBufferContentStreamProvider) contentStreamProvider);
+        }
+        if (contentStreamProvider instanceof FileRegionContentStreamProvider) {
+            return new ClosingFileRegionStreamProvider((FileRegionContentStreamProvider) contentStreamProvider);
+        }
         return new ClosingStreamProvider(contentStreamProvider);
     }
 
@@ -87,4 +100,44 @@ public final class StreamManagingStage<OutputT> implements RequestPipeline<SdkHt
             }
         }
     }
+
+    private static final class ClosingByteBufferStreamProvider extends ClosingStreamProvider
+        implements ByteBufferContentStreamProvider {
+        private final ByteBufferContentStreamProvider wrapped;
+
+        ClosingByteBufferStreamProvider(ByteBufferContentStreamProvider wrapped) {
+            super(wrapped);
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public ByteBuffer byteBuffer() {
+            return wrapped.byteBuffer();
+        }
+    }
+
+    private static final class ClosingFileRegionStreamProvider extends ClosingStreamProvider
+        implements FileRegionContentStreamProvider {
+        private final FileRegionContentStreamProvider wrapped;
+
+        ClosingFileRegionStreamProvider(FileRegionContentStreamProvider wrapped) {
+            super(wrapped);
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public Path path() {
+            return wrapped.path();
+        }
+
+        @Override
+        public long position() {
+            return wrapped.position();
+        }
+
+        @Override
+        public long size() {
+            return wrapped.size();
+        }
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.async;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.Header;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An {@link SdkHttpClient} that executes requests with an {@link SdkAsyncHttpClient}, so that sync and async service
+ * clients can share one connection pool and set of I/O threads.
+ *
+ * <p>The calling thread blocks on the async request. It reads the request content and hands it to the async client one chunk
+ * at a time (see {@link InputStreamContentPublisher}), and the response body is streamed through a
+ * {@link ResponseBodyInputStream} holding at most {@link #MAX_BUFFERED_RESPONSE_BYTES}.
+ */
+@SdkInternalApi
+public final class AsyncToSyncHttpClientAdapter implements SdkHttpClient {
+    private static final long MAX_BUFFERED_RESPONSE_BYTES = 1024 * 1024;
+
+    private final SdkAsyncHttpClient delegate;
+
+    public AsyncToSyncHttpClientAdapter(SdkAsyncHttpClient delegate) {
+        this.delegate = Validate.paramNotNull(delegate, "delegate");
+    }
+
+    @Override
+    public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+        return new AdaptedRequest(request);
+    }
+
+    @Override
+    public String clientName() {
+        return delegate.clientName();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private final class AdaptedRequest implements ExecutableHttpRequest {
+        private final HttpExecuteRequest request;
+        private final InputStreamContentPublisher content;
+        private final ResponseBodyInputStream responseBody = new ResponseBodyInputStream(MAX_BUFFERED_RESPONSE_BYTES);
+        private final CompletableFuture<SdkHttpResponse> responseFuture = new CompletableFuture<>();
+        private volatile CompletableFuture<Void> executeFuture;
+        private volatile boolean aborted;
+
+        private AdaptedRequest(HttpExecuteRequest request) {
+            this.request = request;
+            this.content = new InputStreamContentPublisher(request.contentStreamProvider().orElse(null), contentLength());
+        }
+
+        @Override
+        public HttpExecuteResponse call() throws IOException {
+            executeFuture = delegate.execute(AsyncExecuteRequest.builder()
+                                                                .request(request.httpRequest())
+                                                                .requestContentPublisher(content)
+                                                                .responseHandler(new ResponseHandler())
+                                                                .build());
+            executeFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    responseFuture.completeExceptionally(t);
+                    responseBody.onError(t);
+                }
+                content.wakeUp();
+            });
+
+            if (aborted) {
+                abort();
+            }
+
+            try {
+                // Stop sending the request once the response arrives, e.g. for an error response to an upload.
+                content.pump(() -> aborted || responseFuture.isDone() || executeFuture.isDone());
+                SdkHttpResponse response = responseFuture.get();
+                return HttpExecuteResponse.builder()
+                                          .response(response)
+                                          .responseBody(AbortableInputStream.create(responseBody, this::abort))
+                                          .build();
+            } catch (InterruptedException e) {
+                abort();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while executing the request.");
+            } catch (ExecutionException e) {
+                abort();
+                throw asIoException(e.getCause());
+            } catch (IOException | RuntimeException e) {
+                abort();
+                throw e;
+            }
+        }
+
+        @Override
+        public void abort() {
+            aborted = true;
+            content.wakeUp();
+            responseBody.close();
+            CompletableFuture<Void> future = executeFuture;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        private Long contentLength() {
+            return request.httpRequest()
+                          .firstMatchingHeader(Header.CONTENT_LENGTH)
+                          .map(Long::parseLong)
+                          .orElse(null);
+        }
+
+        private IOException asIoException(Throwable t) {
+            if (t instanceof IOException) {
+                return (IOException) t;
+            }
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            return new IOException(t);
+        }
+
+        private final class ResponseHandler implements SdkAsyncHttpResponseHandler {
+            private volatile SdkHttpResponse response;
+
+            @Override
+            public void onHeaders(SdkHttpResponse headers) {
+                this.response = headers;
+            }
+
+            @Override
+            public void onStream(Publisher<ByteBuffer> stream) {
+                stream.subscribe(responseBody);
+                responseFuture.complete(response);
+                content.wakeUp();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                responseFuture.completeExceptionally(error);
+                responseBody.onError(error);
+                content.wakeUp();
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.async;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An {@link SdkHttpContentPublisher} for the {@link ContentStreamProvider} of a sync request. Unlike
+ * {@link SimpleHttpContentPublisher}, the content is not read into memory up front: the thread executing the sync request
+ * {@link #pump(BooleanSupplier)}s it, reading one chunk at a time as the HTTP client requests it. That keeps blocking reads
+ * off of the HTTP client's threads.
+ */
+@SdkInternalApi
+public final class InputStreamContentPublisher implements SdkHttpContentPublisher {
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private final ContentStreamProvider contentStreamProvider;
+    private final Long contentLength;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+
+    private Subscriber<? super ByteBuffer> subscriber;
+    private boolean subscribed;
+    private long demand;
+    private boolean cancelled;
+    private boolean invalidDemand;
+
+    /**
+     * @param contentStreamProvider The request content, or null if the request has none.
+     * @param contentLength The length of the content, or null if it is not known.
+     */
+    public InputStreamContentPublisher(ContentStreamProvider contentStreamProvider, Long contentLength) {
+        this.contentStreamProvider = contentStreamProvider;
+        this.contentLength = contentStreamProvider == null ? Long.valueOf(0) : contentLength;
+    }
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.ofNullable(contentLength);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        Validate.paramNotNull(s, "subscriber");
+        lock.lock();
+        try {
+            if (subscriber != null) {
+                s.onSubscribe(new CancelledSubscription());
+                s.onError(new IllegalStateException("The request content can only be subscribed to once."));
+                return;
+            }
+            subscriber = s;
+        } finally {
+            lock.unlock();
+        }
+
+        s.onSubscribe(new PumpedSubscription());
+
+        lock.lock();
+        try {
+            subscribed = true;
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wake up {@link #pump(BooleanSupplier)}, so that it can check whether it should stop.
+     */
+    public void wakeUp() {
+        lock.lock();
+        try {
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read the content and publish it to the subscriber as it is requested. Returns once all of the content is published,
+     * the subscription is cancelled, or {@code stopped} returns true. {@link #wakeUp()} must be called whenever the value
+     * of {@code stopped} changes.
+     */
+    public void pump(BooleanSupplier stopped) throws IOException, InterruptedException {
+        if (!awaitDemand(stopped)) {
+            return;
+        }
+
+        if (contentStreamProvider == null) {
+            subscriber.onComplete();
+            return;
+        }
+
+        try (InputStream content = contentStreamProvider.newStream()) {
+            while (true) {
+                byte[] chunk = new byte[CHUNK_SIZE];
+                int read = content.read(chunk);
+                if (read == -1) {
+                    subscriber.onComplete();
+                    return;
+                }
+
+                if (read > 0) {
+                    subscriber.onNext(ByteBuffer.wrap(chunk, 0, read));
+                    if (!awaitDemand(stopped)) {
+                        return;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            subscriber.onError(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Wait until the subscriber can receive another chunk, and take it from the demand.
+     *
+     * @return True if another chunk can be published, false if publishing should stop.
+     */
+    private boolean awaitDemand(BooleanSupplier stopped) throws InterruptedException {
+        lock.lock();
+        try {
+            while (!cancelled && !stopped.getAsBoolean() && (!subscribed || demand == 0)) {
+                stateChanged.await();
+            }
+
+            if (!invalidDemand) {
+                if (cancelled || stopped.getAsBoolean()) {
+                    return false;
+                }
+
+                demand--;
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Signalled from the pumping thread, so that it cannot overlap with onNext.
+        subscriber.onError(new IllegalArgumentException("Demand must be positive"));
+        return false;
+    }
+
+    private final class PumpedSubscription implements Subscription {
+        @Override
+        public void request(long n) {
+            lock.lock();
+            try {
+                if (n <= 0) {
+                    cancelled = true;
+                    invalidDemand = true;
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+                stateChanged.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                stateChanged.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class CancelledSubscription implements Subscription {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
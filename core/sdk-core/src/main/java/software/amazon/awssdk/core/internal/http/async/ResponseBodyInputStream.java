@@ -0,0 +1,236 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.async;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An {@link InputStream} over the response body published by an async HTTP client.
+ *
+ * <p>Buffering is bounded: the stream requests one buffer at a time from the publisher, and stops requesting while more than
+ * {@code maxBufferedBytes} are waiting to be read. Requesting resumes once the reader has caught up, so a slow reader applies
+ * back-pressure to the connection instead of the whole body being held in memory.
+ */
+@SdkInternalApi
+public final class ResponseBodyInputStream extends InputStream implements Subscriber<ByteBuffer> {
+    private final long maxBufferedBytes;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+    private final Deque<ByteBuffer> buffers = new ArrayDeque<>();
+
+    private Subscription subscription;
+    private long bufferedBytes;
+    private boolean requested;
+    private boolean complete;
+    private Throwable error;
+    private boolean closed;
+
+    public ResponseBodyInputStream(long maxBufferedBytes) {
+        this.maxBufferedBytes = Validate.isPositive(maxBufferedBytes, "maxBufferedBytes");
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        boolean cancel;
+        lock.lock();
+        try {
+            cancel = subscription != null || closed;
+            if (!cancel) {
+                subscription = s;
+                requested = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (cancel) {
+            s.cancel();
+        } else {
+            s.request(1);
+        }
+    }
+
+    @Override
+    public void onNext(ByteBuffer byteBuffer) {
+        boolean requestMore;
+        lock.lock();
+        try {
+            requested = false;
+            if (closed) {
+                return;
+            }
+            if (byteBuffer.hasRemaining()) {
+                buffers.addLast(byteBuffer);
+                bufferedBytes += byteBuffer.remaining();
+                stateChanged.signalAll();
+            }
+            requestMore = shouldRequest();
+        } finally {
+            lock.unlock();
+        }
+
+        if (requestMore) {
+            subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        lock.lock();
+        try {
+            if (!complete && error == null) {
+                error = t;
+            }
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        lock.lock();
+        try {
+            complete = true;
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int read = read(b, 0, 1);
+        return read == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Validate.paramNotNull(b, "b");
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        boolean requestMore;
+        int read = 0;
+        lock.lock();
+        try {
+            while (buffers.isEmpty()) {
+                if (closed) {
+                    throw new IOException("The response body stream is closed.");
+                }
+                if (error != null) {
+                    throw error instanceof IOException ? (IOException) error : new IOException(error);
+                }
+                if (complete) {
+                    return -1;
+                }
+                awaitStateChange();
+            }
+
+            while (read < len && !buffers.isEmpty()) {
+                ByteBuffer buffer = buffers.peekFirst();
+                int length = Math.min(buffer.remaining(), len - read);
+                buffer.get(b, off + read, length);
+                read += length;
+                if (!buffer.hasRemaining()) {
+                    buffers.removeFirst();
+                }
+            }
+            bufferedBytes -= read;
+            requestMore = shouldRequest();
+        } finally {
+            lock.unlock();
+        }
+
+        if (requestMore) {
+            subscription.request(1);
+        }
+        return read;
+    }
+
+    @Override
+    public int available() {
+        lock.lock();
+        try {
+            return (int) Math.min(bufferedBytes, Integer.MAX_VALUE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancels the subscription, so that the rest of the body is not read from the connection.
+     */
+    @Override
+    public void close() {
+        Subscription toCancel;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffers.clear();
+            bufferedBytes = 0;
+            toCancel = complete ? null : subscription;
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (toCancel != null) {
+            toCancel.cancel();
+        }
+    }
+
+    /**
+     * Must be called with the lock held. Claims the next request if one should be made.
+     */
+    private boolean shouldRequest() {
+        if (subscription == null || requested || complete || error != null || closed || bufferedBytes >= maxBufferedBytes) {
+            return false;
+        }
+        requested = true;
+        return true;
+    }
+
+    private void awaitStateChange() throws InterruptedIOException {
+        try {
+            stateChanged.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response body.");
+        }
+    }
+}
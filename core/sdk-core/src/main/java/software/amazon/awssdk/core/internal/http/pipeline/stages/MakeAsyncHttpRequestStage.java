@@ -19,6 +19,7 @@ import static software.amazon.awssdk.core.internal.http.timers.TimerUtils.resolv
 import static software.amazon.awssdk.http.Header.CONTENT_LENGTH;
 
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -38,6 +39,7 @@ import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.internal.async.FileAsyncRequestBody;
 import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandler;
@@ -51,6 +53,7 @@ import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.async.SdkHttpFileContentPublisher;
 import software.amazon.awssdk.utils.Logger;
 
 /**
@@ -139,7 +142,7 @@ public final class MakeAsyncHttpRequestStage<OutputT>
 
         SdkHttpContentPublisher requestProvider = context.requestProvider() == null
                                                   ? new SimpleHttpContentPublisher(request)
-                                                  : new SdkHttpContentPublisherAdapter(context.requestProvider());
+                                                  : adapt(context.requestProvider());
         // Set content length if it hasn't been set already.
         SdkHttpFullRequest requestWithContentLength = getRequestWithContentLength(request, requestProvider);
 
@@ -209,12 +212,19 @@ public final class MakeAsyncHttpRequestStage<OutputT>
                                                 timeoutMillis);
     }
 
+    private static SdkHttpContentPublisher adapt(AsyncRequestBody asyncRequestBody) {
+        if (asyncRequestBody instanceof FileAsyncRequestBody) {
+            return new SdkHttpFileContentPublisherAdapter((FileAsyncRequestBody) asyncRequestBody);
+        }
+        return new SdkHttpContentPublisherAdapter(asyncRequestBody);
+    }
+
     /**
      * When an operation has a streaming input, the customer must supply an {@link AsyncRequestBody} to
      * provide the request content in a non-blocking manner. This adapts that interface to the
      * {@link SdkHttpContentPublisher} which the HTTP client SPI expects.
      */
-    private static final class SdkHttpContentPublisherAdapter implements SdkHttpContentPublisher {
+    private static class SdkHttpContentPublisherAdapter implements SdkHttpContentPublisher {
 
         private final AsyncRequestBody asyncRequestBody;
 
@@ -232,4 +242,23 @@ public final class MakeAsyncHttpRequestStage<OutputT>
             asyncRequestBody.subscribe(s);
         }
     }
+
+    /**
+     * Lets the HTTP client know that a request body read from a file can be sent straight from that file.
+     */
+    private static final class SdkHttpFileContentPublisherAdapter extends SdkHttpContentPublisherAdapter
+        implements SdkHttpFileContentPublisher {
+
+        private final Path path;
+
+        private SdkHttpFileContentPublisherAdapter(FileAsyncRequestBody fileAsyncRequestBody) {
+            super(fileAsyncRequestBody);
+            this.path = fileAsyncRequestBody.path();
+        }
+
+        @Override
+        public Path path() {
+            return path;
+        }
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.sync;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ByteBufferContentStreamProvider;
+import software.amazon.awssdk.http.ContentStreamProvider;
+
+/**
+ * {@link ContentStreamProvider} implementation for content that is already in memory. The array is not copied, and must
+ * not be modified once the provider is created.
+ */
+@SdkInternalApi
+public final class ByteArrayContentStreamProvider implements ByteBufferContentStreamProvider {
+    private final byte[] bytes;
+
+    public ByteArrayContentStreamProvider(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    @Override
+    public InputStream newStream() {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    /**
+     * The buffer is backed by the array, so that HTTP clients can write it without copying it.
+     */
+    @Override
+    public ByteBuffer byteBuffer() {
+        return ByteBuffer.wrap(bytes);
+    }
+}
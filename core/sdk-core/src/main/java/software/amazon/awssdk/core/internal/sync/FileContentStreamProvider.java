@@ -23,17 +23,42 @@ import java.nio.file.Path;
 
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.FileRegionContentStreamProvider;
 
 /**
  * {@link ContentStreamProvider} implementation for files.
  */
 @SdkInternalApi
-public final class FileContentStreamProvider implements ContentStreamProvider {
+public final class FileContentStreamProvider implements FileRegionContentStreamProvider {
     private final Path filePath;
+    private final long size;
     private InputStream currentStream;
 
     public FileContentStreamProvider(Path filePath) {
+        this(filePath, invokeSafely(() -> Files.size(filePath)));
+    }
+
+    /**
+     * @param size The size of the file, as sent in the request's Content-Length.
+     */
+    public FileContentStreamProvider(Path filePath, long size) {
         this.filePath = filePath;
+        this.size = size;
+    }
+
+    @Override
+    public Path path() {
+        return filePath;
+    }
+
+    @Override
+    public long position() {
+        return 0;
+    }
+
+    @Override
+    public long size() {
+        return size;
     }
 
     @Override
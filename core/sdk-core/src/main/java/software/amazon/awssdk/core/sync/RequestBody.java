@@ -19,7 +19,6 @@ import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 import static software.amazon.awssdk.utils.Validate.paramNotNull;
 import static software.amazon.awssdk.utils.Validate.validState;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
@@ -30,6 +29,7 @@ import java.nio.file.Path;
 import java.util.Arrays;
 
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.internal.sync.ByteArrayContentStreamProvider;
 import software.amazon.awssdk.core.internal.sync.FileContentStreamProvider;
 import software.amazon.awssdk.core.internal.util.Mimetype;
 import software.amazon.awssdk.core.io.ReleasableInputStream;
@@ -85,8 +85,9 @@ public final class RequestBody {
      * @return RequestBody instance.
      */
     public static RequestBody fromFile(Path path) {
-        return new RequestBody(new FileContentStreamProvider(path),
-                               invokeSafely(() -> Files.size(path)),
+        long size = invokeSafely(() -> Files.size(path));
+        return new RequestBody(new FileContentStreamProvider(path, size),
+                               size,
                                Mimetype.getInstance().getMimetype(path));
     }
 
@@ -217,7 +218,7 @@ public final class RequestBody {
      * Creates a {@link RequestBody} using the specified bytes (without copying).
      */
     private static RequestBody fromBytesDirect(byte[] bytes, String mimetype) {
-        return fromContentProvider(() -> new ByteArrayInputStream(bytes), bytes.length, mimetype);
+        return fromContentProvider(new ByteArrayContentStreamProvider(bytes), bytes.length, mimetype);
     }
 
     private static InputStream nonCloseableInputStream(InputStream inputStream) {
@@ -43,6 +43,7 @@ import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.internal.http.async.AsyncToSyncHttpClientAdapter;
 import software.amazon.awssdk.core.signer.NoOpSigner;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
@@ -160,6 +161,29 @@ public class DefaultClientBuilderTest {
         verify(defaultAsyncHttpClientFactory, never()).buildWithDefaults(any());
     }
 
+    @Test
+    public void explicitAsyncHttpClientProvidedToSyncClient_ClientIsAdaptedAndNotManagedBySdk() {
+        SdkAsyncHttpClient asyncHttpClient = mock(SdkAsyncHttpClient.class);
+        TestClient client = testClientBuilder()
+                .httpClient(asyncHttpClient)
+                .build();
+        assertThat(client.clientConfiguration.option(SdkClientOption.SYNC_HTTP_CLIENT))
+                .isInstanceOf(AsyncToSyncHttpClientAdapter.class);
+        assertThat(client.clientConfiguration.option(SdkClientOption.ASYNC_HTTP_CLIENT)).isNull();
+        verify(defaultHttpClientFactory, never()).buildWithDefaults(any());
+
+        client.clientConfiguration.close();
+        verify(asyncHttpClient, never()).close();
+    }
+
+    @Test
+    public void explicitAsyncAndSyncHttpClientProvidedToSyncClient_ThrowsException() {
+        assertThatThrownBy(() -> testClientBuilder().httpClient(mock(SdkAsyncHttpClient.class))
+                                                    .httpClient(mock(SdkHttpClient.class))
+                                                    .build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     public void clientBuilderFieldsHaveBeanEquivalents() throws Exception {
         SdkClientBuilder<TestClientBuilder, TestClient> builder = testClientBuilder();
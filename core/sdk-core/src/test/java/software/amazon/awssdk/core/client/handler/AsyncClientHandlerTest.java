@@ -18,7 +18,10 @@ package software.amazon.awssdk.core.client.handler;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
@@ -39,8 +42,11 @@ import software.amazon.awssdk.core.SdkResponse;
 import software.amazon.awssdk.core.async.EmptyPublisher;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.http.ExecutionContext;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.protocol.VoidSdkResponse;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.runtime.transform.Marshaller;
@@ -129,6 +135,63 @@ public class AsyncClientHandlerTest {
         verifyNoMoreInteractions(responseHandler); // Response handler is not called
     }
 
+    @Test
+    public void executionWaitsForExecutionContextToBeCreated() throws Exception {
+        // Given
+        CompletableFuture<Void> executionContextCreated = new CompletableFuture<>();
+        SdkAsyncClientHandler handler = asyncClientHandler(executionContextCreated);
+        SdkResponse expected = VoidSdkResponse.builder().build();
+        ArgumentCaptor<AsyncExecuteRequest> executeRequest = ArgumentCaptor.forClass(AsyncExecuteRequest.class);
+
+        expectRetrievalFromMocks();
+        when(httpClient.execute(executeRequest.capture())).thenReturn(httpClientFuture);
+        when(responseHandler.handle(any(), any())).thenReturn(expected); // Response handler call
+
+        // When
+        CompletableFuture<SdkResponse> responseFuture = handler.execute(clientExecutionParams());
+        verifyZeroInteractions(httpClient); // The request is not sent before the execution context is created
+        executionContextCreated.complete(null);
+
+        verify(httpClient, timeout(1000)).execute(any());
+        SdkAsyncHttpResponseHandler capturedHandler = executeRequest.getValue().responseHandler();
+        capturedHandler.onHeaders(SdkHttpFullResponse.builder().statusCode(200).build());
+        capturedHandler.onStream(new EmptyPublisher<>());
+        SdkResponse actualResponse = responseFuture.get(1, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(actualResponse.sdkHttpResponse().statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    public void failedExecutionContextCreationFailsExecution() {
+        // Given
+        CompletableFuture<Void> executionContextCreated = new CompletableFuture<>();
+        SdkAsyncClientHandler handler = asyncClientHandler(executionContextCreated);
+        SdkClientException exception = SdkClientException.create("Unable to load credentials");
+
+        // When
+        CompletableFuture<SdkResponse> responseFuture = handler.execute(clientExecutionParams());
+        executionContextCreated.completeExceptionally(exception);
+
+        // Then
+        assertThatThrownBy(() -> responseFuture.get(1, TimeUnit.SECONDS)).hasCause(exception);
+        verifyZeroInteractions(httpClient, responseHandler, errorResponseHandler);
+    }
+
+    /**
+     * Create a handler that creates the execution context of a request once the given future is completed.
+     */
+    private SdkAsyncClientHandler asyncClientHandler(CompletableFuture<Void> executionContextCreated) {
+        return new SdkAsyncClientHandler(clientConfiguration()) {
+            @Override
+            protected <InputT extends SdkRequest, OutputT extends SdkResponse> CompletableFuture<ExecutionContext>
+                createExecutionContextAsync(ClientExecutionParams<InputT, OutputT> executionParams,
+                                            ExecutionAttributes executionAttributes) {
+                return executionContextCreated.thenApply(v -> createExecutionContext(executionParams, executionAttributes));
+            }
+        };
+    }
+
     private void expectRetrievalFromMocks() {
         when(marshaller.marshall(request)).thenReturn(marshalledRequest);
     }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.async;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.utils.IoUtils;
+
+public class AsyncToSyncHttpClientAdapterTest {
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(0);
+
+    private final SdkHttpClient client = new AsyncToSyncHttpClientAdapter(NettyNioAsyncHttpClient.create());
+
+    @After
+    public void tearDown() {
+        client.close();
+    }
+
+    @Test
+    public void requestWithContentLength_sendsContentAndReturnsResponse() throws IOException {
+        mockServer.stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(200).withBody("response")));
+
+        HttpExecuteResponse response = execute(put().putHeader("Content-Length", "4"), "Body");
+
+        assertThat(response.httpResponse().statusCode()).isEqualTo(200);
+        assertThat(IoUtils.toUtf8String(response.responseBody().get())).isEqualTo("response");
+        mockServer.verify(putRequestedFor(urlPathEqualTo("/")).withHeader("Content-Length", equalTo("4"))
+                                                              .withRequestBody(equalTo("Body")));
+    }
+
+    @Test
+    public void errorResponse_returnsStatusAndBody() throws IOException {
+        mockServer.stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(500).withBody("error")));
+
+        HttpExecuteResponse response = execute(put().putHeader("Content-Length", "4"), "Body");
+
+        assertThat(response.httpResponse().statusCode()).isEqualTo(500);
+        assertThat(IoUtils.toUtf8String(response.responseBody().get())).isEqualTo("error");
+    }
+
+    @Test
+    public void largeResponse_isStreamedCompletely() throws IOException {
+        byte[] body = new byte[8 * 1024 * 1024];
+        Arrays.fill(body, (byte) 'a');
+        mockServer.stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(200).withBody(body)));
+
+        HttpExecuteResponse response = execute(SdkHttpFullRequest.builder()
+                                                                 .uri(URI.create("http://localhost:" + mockServer.port()))
+                                                                 .method(SdkHttpMethod.GET), null);
+
+        try (InputStream content = response.responseBody().get()) {
+            assertThat(IoUtils.toByteArray(content)).isEqualTo(body);
+        }
+    }
+
+    @Test
+    public void connectionFailure_throwsException() {
+        SdkHttpFullRequest.Builder request = SdkHttpFullRequest.builder()
+                                                               .uri(URI.create("http://localhost:" + mockServer.port()))
+                                                               .method(SdkHttpMethod.GET);
+        mockServer.stop();
+
+        assertThatThrownBy(() -> execute(request, null)).isInstanceOf(IOException.class);
+    }
+
+    private SdkHttpFullRequest.Builder put() {
+        return SdkHttpFullRequest.builder()
+                                 .uri(URI.create("http://localhost:" + mockServer.port()))
+                                 .method(SdkHttpMethod.PUT);
+    }
+
+    private HttpExecuteResponse execute(SdkHttpFullRequest.Builder request, String content) throws IOException {
+        return client.prepareRequest(HttpExecuteRequest.builder()
+                                                       .request(request.build())
+                                                       .contentStreamProvider(content == null ? null : () ->
+                                                           new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))
+                                                       .build())
+                     .call();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.utils.IoUtils;
+
+public class ResponseBodyInputStreamTest {
+    private final ResponseBodyInputStream inputStream = new ResponseBodyInputStream(10);
+    private final RecordingSubscription subscription = new RecordingSubscription();
+
+    @Test
+    public void onSubscribe_requestsOneBuffer() {
+        inputStream.onSubscribe(subscription);
+
+        assertThat(subscription.requested).isEqualTo(1);
+    }
+
+    @Test
+    public void onNext_belowLimit_requestsNextBuffer() {
+        inputStream.onSubscribe(subscription);
+        inputStream.onNext(buffer("hello"));
+
+        assertThat(subscription.requested).isEqualTo(2);
+    }
+
+    @Test
+    public void onNext_limitReached_stopsRequestingUntilRead() throws IOException {
+        inputStream.onSubscribe(subscription);
+        inputStream.onNext(buffer("hello"));
+        inputStream.onNext(buffer("world"));
+        assertThat(subscription.requested).isEqualTo(2);
+
+        byte[] b = new byte[5];
+        assertThat(inputStream.read(b)).isEqualTo(5);
+        assertThat(new String(b, StandardCharsets.UTF_8)).isEqualTo("hello");
+        assertThat(subscription.requested).isEqualTo(3);
+    }
+
+    @Test
+    public void read_readsAllBuffersUntilComplete() throws IOException {
+        inputStream.onSubscribe(subscription);
+        inputStream.onNext(buffer("hello"));
+        inputStream.onNext(buffer(" "));
+        inputStream.onNext(buffer("world"));
+        inputStream.onComplete();
+
+        assertThat(IoUtils.toUtf8String(inputStream)).isEqualTo("hello world");
+    }
+
+    @Test
+    public void read_errorAfterData_throwsOnceDataIsRead() throws IOException {
+        IOException error = new IOException("connection reset");
+        inputStream.onSubscribe(subscription);
+        inputStream.onNext(buffer("hello"));
+        inputStream.onError(error);
+
+        byte[] b = new byte[10];
+        assertThat(inputStream.read(b)).isEqualTo(5);
+        assertThatThrownBy(() -> inputStream.read(b)).isSameAs(error);
+    }
+
+    @Test
+    public void close_cancelsSubscription() {
+        inputStream.onSubscribe(subscription);
+        inputStream.close();
+
+        assertThat(subscription.cancelled).isTrue();
+        assertThatThrownBy(inputStream::read).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void close_afterComplete_doesNotCancelSubscription() {
+        inputStream.onSubscribe(subscription);
+        inputStream.onComplete();
+        inputStream.close();
+
+        assertThat(subscription.cancelled).isFalse();
+    }
+
+    @Test
+    public void read_interrupted_throwsAndKeepsInterruptStatus() {
+        inputStream.onSubscribe(subscription);
+        Thread.currentThread().interrupt();
+
+        try {
+            assertThatThrownBy(inputStream::read).isInstanceOf(IOException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private static ByteBuffer buffer(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class RecordingSubscription implements Subscription {
+        private long requested;
+        private boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -31,6 +31,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import software.amazon.awssdk.core.internal.util.Mimetype;
+import software.amazon.awssdk.http.ByteBufferContentStreamProvider;
+import software.amazon.awssdk.http.FileRegionContentStreamProvider;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.StringInputStream;
 
@@ -85,6 +87,32 @@ public class RequestBodyTest {
         IoUtils.closeQuietly(inputStream, null);
     }
 
+    @Test
+    public void fileConstructor_exposesFileRegion() throws IOException {
+        FileSystem fs = Jimfs.newFileSystem(Configuration.unix());
+        Path path = fs.getPath("./test");
+        Files.write(path, "hello world".getBytes());
+        RequestBody requestBody = RequestBody.fromFile(path);
+
+        assertThat(requestBody.contentStreamProvider()).isInstanceOf(FileRegionContentStreamProvider.class);
+        FileRegionContentStreamProvider region = (FileRegionContentStreamProvider) requestBody.contentStreamProvider();
+        assertThat(region.path()).isEqualTo(path);
+        assertThat(region.position()).isEqualTo(0);
+        assertThat(region.size()).isEqualTo(11);
+    }
+
+    @Test
+    public void byteBufferConstructor_exposesByteBuffer() {
+        RequestBody requestBody = RequestBody.fromByteBuffer(ByteBuffer.wrap("hello world".getBytes()));
+
+        assertThat(requestBody.contentStreamProvider()).isInstanceOf(ByteBufferContentStreamProvider.class);
+        ByteBuffer content = ((ByteBufferContentStreamProvider) requestBody.contentStreamProvider()).byteBuffer();
+        assertThat(content).isEqualTo(ByteBuffer.wrap("hello world".getBytes()));
+        content.position(content.limit());
+        assertThat(((ByteBufferContentStreamProvider) requestBody.contentStreamProvider()).byteBuffer().remaining())
+            .isEqualTo(11);
+    }
+
     @Test
     public void bytesArrayConstructorHasCorrectContentType() {
         RequestBody requestBody = RequestBody.fromBytes("hello world".getBytes());
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http;
+
+import java.nio.ByteBuffer;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * A {@link ContentStreamProvider} whose content is held in memory. HTTP clients may write the content with a single bulk
+ * write of {@link #byteBuffer()}, instead of copying it out of {@link #newStream()}.
+ */
+@SdkPublicApi
+public interface ByteBufferContentStreamProvider extends ContentStreamProvider {
+    /**
+     * Each call returns a new view of the content, positioned at its beginning, so that consuming one view does not affect
+     * later attempts to send the request. The content must not be modified through the view.
+     *
+     * @return The content.
+     */
+    ByteBuffer byteBuffer();
+}
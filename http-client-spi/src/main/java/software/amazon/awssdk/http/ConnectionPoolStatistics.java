@@ -0,0 +1,243 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * A point-in-time view of the connection pool an HTTP client keeps for a single endpoint.
+ *
+ * <p>The gauges are read from independent counters without locking the pool, so the values are not guaranteed to be
+ * consistent with each other while connections are being acquired or released concurrently.
+ *
+ * @see ConnectionPoolStatisticsProvider
+ */
+@SdkPublicApi
+public final class ConnectionPoolStatistics {
+
+    /**
+     * The upper bound of the last bucket of {@link #acquireLatencyHistogram()}, which holds every acquisition slower than
+     * the bound of the bucket before it.
+     */
+    public static final Duration UNBOUNDED = ChronoUnit.FOREVER.getDuration();
+
+    private final String endpoint;
+    private final int leasedConnections;
+    private final int idleConnections;
+    private final int pendingAcquires;
+    private final int maxConnections;
+    private final long acquireCount;
+    private final long acquireFailureCount;
+    private final Duration totalAcquireTime;
+    private final Map<Duration, Long> acquireLatencyHistogram;
+
+    private ConnectionPoolStatistics(BuilderImpl builder) {
+        this.endpoint = builder.endpoint;
+        this.leasedConnections = builder.leasedConnections;
+        this.idleConnections = builder.idleConnections;
+        this.pendingAcquires = builder.pendingAcquires;
+        this.maxConnections = builder.maxConnections;
+        this.acquireCount = builder.acquireCount;
+        this.acquireFailureCount = builder.acquireFailureCount;
+        this.totalAcquireTime = builder.totalAcquireTime;
+        this.acquireLatencyHistogram = Collections.unmodifiableMap(new LinkedHashMap<>(builder.acquireLatencyHistogram));
+    }
+
+    /**
+     * @return The endpoint the pool connects to, in the form {@code scheme://host:port}.
+     */
+    public String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return The number of connections currently checked out of the pool. For HTTP/2 this is the number of streams in use.
+     */
+    public int leasedConnections() {
+        return leasedConnections;
+    }
+
+    /**
+     * @return The number of open connections that are not currently checked out of the pool.
+     */
+    public int idleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * @return The number of connection acquisitions that are waiting for a connection to become available or to be
+     * established.
+     */
+    public int pendingAcquires() {
+        return pendingAcquires;
+    }
+
+    /**
+     * @return The maximum number of connections the pool may open.
+     */
+    public int maxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * @return The number of connections successfully acquired from the pool since it was created.
+     */
+    public long acquireCount() {
+        return acquireCount;
+    }
+
+    /**
+     * @return The number of connection acquisitions that failed since the pool was created, for example because the
+     * acquisition timed out or too many acquisitions were pending.
+     */
+    public long acquireFailureCount() {
+        return acquireFailureCount;
+    }
+
+    /**
+     * @return The sum of the time spent waiting for the successful acquisitions counted by {@link #acquireCount()}.
+     */
+    public Duration totalAcquireTime() {
+        return totalAcquireTime;
+    }
+
+    /**
+     * The distribution of the time spent waiting for the successful acquisitions counted by {@link #acquireCount()}. Each
+     * entry maps the inclusive upper bound of a bucket to the number of acquisitions that took longer than the bound of the
+     * previous bucket and at most this bound. Entries are ordered by ascending bound, and the last bound is
+     * {@link #UNBOUNDED}.
+     */
+    public Map<Duration, Long> acquireLatencyHistogram() {
+        return acquireLatencyHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("ConnectionPoolStatistics")
+                       .add("endpoint", endpoint)
+                       .add("leasedConnections", leasedConnections)
+                       .add("idleConnections", idleConnections)
+                       .add("pendingAcquires", pendingAcquires)
+                       .add("maxConnections", maxConnections)
+                       .add("acquireCount", acquireCount)
+                       .add("acquireFailureCount", acquireFailureCount)
+                       .add("totalAcquireTime", totalAcquireTime)
+                       .build();
+    }
+
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    public interface Builder {
+        Builder endpoint(String endpoint);
+
+        Builder leasedConnections(int leasedConnections);
+
+        Builder idleConnections(int idleConnections);
+
+        Builder pendingAcquires(int pendingAcquires);
+
+        Builder maxConnections(int maxConnections);
+
+        Builder acquireCount(long acquireCount);
+
+        Builder acquireFailureCount(long acquireFailureCount);
+
+        Builder totalAcquireTime(Duration totalAcquireTime);
+
+        Builder acquireLatencyHistogram(Map<Duration, Long> acquireLatencyHistogram);
+
+        ConnectionPoolStatistics build();
+    }
+
+    private static final class BuilderImpl implements Builder {
+        private String endpoint;
+        private int leasedConnections;
+        private int idleConnections;
+        private int pendingAcquires;
+        private int maxConnections;
+        private long acquireCount;
+        private long acquireFailureCount;
+        private Duration totalAcquireTime = Duration.ZERO;
+        private Map<Duration, Long> acquireLatencyHistogram = Collections.emptyMap();
+
+        @Override
+        public Builder endpoint(String endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
+        @Override
+        public Builder leasedConnections(int leasedConnections) {
+            this.leasedConnections = leasedConnections;
+            return this;
+        }
+
+        @Override
+        public Builder idleConnections(int idleConnections) {
+            this.idleConnections = idleConnections;
+            return this;
+        }
+
+        @Override
+        public Builder pendingAcquires(int pendingAcquires) {
+            this.pendingAcquires = pendingAcquires;
+            return this;
+        }
+
+        @Override
+        public Builder maxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        @Override
+        public Builder acquireCount(long acquireCount) {
+            this.acquireCount = acquireCount;
+            return this;
+        }
+
+        @Override
+        public Builder acquireFailureCount(long acquireFailureCount) {
+            this.acquireFailureCount = acquireFailureCount;
+            return this;
+        }
+
+        @Override
+        public Builder totalAcquireTime(Duration totalAcquireTime) {
+            this.totalAcquireTime = totalAcquireTime;
+            return this;
+        }
+
+        @Override
+        public Builder acquireLatencyHistogram(Map<Duration, Long> acquireLatencyHistogram) {
+            this.acquireLatencyHistogram = acquireLatencyHistogram;
+            return this;
+        }
+
+        @Override
+        public ConnectionPoolStatistics build() {
+            return new ConnectionPoolStatistics(this);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http;
+
+import java.util.List;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * Implemented by HTTP clients that can report the state of their connection pools.
+ *
+ * <p>The statistics are maintained with lock-free counters, so they are always collected and may be polled frequently
+ * without affecting the requests being executed.
+ */
+@SdkPublicApi
+public interface ConnectionPoolStatisticsProvider {
+
+    /**
+     * @return The statistics of every connection pool currently held by the client, one per endpoint.
+     */
+    List<ConnectionPoolStatistics> connectionPoolStatistics();
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http;
+
+import java.nio.file.Path;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * A {@link ContentStreamProvider} whose content is a region of a file. HTTP clients may read the region through a
+ * {@link java.nio.channels.FileChannel}, or transfer it to the connection without copying it, instead of reading
+ * {@link #newStream()}. Sending the content again only requires reading the region from its start again.
+ */
+@SdkPublicApi
+public interface FileRegionContentStreamProvider extends ContentStreamProvider {
+    /**
+     * @return The file containing the content.
+     */
+    Path path();
+
+    /**
+     * @return The offset in the file at which the content starts.
+     */
+    long position();
+
+    /**
+     * @return The number of bytes of content.
+     */
+    long size();
+}
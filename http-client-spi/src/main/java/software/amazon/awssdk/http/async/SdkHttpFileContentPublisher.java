@@ -0,0 +1,34 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.async;
+
+import java.nio.file.Path;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * A {@link SdkHttpContentPublisher} whose content is exactly the contents of a file.
+ *
+ * <p>HTTP clients may send the file directly, for example with a zero-copy transfer from the file system to the socket,
+ * instead of subscribing to the publisher. Clients that cannot do so simply subscribe to it like any other publisher.
+ */
+@SdkPublicApi
+public interface SdkHttpFileContentPublisher extends SdkHttpContentPublisher {
+
+    /**
+     * @return The file whose contents are published.
+     */
+    Path path();
+}
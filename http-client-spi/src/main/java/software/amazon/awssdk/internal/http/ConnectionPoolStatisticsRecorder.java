@@ -0,0 +1,142 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.internal.http;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ConnectionPoolStatistics;
+
+/**
+ * Records the connection acquisitions and releases of a single connection pool. Every counter is a {@link LongAdder}, so
+ * recording never blocks and reading a snapshot never contends with the pool.
+ */
+@SdkInternalApi
+public final class ConnectionPoolStatisticsRecorder {
+    private static final long[] BUCKET_BOUNDS_NANOS = {
+        TimeUnit.MICROSECONDS.toNanos(100),
+        TimeUnit.MICROSECONDS.toNanos(250),
+        TimeUnit.MICROSECONDS.toNanos(500),
+        TimeUnit.MILLISECONDS.toNanos(1),
+        TimeUnit.MILLISECONDS.toNanos(5),
+        TimeUnit.MILLISECONDS.toNanos(10),
+        TimeUnit.MILLISECONDS.toNanos(50),
+        TimeUnit.MILLISECONDS.toNanos(100),
+        TimeUnit.MILLISECONDS.toNanos(500),
+        TimeUnit.SECONDS.toNanos(1),
+        TimeUnit.SECONDS.toNanos(5),
+        TimeUnit.SECONDS.toNanos(10)
+    };
+
+    private final LongAdder leased = new LongAdder();
+    private final LongAdder pending = new LongAdder();
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireFailureCount = new LongAdder();
+    private final LongAdder totalAcquireNanos = new LongAdder();
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_NANOS.length + 1];
+
+    public ConnectionPoolStatisticsRecorder() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record the start of a connection acquisition.
+     *
+     * @return The start time to pass to {@link #acquireSucceeded(long)} or {@link #acquireFailed()}.
+     */
+    public long acquireStarted() {
+        pending.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Record that a connection was acquired and is now leased.
+     *
+     * @param startNanos The value returned by {@link #acquireStarted()}.
+     */
+    public void acquireSucceeded(long startNanos) {
+        long elapsedNanos = Math.max(0, System.nanoTime() - startNanos);
+        pending.decrement();
+        leased.increment();
+        acquireCount.increment();
+        totalAcquireNanos.add(elapsedNanos);
+        buckets[bucketIndex(elapsedNanos)].increment();
+    }
+
+    /**
+     * Record that a connection acquisition completed without a connection.
+     */
+    public void acquireFailed() {
+        pending.decrement();
+        acquireFailureCount.increment();
+    }
+
+    /**
+     * Record that a leased connection was returned to the pool.
+     */
+    public void released() {
+        leased.decrement();
+    }
+
+    /**
+     * @return The number of connections acquired and not yet released.
+     */
+    public int leasedConnections() {
+        return saturatedInt(leased.sum());
+    }
+
+    /**
+     * @return A builder populated with the lease, acquisition and latency statistics of this recorder. The caller is
+     * expected to fill in the endpoint, idle connections and maximum connections, which only the pool knows.
+     */
+    public ConnectionPoolStatistics.Builder toStatistics() {
+        Map<Duration, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+            histogram.put(Duration.ofNanos(BUCKET_BOUNDS_NANOS[i]), buckets[i].sum());
+        }
+        histogram.put(ConnectionPoolStatistics.UNBOUNDED, buckets[BUCKET_BOUNDS_NANOS.length].sum());
+
+        return ConnectionPoolStatistics.builder()
+                                       .leasedConnections(leasedConnections())
+                                       .pendingAcquires(saturatedInt(pending.sum()))
+                                       .acquireCount(acquireCount.sum())
+                                       .acquireFailureCount(acquireFailureCount.sum())
+                                       .totalAcquireTime(Duration.ofNanos(totalAcquireNanos.sum()))
+                                       .acquireLatencyHistogram(histogram);
+    }
+
+    private static int bucketIndex(long elapsedNanos) {
+        for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+            if (elapsedNanos <= BUCKET_BOUNDS_NANOS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_NANOS.length;
+    }
+
+    /**
+     * The counters are summed without a lock, so a release may be seen before the matching acquisition. Clamp the result
+     * rather than report a negative gauge.
+     */
+    private static int saturatedInt(long value) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, value));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.internal.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalLong;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ByteBufferContentStreamProvider;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.FileRegionContentStreamProvider;
+
+/**
+ * Writes the content of {@link ByteBufferContentStreamProvider}s and {@link FileRegionContentStreamProvider}s to the
+ * {@link OutputStream} of a blocking HTTP client, without going through {@link ContentStreamProvider#newStream()}.
+ */
+@SdkInternalApi
+public final class RequestContentWriter {
+    private static final int MAX_CHUNK_SIZE = 64 * 1024;
+
+    private RequestContentWriter() {
+    }
+
+    /**
+     * @return True if the content can be written by {@link #write(ContentStreamProvider, OutputStream)}.
+     */
+    public static boolean canWrite(ContentStreamProvider provider) {
+        return provider instanceof ByteBufferContentStreamProvider || provider instanceof FileRegionContentStreamProvider;
+    }
+
+    /**
+     * @return The length of the content, if it can be written by {@link #write(ContentStreamProvider, OutputStream)}.
+     */
+    public static OptionalLong contentLength(ContentStreamProvider provider) {
+        if (provider instanceof ByteBufferContentStreamProvider) {
+            return OptionalLong.of(((ByteBufferContentStreamProvider) provider).byteBuffer().remaining());
+        }
+        if (provider instanceof FileRegionContentStreamProvider) {
+            return OptionalLong.of(((FileRegionContentStreamProvider) provider).size());
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Write the whole content, from its beginning. Writing it again, e.g. when the request is retried, writes the same
+     * content again: nothing has to be buffered or reset.
+     *
+     * @throws IllegalArgumentException If {@link #canWrite(ContentStreamProvider)} is false for the provider.
+     */
+    public static void write(ContentStreamProvider provider, OutputStream out) throws IOException {
+        write(provider, out, Long.MAX_VALUE);
+    }
+
+    /**
+     * Write at most the given number of bytes of the content, from its beginning, e.g. when the request has a Content-Length
+     * that is smaller than its content.
+     *
+     * @throws IllegalArgumentException If {@link #canWrite(ContentStreamProvider)} is false for the provider.
+     */
+    public static void write(ContentStreamProvider provider, OutputStream out, long maxLength) throws IOException {
+        if (provider instanceof ByteBufferContentStreamProvider) {
+            ByteBuffer content = ((ByteBufferContentStreamProvider) provider).byteBuffer();
+            if (content.remaining() > maxLength) {
+                content.limit(content.position() + (int) maxLength);
+            }
+            write(content, out);
+        } else if (provider instanceof FileRegionContentStreamProvider) {
+            FileRegionContentStreamProvider region = (FileRegionContentStreamProvider) provider;
+            write(region, out, Math.min(region.size(), maxLength));
+        } else {
+            throw new IllegalArgumentException("Unsupported content stream provider: " + provider.getClass());
+        }
+    }
+
+    private static void write(ByteBuffer content, OutputStream out) throws IOException {
+        if (content.hasArray()) {
+            out.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+            return;
+        }
+
+        byte[] chunk = new byte[Math.min(content.remaining(), MAX_CHUNK_SIZE)];
+        while (content.hasRemaining()) {
+            int length = Math.min(content.remaining(), chunk.length);
+            content.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    /**
+     * The blocking clients write to socket streams, which cannot be the target of {@link FileChannel#transferTo}, so the
+     * region is read with positional reads into one reused chunk.
+     */
+    private static void write(FileRegionContentStreamProvider region, OutputStream out, long length) throws IOException {
+        long position = region.position();
+        long end = position + length;
+        ByteBuffer chunk = ByteBuffer.allocate((int) Math.min(length, MAX_CHUNK_SIZE));
+
+        try (FileChannel channel = FileChannel.open(region.path(), StandardOpenOption.READ)) {
+            while (position < end) {
+                chunk.clear();
+                chunk.limit((int) Math.min(chunk.capacity(), end - position));
+                int read = channel.read(chunk, position);
+                if (read < 0) {
+                    throw new IOException("The file " + region.path() + " ended " + (end - position)
+                                          + " bytes before the end of the request content.");
+                }
+                out.write(chunk.array(), 0, read);
+                position += read;
+            }
+        }
+    }
+}
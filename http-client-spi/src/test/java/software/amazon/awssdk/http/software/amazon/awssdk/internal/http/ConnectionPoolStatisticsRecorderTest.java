@@ -0,0 +1,82 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.software.amazon.awssdk.internal.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import org.junit.Test;
+import software.amazon.awssdk.http.ConnectionPoolStatistics;
+import software.amazon.awssdk.internal.http.ConnectionPoolStatisticsRecorder;
+
+public class ConnectionPoolStatisticsRecorderTest {
+    private final ConnectionPoolStatisticsRecorder recorder = new ConnectionPoolStatisticsRecorder();
+
+    @Test
+    public void acquireStarted_countsPendingAcquire() {
+        recorder.acquireStarted();
+
+        ConnectionPoolStatistics statistics = recorder.toStatistics().build();
+        assertThat(statistics.pendingAcquires()).isEqualTo(1);
+        assertThat(statistics.leasedConnections()).isEqualTo(0);
+    }
+
+    @Test
+    public void acquireSucceeded_movesPendingToLeasedAndRecordsLatency() {
+        recorder.acquireSucceeded(recorder.acquireStarted());
+
+        ConnectionPoolStatistics statistics = recorder.toStatistics().build();
+        assertThat(statistics.pendingAcquires()).isEqualTo(0);
+        assertThat(statistics.leasedConnections()).isEqualTo(1);
+        assertThat(statistics.acquireCount()).isEqualTo(1);
+        assertThat(statistics.acquireLatencyHistogram().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(1);
+    }
+
+    @Test
+    public void acquireFailed_countsFailureWithoutLease() {
+        recorder.acquireStarted();
+        recorder.acquireFailed();
+
+        ConnectionPoolStatistics statistics = recorder.toStatistics().build();
+        assertThat(statistics.pendingAcquires()).isEqualTo(0);
+        assertThat(statistics.leasedConnections()).isEqualTo(0);
+        assertThat(statistics.acquireCount()).isEqualTo(0);
+        assertThat(statistics.acquireFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void released_decrementsLeased() {
+        recorder.acquireSucceeded(recorder.acquireStarted());
+        recorder.released();
+
+        assertThat(recorder.leasedConnections()).isEqualTo(0);
+    }
+
+    @Test
+    public void slowAcquire_isCountedInUnboundedBucket() {
+        recorder.acquireSucceeded(recorder.acquireStarted() - Duration.ofMinutes(1).toNanos());
+
+        ConnectionPoolStatistics statistics = recorder.toStatistics().build();
+        assertThat(statistics.acquireLatencyHistogram().get(ConnectionPoolStatistics.UNBOUNDED)).isEqualTo(1);
+        assertThat(statistics.totalAcquireTime()).isGreaterThanOrEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void histogram_isOrderedByBound() {
+        assertThat(new ArrayList<>(recorder.toStatistics().build().acquireLatencyHistogram().keySet())).isSorted();
+    }
+}
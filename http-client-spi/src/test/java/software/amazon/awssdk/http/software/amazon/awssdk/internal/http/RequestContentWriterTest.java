@@ -0,0 +1,155 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.software.amazon.awssdk.internal.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.awssdk.http.ByteBufferContentStreamProvider;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.FileRegionContentStreamProvider;
+import software.amazon.awssdk.internal.http.RequestContentWriter;
+
+public class RequestContentWriterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void write_heapByteBuffer_writesRemainingBytes() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap("xxhello".getBytes(StandardCharsets.UTF_8));
+        buffer.position(2);
+
+        assertThat(write(byteBufferProvider(buffer))).isEqualTo("hello");
+        assertThat(RequestContentWriter.contentLength(byteBufferProvider(buffer)).getAsLong()).isEqualTo(5);
+    }
+
+    @Test
+    public void write_directByteBuffer_writesAllBytes() throws IOException {
+        byte[] content = new byte[200 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(content.length);
+        buffer.put(content).flip();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RequestContentWriter.write(byteBufferProvider(buffer), out);
+
+        assertThat(out.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    public void write_fileRegion_writesOnlyTheRegion() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "skip-hello-skip".getBytes(StandardCharsets.UTF_8));
+        FileRegionContentStreamProvider provider = fileRegionProvider(file, 5, 5);
+
+        assertThat(write(provider)).isEqualTo("hello");
+        assertThat(write(provider)).isEqualTo("hello");
+        assertThat(RequestContentWriter.contentLength(provider).getAsLong()).isEqualTo(5);
+    }
+
+    @Test
+    public void writeWithMaxLength_writesOnlyTheStartOfTheContent() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "skip-hello-skip".getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.wrap("hello".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(write(byteBufferProvider(buffer), 3)).isEqualTo("hel");
+        assertThat(write(byteBufferProvider(buffer), 10)).isEqualTo("hello");
+        assertThat(write(fileRegionProvider(file, 5, 5), 3)).isEqualTo("hel");
+        assertThat(write(fileRegionProvider(file, 5, 5), 10)).isEqualTo("hello");
+    }
+
+    @Test
+    public void write_fileShorterThanRegion_fails() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "hello".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> write(fileRegionProvider(file, 0, 10))).isInstanceOf(IOException.class)
+                                                                        .hasMessageContaining("5 bytes");
+    }
+
+    @Test
+    public void plainProvider_cannotBeWritten() {
+        ContentStreamProvider provider = () -> new ByteArrayInputStream(new byte[0]);
+
+        assertThat(RequestContentWriter.canWrite(provider)).isFalse();
+        assertThat(RequestContentWriter.contentLength(provider).isPresent()).isFalse();
+        assertThatThrownBy(() -> write(provider)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String write(ContentStreamProvider provider) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RequestContentWriter.write(provider, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String write(ContentStreamProvider provider, long maxLength) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RequestContentWriter.write(provider, out, maxLength);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static ByteBufferContentStreamProvider byteBufferProvider(ByteBuffer buffer) {
+        return new ByteBufferContentStreamProvider() {
+            @Override
+            public ByteBuffer byteBuffer() {
+                return buffer.duplicate();
+            }
+
+            @Override
+            public InputStream newStream() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static FileRegionContentStreamProvider fileRegionProvider(Path file, long position, long size) {
+        return new FileRegionContentStreamProvider() {
+            @Override
+            public Path path() {
+                return file;
+            }
+
+            @Override
+            public long position() {
+                return position;
+            }
+
+            @Override
+            public long size() {
+                return size;
+            }
+
+            @Override
+            public InputStream newStream() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
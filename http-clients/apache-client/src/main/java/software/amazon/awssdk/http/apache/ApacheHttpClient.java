@@ -61,6 +61,8 @@ import org.apache.http.protocol.HttpRequestExecutor;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ConnectionPoolStatistics;
+import software.amazon.awssdk.http.ConnectionPoolStatisticsProvider;
 import software.amazon.awssdk.http.ExecutableHttpRequest;
 import software.amazon.awssdk.http.HttpExecuteRequest;
 import software.amazon.awssdk.http.HttpExecuteResponse;
@@ -74,9 +76,12 @@ import software.amazon.awssdk.http.apache.internal.ApacheHttpRequestConfig;
 import software.amazon.awssdk.http.apache.internal.DefaultConfiguration;
 import software.amazon.awssdk.http.apache.internal.SdkProxyRoutePlanner;
 import software.amazon.awssdk.http.apache.internal.conn.ClientConnectionManagerFactory;
+import software.amazon.awssdk.http.apache.internal.conn.ConcurrentHttpClientConnectionManager;
+import software.amazon.awssdk.http.apache.internal.conn.ConnectionPoolStatisticsCollector;
 import software.amazon.awssdk.http.apache.internal.conn.IdleConnectionReaper;
 import software.amazon.awssdk.http.apache.internal.conn.SdkConnectionKeepAliveStrategy;
 import software.amazon.awssdk.http.apache.internal.conn.SdkTlsSocketFactory;
+import software.amazon.awssdk.http.apache.internal.conn.StatisticsRecordingConnectionFactory;
 import software.amazon.awssdk.http.apache.internal.impl.ApacheHttpRequestFactory;
 import software.amazon.awssdk.http.apache.internal.impl.ApacheSdkHttpClient;
 import software.amazon.awssdk.http.apache.internal.impl.ConnectionManagerAwareHttpClient;
@@ -95,13 +100,14 @@ import software.amazon.awssdk.utils.Validate;
  * <p>This can be created via {@link #builder()}</p>
  */
 @SdkPublicApi
-public final class ApacheHttpClient implements SdkHttpClient {
+public final class ApacheHttpClient implements SdkHttpClient, ConnectionPoolStatisticsProvider {
 
     public static final String CLIENT_NAME = "Apache";
 
     private static final Logger log = Logger.loggerFor(ApacheHttpClient.class);
 
     private final ApacheHttpRequestFactory apacheHttpRequestFactory = new ApacheHttpRequestFactory();
+    private final ConnectionPoolStatisticsCollector statisticsCollector;
     private final ConnectionManagerAwareHttpClient httpClient;
     private final ApacheHttpRequestConfig requestConfig;
     private final AttributeMap resolvedOptions;
@@ -110,12 +116,15 @@ public final class ApacheHttpClient implements SdkHttpClient {
     ApacheHttpClient(ConnectionManagerAwareHttpClient httpClient,
                      ApacheHttpRequestConfig requestConfig,
                      AttributeMap resolvedOptions) {
+        this.statisticsCollector = new ConnectionPoolStatisticsCollector(0);
         this.httpClient = httpClient;
         this.requestConfig = requestConfig;
         this.resolvedOptions = resolvedOptions;
     }
 
     private ApacheHttpClient(DefaultBuilder builder, AttributeMap resolvedOptions) {
+        this.statisticsCollector =
+            new ConnectionPoolStatisticsCollector(resolvedOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS));
         this.httpClient = createClient(builder, resolvedOptions);
         this.requestConfig = createRequestConfig(builder, resolvedOptions);
         this.resolvedOptions = resolvedOptions;
@@ -133,7 +142,7 @@ public final class ApacheHttpClient implements SdkHttpClient {
         // Note that it is important we register the original connection manager with the
         // IdleConnectionReaper as it's required for the successful deregistration of managers
         // from the reaper. See https://github.com/aws/aws-sdk-java/issues/722.
-        HttpClientConnectionManager cm = cmFactory.create(configuration, standardOptions);
+        HttpClientConnectionManager cm = cmFactory.create(configuration, standardOptions, statisticsCollector);
 
         builder.setRequestExecutor(new HttpRequestExecutor())
                // SDK handles decompression
@@ -142,7 +151,7 @@ public final class ApacheHttpClient implements SdkHttpClient {
                .disableRedirectHandling()
                .disableAutomaticRetries()
                .setUserAgent("") // SDK will set the user agent header in the pipeline. Don't let Apache waste time
-               .setConnectionManager(ClientConnectionManagerFactory.wrap(cm));
+               .setConnectionManager(ClientConnectionManagerFactory.wrap(cm, statisticsCollector));
 
         addProxyConfig(builder, configuration);
 
@@ -288,6 +297,11 @@ public final class ApacheHttpClient implements SdkHttpClient {
         return CLIENT_NAME;
     }
 
+    @Override
+    public List<ConnectionPoolStatistics> connectionPoolStatistics() {
+        return statisticsCollector.statistics();
+    }
+
     /**
      * Builder for creating an instance of {@link SdkHttpClient}. The factory can be configured through the builder {@link
      * #builder()}, once built it can create a {@link SdkHttpClient} via {@link #build()} or can be passed to the SDK
@@ -360,6 +374,17 @@ public final class ApacheHttpClient implements SdkHttpClient {
          */
         Builder useIdleConnectionReaper(Boolean useConnectionReaper);
 
+        /**
+         * Configure whether connections should be pooled by the SDK's own connection manager instead of Apache's
+         * {@link PoolingHttpClientConnectionManager}.
+         * <p>
+         * Apache's pool takes a single lock on every connection lease and release, which becomes a bottleneck when hundreds
+         * of threads share a client. The SDK's pool keeps the connections of each route in a lock-free structure instead,
+         * and honors the same {@link #maxConnections(Integer)}, {@link #connectionTimeToLive(Duration)} and
+         * {@link #useIdleConnectionReaper(Boolean)} settings. By default, this is disabled.
+         */
+        Builder useConcurrentConnectionPool(Boolean useConcurrentConnectionPool);
+
         /**
          * Configuration that defines an HTTP route planner that computes the route an HTTP request should take.
          * May not be used in conjunction with {@link #proxyConfiguration(ProxyConfiguration)}.
@@ -396,6 +421,7 @@ public final class ApacheHttpClient implements SdkHttpClient {
         private Boolean expectContinueEnabled;
         private HttpRoutePlanner httpRoutePlanner;
         private CredentialsProvider credentialsProvider;
+        private Boolean useConcurrentConnectionPool;
 
         private DefaultBuilder() {
         }
@@ -506,6 +532,16 @@ public final class ApacheHttpClient implements SdkHttpClient {
             useIdleConnectionReaper(useIdleConnectionReaper);
         }
 
+        @Override
+        public Builder useConcurrentConnectionPool(Boolean useConcurrentConnectionPool) {
+            this.useConcurrentConnectionPool = useConcurrentConnectionPool;
+            return this;
+        }
+
+        public void setUseConcurrentConnectionPool(Boolean useConcurrentConnectionPool) {
+            useConcurrentConnectionPool(useConcurrentConnectionPool);
+        }
+
         @Override
         public Builder httpRoutePlanner(HttpRoutePlanner httpRoutePlanner) {
             this.httpRoutePlanner = httpRoutePlanner;
@@ -557,20 +593,35 @@ public final class ApacheHttpClient implements SdkHttpClient {
     private static class ApacheConnectionManagerFactory {
 
         public HttpClientConnectionManager create(ApacheHttpClient.DefaultBuilder configuration,
-                                                  AttributeMap standardOptions) {
+                                                  AttributeMap standardOptions,
+                                                  ConnectionPoolStatisticsCollector statisticsCollector) {
             ConnectionSocketFactory sslsf = getPreferredSocketFactory(configuration, standardOptions);
+            Registry<ConnectionSocketFactory> socketFactoryRegistry = createSocketFactoryRegistry(sslsf);
+            StatisticsRecordingConnectionFactory connectionFactory =
+                new StatisticsRecordingConnectionFactory(statisticsCollector);
+            long timeToLive = standardOptions.get(SdkHttpConfigurationOption.CONNECTION_TIME_TO_LIVE).toMillis();
+            int maxConnections = standardOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS);
+
+            if (Boolean.TRUE.equals(configuration.useConcurrentConnectionPool)) {
+                ConcurrentHttpClientConnectionManager cm = new ConcurrentHttpClientConnectionManager(
+                    socketFactoryRegistry, connectionFactory, timeToLive, TimeUnit.MILLISECONDS);
+                cm.setDefaultMaxPerRoute(maxConnections);
+                cm.setMaxTotal(maxConnections);
+                cm.setDefaultSocketConfig(buildSocketConfig(standardOptions));
+                return cm;
+            }
 
             PoolingHttpClientConnectionManager cm = new
                     PoolingHttpClientConnectionManager(
-                    createSocketFactoryRegistry(sslsf),
-                    null,
+                    socketFactoryRegistry,
+                    connectionFactory,
                     DefaultSchemePortResolver.INSTANCE,
                     null,
-                    standardOptions.get(SdkHttpConfigurationOption.CONNECTION_TIME_TO_LIVE).toMillis(),
+                    timeToLive,
                     TimeUnit.MILLISECONDS);
 
-            cm.setDefaultMaxPerRoute(standardOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS));
-            cm.setMaxTotal(standardOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS));
+            cm.setDefaultMaxPerRoute(maxConnections);
+            cm.setMaxTotal(maxConnections);
             cm.setDefaultSocketConfig(buildSocketConfig(standardOptions));
 
             return cm;
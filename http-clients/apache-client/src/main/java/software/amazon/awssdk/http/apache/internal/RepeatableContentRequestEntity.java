@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.apache.http.entity.AbstractHttpEntity;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.internal.http.RequestContentWriter;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * A {@link org.apache.http.HttpEntity} for content that {@link RequestContentWriter} can write directly, i.e. content held
+ * in a {@link java.nio.ByteBuffer} or in a region of a file.
+ *
+ * <p>Unlike {@link RepeatableInputStreamRequestEntity}, the content is written with bulk writes instead of being copied
+ * through a small buffer, and writing it again after a failed attempt simply starts over from the beginning of the buffer
+ * or region: it never needs to be buffered in memory to be repeatable.
+ *
+ * <p>Like {@link RepeatableInputStreamRequestEntity}, the length of the entity is the Content-Length of the request when it
+ * has one, which may be smaller than the content, and only that many bytes of the content are written.
+ */
+@SdkInternalApi
+public class RepeatableContentRequestEntity extends AbstractHttpEntity {
+    private static final Logger log = Logger.loggerFor(RepeatableContentRequestEntity.class);
+
+    private final ContentStreamProvider contentStreamProvider;
+    private final long contentLength;
+
+    public RepeatableContentRequestEntity(HttpExecuteRequest request, ContentStreamProvider contentStreamProvider) {
+        this.contentStreamProvider = contentStreamProvider;
+        this.contentLength = request.httpRequest()
+                                    .firstMatchingHeader("Content-Length")
+                                    .map(RepeatableContentRequestEntity::parseContentLength)
+                                    .filter(length -> length >= 0)
+                                    .orElseGet(() -> RequestContentWriter.contentLength(contentStreamProvider).orElse(-1));
+        setChunked(false);
+        request.httpRequest().firstMatchingHeader("Content-Type").ifPresent(this::setContentType);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public InputStream getContent() {
+        return contentStreamProvider.newStream();
+    }
+
+    @Override
+    public void writeTo(OutputStream output) throws IOException {
+        RequestContentWriter.write(contentStreamProvider, output, contentLength >= 0 ? contentLength : Long.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    private static long parseContentLength(String contentLength) {
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            log.debug(() -> "Ignoring invalid Content-Length header: " + contentLength);
+            return -1;
+        }
+    }
+}
@@ -19,8 +19,10 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.conn.ConnectionRequest;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.pool.ConnPoolControl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +42,18 @@ public final class ClientConnectionManagerFactory {
      * @param orig the target instance to be wrapped
      */
     public static HttpClientConnectionManager wrap(HttpClientConnectionManager orig) {
+        return wrap(orig, null);
+    }
+
+    /**
+     * Returns a wrapped instance of {@link HttpClientConnectionManager} that reports connection leases and releases to
+     * the given collector.
+     *
+     * @param orig the target instance to be wrapped
+     * @param collector the collector of connection pool statistics, or null to not collect any
+     */
+    public static HttpClientConnectionManager wrap(HttpClientConnectionManager orig,
+                                                   ConnectionPoolStatisticsCollector collector) {
         if (orig instanceof Wrapped) {
             throw new IllegalArgumentException();
         }
@@ -59,7 +73,7 @@ public final class ClientConnectionManagerFactory {
                 // https://github.com/aws/aws-sdk-java/pull/48#issuecomment-29454423
                 ClientConnectionManagerFactory.class.getClassLoader(),
                 interfaces,
-                new Handler(orig));
+                new Handler(orig, collector));
     }
 
     /**
@@ -69,17 +83,22 @@ public final class ClientConnectionManagerFactory {
      */
     private static class Handler implements InvocationHandler {
         private final HttpClientConnectionManager orig;
+        private final ConnectionPoolStatisticsCollector collector;
 
-        Handler(HttpClientConnectionManager real) {
+        Handler(HttpClientConnectionManager real, ConnectionPoolStatisticsCollector collector) {
             this.orig = real;
+            this.collector = collector;
         }
 
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
             try {
+                if (collector != null && "releaseConnection".equals(method.getName())) {
+                    collector.released((HttpClientConnection) args[0]);
+                }
                 Object ret = method.invoke(orig, args);
                 return ret instanceof ConnectionRequest
-                        ? ClientConnectionRequestFactory.wrap((ConnectionRequest) ret)
+                        ? ClientConnectionRequestFactory.wrap((ConnectionRequest) ret, (HttpRoute) args[0], collector)
                         : ret
                         ;
             } catch (InvocationTargetException e) {
@@ -20,7 +20,9 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.annotations.SdkInternalApi;
@@ -43,6 +45,18 @@ final class ClientConnectionRequestFactory {
      * @param orig the target instance to be wrapped
      */
     static ConnectionRequest wrap(ConnectionRequest orig) {
+        return wrap(orig, null, null);
+    }
+
+    /**
+     * Returns a wrapped instance of {@link ConnectionRequest} that reports the outcome and latency of
+     * {@link ConnectionRequest#get(long, java.util.concurrent.TimeUnit)} to the given collector.
+     *
+     * @param orig the target instance to be wrapped
+     * @param route the route the connection was requested for
+     * @param collector the collector of connection pool statistics, or null to not collect any
+     */
+    static ConnectionRequest wrap(ConnectionRequest orig, HttpRoute route, ConnectionPoolStatisticsCollector collector) {
         if (orig instanceof Wrapped) {
             throw new IllegalArgumentException();
         }
@@ -50,7 +64,7 @@ final class ClientConnectionRequestFactory {
                 // https://github.com/aws/aws-sdk-java/pull/48#issuecomment-29454423
                 ClientConnectionRequestFactory.class.getClassLoader(),
                 INTERFACES,
-                new Handler(orig));
+                new Handler(orig, route, collector));
     }
 
     /**
@@ -61,13 +75,21 @@ final class ClientConnectionRequestFactory {
      */
     private static class Handler implements InvocationHandler {
         private final ConnectionRequest orig;
+        private final HttpRoute route;
+        private final ConnectionPoolStatisticsCollector collector;
 
-        Handler(ConnectionRequest orig) {
+        Handler(ConnectionRequest orig, HttpRoute route, ConnectionPoolStatisticsCollector collector) {
             this.orig = orig;
+            this.route = route;
+            this.collector = collector;
         }
 
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (collector != null && "get".equals(method.getName())) {
+                return recordGet(method, args);
+            }
+
             try {
                 // TODO v2 service metrics
                 //                if ("get".equals(method.getName())) {
@@ -86,5 +108,21 @@ final class ClientConnectionRequestFactory {
                 throw e.getCause();
             }
         }
+
+        private Object recordGet(Method method, Object[] args) throws Throwable {
+            long startNanos = collector.acquireStarted(route);
+            try {
+                Object connection = method.invoke(orig, args);
+                collector.acquireSucceeded(route, startNanos, (HttpClientConnection) connection);
+                return connection;
+            } catch (InvocationTargetException e) {
+                collector.acquireFailed(route);
+                log.debug("", e);
+                throw e.getCause();
+            } catch (RuntimeException | Error e) {
+                collector.acquireFailed(route);
+                throw e;
+            }
+        }
     }
 }
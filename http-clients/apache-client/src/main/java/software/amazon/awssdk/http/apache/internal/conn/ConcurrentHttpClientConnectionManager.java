@@ -0,0 +1,488 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.config.Lookup;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.HttpClientConnectionOperator;
+import org.apache.http.conn.HttpConnectionFactory;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.conn.DefaultHttpClientConnectionOperator;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A {@link HttpClientConnectionManager} that pools connections without a pool-wide lock.
+ *
+ * <p>{@link org.apache.http.impl.conn.PoolingHttpClientConnectionManager} guards every lease and release with a single
+ * lock, which becomes the most contended monitor of the client once hundreds of threads share it. Here, each route has its
+ * own pool: leases are limited by semaphores, and idle connections are kept in a lock-free deque that is used as a stack,
+ * so that the most recently used (and most likely still alive) connection is reused first. A second semaphore limits the
+ * number of connections leased across all routes.
+ *
+ * <p>Like the Apache pool, this manager closes connections once they are older than their time to live, validates
+ * connections that were idle for longer than {@link #VALIDATE_AFTER_INACTIVITY_MILLIS} before reusing them, and supports
+ * {@link #closeIdleConnections(long, TimeUnit)} for the {@link IdleConnectionReaper}. Unlike the Apache pool, idle
+ * connections of one route are not closed to make room for connections to another route; they are left to expire or to be
+ * reaped instead.
+ */
+@SdkInternalApi
+public final class ConcurrentHttpClientConnectionManager implements HttpClientConnectionManager, ConnPoolControl<HttpRoute> {
+    private static final Logger log = Logger.loggerFor(ConcurrentHttpClientConnectionManager.class);
+
+    /**
+     * The same period after which {@link org.apache.http.impl.conn.PoolingHttpClientConnectionManager} checks whether an
+     * idle connection is stale.
+     */
+    private static final long VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
+
+    private final HttpClientConnectionOperator connectionOperator;
+    private final HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> connectionFactory;
+    private final long timeToLiveMillis;
+    private final ConcurrentMap<HttpRoute, RoutePool> routes = new ConcurrentHashMap<>();
+    private final Map<HttpClientConnection, PoolEntry> leasedConnections = new ConcurrentHashMap<>();
+    private final Permits totalPermits;
+
+    private volatile int defaultMaxPerRoute;
+    private volatile SocketConfig socketConfig = SocketConfig.DEFAULT;
+    private volatile boolean isShutdown;
+
+    public ConcurrentHttpClientConnectionManager(Lookup<ConnectionSocketFactory> socketFactoryRegistry,
+                                                 HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> connectionFactory,
+                                                 long timeToLive,
+                                                 TimeUnit timeUnit) {
+        this(new DefaultHttpClientConnectionOperator(socketFactoryRegistry, DefaultSchemePortResolver.INSTANCE, null),
+             connectionFactory, timeToLive, timeUnit);
+    }
+
+    ConcurrentHttpClientConnectionManager(HttpClientConnectionOperator connectionOperator,
+                                          HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> connectionFactory,
+                                          long timeToLive,
+                                          TimeUnit timeUnit) {
+        this.connectionOperator = Validate.paramNotNull(connectionOperator, "connectionOperator");
+        this.connectionFactory = Validate.paramNotNull(connectionFactory, "connectionFactory");
+        this.timeToLiveMillis = timeToLive > 0 ? timeUnit.toMillis(timeToLive) : Long.MAX_VALUE;
+        this.defaultMaxPerRoute = 2;
+        this.totalPermits = new Permits(20);
+    }
+
+    public void setDefaultSocketConfig(SocketConfig socketConfig) {
+        this.socketConfig = socketConfig != null ? socketConfig : SocketConfig.DEFAULT;
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        Validate.paramNotNull(route, "route");
+        return new PoolConnectionRequest(route, state);
+    }
+
+    @Override
+    public void releaseConnection(HttpClientConnection connection, Object newState, long keepAlive, TimeUnit timeUnit) {
+        PoolEntry entry = leasedConnections.remove(connection);
+        if (entry == null) {
+            return;
+        }
+
+        RoutePool pool = entry.pool;
+        try {
+            if (!isShutdown && connection.isOpen()) {
+                entry.idle(newState, keepAlive > 0 ? timeUnit.toMillis(keepAlive) : Long.MAX_VALUE);
+                pool.idle.offerFirst(entry);
+
+                // The pool may have been shut down after we checked, make sure the connection is not left open.
+                if (isShutdown && pool.idle.remove(entry)) {
+                    shutdown(entry);
+                }
+            } else {
+                close(entry);
+            }
+        } finally {
+            pool.permits.release();
+            totalPermits.release();
+        }
+    }
+
+    @Override
+    public void connect(HttpClientConnection connection, HttpRoute route, int connectTimeout, HttpContext context)
+            throws IOException {
+        HttpHost host = route.getProxyHost() != null ? route.getProxyHost() : route.getTargetHost();
+        connectionOperator.connect(leasedEntry(connection).connection, host, route.getLocalSocketAddress(), connectTimeout,
+                                   socketConfig, context);
+    }
+
+    @Override
+    public void upgrade(HttpClientConnection connection, HttpRoute route, HttpContext context) throws IOException {
+        connectionOperator.upgrade(leasedEntry(connection).connection, route.getTargetHost(), context);
+    }
+
+    @Override
+    public void routeComplete(HttpClientConnection connection, HttpRoute route, HttpContext context) {
+        // Connections are only reused for the route they were created for, there is nothing to track.
+    }
+
+    @Override
+    public void closeIdleConnections(long idleTime, TimeUnit timeUnit) {
+        long idleSince = System.currentTimeMillis() - Math.max(0, timeUnit.toMillis(idleTime));
+        for (RoutePool pool : routes.values()) {
+            for (PoolEntry entry : pool.idle) {
+                if (entry.updated <= idleSince && pool.idle.remove(entry)) {
+                    close(entry);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void closeExpiredConnections() {
+        long now = System.currentTimeMillis();
+        for (RoutePool pool : routes.values()) {
+            for (PoolEntry entry : pool.idle) {
+                if (entry.isExpired(now) && pool.idle.remove(entry)) {
+                    close(entry);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        isShutdown = true;
+        for (RoutePool pool : routes.values()) {
+            PoolEntry entry;
+            while ((entry = pool.idle.pollFirst()) != null) {
+                shutdown(entry);
+            }
+        }
+        for (PoolEntry entry : leasedConnections.values()) {
+            shutdown(entry);
+        }
+    }
+
+    @Override
+    public void setMaxTotal(int max) {
+        totalPermits.resize(max);
+    }
+
+    @Override
+    public int getMaxTotal() {
+        return totalPermits.max;
+    }
+
+    @Override
+    public void setDefaultMaxPerRoute(int max) {
+        Validate.isPositive(max, "defaultMaxPerRoute");
+        defaultMaxPerRoute = max;
+        for (RoutePool pool : routes.values()) {
+            if (!pool.hasExplicitMax) {
+                pool.permits.resize(max);
+            }
+        }
+    }
+
+    @Override
+    public int getDefaultMaxPerRoute() {
+        return defaultMaxPerRoute;
+    }
+
+    @Override
+    public void setMaxPerRoute(HttpRoute route, int max) {
+        Validate.isPositive(max, "maxPerRoute");
+        RoutePool pool = routePool(route);
+        pool.hasExplicitMax = true;
+        pool.permits.resize(max);
+    }
+
+    @Override
+    public int getMaxPerRoute(HttpRoute route) {
+        RoutePool pool = routes.get(route);
+        return pool != null ? pool.permits.max : defaultMaxPerRoute;
+    }
+
+    @Override
+    public PoolStats getTotalStats() {
+        int leased = 0;
+        int pending = 0;
+        int available = 0;
+        for (RoutePool pool : routes.values()) {
+            leased += pool.permits.leased();
+            pending += pool.permits.getQueueLength();
+            available += pool.idle.size();
+        }
+        return new PoolStats(leased, pending, available, totalPermits.max);
+    }
+
+    @Override
+    public PoolStats getStats(HttpRoute route) {
+        RoutePool pool = routePool(route);
+        return new PoolStats(pool.permits.leased(), pool.permits.getQueueLength(), pool.idle.size(), pool.permits.max);
+    }
+
+    private HttpClientConnection lease(HttpRoute route, Object state, long timeout, TimeUnit timeUnit)
+            throws InterruptedException, ConnectionPoolTimeoutException {
+        if (isShutdown) {
+            throw new IllegalStateException("Connection pool shut down");
+        }
+
+        RoutePool pool = routePool(route);
+        long deadline = timeout > 0 ? System.nanoTime() + timeUnit.toNanos(timeout) : 0;
+        acquire(pool.permits, timeout > 0, deadline);
+        try {
+            acquire(totalPermits, timeout > 0, deadline);
+        } catch (InterruptedException | ConnectionPoolTimeoutException e) {
+            pool.permits.release();
+            throw e;
+        }
+
+        try {
+            PoolEntry entry = pool.leaseIdle(state);
+            if (entry == null) {
+                entry = new PoolEntry(pool, connectionFactory.create(route, ConnectionConfig.DEFAULT),
+                                      System.currentTimeMillis(), timeToLiveMillis);
+            }
+            leasedConnections.put(entry.connection, entry);
+            return entry.connection;
+        } catch (RuntimeException | Error e) {
+            pool.permits.release();
+            totalPermits.release();
+            throw e;
+        }
+    }
+
+    private static void acquire(Semaphore permits, boolean hasDeadline, long deadline)
+            throws InterruptedException, ConnectionPoolTimeoutException {
+        if (!hasDeadline) {
+            permits.acquire();
+        } else if (!permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+            throw new ConnectionPoolTimeoutException("Timeout waiting for connection from pool");
+        }
+    }
+
+    private RoutePool routePool(HttpRoute route) {
+        return routes.computeIfAbsent(route, r -> new RoutePool(defaultMaxPerRoute));
+    }
+
+    private PoolEntry leasedEntry(HttpClientConnection connection) {
+        PoolEntry entry = leasedConnections.get(connection);
+        if (entry == null) {
+            throw new IllegalStateException("The connection is not leased from this connection manager.");
+        }
+        return entry;
+    }
+
+    private static void close(PoolEntry entry) {
+        try {
+            entry.connection.close();
+        } catch (IOException e) {
+            log.debug(() -> "Failed to close connection.", e);
+        }
+    }
+
+    private static void shutdown(PoolEntry entry) {
+        try {
+            entry.connection.shutdown();
+        } catch (IOException e) {
+            log.debug(() -> "Failed to shut down connection.", e);
+        }
+    }
+
+    /**
+     * The connections to a single route.
+     */
+    private static final class RoutePool {
+        private final Permits permits;
+        private final Deque<PoolEntry> idle = new ConcurrentLinkedDeque<>();
+        private volatile boolean hasExplicitMax;
+
+        private RoutePool(int maxConnections) {
+            this.permits = new Permits(maxConnections);
+        }
+
+        /**
+         * Take the most recently released connection that can be reused for the given state, closing the expired or stale
+         * connections found on the way. The caller must hold one of this route's permits.
+         */
+        private PoolEntry leaseIdle(Object state) {
+            PoolEntry entry;
+            while ((entry = idle.pollFirst()) != null) {
+                long now = System.currentTimeMillis();
+                if (entry.isExpired(now) || !Objects.equals(entry.state, state) || isStale(entry, now)) {
+                    close(entry);
+                    continue;
+                }
+                return entry;
+            }
+            return null;
+        }
+
+        private static boolean isStale(PoolEntry entry, long now) {
+            return now - entry.updated > VALIDATE_AFTER_INACTIVITY_MILLIS && entry.connection.isStale();
+        }
+    }
+
+    /**
+     * A pooled connection. Its fields are only updated by the thread that leased it, before it is returned to the idle
+     * deque, which publishes them to the next thread that takes it.
+     */
+    private static final class PoolEntry {
+        private final RoutePool pool;
+        private final ManagedHttpClientConnection connection;
+        private final long timeToLiveDeadline;
+        private Object state;
+        private volatile long updated;
+        private volatile long expiry;
+
+        private PoolEntry(RoutePool pool, ManagedHttpClientConnection connection, long created, long timeToLiveMillis) {
+            this.pool = pool;
+            this.connection = connection;
+            this.timeToLiveDeadline = saturatedAdd(created, timeToLiveMillis);
+            this.updated = created;
+            this.expiry = timeToLiveDeadline;
+        }
+
+        private void idle(Object newState, long keepAliveMillis) {
+            long now = System.currentTimeMillis();
+            this.state = newState;
+            this.updated = now;
+            this.expiry = Math.min(timeToLiveDeadline, saturatedAdd(now, keepAliveMillis));
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiry;
+        }
+
+        private static long saturatedAdd(long time, long duration) {
+            long sum = time + duration;
+            return sum < time ? Long.MAX_VALUE : sum;
+        }
+    }
+
+    /**
+     * A semaphore whose number of permits can be changed while some of them are held.
+     */
+    private static final class Permits extends Semaphore {
+        private volatile int max;
+
+        private Permits(int max) {
+            super(max);
+            this.max = max;
+        }
+
+        private synchronized void resize(int newMax) {
+            Validate.isPositive(newMax, "max");
+            int delta = newMax - max;
+            max = newMax;
+            if (delta > 0) {
+                release(delta);
+            } else if (delta < 0) {
+                reducePermits(-delta);
+            }
+        }
+
+        private int leased() {
+            return Math.max(0, max - availablePermits());
+        }
+    }
+
+    /**
+     * A request for a connection. Aborting the request interrupts the thread waiting for the connection, which is the only
+     * way to wake up a thread blocked on a {@link Semaphore}.
+     */
+    private final class PoolConnectionRequest implements ConnectionRequest {
+        private final HttpRoute route;
+        private final Object state;
+        private Thread waiter;
+        private boolean cancelled;
+
+        private PoolConnectionRequest(HttpRoute route, Object state) {
+            this.route = route;
+            this.state = state;
+        }
+
+        @Override
+        public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+            synchronized (this) {
+                if (cancelled) {
+                    throw cancelledException();
+                }
+                waiter = Thread.currentThread();
+            }
+
+            HttpClientConnection connection = null;
+            try {
+                connection = lease(route, state, timeout, timeUnit);
+            } catch (InterruptedException e) {
+                synchronized (this) {
+                    if (!cancelled) {
+                        throw e;
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    waiter = null;
+                }
+            }
+
+            if (cancelled) {
+                // Clear the interrupt sent by cancel(), if it did not already wake us up.
+                Thread.interrupted();
+                if (connection != null) {
+                    shutdown(leasedEntry(connection));
+                    releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+                }
+                throw cancelledException();
+            }
+            return connection;
+        }
+
+        @Override
+        public synchronized boolean cancel() {
+            cancelled = true;
+            if (waiter != null) {
+                waiter.interrupt();
+            }
+            return true;
+        }
+
+        private ExecutionException cancelledException() {
+            return new ExecutionException(new CancellationException("Operation aborted"));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ConnectionPoolStatistics;
+import software.amazon.awssdk.internal.http.ConnectionPoolStatisticsRecorder;
+
+/**
+ * Keeps per-route statistics for a {@link org.apache.http.impl.conn.PoolingHttpClientConnectionManager}.
+ *
+ * <p>The pool's own {@code getStats} methods take the pool lock, which every lease and release contends on. Instead, the
+ * connection manager returned by {@link ClientConnectionManagerFactory#wrap(org.apache.http.conn.HttpClientConnectionManager,
+ * ConnectionPoolStatisticsCollector)} reports leases and releases here, and the connections created by
+ * {@link StatisticsRecordingConnectionFactory} report when they are opened and closed. Idle connections are derived from
+ * the two.
+ */
+@SdkInternalApi
+public final class ConnectionPoolStatisticsCollector {
+    private final ConcurrentMap<HttpRoute, RouteStatistics> routes = new ConcurrentHashMap<>();
+    private final Map<HttpClientConnection, ConnectionPoolStatisticsRecorder> leasedConnections = new ConcurrentHashMap<>();
+    private final int maxConnectionsPerRoute;
+
+    public ConnectionPoolStatisticsCollector(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * @return The statistics of every route a connection was requested for.
+     */
+    public List<ConnectionPoolStatistics> statistics() {
+        List<ConnectionPoolStatistics> statistics = new ArrayList<>(routes.size());
+        routes.forEach((route, routeStatistics) -> {
+            int leased = routeStatistics.recorder.leasedConnections();
+            int idle = (int) Math.max(0, routeStatistics.openConnections.sum() - leased);
+            statistics.add(routeStatistics.recorder.toStatistics()
+                                                   .endpoint(route.getTargetHost().toURI())
+                                                   .idleConnections(idle)
+                                                   .maxConnections(maxConnectionsPerRoute)
+                                                   .build());
+        });
+        return statistics;
+    }
+
+    long acquireStarted(HttpRoute route) {
+        return routeStatistics(route).recorder.acquireStarted();
+    }
+
+    void acquireSucceeded(HttpRoute route, long startNanos, HttpClientConnection connection) {
+        ConnectionPoolStatisticsRecorder recorder = routeStatistics(route).recorder;
+        recorder.acquireSucceeded(startNanos);
+        leasedConnections.put(connection, recorder);
+    }
+
+    void acquireFailed(HttpRoute route) {
+        routeStatistics(route).recorder.acquireFailed();
+    }
+
+    void released(HttpClientConnection connection) {
+        ConnectionPoolStatisticsRecorder recorder = leasedConnections.remove(connection);
+        if (recorder != null) {
+            recorder.released();
+        }
+    }
+
+    void connectionOpened(HttpRoute route) {
+        routeStatistics(route).openConnections.increment();
+    }
+
+    void connectionClosed(HttpRoute route) {
+        routeStatistics(route).openConnections.decrement();
+    }
+
+    private RouteStatistics routeStatistics(HttpRoute route) {
+        return routes.computeIfAbsent(route, r -> new RouteStatistics());
+    }
+
+    private static final class RouteStatistics {
+        private final ConnectionPoolStatisticsRecorder recorder = new ConnectionPoolStatisticsRecorder();
+        private final LongAdder openConnections = new LongAdder();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.conn.HttpConnectionFactory;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * A {@link HttpConnectionFactory} that reports every connection it creates, and the first time each of them is closed or
+ * shut down, to a {@link ConnectionPoolStatisticsCollector}.
+ */
+@SdkInternalApi
+public final class StatisticsRecordingConnectionFactory implements HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> {
+    private final HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> delegate;
+    private final ConnectionPoolStatisticsCollector collector;
+
+    public StatisticsRecordingConnectionFactory(ConnectionPoolStatisticsCollector collector) {
+        this(ManagedHttpClientConnectionFactory.INSTANCE, collector);
+    }
+
+    StatisticsRecordingConnectionFactory(HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> delegate,
+                                         ConnectionPoolStatisticsCollector collector) {
+        this.delegate = delegate;
+        this.collector = collector;
+    }
+
+    @Override
+    public ManagedHttpClientConnection create(HttpRoute route, ConnectionConfig config) {
+        ManagedHttpClientConnection connection = delegate.create(route, config);
+        collector.connectionOpened(route);
+        return (ManagedHttpClientConnection) Proxy.newProxyInstance(
+            // https://github.com/aws/aws-sdk-java/pull/48#issuecomment-29454423
+            StatisticsRecordingConnectionFactory.class.getClassLoader(),
+            interfaces(connection.getClass()),
+            new Handler(connection, route, collector));
+    }
+
+    /**
+     * Every interface of the connection is kept, so that code checking for e.g. {@link org.apache.http.protocol.HttpContext}
+     * sees the same connection it would without the proxy.
+     */
+    private static Class<?>[] interfaces(Class<?> connectionClass) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = connectionClass; c != null; c = c.getSuperclass()) {
+            for (Class<?> i : c.getInterfaces()) {
+                interfaces.add(i);
+            }
+        }
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+    private static class Handler implements InvocationHandler {
+        private final ManagedHttpClientConnection orig;
+        private final HttpRoute route;
+        private final ConnectionPoolStatisticsCollector collector;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        Handler(ManagedHttpClientConnection orig, HttpRoute route, ConnectionPoolStatisticsCollector collector) {
+            this.orig = orig;
+            this.route = route;
+            this.collector = collector;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                case "shutdown":
+                    if (closed.compareAndSet(false, true)) {
+                        collector.connectionClosed(route);
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            try {
+                return method.invoke(orig, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
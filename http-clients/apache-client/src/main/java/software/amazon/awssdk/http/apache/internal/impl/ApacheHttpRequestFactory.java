@@ -33,12 +33,15 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ContentStreamProvider;
 import software.amazon.awssdk.http.HttpExecuteRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.http.apache.internal.ApacheHttpRequestConfig;
+import software.amazon.awssdk.http.apache.internal.RepeatableContentRequestEntity;
 import software.amazon.awssdk.http.apache.internal.RepeatableInputStreamRequestEntity;
 import software.amazon.awssdk.http.apache.internal.utils.ApacheUtils;
+import software.amazon.awssdk.internal.http.RequestContentWriter;
 import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
 /**
@@ -137,7 +140,10 @@ public class ApacheHttpRequestFactory {
          * preparation for the retry. Eventually, these wrappers would
          * return incorrect validation result.
          */
-        if (request.contentStreamProvider().isPresent()) {
+        ContentStreamProvider contentStreamProvider = request.contentStreamProvider().orElse(null);
+        if (contentStreamProvider != null && RequestContentWriter.canWrite(contentStreamProvider)) {
+            entityEnclosingRequest.setEntity(new RepeatableContentRequestEntity(request, contentStreamProvider));
+        } else if (contentStreamProvider != null) {
             HttpEntity entity = new RepeatableInputStreamRequestEntity(request);
             if (request.httpRequest().headers().get(HttpHeaders.CONTENT_LENGTH) == null) {
                 entity = ApacheUtils.newBufferedHttpEntity(entity);
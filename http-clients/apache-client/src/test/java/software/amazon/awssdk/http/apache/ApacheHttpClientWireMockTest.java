@@ -18,6 +18,7 @@ package software.amazon.awssdk.http.apache;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
@@ -25,7 +26,9 @@ import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_C
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.net.URI;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.Credentials;
@@ -38,11 +41,17 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import software.amazon.awssdk.http.ConnectionPoolStatistics;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpClientTestSuite;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.apache.internal.ApacheHttpRequestConfig;
 import software.amazon.awssdk.http.apache.internal.impl.ConnectionManagerAwareHttpClient;
 import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.IoUtils;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ApacheHttpClientWireMockTest extends SdkHttpClientTestSuite {
@@ -148,4 +157,31 @@ public class ApacheHttpClientWireMockTest extends SdkHttpClientTestSuite {
 
         mockProxyServer.verify(2, RequestPatternBuilder.allRequests());
     }
+
+    @Test
+    public void connectionPoolStatistics_completedRequest_connectionIsIdle() throws Exception {
+        mockProxyServer.stubFor(WireMock.any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(200).withBody("hello")));
+
+        ApacheHttpClient client = (ApacheHttpClient) ApacheHttpClient.builder().build();
+        try {
+            SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                           .uri(URI.create("http://localhost:" + mockProxyServer.port()))
+                                                           .method(SdkHttpMethod.GET)
+                                                           .build();
+            HttpExecuteResponse response = client.prepareRequest(HttpExecuteRequest.builder().request(request).build()).call();
+            try (InputStream body = response.responseBody().get()) {
+                IoUtils.drainInputStream(body);
+            }
+
+            assertThat(client.connectionPoolStatistics()).hasSize(1);
+            ConnectionPoolStatistics statistics = client.connectionPoolStatistics().get(0);
+            assertThat(statistics.endpoint()).isEqualTo("http://localhost:" + mockProxyServer.port());
+            assertThat(statistics.acquireCount()).isEqualTo(1);
+            assertThat(statistics.leasedConnections()).isEqualTo(0);
+            assertThat(statistics.idleConnections()).isEqualTo(1);
+            assertThat(statistics.pendingAcquires()).isEqualTo(0);
+        } finally {
+            client.close();
+        }
+    }
 }
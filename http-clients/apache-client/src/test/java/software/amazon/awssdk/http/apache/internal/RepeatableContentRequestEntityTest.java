@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import software.amazon.awssdk.http.ByteBufferContentStreamProvider;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+
+public class RepeatableContentRequestEntityTest {
+    private static final byte[] CONTENT = "hello world".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void withoutContentLengthHeader_sendsWholeContent() throws IOException {
+        RepeatableContentRequestEntity entity = entity(request(null));
+
+        assertThat(entity.getContentLength()).isEqualTo(CONTENT.length);
+        assertThat(write(entity)).isEqualTo("hello world");
+    }
+
+    @Test
+    public void contentLengthHeaderSmallerThanContent_sendsContentLengthBytes() throws IOException {
+        RepeatableContentRequestEntity entity = entity(request("5"));
+
+        assertThat(entity.getContentLength()).isEqualTo(5);
+        assertThat(write(entity)).isEqualTo("hello");
+        assertThat(write(entity)).isEqualTo("hello");
+    }
+
+    @Test
+    public void invalidContentLengthHeader_sendsWholeContent() throws IOException {
+        RepeatableContentRequestEntity entity = entity(request("five"));
+
+        assertThat(entity.getContentLength()).isEqualTo(CONTENT.length);
+        assertThat(write(entity)).isEqualTo("hello world");
+    }
+
+    private static RepeatableContentRequestEntity entity(HttpExecuteRequest request) {
+        return new RepeatableContentRequestEntity(request, request.contentStreamProvider().get());
+    }
+
+    private static HttpExecuteRequest request(String contentLength) {
+        SdkHttpRequest.Builder httpRequest = SdkHttpRequest.builder()
+                                                           .uri(URI.create("http://localhost:12345/"))
+                                                           .method(SdkHttpMethod.PUT);
+        if (contentLength != null) {
+            httpRequest.putHeader("Content-Length", contentLength);
+        }
+
+        ContentStreamProvider content = new ByteBufferContentStreamProvider() {
+            @Override
+            public ByteBuffer byteBuffer() {
+                return ByteBuffer.wrap(CONTENT);
+            }
+
+            @Override
+            public InputStream newStream() {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        return HttpExecuteRequest.builder()
+                                 .request(httpRequest.build())
+                                 .contentStreamProvider(content)
+                                 .build();
+    }
+
+    private static String write(RepeatableContentRequestEntity entity) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.writeTo(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
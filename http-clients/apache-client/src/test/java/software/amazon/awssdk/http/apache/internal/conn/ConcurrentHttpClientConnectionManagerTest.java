@@ -0,0 +1,210 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionOperator;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentHttpClientConnectionManagerTest {
+    private static final HttpRoute ROUTE = new HttpRoute(new HttpHost("localhost", 443, "https"));
+    private static final HttpRoute OTHER_ROUTE = new HttpRoute(new HttpHost("example.com", 443, "https"));
+
+    private ConcurrentHttpClientConnectionManager connectionManager;
+
+    @Before
+    public void setup() {
+        connectionManager = createConnectionManager(0);
+    }
+
+    @After
+    public void tearDown() {
+        connectionManager.shutdown();
+    }
+
+    @Test
+    public void releasedConnection_isReused() throws Exception {
+        HttpClientConnection connection = lease(ROUTE);
+        connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(lease(ROUTE)).isSameAs(connection);
+    }
+
+    @Test
+    public void connectionsToOtherRoutes_areNotReused() throws Exception {
+        HttpClientConnection connection = lease(ROUTE);
+        connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(lease(OTHER_ROUTE)).isNotSameAs(connection);
+    }
+
+    @Test
+    public void closedConnection_isNotReused() throws Exception {
+        HttpClientConnection connection = lease(ROUTE);
+        when(connection.isOpen()).thenReturn(false);
+        connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(lease(ROUTE)).isNotSameAs(connection);
+        verify(connection).close();
+    }
+
+    @Test
+    public void maxPerRouteReached_timesOut() throws Exception {
+        lease(ROUTE);
+        lease(ROUTE);
+
+        assertThatThrownBy(() -> lease(ROUTE)).isInstanceOf(ConnectionPoolTimeoutException.class);
+        assertThat(lease(OTHER_ROUTE)).isNotNull();
+    }
+
+    @Test
+    public void maxTotalReached_timesOut() throws Exception {
+        connectionManager.setMaxTotal(2);
+        lease(ROUTE);
+        lease(OTHER_ROUTE);
+
+        assertThatThrownBy(() -> lease(ROUTE)).isInstanceOf(ConnectionPoolTimeoutException.class);
+        assertThat(connectionManager.getStats(ROUTE).getLeased()).isEqualTo(1);
+        assertThat(connectionManager.getTotalStats().getLeased()).isEqualTo(2);
+    }
+
+    @Test
+    public void releasedConnection_unblocksWaitingRequest() throws Exception {
+        HttpClientConnection first = lease(ROUTE);
+        lease(ROUTE);
+
+        CompletableFuture<HttpClientConnection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return connectionManager.requestConnection(ROUTE, null).get(0, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        connectionManager.releaseConnection(first, null, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isSameAs(first);
+    }
+
+    @Test
+    public void cancelledRequest_stopsWaiting() throws Exception {
+        lease(ROUTE);
+        lease(ROUTE);
+
+        ConnectionRequest request = connectionManager.requestConnection(ROUTE, null);
+        CompletableFuture<HttpClientConnection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return request.get(0, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw new CancellationException(e.getCause().getMessage());
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        while (connectionManager.getStats(ROUTE).getPending() == 0) {
+            Thread.sleep(10);
+        }
+        request.cancel();
+
+        assertThatThrownBy(() -> waiting.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(CancellationException.class);
+        assertThat(connectionManager.getStats(ROUTE).getPending()).isEqualTo(0);
+    }
+
+    @Test
+    public void keepAliveElapsed_connectionIsClosed() throws Exception {
+        HttpClientConnection connection = lease(ROUTE);
+        connectionManager.releaseConnection(connection, null, 1, TimeUnit.MILLISECONDS);
+        Thread.sleep(10);
+
+        assertThat(lease(ROUTE)).isNotSameAs(connection);
+        verify(connection).close();
+    }
+
+    @Test
+    public void timeToLiveElapsed_connectionIsClosed() throws Exception {
+        connectionManager = createConnectionManager(1);
+        HttpClientConnection connection = lease(ROUTE);
+        Thread.sleep(10);
+        connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+        connectionManager.closeExpiredConnections();
+
+        verify(connection).close();
+        assertThat(connectionManager.getStats(ROUTE).getAvailable()).isEqualTo(0);
+    }
+
+    @Test
+    public void closeIdleConnections_onlyClosesIdleConnections() throws Exception {
+        HttpClientConnection idle = lease(ROUTE);
+        HttpClientConnection leased = lease(ROUTE);
+        connectionManager.releaseConnection(idle, null, 0, TimeUnit.MILLISECONDS);
+        Thread.sleep(10);
+
+        connectionManager.closeIdleConnections(5, TimeUnit.MILLISECONDS);
+
+        verify(idle).close();
+        verify(leased, never()).close();
+        assertThat(connectionManager.getStats(ROUTE).getAvailable()).isEqualTo(0);
+    }
+
+    @Test
+    public void shutdown_closesAllConnections() throws Exception {
+        HttpClientConnection idle = lease(ROUTE);
+        HttpClientConnection leased = lease(ROUTE);
+        connectionManager.releaseConnection(idle, null, 0, TimeUnit.MILLISECONDS);
+
+        connectionManager.shutdown();
+
+        verify(idle).shutdown();
+        verify(leased).shutdown();
+        assertThatThrownBy(() -> lease(ROUTE)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private HttpClientConnection lease(HttpRoute route) throws Exception {
+        return connectionManager.requestConnection(route, null).get(10, TimeUnit.MILLISECONDS);
+    }
+
+    private static ConcurrentHttpClientConnectionManager createConnectionManager(long timeToLiveMillis) {
+        ConcurrentHttpClientConnectionManager connectionManager = new ConcurrentHttpClientConnectionManager(
+            mock(HttpClientConnectionOperator.class), ConcurrentHttpClientConnectionManagerTest::newConnection,
+            timeToLiveMillis, TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(10);
+        return connectionManager;
+    }
+
+    private static ManagedHttpClientConnection newConnection(HttpRoute route, ConnectionConfig config) {
+        ManagedHttpClientConnection connection = mock(ManagedHttpClientConnection.class);
+        when(connection.isOpen()).thenReturn(true);
+        return connection;
+    }
+}
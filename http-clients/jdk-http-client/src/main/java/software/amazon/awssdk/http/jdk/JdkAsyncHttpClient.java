@@ -0,0 +1,241 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.jdk;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.TlsKeyManagersProvider;
+import software.amazon.awssdk.http.TlsTrustManagersProvider;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.jdk.internal.JdkHttpClientFactory;
+import software.amazon.awssdk.http.jdk.internal.JdkRequestAdapter;
+import software.amazon.awssdk.http.jdk.internal.JdkResponseAdapter;
+import software.amazon.awssdk.http.jdk.internal.ReactiveStreamsFlowPublisher;
+import software.amazon.awssdk.http.jdk.internal.ResponseBodyPublisher;
+import software.amazon.awssdk.utils.AttributeMap;
+
+/**
+ * An implementation of {@link SdkAsyncHttpClient} that uses the {@link HttpClient} built into Java 11 and later. It supports
+ * HTTP/1.1 and HTTP/2, and streams request and response content without buffering it. It has no dependencies outside of the
+ * JDK, which makes it start faster and use less memory than the Netty-based client, in exchange for fewer configuration
+ * options.
+ *
+ * <p>See software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient for an alternative implementation.</p>
+ *
+ * <p>This can be created via {@link #builder()}</p>
+ */
+@SdkPublicApi
+public final class JdkAsyncHttpClient implements SdkAsyncHttpClient {
+
+    private static final String CLIENT_NAME = "JdkAsync";
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+
+    private JdkAsyncHttpClient(AttributeMap options) {
+        this.httpClient = JdkHttpClientFactory.createHttpClient(options);
+        this.readTimeout = options.get(SdkHttpConfigurationOption.READ_TIMEOUT);
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * Create a {@link JdkAsyncHttpClient} with the default properties
+     *
+     * @return an {@link JdkAsyncHttpClient}
+     */
+    public static SdkAsyncHttpClient create() {
+        return new DefaultBuilder().build();
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(AsyncExecuteRequest asyncRequest) {
+        SdkHttpRequest request = asyncRequest.request();
+        SdkHttpContentPublisher content = asyncRequest.requestContentPublisher();
+        SdkAsyncHttpResponseHandler handler = asyncRequest.responseHandler();
+
+        CompletableFuture<Void> executeFuture = new CompletableFuture<>();
+        ResponseBodyPublisher responseBody = new ResponseBodyPublisher(executeFuture);
+
+        HttpRequest httpRequest;
+        try {
+            HttpRequest.BodyPublisher body = JdkRequestAdapter.bodyPublisher(request,
+                                                                             new ReactiveStreamsFlowPublisher<>(content),
+                                                                             content.contentLength());
+            httpRequest = JdkRequestAdapter.adapt(request, body, readTimeout);
+        } catch (RuntimeException e) {
+            handler.onError(e);
+            executeFuture.completeExceptionally(e);
+            return executeFuture;
+        }
+
+        CompletableFuture<HttpResponse<Void>> responseFuture = httpClient.sendAsync(httpRequest, responseInfo -> {
+            handler.onHeaders(JdkResponseAdapter.adapt(responseInfo));
+            handler.onStream(responseBody);
+            return responseBody;
+        });
+
+        // The response future completes once the headers are received, the body then completes the execute future.
+        responseFuture.whenComplete((r, t) -> {
+            if (t != null) {
+                Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+                if (executeFuture.completeExceptionally(cause)) {
+                    handler.onError(cause);
+                }
+            }
+        });
+
+        // Abandon the request if the SDK gives up on it, e.g. because the API call attempt timed out.
+        executeFuture.whenComplete((r, t) -> {
+            if (t != null) {
+                responseFuture.cancel(true);
+                responseBody.cancel();
+            }
+        });
+
+        return executeFuture;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to close. The JDK HTTP client closes its connections once it is garbage collected.
+    }
+
+    @Override
+    public String clientName() {
+        return CLIENT_NAME;
+    }
+
+    /**
+     * A builder for an instance of {@link SdkAsyncHttpClient} that uses the JDK's built-in {@link HttpClient}. A builder can
+     * be created via {@link #builder()}.
+     *
+     * <pre class="brush: java">
+     * SdkAsyncHttpClient httpClient = JdkAsyncHttpClient.builder()
+     * .protocol(Protocol.HTTP2)
+     * .connectionTimeout(Duration.ofSeconds(1))
+     * .build();
+     * </pre>
+     */
+    public interface Builder extends SdkAsyncHttpClient.Builder<JdkAsyncHttpClient.Builder> {
+
+        /**
+         * The amount of time to wait for the response headers once the request has been sent. A duration of 0 means
+         * infinity, and is not recommended.
+         */
+        Builder readTimeout(Duration readTimeout);
+
+        /**
+         * The amount of time to wait when initially establishing a connection before giving up and timing out. A duration of 0
+         * means infinity, and is not recommended.
+         */
+        Builder connectionTimeout(Duration connectionTimeout);
+
+        /**
+         * The HTTP protocol to use. {@link Protocol#HTTP2} falls back to HTTP/1.1 if the server does not support it.
+         */
+        Builder protocol(Protocol protocol);
+
+        /**
+         * Configure the {@link TlsKeyManagersProvider} that will provide the {@link javax.net.ssl.KeyManager}s to use
+         * when constructing the SSL context.
+         */
+        Builder tlsKeyManagersProvider(TlsKeyManagersProvider tlsKeyManagersProvider);
+
+        /**
+         * Configure the {@link TlsTrustManagersProvider} that will provide the {@link javax.net.ssl.TrustManager}s to use
+         * when constructing the SSL context.
+         */
+        Builder tlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private final AttributeMap.Builder standardOptions = AttributeMap.builder();
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder readTimeout(Duration readTimeout) {
+            standardOptions.put(SdkHttpConfigurationOption.READ_TIMEOUT, readTimeout);
+            return this;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            readTimeout(readTimeout);
+        }
+
+        @Override
+        public Builder connectionTimeout(Duration connectionTimeout) {
+            standardOptions.put(SdkHttpConfigurationOption.CONNECTION_TIMEOUT, connectionTimeout);
+            return this;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            connectionTimeout(connectionTimeout);
+        }
+
+        @Override
+        public Builder protocol(Protocol protocol) {
+            standardOptions.put(SdkHttpConfigurationOption.PROTOCOL, protocol);
+            return this;
+        }
+
+        public void setProtocol(Protocol protocol) {
+            protocol(protocol);
+        }
+
+        @Override
+        public Builder tlsKeyManagersProvider(TlsKeyManagersProvider tlsKeyManagersProvider) {
+            standardOptions.put(SdkHttpConfigurationOption.TLS_KEY_MANAGERS_PROVIDER, tlsKeyManagersProvider);
+            return this;
+        }
+
+        public void setTlsKeyManagersProvider(TlsKeyManagersProvider tlsKeyManagersProvider) {
+            tlsKeyManagersProvider(tlsKeyManagersProvider);
+        }
+
+        @Override
+        public Builder tlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider) {
+            standardOptions.put(SdkHttpConfigurationOption.TLS_TRUST_MANAGERS_PROVIDER, tlsTrustManagersProvider);
+            return this;
+        }
+
+        public void setTlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider) {
+            tlsTrustManagersProvider(tlsTrustManagersProvider);
+        }
+
+        @Override
+        public SdkAsyncHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
+            return new JdkAsyncHttpClient(standardOptions.build()
+                                                         .merge(serviceDefaults)
+                                                         .merge(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS));
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.jdk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.TlsKeyManagersProvider;
+import software.amazon.awssdk.http.TlsTrustManagersProvider;
+import software.amazon.awssdk.http.jdk.internal.JdkHttpClientFactory;
+import software.amazon.awssdk.http.jdk.internal.JdkRequestAdapter;
+import software.amazon.awssdk.http.jdk.internal.JdkResponseAdapter;
+import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * An implementation of {@link SdkHttpClient} that uses the {@link HttpClient} built into Java 11 and later. Unlike
+ * software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient, it pools connections and supports HTTP/2, while still
+ * having no dependencies outside of the JDK.
+ *
+ * <p>See software.amazon.awssdk.http.apache.ApacheHttpClient for an alternative implementation.</p>
+ *
+ * <p>This can be created via {@link #builder()}</p>
+ */
+@SdkPublicApi
+public final class JdkHttpClient implements SdkHttpClient {
+
+    private static final String CLIENT_NAME = "Jdk";
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+
+    private JdkHttpClient(AttributeMap options) {
+        this.httpClient = JdkHttpClientFactory.createHttpClient(options);
+        this.readTimeout = options.get(SdkHttpConfigurationOption.READ_TIMEOUT);
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * Create a {@link JdkHttpClient} with the default properties
+     *
+     * @return an {@link JdkHttpClient}
+     */
+    public static SdkHttpClient create() {
+        return new DefaultBuilder().build();
+    }
+
+    @Override
+    public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+        SdkHttpRequest httpRequest = request.httpRequest();
+        HttpRequest.BodyPublisher body =
+            request.contentStreamProvider()
+                   .map(provider -> JdkRequestAdapter.bodyPublisher(httpRequest,
+                                                                    HttpRequest.BodyPublishers.ofInputStream(provider::newStream),
+                                                                    Optional.empty()))
+                   .orElseGet(HttpRequest.BodyPublishers::noBody);
+
+        return new RequestCallable(JdkRequestAdapter.adapt(httpRequest, body, readTimeout), httpRequest.method());
+    }
+
+    @Override
+    public void close() {
+        // Nothing to close. The JDK HTTP client closes its connections once it is garbage collected.
+    }
+
+    @Override
+    public String clientName() {
+        return CLIENT_NAME;
+    }
+
+    private final class RequestCallable implements ExecutableHttpRequest {
+
+        private final HttpRequest request;
+        private final SdkHttpMethod method;
+        private volatile CompletableFuture<HttpResponse<InputStream>> responseFuture;
+        private volatile InputStream responseBody;
+
+        private RequestCallable(HttpRequest request, SdkHttpMethod method) {
+            this.request = request;
+            this.method = method;
+        }
+
+        @Override
+        public HttpExecuteResponse call() throws IOException {
+            responseFuture = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+
+            HttpResponse<InputStream> response = awaitResponse();
+            InputStream body = response.body();
+            responseBody = body;
+
+            AbortableInputStream content = null;
+            if (method == SdkHttpMethod.HEAD) {
+                IoUtils.closeQuietly(body, null);
+            } else {
+                content = AbortableInputStream.create(body, () -> IoUtils.closeQuietly(body, null));
+            }
+
+            return HttpExecuteResponse.builder()
+                                      .response(JdkResponseAdapter.adapt(response))
+                                      .responseBody(content)
+                                      .build();
+        }
+
+        private HttpResponse<InputStream> awaitResponse() throws IOException {
+            try {
+                return responseFuture.get();
+            } catch (InterruptedException e) {
+                responseFuture.cancel(true);
+                Thread.currentThread().interrupt();
+                InterruptedIOException interrupted = new InterruptedIOException("Interrupted while waiting for the response.");
+                interrupted.initCause(e);
+                throw interrupted;
+            } catch (CancellationException e) {
+                throw new IOException("The request was aborted.", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        @Override
+        public void abort() {
+            CompletableFuture<HttpResponse<InputStream>> future = responseFuture;
+            if (future != null) {
+                future.cancel(true);
+            }
+            IoUtils.closeQuietly(responseBody, null);
+        }
+    }
+
+    /**
+     * A builder for an instance of {@link SdkHttpClient} that uses the JDK's built-in {@link HttpClient}. A builder can be
+     * created via {@link #builder()}.
+     *
+     * <pre class="brush: java">
+     * SdkHttpClient httpClient = JdkHttpClient.builder()
+     * .readTimeout(Duration.ofSeconds(10))
+     * .connectionTimeout(Duration.ofSeconds(1))
+     * .build();
+     * </pre>
+     */
+    public interface Builder extends SdkHttpClient.Builder<JdkHttpClient.Builder> {
+
+        /**
+         * The amount of time to wait for the response headers once the request has been sent. A duration of 0 means
+         * infinity, and is not recommended.
+         */
+        Builder readTimeout(Duration readTimeout);
+
+        /**
+         * The amount of time to wait when initially establishing a connection before giving up and timing out. A duration of 0
+         * means infinity, and is not recommended.
+         */
+        Builder connectionTimeout(Duration connectionTimeout);
+
+        /**
+         * The HTTP protocol to use. {@link Protocol#HTTP2} falls back to HTTP/1.1 if the server does not support it.
+         */
+        Builder protocol(Protocol protocol);
+
+        /**
+         * Configure the {@link TlsKeyManagersProvider} that will provide the {@link javax.net.ssl.KeyManager}s to use
+         * when constructing the SSL context.
+         */
+        Builder tlsKeyManagersProvider(TlsKeyManagersProvider tlsKeyManagersProvider);
+
+        /**
+         * Configure the {@link TlsTrustManagersProvider} that will provide the {@link javax.net.ssl.TrustManager}s to use
+         * when constructing the SSL context.
+         */
+        Builder tlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private final AttributeMap.Builder standardOptions = AttributeMap.builder();
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder readTimeout(Duration readTimeout) {
+            standardOptions.put(SdkHttpConfigurationOption.READ_TIMEOUT, readTimeout);
+            return this;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            readTimeout(readTimeout);
+        }
+
+        @Override
+        public Builder connectionTimeout(Duration connectionTimeout) {
+            standardOptions.put(SdkHttpConfigurationOption.CONNECTION_TIMEOUT, connectionTimeout);
+            return this;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            connectionTimeout(connectionTimeout);
+        }
+
+        @Override
+        public Builder protocol(Protocol protocol) {
+            standardOptions.put(SdkHttpConfigurationOption.PROTOCOL, protocol);
+            return this;
+        }
+
+        public void setProtocol(Protocol protocol) {
+            protocol(protocol);
+        }
+
+        @Override
+        public Builder tlsKeyManagersProvider(TlsKeyManagersProvider tlsKeyManagersProvider) {
+            standardOptions.put(SdkHttpConfigurationOption.TLS_KEY_MANAGERS_PROVIDER, tlsKeyManagersProvider);
+            return this;
+        }
+
+        public void setTlsKeyManagersProvider(TlsKeyManagersProvider tlsKeyManagersProvider) {
+            tlsKeyManagersProvider(tlsKeyManagersProvider);
+        }
+
+        @Override
+        public Builder tlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider) {
+            standardOptions.put(SdkHttpConfigurationOption.TLS_TRUST_MANAGERS_PROVIDER, tlsTrustManagersProvider);
+            return this;
+        }
+
+        public void setTlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider) {
+            tlsTrustManagersProvider(tlsTrustManagersProvider);
+        }
+
+        @Override
+        public SdkHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
+            return new JdkHttpClient(standardOptions.build()
+                                                    .merge(serviceDefaults)
+                                                    .merge(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.jdk.internal;
+
+import java.net.Socket;
+import java.net.http.HttpClient;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.TlsKeyManagersProvider;
+import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Creates the {@link HttpClient} shared by every request of a JDK-based SDK HTTP client.
+ */
+@SdkInternalApi
+public final class JdkHttpClientFactory {
+    private static final Logger log = Logger.loggerFor(JdkHttpClientFactory.class);
+
+    private JdkHttpClientFactory() {
+    }
+
+    /**
+     * Create an {@link HttpClient} configured with the given {@link SdkHttpConfigurationOption}s.
+     */
+    public static HttpClient createHttpClient(AttributeMap options) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                                               // Redirects are handled by the SDK, like with every other HTTP client.
+                                               .followRedirects(HttpClient.Redirect.NEVER)
+                                               .version(version(options.get(SdkHttpConfigurationOption.PROTOCOL)))
+                                               .sslContext(sslContext(options));
+
+        Duration connectionTimeout = options.get(SdkHttpConfigurationOption.CONNECTION_TIMEOUT);
+        if (!connectionTimeout.isZero()) {
+            builder.connectTimeout(connectionTimeout);
+        }
+
+        return builder.build();
+    }
+
+    private static HttpClient.Version version(Protocol protocol) {
+        return protocol == Protocol.HTTP2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+    }
+
+    private static SSLContext sslContext(AttributeMap options) {
+        Validate.isTrue(options.get(SdkHttpConfigurationOption.TLS_TRUST_MANAGERS_PROVIDER) == null ||
+                        !options.get(SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES),
+                        "A TlsTrustManagerProvider can't be provided if TrustAllCertificates is also set");
+
+        TrustManager[] trustManagers = null;
+        if (options.get(SdkHttpConfigurationOption.TLS_TRUST_MANAGERS_PROVIDER) != null) {
+            trustManagers = options.get(SdkHttpConfigurationOption.TLS_TRUST_MANAGERS_PROVIDER).trustManagers();
+        }
+
+        if (options.get(SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES)) {
+            log.warn(() -> "SSL Certificate verification is disabled. This is not a safe setting and should only be "
+                           + "used for testing.");
+            trustManagers = new TrustManager[] { TrustAllManager.INSTANCE };
+        }
+
+        TlsKeyManagersProvider provider = options.get(SdkHttpConfigurationOption.TLS_KEY_MANAGERS_PROVIDER);
+        KeyManager[] keyManagers = provider.keyManagers();
+
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keyManagers, trustManagers, null);
+            return context;
+        } catch (NoSuchAlgorithmException | KeyManagementException ex) {
+            throw new RuntimeException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Insecure trust manager to trust all certs. Should only be used for testing.
+     *
+     * <p>The {@link HttpClient} cannot be configured with a hostname verifier. This is a {@link X509ExtendedTrustManager} so
+     * that the TLS engine leaves hostname verification to it as well, instead of performing it on top of it.
+     */
+    private static final class TrustAllManager extends X509ExtendedTrustManager {
+
+        private static final TrustAllManager INSTANCE = new TrustAllManager();
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] x509Certificates, String s) {
+            log.debug(() -> "Accepting a client certificate: " + x509Certificates[0].getSubjectDN());
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] x509Certificates, String s, Socket socket) {
+            checkClientTrusted(x509Certificates, s);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] x509Certificates, String s, SSLEngine sslEngine) {
+            checkClientTrusted(x509Certificates, s);
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] x509Certificates, String s) {
+            log.debug(() -> "Accepting a server certificate: " + x509Certificates[0].getSubjectDN());
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] x509Certificates, String s, Socket socket) {
+            checkServerTrusted(x509Certificates, s);
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] x509Certificates, String s, SSLEngine sslEngine) {
+            checkServerTrusted(x509Certificates, s);
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
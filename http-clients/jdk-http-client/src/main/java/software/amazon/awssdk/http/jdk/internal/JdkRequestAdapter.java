@@ -0,0 +1,92 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.jdk.internal;
+
+import static software.amazon.awssdk.utils.StringUtils.lowerCase;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Flow;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.Header;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Adapts an {@link SdkHttpRequest} to the {@link HttpRequest} of the JDK HTTP client.
+ */
+@SdkInternalApi
+public final class JdkRequestAdapter {
+    private static final Logger log = Logger.loggerFor(JdkRequestAdapter.class);
+
+    /**
+     * Headers that the JDK HTTP client sets itself, and refuses to accept from the caller.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "date", "expect", "from",
+                                                                 "host", "upgrade", "via", "warning");
+
+    private JdkRequestAdapter() {
+    }
+
+    /**
+     * @param request The request to send.
+     * @param body The request content.
+     * @param readTimeout The amount of time to wait for the response headers once the request is sent. Zero means no timeout.
+     */
+    public static HttpRequest adapt(SdkHttpRequest request, HttpRequest.BodyPublisher body, Duration readTimeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUri())
+                                                 .method(request.method().name(), body);
+
+        request.headers().forEach((name, values) -> {
+            String lowerCaseName = lowerCase(name);
+            if ("expect".equals(lowerCaseName)) {
+                builder.expectContinue(values.stream().anyMatch("100-continue"::equalsIgnoreCase));
+            } else if (RESTRICTED_HEADERS.contains(lowerCaseName)) {
+                log.debug(() -> "Not sending the '" + name + "' header, it is set by the JDK HTTP client.");
+            } else {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+
+        if (!readTimeout.isZero()) {
+            builder.timeout(readTimeout);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Create a {@link HttpRequest.BodyPublisher} for the given content. The length is taken from the request's Content-Length
+     * header if it has one, and from {@code contentLength} otherwise. Content of unknown length is sent chunked.
+     */
+    public static HttpRequest.BodyPublisher bodyPublisher(SdkHttpRequest request,
+                                                          Flow.Publisher<ByteBuffer> content,
+                                                          Optional<Long> contentLength) {
+        long length = request.firstMatchingHeader(Header.CONTENT_LENGTH)
+                             .map(Long::parseLong)
+                             .orElseGet(() -> contentLength.orElse(-1L));
+
+        if (length == 0) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+
+        return length > 0 ? HttpRequest.BodyPublishers.fromPublisher(content, length)
+                          : HttpRequest.BodyPublishers.fromPublisher(content);
+    }
+}
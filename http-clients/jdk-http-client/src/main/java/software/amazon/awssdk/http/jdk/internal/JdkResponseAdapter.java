@@ -0,0 +1,58 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.jdk.internal;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.SdkHttpResponse;
+
+/**
+ * Adapts the status and headers received by the JDK HTTP client to an {@link SdkHttpResponse}.
+ */
+@SdkInternalApi
+public final class JdkResponseAdapter {
+
+    private JdkResponseAdapter() {
+    }
+
+    public static SdkHttpResponse adapt(HttpResponse.ResponseInfo responseInfo) {
+        return adapt(responseInfo.statusCode(), responseInfo.headers());
+    }
+
+    public static SdkHttpResponse adapt(HttpResponse<?> response) {
+        return adapt(response.statusCode(), response.headers());
+    }
+
+    private static SdkHttpResponse adapt(int statusCode, HttpHeaders headers) {
+        return SdkHttpResponse.builder()
+                              .statusCode(statusCode)
+                              .headers(headers(headers))
+                              .build();
+    }
+
+    private static Map<String, List<String>> headers(HttpHeaders headers) {
+        // HTTP/2 pseudo-headers such as ':status' are not response headers
+        return headers.map()
+                      .entrySet()
+                      .stream()
+                      .filter(e -> !e.getKey().startsWith(":"))
+                      .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.jdk.internal;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.async.FlatteningSubscriber;
+
+/**
+ * Receives a response body from the JDK HTTP client and publishes it, one {@link ByteBuffer} at a time, to the subscriber of
+ * {@link software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler#onStream(Publisher)}. Nothing is buffered: the body is
+ * only read from the connection as the subscriber requests it.
+ *
+ * <p>The given future is completed once the body has been fully published, or failed if reading it fails.
+ */
+@SdkInternalApi
+public final class ResponseBodyPublisher implements HttpResponse.BodySubscriber<Void>, Publisher<ByteBuffer> {
+    private final Object lock = new Object();
+    private final CompletableFuture<Void> executeFuture;
+
+    private Flow.Subscription upstream;
+    private Subscriber<Iterable<ByteBuffer>> downstream;
+    private boolean connecting;
+    private boolean connected;
+    private boolean completed;
+    private Throwable error;
+
+    public ResponseBodyPublisher(CompletableFuture<Void> executeFuture) {
+        this.executeFuture = executeFuture;
+    }
+
+    /**
+     * The response is handed to the SDK as soon as the headers are received, the body is then streamed through
+     * {@link #subscribe(Subscriber)}.
+     */
+    @Override
+    public CompletionStage<Void> getBody() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        synchronized (lock) {
+            if (downstream != null) {
+                subscriber.onSubscribe(new NoOpSubscription());
+                subscriber.onError(new IllegalStateException("The response body can only be subscribed to once."));
+                return;
+            }
+            downstream = new FlatteningSubscriber<>(subscriber);
+        }
+        connectIfReady();
+    }
+
+    /**
+     * Cancel reading the response body, e.g. because the request was aborted.
+     */
+    public void cancel() {
+        Flow.Subscription subscription;
+        synchronized (lock) {
+            subscription = upstream;
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        synchronized (lock) {
+            upstream = subscription;
+        }
+        connectIfReady();
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> item) {
+        downstream.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        synchronized (lock) {
+            error = throwable;
+            if (!connected) {
+                return;
+            }
+        }
+        downstream.onError(throwable);
+        executeFuture.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (lock) {
+            completed = true;
+            if (!connected) {
+                return;
+            }
+        }
+        downstream.onComplete();
+        executeFuture.complete(null);
+    }
+
+    /**
+     * The JDK HTTP client and the SDK may subscribe in either order, and the body may already be complete (e.g. when it is
+     * empty) by the time the SDK subscribes. Only once both sides are known are they connected, and any terminal signal that
+     * was received in the meantime is replayed.
+     */
+    private void connectIfReady() {
+        Flow.Subscription subscription;
+        synchronized (lock) {
+            if (connecting || upstream == null || downstream == null) {
+                return;
+            }
+            connecting = true;
+            subscription = upstream;
+        }
+
+        downstream.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                subscription.request(n);
+            }
+
+            @Override
+            public void cancel() {
+                subscription.cancel();
+            }
+        });
+
+        Throwable receivedError;
+        boolean receivedComplete;
+        synchronized (lock) {
+            connected = true;
+            receivedError = error;
+            receivedComplete = completed;
+        }
+
+        if (receivedError != null) {
+            downstream.onError(receivedError);
+            executeFuture.completeExceptionally(receivedError);
+        } else if (receivedComplete) {
+            downstream.onComplete();
+            executeFuture.complete(null);
+        }
+    }
+
+    private static final class NoOpSubscription implements Subscription {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.jdk;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.io.ByteArrayOutputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+
+public class JdkAsyncHttpClientWireMockTest {
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(wireMockConfig().dynamicPort());
+
+    private static SdkAsyncHttpClient client = JdkAsyncHttpClient.create();
+
+    @AfterClass
+    public static void tearDown() {
+        client.close();
+    }
+
+    @Test
+    public void execute_streamsRequestAndResponseContent() throws Exception {
+        String requestBody = randomString(100_000);
+        String responseBody = randomString(200_000);
+        stubFor(post(urlEqualTo("/echo")).withRequestBody(equalTo(requestBody))
+                                         .willReturn(aResponse().withHeader("Some-Header", "With Value")
+                                                                .withBody(responseBody)));
+
+        RecordingResponseHandler handler = new RecordingResponseHandler();
+        CompletableFuture<Void> executeFuture = client.execute(request("/echo", requestBody, handler));
+
+        executeFuture.get(10, TimeUnit.SECONDS);
+        assertThat(handler.response.get().statusCode()).isEqualTo(200);
+        assertThat(handler.response.get().firstMatchingHeader("Some-Header")).contains("With Value");
+        assertThat(handler.body.get(1, TimeUnit.SECONDS)).isEqualTo(responseBody);
+        verify(1, postRequestedFor(urlEqualTo("/echo")));
+    }
+
+    @Test
+    public void execute_errorResponse_isDeliveredAsResponse() throws Exception {
+        stubFor(post(urlEqualTo("/error")).willReturn(aResponse().withStatus(500).withBody("failure")));
+
+        RecordingResponseHandler handler = new RecordingResponseHandler();
+        client.execute(request("/error", "", handler)).get(10, TimeUnit.SECONDS);
+
+        assertThat(handler.response.get().statusCode()).isEqualTo(500);
+        assertThat(handler.body.get(1, TimeUnit.SECONDS)).isEqualTo("failure");
+    }
+
+    @Test
+    public void execute_connectionFailure_notifiesHandlerAndFailsFuture() {
+        int port = mockServer.port();
+        mockServer.stop();
+
+        RecordingResponseHandler handler = new RecordingResponseHandler();
+        CompletableFuture<Void> executeFuture = client.execute(request("/", "", handler, port));
+
+        assertThatThrownBy(() -> executeFuture.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                                                                       .hasCauseInstanceOf(ConnectException.class);
+        assertThat(handler.error).isCompletedExceptionally();
+        assertThat(handler.response).isNotDone();
+    }
+
+    private AsyncExecuteRequest request(String path, String body, SdkAsyncHttpResponseHandler handler) {
+        return request(path, body, handler, mockServer.port());
+    }
+
+    private static AsyncExecuteRequest request(String path, String body, SdkAsyncHttpResponseHandler handler, int port) {
+        URI uri = URI.create("http://localhost:" + port);
+        byte[] content = body.getBytes(UTF_8);
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .uri(uri)
+                                                       .encodedPath(path)
+                                                       .method(SdkHttpMethod.POST)
+                                                       .putHeader("Host", uri.getHost())
+                                                       .putHeader("Content-Length", Integer.toString(content.length))
+                                                       .build();
+        return AsyncExecuteRequest.builder()
+                                  .request(request)
+                                  .requestContentPublisher(new ChunkedContentPublisher(content))
+                                  .responseHandler(handler)
+                                  .build();
+    }
+
+    private static String randomString(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + i % 26));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Publishes the content in small chunks, one per requested element.
+     */
+    private static final class ChunkedContentPublisher implements SdkHttpContentPublisher {
+        private static final int CHUNK_SIZE = 1024;
+        private final byte[] content;
+
+        private ChunkedContentPublisher(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public Optional<Long> contentLength() {
+            return Optional.of((long) content.length);
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> s) {
+            s.onSubscribe(new Subscription() {
+                private int position = 0;
+                private boolean done = false;
+
+                @Override
+                public void request(long n) {
+                    for (long i = 0; i < n && !done; i++) {
+                        if (position == content.length) {
+                            done = true;
+                            s.onComplete();
+                            return;
+                        }
+                        int length = Math.min(CHUNK_SIZE, content.length - position);
+                        s.onNext(ByteBuffer.wrap(content, position, length));
+                        position += length;
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    done = true;
+                }
+            });
+        }
+    }
+
+    private static final class RecordingResponseHandler implements SdkAsyncHttpResponseHandler {
+        private final CompletableFuture<SdkHttpResponse> response = new CompletableFuture<>();
+        private final CompletableFuture<String> body = new CompletableFuture<>();
+        private final CompletableFuture<Void> error = new CompletableFuture<>();
+
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+            response.complete(headers);
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            stream.subscribe(new Subscriber<ByteBuffer>() {
+                private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+                private Subscription subscription;
+
+                @Override
+                public void onSubscribe(Subscription s) {
+                    subscription = s;
+                    s.request(1);
+                }
+
+                @Override
+                public void onNext(ByteBuffer byteBuffer) {
+                    byte[] bytes = new byte[byteBuffer.remaining()];
+                    byteBuffer.get(bytes);
+                    received.write(bytes, 0, bytes.length);
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    body.completeExceptionally(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    body.complete(new String(received.toByteArray(), UTF_8));
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error.completeExceptionally(t);
+        }
+    }
+}
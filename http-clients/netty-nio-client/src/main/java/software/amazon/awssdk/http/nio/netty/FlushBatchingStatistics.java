@@ -0,0 +1,60 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * The number of flushes requested and written by a {@link NettyNioAsyncHttpClient}'s connections since the client was
+ * created. Each written flush is roughly one write system call, so comparing the two shows how many system calls flush
+ * batching saved.
+ *
+ * @see NettyNioAsyncHttpClient.Builder#flushBatchingThreshold(Integer)
+ * @see NettyNioAsyncHttpClient#flushBatchingStatistics()
+ */
+@SdkPublicApi
+public final class FlushBatchingStatistics {
+    private final long flushesRequested;
+    private final long flushesWritten;
+
+    FlushBatchingStatistics(long flushesRequested, long flushesWritten) {
+        this.flushesRequested = flushesRequested;
+        this.flushesWritten = flushesWritten;
+    }
+
+    /**
+     * The number of flushes requested by the HTTP codecs. Without flush batching, each of them is written to the socket.
+     */
+    public long flushesRequested() {
+        return flushesRequested;
+    }
+
+    /**
+     * The number of flushes written to the socket.
+     */
+    public long flushesWritten() {
+        return flushesWritten;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("FlushBatchingStatistics")
+                       .add("flushesRequested", flushesRequested)
+                       .add("flushesWritten", flushesWritten)
+                       .build();
+    }
+}
@@ -30,11 +30,15 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
     private final Long maxStreams;
     private final Integer initialWindowSize;
     private final Duration healthCheckPingPeriod;
+    private final Boolean autoTuneWindowSize;
+    private final Integer maxWindowSize;
 
     private Http2Configuration(DefaultBuilder builder) {
         this.maxStreams = builder.maxStreams;
         this.initialWindowSize = builder.initialWindowSize;
         this.healthCheckPingPeriod = builder.healthCheckPingPeriod;
+        this.autoTuneWindowSize = builder.autoTuneWindowSize;
+        this.maxWindowSize = builder.maxWindowSize;
     }
 
     /**
@@ -58,6 +62,20 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
         return healthCheckPingPeriod;
     }
 
+    /**
+     * @return Whether the flow-control windows are sized to the bandwidth-delay product of each connection.
+     */
+    public Boolean autoTuneWindowSize() {
+        return autoTuneWindowSize;
+    }
+
+    /**
+     * @return The size up to which auto-tuning may grow the flow-control windows.
+     */
+    public Integer maxWindowSize() {
+        return maxWindowSize;
+    }
+
     @Override
     public Builder toBuilder() {
         return new DefaultBuilder(this);
@@ -79,7 +97,15 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
             return false;
         }
 
-        return initialWindowSize != null ? initialWindowSize.equals(that.initialWindowSize) : that.initialWindowSize == null;
+        if (initialWindowSize != null ? !initialWindowSize.equals(that.initialWindowSize) : that.initialWindowSize != null) {
+            return false;
+        }
+
+        if (autoTuneWindowSize != null ? !autoTuneWindowSize.equals(that.autoTuneWindowSize) : that.autoTuneWindowSize != null) {
+            return false;
+        }
+
+        return maxWindowSize != null ? maxWindowSize.equals(that.maxWindowSize) : that.maxWindowSize == null;
 
     }
 
@@ -87,6 +113,8 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
     public int hashCode() {
         int result = maxStreams != null ? maxStreams.hashCode() : 0;
         result = 31 * result + (initialWindowSize != null ? initialWindowSize.hashCode() : 0);
+        result = 31 * result + (autoTuneWindowSize != null ? autoTuneWindowSize.hashCode() : 0);
+        result = 31 * result + (maxWindowSize != null ? maxWindowSize.hashCode() : 0);
         return result;
     }
 
@@ -128,12 +156,44 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
          * @return This builder for method chaining.
          */
         Builder healthCheckPingPeriod(Duration healthCheckPingPeriod);
+
+        /**
+         * Sets whether the flow-control windows of each connection are sized to its bandwidth-delay product. This setting
+         * is only respected when the HTTP/2 protocol is used.
+         *
+         * <p>A fixed {@link #initialWindowSize(Integer)} either limits the throughput of a stream on a link with a long
+         * round-trip time, or makes every connection reserve more memory than it needs. With auto-tuning, each connection
+         * starts with the initial window size and periodically measures how much data it receives per round trip, using
+         * {@code PING} frames. When the window is what limits the throughput, the connection and stream windows are
+         * grown, up to {@link #maxWindowSize(Integer)}.
+         *
+         * <p>The resulting window sizes are reported by {@link NettyNioAsyncHttpClient#http2WindowStatistics()}.
+         *
+         * <p>By default, this is disabled.
+         *
+         * @param autoTuneWindowSize Whether to auto-tune the window sizes.
+         * @return This builder for method chaining.
+         */
+        Builder autoTuneWindowSize(Boolean autoTuneWindowSize);
+
+        /**
+         * Sets the size up to which {@link #autoTuneWindowSize(Boolean) auto-tuning} may grow the connection and stream
+         * windows. This bounds the number of bytes each connection may have to buffer.
+         *
+         * <p>By default, this is 16 MiB.
+         *
+         * @param maxWindowSize The maximum window size.
+         * @return This builder for method chaining.
+         */
+        Builder maxWindowSize(Integer maxWindowSize);
     }
 
     private static final class DefaultBuilder implements Builder {
         private Long maxStreams;
         private Integer initialWindowSize;
         private Duration healthCheckPingPeriod;
+        private Boolean autoTuneWindowSize;
+        private Integer maxWindowSize;
 
         private DefaultBuilder() {
         }
@@ -142,6 +202,8 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
             this.maxStreams = http2Configuration.maxStreams;
             this.initialWindowSize = http2Configuration.initialWindowSize;
             this.healthCheckPingPeriod = http2Configuration.healthCheckPingPeriod;
+            this.autoTuneWindowSize = http2Configuration.autoTuneWindowSize;
+            this.maxWindowSize = http2Configuration.maxWindowSize;
         }
 
         @Override
@@ -174,6 +236,26 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
             healthCheckPingPeriod(healthCheckPingPeriod);
         }
 
+        @Override
+        public Builder autoTuneWindowSize(Boolean autoTuneWindowSize) {
+            this.autoTuneWindowSize = autoTuneWindowSize;
+            return this;
+        }
+
+        public void setAutoTuneWindowSize(Boolean autoTuneWindowSize) {
+            autoTuneWindowSize(autoTuneWindowSize);
+        }
+
+        @Override
+        public Builder maxWindowSize(Integer maxWindowSize) {
+            this.maxWindowSize = Validate.isPositiveOrNull(maxWindowSize, "maxWindowSize");
+            return this;
+        }
+
+        public void setMaxWindowSize(Integer maxWindowSize) {
+            maxWindowSize(maxWindowSize);
+        }
+
         @Override
         public Http2Configuration build() {
             return new Http2Configuration(this);
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * A snapshot of the flow-control windows of a {@link NettyNioAsyncHttpClient}'s HTTP/2 connections, as sized by window
+ * auto-tuning.
+ *
+ * @see Http2Configuration.Builder#autoTuneWindowSize(Boolean)
+ * @see NettyNioAsyncHttpClient#http2WindowStatistics()
+ */
+@SdkPublicApi
+public final class Http2WindowStatistics {
+    private final int connections;
+    private final long totalConnectionWindowSize;
+    private final int maxConnectionWindowSize;
+    private final int maxStreamWindowSize;
+    private final long windowIncreases;
+
+    Http2WindowStatistics(int connections, long totalConnectionWindowSize, int maxConnectionWindowSize,
+                          int maxStreamWindowSize, long windowIncreases) {
+        this.connections = connections;
+        this.totalConnectionWindowSize = totalConnectionWindowSize;
+        this.maxConnectionWindowSize = maxConnectionWindowSize;
+        this.maxStreamWindowSize = maxStreamWindowSize;
+        this.windowIncreases = windowIncreases;
+    }
+
+    /**
+     * The number of open HTTP/2 connections whose windows are tuned.
+     */
+    public int connections() {
+        return connections;
+    }
+
+    /**
+     * The sum of the connection-level windows of the open connections. This is the number of bytes the services may send to
+     * the client without waiting for it to consume them.
+     */
+    public long totalConnectionWindowSize() {
+        return totalConnectionWindowSize;
+    }
+
+    /**
+     * The largest connection-level window of the open connections.
+     */
+    public int maxConnectionWindowSize() {
+        return maxConnectionWindowSize;
+    }
+
+    /**
+     * The largest initial stream-level window of the open connections.
+     */
+    public int maxStreamWindowSize() {
+        return maxStreamWindowSize;
+    }
+
+    /**
+     * The number of times the windows of a connection were grown, since the client was created.
+     */
+    public long windowIncreases() {
+        return windowIncreases;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("Http2WindowStatistics")
+                       .add("connections", connections)
+                       .add("totalConnectionWindowSize", totalConnectionWindowSize)
+                       .add("maxConnectionWindowSize", maxConnectionWindowSize)
+                       .add("maxStreamWindowSize", maxStreamWindowSize)
+                       .add("windowIncreases", windowIncreases)
+                       .build();
+    }
+}
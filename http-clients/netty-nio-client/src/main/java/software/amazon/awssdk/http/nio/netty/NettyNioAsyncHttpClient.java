@@ -28,6 +28,8 @@ import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslProvider;
 import java.net.URI;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -37,6 +39,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.http.ConnectionPoolStatistics;
+import software.amazon.awssdk.http.ConnectionPoolStatisticsProvider;
 import software.amazon.awssdk.http.Protocol;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
 import software.amazon.awssdk.http.SdkHttpRequest;
@@ -46,13 +50,17 @@ import software.amazon.awssdk.http.TlsTrustManagersProvider;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.nio.netty.internal.AwaitCloseChannelPoolMap;
+import software.amazon.awssdk.http.nio.netty.internal.ExpectContinue;
+import software.amazon.awssdk.http.nio.netty.internal.FlushBatching;
 import software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration;
 import software.amazon.awssdk.http.nio.netty.internal.NettyRequestExecutor;
 import software.amazon.awssdk.http.nio.netty.internal.NonManagedEventLoopGroup;
 import software.amazon.awssdk.http.nio.netty.internal.RequestContext;
+import software.amazon.awssdk.http.nio.netty.internal.ResponseReadAhead;
 import software.amazon.awssdk.http.nio.netty.internal.SdkChannelOptions;
 import software.amazon.awssdk.http.nio.netty.internal.SdkChannelPoolMap;
 import software.amazon.awssdk.http.nio.netty.internal.SharedSdkEventLoopGroup;
+import software.amazon.awssdk.http.nio.netty.internal.http2.Http2WindowTuning;
 import software.amazon.awssdk.utils.AttributeMap;
 import software.amazon.awssdk.utils.Either;
 import software.amazon.awssdk.utils.Validate;
@@ -63,13 +71,14 @@ import software.amazon.awssdk.utils.Validate;
  * <p>This can be created via {@link #builder()}</p>
  */
 @SdkPublicApi
-public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
+public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient, ConnectionPoolStatisticsProvider {
 
     private static final String CLIENT_NAME = "NettyNio";
 
     private static final Logger log = LoggerFactory.getLogger(NettyNioAsyncHttpClient.class);
     private static final long MAX_STREAMS_ALLOWED = 4294967295L; // unsigned 32-bit, 2^32 -1
     private static final int DEFAULT_INITIAL_WINDOW_SIZE = 1_048_576; // 1MiB
+    private static final int DEFAULT_MAX_WINDOW_SIZE = 16 * 1_048_576; // 16MiB
 
     // Override connection idle timeout for Netty http client to reduce the frequency of "server failed to complete the
     // response error". see https://github.com/aws/aws-sdk-java-v2/issues/1122
@@ -81,9 +90,17 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
     private final SdkEventLoopGroup sdkEventLoopGroup;
     private final SdkChannelPoolMap<URI, ? extends ChannelPool> pools;
     private final NettyConfiguration configuration;
+    private final ResponseReadAhead responseReadAhead;
+    private final Http2WindowTuning http2WindowTuning;
+    private final FlushBatching flushBatching;
+    private final ExpectContinue expectContinue;
 
     private NettyNioAsyncHttpClient(DefaultBuilder builder, AttributeMap serviceDefaultsMap) {
         this.configuration = new NettyConfiguration(serviceDefaultsMap);
+        this.responseReadAhead = ResponseReadAhead.create(builder.responseReadAheadHighWatermark,
+                                                          builder.responseReadAheadLowWatermark);
+        this.flushBatching = resolveFlushBatching(builder.flushBatchingThreshold);
+        this.expectContinue = ExpectContinue.create(builder.expectContinueThreshold, builder.expectContinueTimeout);
         Protocol protocol = serviceDefaultsMap.get(SdkHttpConfigurationOption.PROTOCOL);
         this.sdkEventLoopGroup = eventLoopGroup(builder);
 
@@ -91,6 +108,7 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
 
         long maxStreams = resolveMaxHttp2Streams(builder.maxHttp2Streams, http2Configuration);
         int initialWindowSize = resolveInitialWindowSize(http2Configuration);
+        this.http2WindowTuning = resolveWindowTuning(http2Configuration);
 
         this.pools = AwaitCloseChannelPoolMap.builder()
                                              .sdkChannelOptions(builder.sdkChannelOptions)
@@ -98,10 +116,15 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
                                              .protocol(protocol)
                                              .maxStreams(maxStreams)
                                              .initialWindowSize(initialWindowSize)
+                                             .http2WindowTuning(http2WindowTuning)
+                                             .flushBatching(flushBatching)
                                              .healthCheckPingPeriod(resolveHealthCheckPingPeriod(http2Configuration))
                                              .sdkEventLoopGroup(sdkEventLoopGroup)
                                              .sslProvider(resolveSslProvider(builder))
                                              .proxyConfiguration(builder.proxyConfiguration)
+                                             .useNonBlockingDnsResolver(Boolean.TRUE.equals(builder.useNonBlockingDnsResolver))
+                                             .coalesceWildcardHostPools(Boolean.TRUE.equals(builder.coalesceWildcardHostPools))
+                                             .maxTotalConnections(builder.maxTotalConnections)
                                              .build();
     }
 
@@ -112,6 +135,10 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         this.sdkEventLoopGroup = sdkEventLoopGroup;
         this.pools = pools;
         this.configuration = configuration;
+        this.responseReadAhead = ResponseReadAhead.disabled();
+        this.http2WindowTuning = null;
+        this.flushBatching = null;
+        this.expectContinue = ExpectContinue.defaults();
     }
 
     @Override
@@ -126,7 +153,8 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
 
     private RequestContext createRequestContext(AsyncExecuteRequest request) {
         ChannelPool pool = pools.get(poolKey(request.request()));
-        return new RequestContext(pool, sdkEventLoopGroup.eventLoopGroup(), request, configuration);
+        return new RequestContext(pool, sdkEventLoopGroup.eventLoopGroup(), request, configuration, responseReadAhead,
+                                  expectContinue);
     }
 
     private SdkEventLoopGroup eventLoopGroup(DefaultBuilder builder) {
@@ -169,6 +197,23 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         return http2Configuration.initialWindowSize();
     }
 
+    private FlushBatching resolveFlushBatching(Integer flushBatchingThreshold) {
+        if (flushBatchingThreshold == null || flushBatchingThreshold == 0) {
+            return null;
+        }
+        return new FlushBatching(flushBatchingThreshold);
+    }
+
+    private Http2WindowTuning resolveWindowTuning(Http2Configuration http2Configuration) {
+        if (http2Configuration == null || !Boolean.TRUE.equals(http2Configuration.autoTuneWindowSize())) {
+            return null;
+        }
+        if (http2Configuration.maxWindowSize() == null) {
+            return new Http2WindowTuning(DEFAULT_MAX_WINDOW_SIZE);
+        }
+        return new Http2WindowTuning(http2Configuration.maxWindowSize());
+    }
+
     private Duration resolveHealthCheckPingPeriod(Http2Configuration http2Configuration) {
         if (http2Configuration != null) {
             return http2Configuration.healthCheckPingPeriod();
@@ -208,6 +253,62 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         return CLIENT_NAME;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The statistics of HTTP/2 pools count the streams in use as leased connections.
+     */
+    @Override
+    public List<ConnectionPoolStatistics> connectionPoolStatistics() {
+        if (pools instanceof AwaitCloseChannelPoolMap) {
+            return ((AwaitCloseChannelPoolMap) pools).statistics();
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Retrieve a snapshot of the read-ahead buffers of this client's streaming responses. All values are zero unless
+     * read-ahead is enabled with {@link Builder#responseReadAheadHighWatermark(Integer)}.
+     *
+     * @return The current read-ahead statistics.
+     */
+    public ResponseReadAheadStatistics responseReadAheadStatistics() {
+        return new ResponseReadAheadStatistics(responseReadAhead.bufferedBytes(),
+                                               responseReadAhead.peakBufferedBytes(),
+                                               responseReadAhead.bufferingResponses(),
+                                               responseReadAhead.readPauses());
+    }
+
+    /**
+     * Retrieve a snapshot of the flow-control windows of this client's open HTTP/2 connections. All values are zero unless
+     * window auto-tuning is enabled with {@link Http2Configuration.Builder#autoTuneWindowSize(Boolean)}.
+     *
+     * @return The current HTTP/2 window statistics.
+     */
+    public Http2WindowStatistics http2WindowStatistics() {
+        if (http2WindowTuning == null) {
+            return new Http2WindowStatistics(0, 0, 0, 0, 0);
+        }
+        return new Http2WindowStatistics(http2WindowTuning.connections(),
+                                         http2WindowTuning.totalConnectionWindowSize(),
+                                         http2WindowTuning.maxConnectionWindowSize(),
+                                         http2WindowTuning.maxStreamWindowSize(),
+                                         http2WindowTuning.windowIncreases());
+    }
+
+    /**
+     * Retrieve the number of flushes requested and written by this client's connections. All values are zero unless flush
+     * batching is enabled with {@link Builder#flushBatchingThreshold(Integer)}.
+     *
+     * @return The current flush batching statistics.
+     */
+    public FlushBatchingStatistics flushBatchingStatistics() {
+        if (flushBatching == null) {
+            return new FlushBatchingStatistics(0, 0);
+        }
+        return new FlushBatchingStatistics(flushBatching.flushesRequested(), flushBatching.flushesWritten());
+    }
+
     @SdkTestInternalApi
     NettyConfiguration configuration() {
         return configuration;
@@ -243,6 +344,113 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
          */
         Builder maxPendingConnectionAcquires(Integer maxPendingAcquires);
 
+        /**
+         * The maximum number of connections the client may have open at the same time, across all hosts. Unlike
+         * {@link #maxConcurrency(Integer)}, which applies to each host separately, this bounds the total number of sockets
+         * used by the client, which is useful when talking to a large number of different hosts.
+         *
+         * <p>When the limit is reached, idle connections to other hosts are closed to make room for new ones, and requests
+         * needing a new connection wait for one to become available (see
+         * {@link #connectionAcquisitionTimeout(Duration)}).</p>
+         *
+         * <p>By default, there is no client-wide limit.</p>
+         *
+         * @param maxTotalConnections Max number of connections across all hosts.
+         * @return This builder for method chaining.
+         */
+        Builder maxTotalConnections(Integer maxTotalConnections);
+
+        /**
+         * Configure whether hosts that are served by the same wildcard certificate and set of addresses share a single
+         * connection budget of {@link #maxConcurrency(Integer)} connections, instead of each host having its own. This
+         * currently applies to Amazon S3 virtual-hosted-style endpoints, such as {@code bucket.s3.us-west-2.amazonaws.com},
+         * and prevents a process that accesses many buckets from opening {@code maxConcurrency} connections per bucket.
+         *
+         * <p>By default, this is disabled.</p>
+         *
+         * @param coalesceWildcardHostPools Whether to share the connection budget between such hosts.
+         * @return This builder for method chaining.
+         */
+        Builder coalesceWildcardHostPools(Boolean coalesceWildcardHostPools);
+
+        /**
+         * Enable reading ahead of the subscriber of streaming responses, such as S3 GetObject, up to the given number of
+         * bytes per response.
+         *
+         * <p>By default, a response is only read from the network when its subscriber requests more data, so the connection
+         * sits idle while the subscriber processes each buffer. With read-ahead, the client keeps reading until this many
+         * bytes are buffered and not yet requested by the subscriber, then pauses until the subscriber has consumed the
+         * buffer down to the {@link #responseReadAheadLowWatermark(Integer) low watermark}. Each response may hold up to
+         * this many bytes, plus the size of one read, in memory.
+         *
+         * <p>The occupancy of the buffers is reported by {@link NettyNioAsyncHttpClient#responseReadAheadStatistics()}.
+         *
+         * <p>By default, read-ahead is disabled.
+         *
+         * @param responseReadAheadHighWatermark The number of buffered bytes at which reading is paused, or zero to disable
+         * read-ahead.
+         * @return This builder for method chaining.
+         */
+        Builder responseReadAheadHighWatermark(Integer responseReadAheadHighWatermark);
+
+        /**
+         * The number of buffered bytes at or below which reading of a streaming response is resumed after being paused at
+         * the {@link #responseReadAheadHighWatermark(Integer) high watermark}. This must be less than the high watermark.
+         *
+         * <p>By default, this is half of the high watermark.
+         *
+         * @param responseReadAheadLowWatermark The number of buffered bytes at which reading is resumed.
+         * @return This builder for method chaining.
+         */
+        Builder responseReadAheadLowWatermark(Integer responseReadAheadLowWatermark);
+
+        /**
+         * Enable batching the flushes of each connection, up to the given number of bytes.
+         *
+         * <p>By default, every chunk of a streaming request body, such as an audio frame of an event stream or a small
+         * buffer of an {@code AsyncRequestBody}, is flushed to the socket separately, which costs one system call and, over
+         * TLS, one TLS record per chunk. With flush batching, a flush is deferred until the other writes issued in the same
+         * event loop iteration have been made, unless this many bytes were written since the last flush. A chunk is never
+         * delayed by more than one event loop iteration, so latency-sensitive streams are not held back.
+         *
+         * <p>The number of flushes saved is reported by {@link NettyNioAsyncHttpClient#flushBatchingStatistics()}.
+         *
+         * <p>By default, flushes are not batched.
+         *
+         * @param flushBatchingThreshold The number of written bytes at which a flush is no longer deferred, or zero to
+         * disable flush batching.
+         * @return This builder for method chaining.
+         */
+        Builder flushBatchingThreshold(Integer flushBatchingThreshold);
+
+        /**
+         * Send {@code Expect: 100-continue} with every HTTP/1.1 request whose 'Content-Length' is at least the given number
+         * of bytes, and hold the body until the server answers.
+         *
+         * <p>If the server rejects the request, for example with a 403 or a redirect, the response is returned without the
+         * body having been sent, and the connection is closed. If the server does not answer within the
+         * {@link #expectContinueTimeout(Duration) timeout}, the body is sent anyway. Requests that already carry an
+         * {@code Expect: 100-continue} header are handled the same way, whatever their size.
+         *
+         * <p>By default, the header is only sent when the request already carries it.
+         *
+         * @param expectContinueThreshold The content length from which requests expect a 100 Continue response.
+         * @return This builder for method chaining.
+         */
+        Builder expectContinueThreshold(Long expectContinueThreshold);
+
+        /**
+         * The amount of time to wait for the server to answer {@code Expect: 100-continue} before sending the request body
+         * anyway. This should be short, because some servers and proxies never answer.
+         *
+         * <p>By default, this is one second.
+         *
+         * @param expectContinueTimeout The time to wait for a 100 Continue response.
+         * @return This builder for method chaining.
+         * @see #expectContinueThreshold(Long)
+         */
+        Builder expectContinueTimeout(Duration expectContinueTimeout);
+
         /**
          * The amount of time to wait for a read on a socket before an exception is thrown.
          * Specify {@code Duration.ZERO} to disable.
@@ -441,6 +649,21 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
          * @return the builder for method chaining.
          */
         Builder http2Configuration(Consumer<Http2Configuration.Builder> http2ConfigurationBuilderConsumer);
+
+        /**
+         * Configure whether to use Netty's non-blocking DNS resolver instead of the JDK's blocking resolver. The non-blocking
+         * resolver performs lookups on the event loop without blocking it and caches the results for the TTL of the DNS
+         * records.
+         *
+         * <p>Regardless of the resolver used, new connections to a host are spread across all of the addresses it resolves
+         * to, and addresses that recently refused a connection are avoided.
+         *
+         * <p>By default, this is disabled.
+         *
+         * @param useNonBlockingDnsResolver Whether to use the non-blocking DNS resolver.
+         * @return the builder for method chaining.
+         */
+        Builder useNonBlockingDnsResolver(Boolean useNonBlockingDnsResolver);
     }
 
     /**
@@ -458,6 +681,14 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         private Http2Configuration http2Configuration;
         private SslProvider sslProvider;
         private ProxyConfiguration proxyConfiguration;
+        private Boolean useNonBlockingDnsResolver;
+        private Integer maxTotalConnections;
+        private Boolean coalesceWildcardHostPools;
+        private Integer responseReadAheadHighWatermark;
+        private Integer responseReadAheadLowWatermark;
+        private Integer flushBatchingThreshold;
+        private Long expectContinueThreshold;
+        private Duration expectContinueTimeout;
 
         private DefaultBuilder() {
         }
@@ -482,6 +713,76 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
             maxPendingConnectionAcquires(maxPendingAcquires);
         }
 
+        @Override
+        public Builder maxTotalConnections(Integer maxTotalConnections) {
+            this.maxTotalConnections = maxTotalConnections;
+            return this;
+        }
+
+        public void setMaxTotalConnections(Integer maxTotalConnections) {
+            maxTotalConnections(maxTotalConnections);
+        }
+
+        @Override
+        public Builder coalesceWildcardHostPools(Boolean coalesceWildcardHostPools) {
+            this.coalesceWildcardHostPools = coalesceWildcardHostPools;
+            return this;
+        }
+
+        public void setCoalesceWildcardHostPools(Boolean coalesceWildcardHostPools) {
+            coalesceWildcardHostPools(coalesceWildcardHostPools);
+        }
+
+        @Override
+        public Builder responseReadAheadHighWatermark(Integer responseReadAheadHighWatermark) {
+            this.responseReadAheadHighWatermark = responseReadAheadHighWatermark;
+            return this;
+        }
+
+        public void setResponseReadAheadHighWatermark(Integer responseReadAheadHighWatermark) {
+            responseReadAheadHighWatermark(responseReadAheadHighWatermark);
+        }
+
+        @Override
+        public Builder responseReadAheadLowWatermark(Integer responseReadAheadLowWatermark) {
+            this.responseReadAheadLowWatermark = responseReadAheadLowWatermark;
+            return this;
+        }
+
+        public void setResponseReadAheadLowWatermark(Integer responseReadAheadLowWatermark) {
+            responseReadAheadLowWatermark(responseReadAheadLowWatermark);
+        }
+
+        @Override
+        public Builder flushBatchingThreshold(Integer flushBatchingThreshold) {
+            this.flushBatchingThreshold = flushBatchingThreshold;
+            return this;
+        }
+
+        public void setFlushBatchingThreshold(Integer flushBatchingThreshold) {
+            flushBatchingThreshold(flushBatchingThreshold);
+        }
+
+        @Override
+        public Builder expectContinueThreshold(Long expectContinueThreshold) {
+            this.expectContinueThreshold = expectContinueThreshold;
+            return this;
+        }
+
+        public void setExpectContinueThreshold(Long expectContinueThreshold) {
+            expectContinueThreshold(expectContinueThreshold);
+        }
+
+        @Override
+        public Builder expectContinueTimeout(Duration expectContinueTimeout) {
+            this.expectContinueTimeout = expectContinueTimeout;
+            return this;
+        }
+
+        public void setExpectContinueTimeout(Duration expectContinueTimeout) {
+            expectContinueTimeout(expectContinueTimeout);
+        }
+
         @Override
         public Builder readTimeout(Duration readTimeout) {
             Validate.isNotNegative(readTimeout, "readTimeout");
@@ -661,6 +962,16 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
             http2Configuration(http2Configuration);
         }
 
+        @Override
+        public Builder useNonBlockingDnsResolver(Boolean useNonBlockingDnsResolver) {
+            this.useNonBlockingDnsResolver = useNonBlockingDnsResolver;
+            return this;
+        }
+
+        public void setUseNonBlockingDnsResolver(Boolean useNonBlockingDnsResolver) {
+            useNonBlockingDnsResolver(useNonBlockingDnsResolver);
+        }
+
         @Override
         public SdkAsyncHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
             return new NettyNioAsyncHttpClient(this, standardOptions.build()
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * A snapshot of the occupancy of the read-ahead buffers of a {@link NettyNioAsyncHttpClient}'s streaming responses.
+ *
+ * @see NettyNioAsyncHttpClient.Builder#responseReadAheadHighWatermark(Integer)
+ * @see NettyNioAsyncHttpClient#responseReadAheadStatistics()
+ */
+@SdkPublicApi
+public final class ResponseReadAheadStatistics {
+    private final long bufferedBytes;
+    private final long peakBufferedBytes;
+    private final long bufferingResponses;
+    private final long readPauses;
+
+    ResponseReadAheadStatistics(long bufferedBytes, long peakBufferedBytes, long bufferingResponses, long readPauses) {
+        this.bufferedBytes = bufferedBytes;
+        this.peakBufferedBytes = peakBufferedBytes;
+        this.bufferingResponses = bufferingResponses;
+        this.readPauses = readPauses;
+    }
+
+    /**
+     * The number of bytes read from the network that are buffered and not yet delivered to the response subscribers.
+     */
+    public long bufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /**
+     * The highest number of bytes that were buffered at the same time, across all responses, since the client was created.
+     */
+    public long peakBufferedBytes() {
+        return peakBufferedBytes;
+    }
+
+    /**
+     * The number of streaming responses that are currently being read into a read-ahead buffer.
+     */
+    public long bufferingResponses() {
+        return bufferingResponses;
+    }
+
+    /**
+     * The number of times reading a response was paused because its buffer reached the high watermark, since the client was
+     * created. A count that grows quickly relative to the number of responses means the subscribers are slower than the
+     * network.
+     */
+    public long readPauses() {
+        return readPauses;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("ResponseReadAheadStatistics")
+                       .add("bufferedBytes", bufferedBytes)
+                       .add("peakBufferedBytes", peakBufferedBytes)
+                       .add("bufferingResponses", bufferingResponses)
+                       .add("readPauses", readPauses)
+                       .build();
+    }
+}
@@ -16,6 +16,8 @@
 package software.amazon.awssdk.http.nio.netty.internal;
 
 import static software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration.CHANNEL_POOL_CLOSE_TIMEOUT_SECONDS;
+import static software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration.EVICTED_CHANNEL_POOL_CLOSE_DELAY_SECONDS;
+import static software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration.IDLE_CHANNEL_POOL_EVICTION_SECONDS;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
@@ -28,28 +30,43 @@ import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.ssl.SupportedCipherSuiteFilter;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLException;
 import javax.net.ssl.TrustManagerFactory;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.http.ConnectionPoolStatistics;
 import software.amazon.awssdk.http.Protocol;
 import software.amazon.awssdk.http.nio.netty.ProxyConfiguration;
 import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+import software.amazon.awssdk.http.nio.netty.internal.dns.AddressHealthTracker;
+import software.amazon.awssdk.http.nio.netty.internal.dns.AddressHealthTrackingHandler;
+import software.amazon.awssdk.http.nio.netty.internal.dns.SdkAddressResolverGroup;
+import software.amazon.awssdk.http.nio.netty.internal.http2.Http2WindowTuning;
 import software.amazon.awssdk.http.nio.netty.internal.http2.HttpOrHttp2ChannelPool;
+import software.amazon.awssdk.http.nio.netty.internal.utils.SocketChannelResolver;
 import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.Validate;
 
@@ -75,8 +92,17 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
         }
     };
 
+    /**
+     * Amazon S3 virtual-hosted-style endpoints, e.g. {@code bucket.s3.us-west-2.amazonaws.com}. All buckets of an endpoint
+     * are served by the same wildcard certificate and resolve to the same fleet of addresses.
+     */
+    private static final Pattern WILDCARD_HOST_PATTERN =
+        Pattern.compile("^[^.]+\\.(s3([.-][a-z0-9-]+)*\\.amazonaws\\.com(\\.cn)?)$");
+
     private final Map<URI, Boolean> shouldProxyForHostCache = new ConcurrentHashMap<>();
 
+    private final Map<String, ConnectionBudget> wildcardHostBudgets = new ConcurrentHashMap<>();
+    private final Set<SimpleChannelPoolAwareChannelPool> evictedPools = ConcurrentHashMap.newKeySet();
 
     private final SdkChannelOptions sdkChannelOptions;
     private final SdkEventLoopGroup sdkEventLoopGroup;
@@ -85,8 +111,14 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
     private final long maxStreams;
     private final Duration healthCheckPingPeriod;
     private final int initialWindowSize;
+    private final Http2WindowTuning http2WindowTuning;
+    private final FlushBatching flushBatching;
     private final SslProvider sslProvider;
     private final ProxyConfiguration proxyConfiguration;
+    private final SdkAddressResolverGroup addressResolverGroup;
+    private final boolean coalesceWildcardHostPools;
+    private final ConnectionBudget clientConnectionBudget;
+    private final ScheduledFuture<?> idlePoolEvictionTask;
 
     private AwaitCloseChannelPoolMap(Builder builder) {
         this.sdkChannelOptions = builder.sdkChannelOptions;
@@ -96,8 +128,19 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
         this.maxStreams = builder.maxStreams;
         this.healthCheckPingPeriod = builder.healthCheckPingPeriod;
         this.initialWindowSize = builder.initialWindowSize;
+        this.http2WindowTuning = builder.http2WindowTuning;
+        this.flushBatching = builder.flushBatching;
         this.sslProvider = builder.sslProvider;
         this.proxyConfiguration = builder.proxyConfiguration;
+        this.addressResolverGroup = addressResolverGroup(builder);
+        this.coalesceWildcardHostPools = builder.coalesceWildcardHostPools;
+        this.clientConnectionBudget = builder.maxTotalConnections != null
+                                      ? new ConnectionBudget(builder.maxTotalConnections)
+                                      : null;
+        this.idlePoolEvictionTask = sdkEventLoopGroup.eventLoopGroup().scheduleAtFixedRate(this::evictIdlePools,
+                                                                                          IDLE_CHANNEL_POOL_EVICTION_SECONDS,
+                                                                                          IDLE_CHANNEL_POOL_EVICTION_SECONDS,
+                                                                                          TimeUnit.SECONDS);
     }
 
     @SdkTestInternalApi
@@ -123,18 +166,24 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
                                                                                         maxStreams,
                                                                                         initialWindowSize,
                                                                                         healthCheckPingPeriod,
+                                                                                        http2WindowTuning,
+                                                                                        flushBatching,
                                                                                         channelPoolRef,
                                                                                         configuration,
                                                                                         key);
 
+        List<ConnectionBudget> connectionBudgets = connectionBudgets(key);
+
         BetterSimpleChannelPool tcpChannelPool;
         ChannelPool baseChannelPool;
         if (shouldUseProxyForHost(key)) {
-            tcpChannelPool = new BetterSimpleChannelPool(bootstrap, NOOP_HANDLER);
+            tcpChannelPool = new BetterSimpleChannelPool(bootstrap, trackAddressHealth(NOOP_HANDLER), connectionBudgets,
+                                                         configuration.connectionAcquireTimeoutMillis());
             baseChannelPool = new Http1TunnelConnectionPool(bootstrap.config().group().next(), tcpChannelPool,
                                                             sslContext, proxyAddress(key), key, pipelineInitializer);
         } else {
-            tcpChannelPool = new BetterSimpleChannelPool(bootstrap, pipelineInitializer);
+            tcpChannelPool = new BetterSimpleChannelPool(bootstrap, trackAddressHealth(pipelineInitializer), connectionBudgets,
+                                                         configuration.connectionAcquireTimeoutMillis());
             baseChannelPool = tcpChannelPool;
         }
 
@@ -153,9 +202,17 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
         // If a new pool is being added while super.close() is running, it might be left open because
         // the underlying pool map is a ConcurrentHashMap and it doesn't guarantee strong consistency for retrieval
         // operations. See https://github.com/aws/aws-sdk-java-v2/pull/1200#discussion_r277906715
-        Collection<SimpleChannelPoolAwareChannelPool> channelPools = pools().values();
+        idlePoolEvictionTask.cancel(false);
+        Collection<SimpleChannelPoolAwareChannelPool> channelPools = new ArrayList<>(pools().values());
         super.close();
 
+        for (SimpleChannelPoolAwareChannelPool evictedPool : evictedPools) {
+            if (evictedPools.remove(evictedPool)) {
+                evictedPool.close();
+                channelPools.add(evictedPool);
+            }
+        }
+
         try {
             CompletableFuture.allOf(channelPools.stream()
                                                 .map(pool -> pool.underlyingSimpleChannelPool().closeFuture())
@@ -166,7 +223,102 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
             throw new RuntimeException(e);
         } catch (ExecutionException | TimeoutException e) {
             throw new RuntimeException(e);
+        } finally {
+            addressResolverGroup.close();
+        }
+    }
+
+    /**
+     * @return The statistics of every pool currently in this map.
+     */
+    public List<ConnectionPoolStatistics> statistics() {
+        List<ConnectionPoolStatistics> statistics = new ArrayList<>(size());
+        for (Map.Entry<URI, SimpleChannelPoolAwareChannelPool> entry : this) {
+            URI key = entry.getKey();
+            String endpoint = key.getScheme() + "://" + key.getHost() + ":" + key.getPort();
+            statistics.add(entry.getValue().statistics(endpoint, configuration.maxConnections()));
+        }
+        return statistics;
+    }
+
+    /**
+     * Remove the pools that have had no open connections and no acquisitions for a while, so that a client talking to many
+     * different hosts over time does not accumulate pools.
+     */
+    private void evictIdlePools() {
+        long idleNanos = TimeUnit.SECONDS.toNanos(IDLE_CHANNEL_POOL_EVICTION_SECONDS);
+        for (Map.Entry<URI, SimpleChannelPoolAwareChannelPool> entry : this) {
+            SimpleChannelPoolAwareChannelPool pool = entry.getValue();
+            if (pool.isIdleFor(idleNanos) && removeWithoutClosing(entry.getKey(), pool)) {
+                log.debug(() -> "Evicting idle channel pool for " + entry.getKey());
+                evictedPools.add(pool);
+
+                // A request may have looked up the pool right before it was removed, so give it time to acquire a connection
+                // before closing the pool. Closing may block, so it is done outside of the event loop.
+                sdkEventLoopGroup.eventLoopGroup().schedule(() -> GlobalEventExecutor.INSTANCE.execute(() -> {
+                    if (evictedPools.remove(pool)) {
+                        pool.close();
+                    }
+                }), EVICTED_CHANNEL_POOL_CLOSE_DELAY_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private List<ConnectionBudget> connectionBudgets(URI key) {
+        List<ConnectionBudget> budgets = new ArrayList<>(2);
+        if (coalesceWildcardHostPools) {
+            wildcardHostGroup(key).ifPresent(group -> budgets.add(
+                wildcardHostBudgets.computeIfAbsent(group, g -> new ConnectionBudget(configuration.maxConnections()))));
+        }
+        if (clientConnectionBudget != null) {
+            budgets.add(clientConnectionBudget);
+        }
+        return budgets;
+    }
+
+    /**
+     * @return The group of hosts sharing a wildcard certificate that the given host belongs to, if any.
+     */
+    static Optional<String> wildcardHostGroup(URI key) {
+        Matcher matcher = WILDCARD_HOST_PATTERN.matcher(key.getHost().toLowerCase(Locale.US));
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(key.getScheme() + "://*." + matcher.group(1) + ":" + key.getPort());
+    }
+
+    private static SdkAddressResolverGroup addressResolverGroup(Builder builder) {
+        AddressHealthTracker healthTracker = new AddressHealthTracker();
+        if (builder.useNonBlockingDnsResolver) {
+            return SdkAddressResolverGroup.nonBlocking(
+                SocketChannelResolver.resolveDatagramChannelFactory(builder.sdkEventLoopGroup.eventLoopGroup()), healthTracker);
         }
+        return SdkAddressResolverGroup.blocking(healthTracker);
+    }
+
+    /**
+     * Wrap the handler of a connection pool such that the result of connecting each new channel is reported to the
+     * {@link AddressHealthTracker}, allowing the resolver to skip addresses that are refusing connections.
+     */
+    private ChannelPoolHandler trackAddressHealth(ChannelPoolHandler delegate) {
+        AddressHealthTrackingHandler trackingHandler = new AddressHealthTrackingHandler(addressResolverGroup.healthTracker());
+        return new ChannelPoolHandler() {
+            @Override
+            public void channelReleased(Channel ch) throws Exception {
+                delegate.channelReleased(ch);
+            }
+
+            @Override
+            public void channelAcquired(Channel ch) throws Exception {
+                delegate.channelAcquired(ch);
+            }
+
+            @Override
+            public void channelCreated(Channel ch) throws Exception {
+                ch.pipeline().addFirst(trackingHandler);
+                delegate.channelCreated(ch);
+            }
+        };
     }
 
     private Bootstrap createBootstrap(URI poolKey) {
@@ -177,6 +329,7 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
                 new Bootstrap()
                         .group(sdkEventLoopGroup.eventLoopGroup())
                         .channelFactory(sdkEventLoopGroup.channelFactory())
+                        .resolver(addressResolverGroup)
                         .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, configuration.connectTimeoutMillis())
                         // TODO run some performance tests with and without this.
                         .remoteAddress(InetSocketAddress.createUnresolved(host, port));
@@ -316,8 +469,13 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
         private long maxStreams;
         private int initialWindowSize;
         private Duration healthCheckPingPeriod;
+        private Http2WindowTuning http2WindowTuning;
+        private FlushBatching flushBatching;
         private SslProvider sslProvider;
         private ProxyConfiguration proxyConfiguration;
+        private boolean useNonBlockingDnsResolver;
+        private boolean coalesceWildcardHostPools;
+        private Integer maxTotalConnections;
 
         private Builder() {
         }
@@ -357,6 +515,16 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
             return this;
         }
 
+        public Builder http2WindowTuning(Http2WindowTuning http2WindowTuning) {
+            this.http2WindowTuning = http2WindowTuning;
+            return this;
+        }
+
+        public Builder flushBatching(FlushBatching flushBatching) {
+            this.flushBatching = flushBatching;
+            return this;
+        }
+
         public Builder sslProvider(SslProvider sslProvider) {
             this.sslProvider = sslProvider;
             return this;
@@ -367,6 +535,21 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
             return this;
         }
 
+        public Builder useNonBlockingDnsResolver(boolean useNonBlockingDnsResolver) {
+            this.useNonBlockingDnsResolver = useNonBlockingDnsResolver;
+            return this;
+        }
+
+        public Builder coalesceWildcardHostPools(boolean coalesceWildcardHostPools) {
+            this.coalesceWildcardHostPools = coalesceWildcardHostPools;
+            return this;
+        }
+
+        public Builder maxTotalConnections(Integer maxTotalConnections) {
+            this.maxTotalConnections = maxTotalConnections;
+            return this;
+        }
+
         public AwaitCloseChannelPoolMap build() {
             return new AwaitCloseChannelPoolMap(this);
         }
@@ -16,25 +16,111 @@
 package software.amazon.awssdk.http.nio.netty.internal;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.pool.ChannelPoolHandler;
 import io.netty.channel.pool.SimpleChannelPool;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 
 /**
- * Extension of {@link SimpleChannelPool} to add an asynchronous close method
+ * Extension of {@link SimpleChannelPool} to add an asynchronous close method.
+ *
+ * <p>The pool may also be created with one or more {@link ConnectionBudget}s that are shared with other pools. Each
+ * connection it opens then holds a permit from every budget until the connection is closed, and acquisitions that need a new
+ * connection wait until a permit is available.
  */
 @SdkInternalApi
 public final class BetterSimpleChannelPool extends SimpleChannelPool {
     private final CompletableFuture<Boolean> closeFuture;
+    private final EventLoopGroup eventLoopGroup;
+    private final List<ConnectionBudget> budgets;
+    private final long budgetAcquireTimeoutMillis;
+    private final AtomicInteger idleChannels = new AtomicInteger();
+    private final AtomicInteger openChannels = new AtomicInteger();
+
+    /**
+     * Whether the acquisition running on the current thread has already reserved permits for a new connection.
+     */
+    private final ThreadLocal<Boolean> permitsReserved = ThreadLocal.withInitial(() -> Boolean.FALSE);
 
     BetterSimpleChannelPool(Bootstrap bootstrap, ChannelPoolHandler handler) {
+        this(bootstrap, handler, Collections.emptyList(), 0);
+    }
+
+    BetterSimpleChannelPool(Bootstrap bootstrap,
+                            ChannelPoolHandler handler,
+                            List<ConnectionBudget> budgets,
+                            long budgetAcquireTimeoutMillis) {
         super(bootstrap, handler);
-        closeFuture = new CompletableFuture<>();
+        this.closeFuture = new CompletableFuture<>();
+        this.eventLoopGroup = bootstrap.config().group();
+        this.budgets = budgets;
+        this.budgetAcquireTimeoutMillis = budgetAcquireTimeoutMillis;
+        budgets.forEach(b -> b.register(this));
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        // An idle connection does not need new permits, so budgets only come into play when the pool is empty.
+        if (budgets.isEmpty() || idleChannels.get() > 0) {
+            return super.acquire(promise);
+        }
+
+        reservePermits(0, promise);
+        return promise;
+    }
+
+    @Override
+    protected ChannelFuture connectChannel(Bootstrap bs) {
+        if (!budgets.isEmpty()) {
+            if (permitsReserved.get()) {
+                permitsReserved.set(Boolean.FALSE);
+            } else {
+                budgets.forEach(ConnectionBudget::forceAcquire);
+            }
+        }
+
+        ChannelFuture connectFuture = super.connectChannel(bs);
+        openChannels.incrementAndGet();
+        connectFuture.channel().closeFuture().addListener(f -> {
+            openChannels.decrementAndGet();
+            releasePermits(budgets.size());
+        });
+        return connectFuture;
+    }
+
+    @Override
+    protected Channel pollChannel() {
+        Channel channel = super.pollChannel();
+        if (channel != null) {
+            idleChannels.decrementAndGet();
+        }
+        return channel;
+    }
+
+    @Override
+    protected boolean offerChannel(Channel channel) {
+        boolean offered = super.offerChannel(channel);
+        if (offered) {
+            idleChannels.incrementAndGet();
+        }
+        return offered;
     }
 
     @Override
     public void close() {
+        budgets.forEach(b -> b.unregister(this));
         super.close();
         closeFuture.complete(true);
     }
@@ -42,4 +128,78 @@ public final class BetterSimpleChannelPool extends SimpleChannelPool {
     CompletableFuture<Boolean> closeFuture() {
         return closeFuture;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return The number of connections created by this pool that are still open, whether idle or in use.
+     */
+    int openChannels() {
+        return openChannels.get();
+    }
+
+    /**
+     * @return The number of connections waiting in this pool to be acquired.
+     */
+    int idleChannels() {
+        return idleChannels.get();
+    }
+
+    /**
+     * Close one of the idle connections of this pool, returning its permits to the budgets.
+     *
+     * @return True if an idle connection was closed.
+     */
+    boolean closeIdleChannel() {
+        Channel channel = pollChannel();
+        if (channel == null) {
+            return false;
+        }
+        channel.close();
+        return true;
+    }
+
+    private void reservePermits(int budgetIndex, Promise<Channel> promise) {
+        if (budgetIndex == budgets.size()) {
+            acquireWithReservedPermits(promise);
+            return;
+        }
+
+        EventLoop eventLoop = eventLoopGroup.next();
+        Promise<Void> permitPromise = eventLoop.newPromise();
+        ScheduledFuture<?> timeoutFuture = eventLoop.schedule(
+            () -> permitPromise.tryFailure(new TimeoutException("Acquiring a connection took longer than "
+                                                                + budgetAcquireTimeoutMillis + " milliseconds, because the "
+                                                                + "maximum number of open connections was reached.")),
+            budgetAcquireTimeoutMillis, TimeUnit.MILLISECONDS);
+
+        budgets.get(budgetIndex).acquire(permitPromise).addListener(f -> {
+            timeoutFuture.cancel(false);
+            if (!f.isSuccess()) {
+                releasePermits(budgetIndex);
+                promise.tryFailure(f.cause());
+            } else if (promise.isDone()) {
+                releasePermits(budgetIndex + 1);
+            } else {
+                reservePermits(budgetIndex + 1, promise);
+            }
+        });
+    }
+
+    private void acquireWithReservedPermits(Promise<Channel> promise) {
+        permitsReserved.set(Boolean.TRUE);
+        try {
+            super.acquire(promise);
+        } finally {
+            // If no connection was created (e.g. because another one was released in the meantime), give the permits back.
+            if (permitsReserved.get()) {
+                permitsReserved.set(Boolean.FALSE);
+                releasePermits(budgets.size());
+            }
+        }
+    }
+
+    private void releasePermits(int count) {
+        for (int i = 0; i < count; i++) {
+            budgets.get(i).release();
+        }
+    }
+}
@@ -46,6 +46,8 @@ import software.amazon.awssdk.http.Protocol;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2GoAwayEventListener;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2PingHandler;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2SettingsFrameHandler;
+import software.amazon.awssdk.http.nio.netty.internal.http2.Http2WindowTuner;
+import software.amazon.awssdk.http.nio.netty.internal.http2.Http2WindowTuning;
 
 /**
  * ChannelPoolHandler to configure the client pipeline.
@@ -57,6 +59,8 @@ public final class ChannelPipelineInitializer extends AbstractChannelPoolHandler
     private final long clientMaxStreams;
     private final int clientInitialWindowSize;
     private final Duration healthCheckPingPeriod;
+    private final Http2WindowTuning windowTuning;
+    private final FlushBatching flushBatching;
     private final AtomicReference<ChannelPool> channelPoolRef;
     private final NettyConfiguration configuration;
     private final URI poolKey;
@@ -69,11 +73,31 @@ public final class ChannelPipelineInitializer extends AbstractChannelPoolHandler
                                       AtomicReference<ChannelPool> channelPoolRef,
                                       NettyConfiguration configuration,
                                       URI poolKey) {
+        this(protocol, sslCtx, clientMaxStreams, clientInitialWindowSize, healthCheckPingPeriod, null, null, channelPoolRef,
+             configuration, poolKey);
+    }
+
+    /**
+     * @param windowTuning The window auto-tuning of the client's HTTP/2 connections, or null if auto-tuning is disabled.
+     * @param flushBatching The flush batching of the client's connections, or null if flushes are not batched.
+     */
+    public ChannelPipelineInitializer(Protocol protocol,
+                                      SslContext sslCtx,
+                                      long clientMaxStreams,
+                                      int clientInitialWindowSize,
+                                      Duration healthCheckPingPeriod,
+                                      Http2WindowTuning windowTuning,
+                                      FlushBatching flushBatching,
+                                      AtomicReference<ChannelPool> channelPoolRef,
+                                      NettyConfiguration configuration,
+                                      URI poolKey) {
         this.protocol = protocol;
         this.sslCtx = sslCtx;
         this.clientMaxStreams = clientMaxStreams;
         this.clientInitialWindowSize = clientInitialWindowSize;
         this.healthCheckPingPeriod = healthCheckPingPeriod;
+        this.windowTuning = windowTuning;
+        this.flushBatching = flushBatching;
         this.channelPoolRef = channelPoolRef;
         this.configuration = configuration;
         this.poolKey = poolKey;
@@ -94,6 +118,11 @@ public final class ChannelPipelineInitializer extends AbstractChannelPoolHandler
             pipeline.addLast(SslCloseCompletionEventHandler.getInstance());
         }
 
+        if (flushBatching != null) {
+            // Added below the HTTP codecs, so that it batches the flushes of the encoded bytes before they are encrypted
+            pipeline.addLast(flushBatching.newHandler());
+        }
+
         if (protocol == Protocol.HTTP2) {
             configureHttp2(ch, pipeline);
         } else {
@@ -150,8 +179,18 @@ public final class ChannelPipelineInitializer extends AbstractChannelPoolHandler
         // exception before the Http2FrameCodec closes the connection itself.
         codec.connection().addListener(new Http2GoAwayEventListener(ch));
 
+        Http2WindowTuner windowTuner = windowTuning == null ? null : windowTuning.newTuner(clientInitialWindowSize);
+        if (windowTuner != null) {
+            // Counts the bytes read from the connection, so it must see them before the codec consumes them
+            pipeline.addLast(windowTuner.byteCounter());
+        }
+
         pipeline.addLast(codec);
         pipeline.addLast(new Http2MultiplexHandler(new NoOpChannelInitializer()));
+        if (windowTuner != null) {
+            // Consumes the acknowledgements of its own PINGs, so it must see them before the Http2PingHandler
+            pipeline.addLast(windowTuner);
+        }
         pipeline.addLast(new Http2SettingsFrameHandler(ch, clientMaxStreams, channelPoolRef));
         if (healthCheckPingPeriod == null) {
             pipeline.addLast(new Http2PingHandler(HTTP2_CONNECTION_PING_TIMEOUT_SECONDS * 1_000));
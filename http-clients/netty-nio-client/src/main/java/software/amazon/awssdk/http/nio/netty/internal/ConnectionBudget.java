@@ -0,0 +1,124 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A limit on the number of connections that may be open at the same time across several {@link BetterSimpleChannelPool}s.
+ * Every connection created by a pool holds a permit from each of the budgets the pool was created with until the connection
+ * is closed.
+ *
+ * <p>When no permit is available, the request for one is queued and idle connections of the other pools sharing this budget
+ * are closed to make room for it.
+ */
+@SdkInternalApi
+public final class ConnectionBudget {
+    private final int maxConnections;
+    private final Set<BetterSimpleChannelPool> pools = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this
+    private final Queue<Promise<Void>> pendingAcquires = new ArrayDeque<>();
+    private int openConnections;
+
+    public ConnectionBudget(int maxConnections) {
+        this.maxConnections = Validate.isPositive(maxConnections, "maxConnections");
+    }
+
+    /**
+     * Acquire a permit to open a new connection. The returned future is completed once a permit is available. If the
+     * promise is completed by the caller before that happens (e.g. because of a timeout), no permit is held.
+     */
+    public Future<Void> acquire(Promise<Void> promise) {
+        boolean acquired;
+        synchronized (this) {
+            acquired = openConnections < maxConnections;
+            if (acquired) {
+                ++openConnections;
+            } else {
+                pendingAcquires.add(promise);
+            }
+        }
+
+        if (!acquired) {
+            closeIdleConnection();
+        } else if (!promise.trySuccess(null)) {
+            release();
+        }
+        return promise;
+    }
+
+    /**
+     * Take a permit without waiting, even if that exceeds the budget. This is used when a pool replaces an unhealthy
+     * connection outside of an acquisition that already reserved a permit.
+     */
+    public synchronized void forceAcquire() {
+        ++openConnections;
+    }
+
+    /**
+     * Return a permit, handing it to the oldest pending acquisition if there is one.
+     */
+    public void release() {
+        Promise<Void> next;
+        synchronized (this) {
+            do {
+                next = pendingAcquires.poll();
+            } while (next != null && next.isDone());
+
+            if (next == null) {
+                --openConnections;
+                return;
+            }
+        }
+
+        if (!next.trySuccess(null)) {
+            // The acquisition was completed concurrently, pass the permit on.
+            release();
+        }
+    }
+
+    public synchronized int openConnections() {
+        return openConnections;
+    }
+
+    public int maxConnections() {
+        return maxConnections;
+    }
+
+    void register(BetterSimpleChannelPool pool) {
+        pools.add(pool);
+    }
+
+    void unregister(BetterSimpleChannelPool pool) {
+        pools.remove(pool);
+    }
+
+    private void closeIdleConnection() {
+        for (BetterSimpleChannelPool pool : pools) {
+            if (pool.closeIdleChannel()) {
+                return;
+            }
+        }
+    }
+}
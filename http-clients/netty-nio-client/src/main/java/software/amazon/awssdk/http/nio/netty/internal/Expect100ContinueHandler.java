@@ -0,0 +1,270 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import com.typesafe.netty.http.StreamedHttpRequest;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Holds the body of an HTTP/1.1 request sent with {@code Expect: 100-continue} until the server answers it.
+ *
+ * <ul>
+ *     <li>If the server answers {@code 100 Continue}, or does not answer within the timeout, the body is sent.</li>
+ *     <li>If the server answers with a final response, such as a 403 or a redirect, the body is never sent, the response is
+ *     passed on, and the connection is closed once the response is read, because the server is still waiting for the
+ *     promised content.</li>
+ * </ul>
+ *
+ * <p>Interim responses are never passed on, including a {@code 100 Continue} that arrives after the timeout.
+ *
+ * <p>The {@code Expect} header is added by this handler when the request is written, so that the
+ * {@link com.typesafe.netty.http.HttpStreamsClientHandler} behind it, which would otherwise wait for the 100 Continue without
+ * a timeout, does not see it. This is a per-request handler.
+ */
+@SdkInternalApi
+public final class Expect100ContinueHandler extends ChannelDuplexHandler {
+    private final long timeoutMillis;
+
+    private ChannelHandlerContext ctx;
+    private State state = State.AWAITING_CONTINUE;
+    private boolean discardingInterimResponse;
+    private ScheduledFuture<?> timeout;
+
+    private Subscription bodySubscription;
+    private Subscriber<Object> bodySubscriber;
+    private AtomicBoolean bodyTerminated;
+    private long heldDemand;
+
+    Expect100ContinueHandler(Duration timeout) {
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Wrap the request so that its body is not requested until the server answers, or the timeout passes.
+     */
+    StreamedHttpRequest holdBody(StreamedHttpRequest request) {
+        return new HeldBodyRequest(request);
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        cancelTimeout();
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (msg instanceof HttpRequest) {
+            HttpUtil.set100ContinueExpected((HttpRequest) msg, true);
+            timeout = ctx.executor().schedule(this::continueTimedOut, timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (discardingInterimResponse && msg instanceof HttpContent) {
+            discardingInterimResponse = !(msg instanceof LastHttpContent);
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+
+        if (msg instanceof HttpResponse) {
+            HttpResponse response = (HttpResponse) msg;
+            if (isInterim(response.status())) {
+                if (state == State.AWAITING_CONTINUE) {
+                    sendBody();
+                }
+                discardingInterimResponse = !(msg instanceof LastHttpContent);
+                ReferenceCountUtil.release(msg);
+                return;
+            }
+
+            if (state == State.AWAITING_CONTINUE) {
+                rejectBody();
+                HttpUtil.setKeepAlive(response, false);
+            }
+        }
+
+        ctx.fireChannelRead(msg);
+    }
+
+    private static boolean isInterim(HttpResponseStatus status) {
+        return status.code() >= 100 && status.code() < 200 && status.code() != HttpResponseStatus.SWITCHING_PROTOCOLS.code();
+    }
+
+    private void continueTimedOut() {
+        if (state == State.AWAITING_CONTINUE) {
+            sendBody();
+        }
+    }
+
+    private void sendBody() {
+        state = State.SENDING_BODY;
+        cancelTimeout();
+        if (bodySubscription != null && heldDemand > 0) {
+            long demand = heldDemand;
+            heldDemand = 0;
+            bodySubscription.request(demand);
+        }
+    }
+
+    private void rejectBody() {
+        state = State.BODY_REJECTED;
+        cancelTimeout();
+        if (bodySubscription != null) {
+            completeRejectedBody();
+        }
+    }
+
+    /**
+     * Cancel the body and complete the request towards the HTTP codec, which writes nothing more for a request with a
+     * 'Content-Length'.
+     */
+    private void completeRejectedBody() {
+        bodySubscription.cancel();
+        if (bodyTerminated.compareAndSet(false, true)) {
+            bodySubscriber.onComplete();
+        }
+    }
+
+    private void cancelTimeout() {
+        if (timeout != null) {
+            timeout.cancel(false);
+            timeout = null;
+        }
+    }
+
+    private void runInEventLoop(Runnable runnable) {
+        if (ctx.executor().inEventLoop()) {
+            runnable.run();
+        } else {
+            ctx.executor().execute(runnable);
+        }
+    }
+
+    private enum State {
+        AWAITING_CONTINUE,
+        SENDING_BODY,
+        BODY_REJECTED
+    }
+
+    private final class HeldBodyRequest extends NettyRequestExecutor.DelegateHttpRequest implements StreamedHttpRequest {
+        private final StreamedHttpRequest request;
+
+        private HeldBodyRequest(StreamedHttpRequest request) {
+            super(request);
+            this.request = request;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void subscribe(Subscriber<? super HttpContent> subscriber) {
+            // The body may be a file region rather than HttpContent, so it's passed through untyped.
+            Subscriber<Object> downstream = (Subscriber<Object>) subscriber;
+            AtomicBoolean terminated = new AtomicBoolean();
+
+            request.subscribe(new Subscriber<Object>() {
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    downstream.onSubscribe(new HeldSubscription(subscription));
+                    runInEventLoop(() -> {
+                        bodySubscription = subscription;
+                        bodySubscriber = downstream;
+                        bodyTerminated = terminated;
+                        if (state == State.SENDING_BODY) {
+                            sendBody();
+                        } else if (state == State.BODY_REJECTED) {
+                            completeRejectedBody();
+                        }
+                    });
+                }
+
+                @Override
+                public void onNext(Object content) {
+                    downstream.onNext(content);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    if (terminated.compareAndSet(false, true)) {
+                        downstream.onError(t);
+                    }
+                }
+
+                @Override
+                public void onComplete() {
+                    if (terminated.compareAndSet(false, true)) {
+                        downstream.onComplete();
+                    }
+                }
+            });
+        }
+    }
+
+    private final class HeldSubscription implements Subscription {
+        private final Subscription subscription;
+
+        private HeldSubscription(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                subscription.request(n);
+                return;
+            }
+            runInEventLoop(() -> {
+                switch (state) {
+                    case AWAITING_CONTINUE:
+                        heldDemand = n > Long.MAX_VALUE - heldDemand ? Long.MAX_VALUE : heldDemand + n;
+                        break;
+                    case SENDING_BODY:
+                        subscription.request(n);
+                        break;
+                    default:
+                        break;
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            subscription.cancel();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import java.time.Duration;
+import java.util.Optional;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Decides which requests of a client hold their body until the server answers {@code Expect: 100-continue}, and for how long.
+ *
+ * @see Expect100ContinueHandler
+ */
+@SdkInternalApi
+public final class ExpectContinue {
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(1);
+    private static final ExpectContinue DEFAULT = new ExpectContinue(null, DEFAULT_TIMEOUT);
+
+    private final Long threshold;
+    private final Duration timeout;
+
+    private ExpectContinue(Long threshold, Duration timeout) {
+        this.threshold = threshold;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @param threshold The content length from which requests expect a 100 Continue response, or null to only honor an
+     * {@code Expect} header set by the caller.
+     * @param timeout The time to wait for a response before sending the body anyway, or null for the default of one second.
+     */
+    public static ExpectContinue create(Long threshold, Duration timeout) {
+        if (threshold == null && timeout == null) {
+            return DEFAULT;
+        }
+        return new ExpectContinue(Validate.isPositiveOrNull(threshold, "threshold"),
+                                  timeout == null ? DEFAULT_TIMEOUT : Validate.isPositive(timeout, "timeout"));
+    }
+
+    /**
+     * @return The configuration honoring only an {@code Expect} header set by the caller, with the default timeout.
+     */
+    public static ExpectContinue defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return True if the request already has an {@code Expect: 100-continue} header, or if its content length reaches the
+     * threshold.
+     */
+    public boolean isExpected(SdkHttpRequest request) {
+        boolean hasHeader = request.firstMatchingHeader("Expect")
+                                   .filter(v -> v.equalsIgnoreCase("100-continue"))
+                                   .isPresent();
+        return hasHeader || (threshold != null && contentLength(request).filter(cl -> cl >= threshold).isPresent());
+    }
+
+    public Duration timeout() {
+        return timeout;
+    }
+
+    private static Optional<Long> contentLength(SdkHttpRequest request) {
+        try {
+            return request.firstMatchingHeader("Content-Length").map(Long::parseLong);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.channel.ChannelHandler;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * The flush batching threshold of a client, and the number of flushes requested and written by its connections.
+ *
+ * @see FlushBatchingHandler
+ */
+@SdkInternalApi
+public final class FlushBatching {
+    private final long threshold;
+    private final LongAdder flushesRequested = new LongAdder();
+    private final LongAdder flushesWritten = new LongAdder();
+
+    public FlushBatching(long threshold) {
+        this.threshold = Validate.isPositive(threshold, "threshold");
+    }
+
+    /**
+     * @return A handler batching the flushes of a new connection.
+     */
+    public ChannelHandler newHandler() {
+        return new FlushBatchingHandler(this);
+    }
+
+    public long threshold() {
+        return threshold;
+    }
+
+    /**
+     * @return The number of flushes requested by the HTTP codecs, i.e. the number of writes to the socket without batching.
+     */
+    public long flushesRequested() {
+        return flushesRequested.sum();
+    }
+
+    /**
+     * @return The number of flushes passed on to the socket.
+     */
+    public long flushesWritten() {
+        return flushesWritten.sum();
+    }
+
+    void flushRequested() {
+        flushesRequested.increment();
+    }
+
+    void flushWritten() {
+        flushesWritten.increment();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Batches the flushes of a connection, so that a request body published as many small chunks is written to the socket,
+ * and encrypted into TLS records, in large batches instead of one system call per chunk.
+ *
+ * <p>A flush is passed on immediately once the bytes written since the last flush reach the threshold. Otherwise it is
+ * deferred to the end of the current event loop task queue, so writes issued in the same event loop tick (including the
+ * writes of other streams of an HTTP/2 connection) share a single flush, and a lone write is still flushed without waiting
+ * for a timer.
+ *
+ * <p>This handler is added between the TLS handler and the HTTP codec, so that it sees the encoded bytes.
+ */
+@SdkInternalApi
+final class FlushBatchingHandler extends ChannelDuplexHandler {
+    private final FlushBatching flushBatching;
+    private final long threshold;
+
+    private long pendingBytes;
+    private boolean flushPending;
+    private boolean flushScheduled;
+    private ChannelHandlerContext ctx;
+
+    private final Runnable scheduledFlush = () -> {
+        flushScheduled = false;
+        if (flushPending) {
+            flushNow(ctx);
+        }
+    };
+
+    FlushBatchingHandler(FlushBatching flushBatching) {
+        this.flushBatching = flushBatching;
+        this.threshold = flushBatching.threshold();
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        pendingBytes += size(msg);
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        flushBatching.flushRequested();
+        if (pendingBytes >= threshold) {
+            flushNow(ctx);
+            return;
+        }
+
+        flushPending = true;
+        if (!flushScheduled) {
+            flushScheduled = true;
+            ctx.channel().eventLoop().execute(scheduledFlush);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        // The writes queued behind the deferred flush may be what made the channel unwritable, and it only becomes writable
+        // again once they are flushed.
+        if (!ctx.channel().isWritable() && flushPending) {
+            flushNow(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) {
+        flushIfPending(ctx);
+        ctx.disconnect(promise);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) {
+        flushIfPending(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        flushIfPending(ctx);
+    }
+
+    private void flushIfPending(ChannelHandlerContext ctx) {
+        if (flushPending) {
+            flushNow(ctx);
+        }
+    }
+
+    private void flushNow(ChannelHandlerContext ctx) {
+        flushPending = false;
+        pendingBytes = 0;
+        flushBatching.flushWritten();
+        ctx.flush();
+    }
+
+    private static long size(Object msg) {
+        if (msg instanceof ByteBuf) {
+            return ((ByteBuf) msg).readableBytes();
+        }
+        if (msg instanceof ByteBufHolder) {
+            return ((ByteBufHolder) msg).content().readableBytes();
+        }
+        if (msg instanceof FileRegion) {
+            return ((FileRegion) msg).count();
+        }
+        return 0;
+    }
+}
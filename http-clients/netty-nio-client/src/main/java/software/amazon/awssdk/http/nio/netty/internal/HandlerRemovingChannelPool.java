@@ -80,6 +80,7 @@ public class HandlerRemovingChannelPool implements ChannelPool {
             removeIfExists(channel.pipeline(),
                            HttpStreamsClientHandler.class,
                            LastHttpContentHandler.class,
+                           Expect100ContinueHandler.class,
                            FlushOnReadHandler.class,
                            ResponseHandler.class,
                            ReadTimeoutHandler.class,
@@ -39,6 +39,8 @@ public final class NettyConfiguration {
     public static final int EVENTLOOP_SHUTDOWN_TIMEOUT_SECONDS = 15;
     public static final int EVENTLOOP_SHUTDOWN_FUTURE_TIMEOUT_SECONDS = 16;
     public static final int HTTP2_CONNECTION_PING_TIMEOUT_SECONDS = 5;
+    public static final int IDLE_CHANNEL_POOL_EVICTION_SECONDS = 60;
+    public static final int EVICTED_CHANNEL_POOL_CLOSE_DELAY_SECONDS = 5;
 
     private final AttributeMap configuration;
 
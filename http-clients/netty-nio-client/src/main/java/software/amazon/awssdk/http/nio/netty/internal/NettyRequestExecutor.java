@@ -26,17 +26,21 @@ import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey
 import com.typesafe.netty.http.HttpStreamsClientHandler;
 import com.typesafe.netty.http.StreamedHttpRequest;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
 import io.netty.handler.codec.DecoderResult;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.ReadTimeoutException;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutException;
@@ -48,6 +52,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -62,10 +67,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.async.SdkHttpFileContentPublisher;
 import software.amazon.awssdk.http.nio.netty.internal.http2.FlushOnReadHandler;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2ToHttpInboundAdapter;
 import software.amazon.awssdk.http.nio.netty.internal.http2.HttpToHttp2OutboundAdapter;
+import software.amazon.awssdk.http.nio.netty.internal.utils.BufferPoolReturningByteBuf;
 import software.amazon.awssdk.http.nio.netty.internal.utils.ChannelUtils;
+import software.amazon.awssdk.utils.SdkBufferPool;
 
 @SdkInternalApi
 public final class NettyRequestExecutor {
@@ -78,6 +87,7 @@ public final class NettyRequestExecutor {
     private CompletableFuture<Void> executeFuture;
     private Channel channel;
     private RequestAdapter requestAdapter;
+    private Expect100ContinueHandler expectContinueHandler;
 
     public NettyRequestExecutor(RequestContext context) {
         this.context = context;
@@ -176,6 +186,10 @@ public final class NettyRequestExecutor {
         if (Protocol.HTTP2.equals(protocol)) {
             pipeline.addLast(FlushOnReadHandler.getInstance());
         }
+        if (Protocol.HTTP1_1.equals(protocol) && context.expectContinue().isExpected(context.executeRequest().request())) {
+            expectContinueHandler = new Expect100ContinueHandler(context.expectContinue().timeout());
+            pipeline.addLast(expectContinueHandler);
+        }
         pipeline.addLast(new HttpStreamsClientHandler());
         pipeline.addLast(ResponseHandler.getInstance());
 
@@ -194,14 +208,36 @@ public final class NettyRequestExecutor {
 
     private void makeRequest() {
         HttpRequest request = requestAdapter.adapt(context.executeRequest().request());
+        chunkContentOfUnknownLength(request);
         writeRequest(request);
     }
 
+    /**
+     * An HTTP/1.1 body with neither a 'Content-Length' nor a 'Transfer-Encoding' header can't be delimited, so content of
+     * unknown length is sent with chunked transfer encoding. It's then streamed as it's published, without being buffered to
+     * compute its length. HTTP/2 delimits the content with its DATA frames and needs no header.
+     */
+    private void chunkContentOfUnknownLength(HttpRequest request) {
+        SdkHttpContentPublisher publisher = context.executeRequest().requestContentPublisher();
+        if (publisher == null
+            || publisher.contentLength().isPresent()
+            || ChannelAttributeKey.getProtocolNow(channel) != Protocol.HTTP1_1
+            || HttpUtil.isContentLengthSet(request)
+            || HttpUtil.isTransferEncodingChunked(request)) {
+            return;
+        }
+        HttpUtil.setTransferEncodingChunked(request, true);
+    }
+
     private void writeRequest(HttpRequest request) {
         channel.pipeline().addFirst(new WriteTimeoutHandler(context.configuration().writeTimeoutMillis(),
                                                             TimeUnit.MILLISECONDS));
-        StreamedRequest streamedRequest = new StreamedRequest(request,
-                                                              context.executeRequest().requestContentPublisher());
+        StreamedHttpRequest streamedRequest = createStreamedRequest(request);
+        if (expectContinueHandler != null) {
+            // The handler adds the header back when the request is written, see Expect100ContinueHandler.
+            request.headers().remove(HttpHeaderNames.EXPECT);
+            streamedRequest = expectContinueHandler.holdBody(streamedRequest);
+        }
         channel.writeAndFlush(streamedRequest)
                .addListener(wireCall -> {
                    // Done writing so remove the idle write timeout handler
@@ -224,19 +260,42 @@ public final class NettyRequestExecutor {
 
         if (shouldExplicitlyTriggerRead()) {
 
-            // Should only add an one-time ReadTimeoutHandler to 100 Continue request.
-            if (is100ContinueExpected()) {
-                channel.pipeline().addFirst(new OneTimeReadTimeoutHandler(Duration.ofMillis(context.configuration()
-                        .readTimeoutMillis())));
-            } else {
-                channel.pipeline().addFirst(new ReadTimeoutHandler(context.configuration().readTimeoutMillis(),
-                                                                   TimeUnit.MILLISECONDS));
+            // Should only add an one-time ReadTimeoutHandler to 100 Continue request. A request held by the
+            // Expect100ContinueHandler needs neither, because its body is sent once the handler's own timeout passes.
+            if (expectContinueHandler == null) {
+                if (is100ContinueExpected()) {
+                    channel.pipeline().addFirst(new OneTimeReadTimeoutHandler(Duration.ofMillis(context.configuration()
+                            .readTimeoutMillis())));
+                } else {
+                    channel.pipeline().addFirst(new ReadTimeoutHandler(context.configuration().readTimeoutMillis(),
+                                                                       TimeUnit.MILLISECONDS));
+                }
             }
 
             channel.read();
         }
     }
 
+    private StreamedHttpRequest createStreamedRequest(HttpRequest request) {
+        SdkHttpContentPublisher publisher = context.executeRequest().requestContentPublisher();
+        Optional<Long> contentLength = StreamedRequest.contentLength(request);
+        if (publisher instanceof SdkHttpFileContentPublisher
+            && contentLength.filter(cl -> cl > 0).isPresent()
+            && canWriteFileRegion()) {
+            return new FileRegionRequest(request, ((SdkHttpFileContentPublisher) publisher).path(), contentLength.get());
+        }
+        return new StreamedRequest(request, publisher);
+    }
+
+    /**
+     * File regions are sent by the transport straight from the file to the socket, but only plaintext HTTP/1.1 connections can
+     * carry them; the SSL handler and the HTTP/2 frame adapter only accept buffers.
+     */
+    private boolean canWriteFileRegion() {
+        return ChannelAttributeKey.getProtocolNow(channel) == Protocol.HTTP1_1
+               && channel.pipeline().get(SslHandler.class) == null;
+    }
+
     /**
      * It should explicitly trigger Read for the following situations:
      *
@@ -246,7 +305,7 @@ public final class NettyRequestExecutor {
      * @return true if it should explicitly read from channel
      */
     private boolean shouldExplicitlyTriggerRead() {
-        return context.executeRequest().fullDuplex() || is100ContinueExpected();
+        return context.executeRequest().fullDuplex() || is100ContinueExpected() || expectContinueHandler != null;
     }
 
     private boolean is100ContinueExpected() {
@@ -472,13 +531,14 @@ public final class NettyRequestExecutor {
                 @Override
                 public void onNext(ByteBuffer contentBytes) {
                     if (done) {
+                        SdkBufferPool.releaseToOwningPool(contentBytes);
                         return;
                     }
 
                     try {
                         int newLimit = clampedBufferLimit(contentBytes.remaining());
                         contentBytes.limit(newLimit);
-                        ByteBuf contentByteBuf = Unpooled.wrappedBuffer(contentBytes);
+                        ByteBuf contentByteBuf = BufferPoolReturningByteBuf.wrap(contentBytes);
                         HttpContent content = new DefaultHttpContent(contentByteBuf);
 
                         subscriber.onNext(content);
@@ -535,4 +595,52 @@ public final class NettyRequestExecutor {
             return Optional.empty();
         }
     }
+
+    /**
+     * A {@link StreamedHttpRequest} that sends the first 'Content-Length' bytes of a file as a single {@link FileRegion}, which
+     * the transport writes without copying the file through user space. This is only used when the file is the whole request
+     * content.
+     */
+    private static class FileRegionRequest extends DelegateHttpRequest implements StreamedHttpRequest {
+
+        private final Path path;
+        private final long contentLength;
+
+        FileRegionRequest(HttpRequest request, Path path, long contentLength) {
+            super(request);
+            this.path = path;
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void subscribe(Subscriber<? super HttpContent> subscriber) {
+            // The HTTP encoder accepts file regions as content. They are not HttpContent, so the element type is widened here.
+            Subscriber<Object> fileRegionSubscriber = (Subscriber<Object>) subscriber;
+            fileRegionSubscriber.onSubscribe(new Subscription() {
+                private boolean done;
+
+                @Override
+                public void request(long n) {
+                    if (done) {
+                        return;
+                    }
+                    done = true;
+
+                    if (n <= 0) {
+                        fileRegionSubscriber.onError(new IllegalArgumentException("Demand must be positive"));
+                        return;
+                    }
+
+                    fileRegionSubscriber.onNext(new DefaultFileRegion(path.toFile(), 0, contentLength));
+                    fileRegionSubscriber.onComplete();
+                }
+
+                @Override
+                public void cancel() {
+                    done = true;
+                }
+            });
+        }
+    }
 }
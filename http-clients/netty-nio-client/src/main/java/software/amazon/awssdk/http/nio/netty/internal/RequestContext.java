@@ -28,15 +28,36 @@ public final class RequestContext {
     private final EventLoopGroup eventLoopGroup;
     private final AsyncExecuteRequest executeRequest;
     private final NettyConfiguration configuration;
+    private final ResponseReadAhead responseReadAhead;
+    private final ExpectContinue expectContinue;
 
     public RequestContext(ChannelPool channelPool,
                           EventLoopGroup eventLoopGroup,
                           AsyncExecuteRequest executeRequest,
                           NettyConfiguration configuration) {
+        this(channelPool, eventLoopGroup, executeRequest, configuration, ResponseReadAhead.disabled());
+    }
+
+    public RequestContext(ChannelPool channelPool,
+                          EventLoopGroup eventLoopGroup,
+                          AsyncExecuteRequest executeRequest,
+                          NettyConfiguration configuration,
+                          ResponseReadAhead responseReadAhead) {
+        this(channelPool, eventLoopGroup, executeRequest, configuration, responseReadAhead, ExpectContinue.defaults());
+    }
+
+    public RequestContext(ChannelPool channelPool,
+                          EventLoopGroup eventLoopGroup,
+                          AsyncExecuteRequest executeRequest,
+                          NettyConfiguration configuration,
+                          ResponseReadAhead responseReadAhead,
+                          ExpectContinue expectContinue) {
         this.channelPool = channelPool;
         this.eventLoopGroup = eventLoopGroup;
         this.executeRequest = executeRequest;
         this.configuration = configuration;
+        this.responseReadAhead = responseReadAhead;
+        this.expectContinue = expectContinue;
     }
 
     public ChannelPool channelPool() {
@@ -64,4 +85,12 @@ public final class RequestContext {
     public NettyConfiguration configuration() {
         return configuration;
     }
+
+    public ResponseReadAhead responseReadAhead() {
+        return responseReadAhead;
+    }
+
+    public ExpectContinue expectContinue() {
+        return expectContinue;
+    }
 }
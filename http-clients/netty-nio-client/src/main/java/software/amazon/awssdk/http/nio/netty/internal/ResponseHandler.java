@@ -207,7 +207,8 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
         }
 
         @Override
-        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        public void subscribe(Subscriber<? super ByteBuffer> s) {
+            Subscriber<? super ByteBuffer> subscriber = requestContext.responseReadAhead().wrap(s);
             response.subscribe(new Subscriber<HttpContent>() {
                 @Override
                 public void onSubscribe(Subscription subscription) {
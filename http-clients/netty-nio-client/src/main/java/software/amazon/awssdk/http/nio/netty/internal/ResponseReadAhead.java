@@ -0,0 +1,128 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.reactivestreams.Subscriber;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * The read-ahead watermarks of a client, and the statistics of the read-ahead buffers of its streaming responses.
+ *
+ * @see ResponseReadAheadSubscriber
+ */
+@SdkInternalApi
+public final class ResponseReadAhead {
+    private static final ResponseReadAhead DISABLED = new ResponseReadAhead(0, 0);
+
+    private final long highWatermark;
+    private final long lowWatermark;
+
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicLong peakBufferedBytes = new AtomicLong();
+    private final LongAdder bufferingResponses = new LongAdder();
+    private final LongAdder readPauses = new LongAdder();
+
+    private ResponseReadAhead(long highWatermark, long lowWatermark) {
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+    }
+
+    /**
+     * @param highWatermark The number of buffered bytes at which reading from the channel is paused, or null or zero to
+     * disable read-ahead.
+     * @param lowWatermark The number of buffered bytes at or below which reading is resumed, or null to use half of the high
+     * watermark.
+     */
+    public static ResponseReadAhead create(Integer highWatermark, Integer lowWatermark) {
+        if (highWatermark == null || highWatermark == 0) {
+            Validate.isTrue(lowWatermark == null, "The read-ahead low watermark requires a high watermark.");
+            return DISABLED;
+        }
+        Validate.isPositive(highWatermark, "highWatermark");
+        long low = lowWatermark == null ? highWatermark / 2 : lowWatermark;
+        Validate.isTrue(low >= 0 && low < highWatermark,
+                        "The read-ahead low watermark (%s) must be between zero and the high watermark (%s).",
+                        low, highWatermark);
+        return new ResponseReadAhead(highWatermark, low);
+    }
+
+    public static ResponseReadAhead disabled() {
+        return DISABLED;
+    }
+
+    public boolean enabled() {
+        return highWatermark > 0;
+    }
+
+    /**
+     * Wrap the subscriber of a streaming response in a read-ahead buffer, if read-ahead is enabled.
+     */
+    public Subscriber<? super ByteBuffer> wrap(Subscriber<? super ByteBuffer> subscriber) {
+        if (!enabled()) {
+            return subscriber;
+        }
+        return new ResponseReadAheadSubscriber(subscriber, highWatermark, lowWatermark, this);
+    }
+
+    public long highWatermark() {
+        return highWatermark;
+    }
+
+    public long lowWatermark() {
+        return lowWatermark;
+    }
+
+    public long bufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    public long peakBufferedBytes() {
+        return peakBufferedBytes.get();
+    }
+
+    public long bufferingResponses() {
+        return bufferingResponses.sum();
+    }
+
+    public long readPauses() {
+        return readPauses.sum();
+    }
+
+    void responseStarted() {
+        bufferingResponses.increment();
+    }
+
+    void responseFinished() {
+        bufferingResponses.decrement();
+    }
+
+    void bytesBuffered(long bytes) {
+        long buffered = bufferedBytes.addAndGet(bytes);
+        peakBufferedBytes.accumulateAndGet(buffered, Math::max);
+    }
+
+    void bytesDelivered(long bytes) {
+        bufferedBytes.addAndGet(-bytes);
+    }
+
+    void readPaused() {
+        readPauses.increment();
+    }
+}
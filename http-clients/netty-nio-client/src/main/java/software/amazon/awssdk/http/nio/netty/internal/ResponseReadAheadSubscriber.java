@@ -0,0 +1,237 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * A read-ahead buffer between the body of a streaming response and its subscriber.
+ *
+ * <p>Without read-ahead, the channel is only read when the subscriber requests more data, so a subscriber that requests one
+ * buffer at a time leaves the connection idle while it processes each buffer. This subscriber instead keeps requesting
+ * content from the channel until the buffered bytes reach the high watermark, and resumes once the subscriber has drained
+ * the buffer to the low watermark. The number of bytes held per response is bounded by the high watermark plus the size of
+ * one read.
+ *
+ * <p>All signals to the subscriber, and all requests to the channel, are serialized through {@link #drain()}, so the
+ * subscriber may request and cancel from any thread.
+ */
+@SdkInternalApi
+final class ResponseReadAheadSubscriber implements Subscriber<ByteBuffer>, Subscription {
+    private static final Logger log = LoggerFactory.getLogger(ResponseReadAheadSubscriber.class);
+
+    private final Subscriber<? super ByteBuffer> subscriber;
+    private final long highWatermark;
+    private final long lowWatermark;
+    private final ResponseReadAhead statistics;
+
+    private final Queue<ByteBuffer> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicLong outstandingUpstreamDemand = new AtomicLong();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    private volatile Subscription upstream;
+    private volatile boolean upstreamComplete;
+    private volatile Throwable error;
+    private volatile boolean cancelled;
+
+    /**
+     * Only accessed from {@link #drain()}.
+     */
+    private boolean paused;
+
+    ResponseReadAheadSubscriber(Subscriber<? super ByteBuffer> subscriber, long highWatermark, long lowWatermark,
+                                ResponseReadAhead statistics) {
+        this.subscriber = subscriber;
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        statistics.responseStarted();
+        subscriber.onSubscribe(this);
+        drain();
+    }
+
+    @Override
+    public void onNext(ByteBuffer byteBuffer) {
+        if (finished.get()) {
+            return;
+        }
+        int bytes = byteBuffer.remaining();
+        buffer.offer(byteBuffer);
+        bufferedBytes.addAndGet(bytes);
+        statistics.bytesBuffered(bytes);
+        outstandingUpstreamDemand.decrementAndGet();
+        if (finished.get()) {
+            // The response finished while this content was being buffered
+            discardBuffer();
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        error = t;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamComplete = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            error = new IllegalArgumentException("Demand must be positive, but was " + n);
+            upstream.cancel();
+        } else {
+            demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+        }
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        upstream.cancel();
+        drain();
+    }
+
+    /**
+     * Deliver buffered content to the subscriber as far as its demand allows, then read more from the channel if the
+     * buffer is below the watermark. Only one thread drains at a time; signals arriving while another thread is draining
+     * make that thread loop again.
+     */
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            if (cancelled) {
+                finish();
+                return;
+            }
+
+            Throwable t = error;
+            if (t != null) {
+                finish();
+                subscriber.onError(t);
+                return;
+            }
+
+            if (!deliverBuffered()) {
+                return;
+            }
+
+            if (upstreamComplete && buffer.isEmpty()) {
+                finish();
+                subscriber.onComplete();
+                return;
+            }
+
+            readAhead();
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * @return False if the subscriber threw, in which case the response is cancelled.
+     */
+    private boolean deliverBuffered() {
+        while (demand.get() > 0 && !cancelled) {
+            ByteBuffer next = buffer.poll();
+            if (next == null) {
+                break;
+            }
+            int bytes = next.remaining();
+            bufferedBytes.addAndGet(-bytes);
+            statistics.bytesDelivered(bytes);
+            if (demand.get() != Long.MAX_VALUE) {
+                demand.decrementAndGet();
+            }
+            try {
+                subscriber.onNext(next);
+            } catch (RuntimeException e) {
+                log.error("Subscriber {} threw an exception in onNext, cancelling the response.", subscriber, e);
+                finish();
+                upstream.cancel();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void readAhead() {
+        long buffered = bufferedBytes.get();
+        if (paused) {
+            if (buffered > lowWatermark) {
+                return;
+            }
+            paused = false;
+        } else if (buffered >= highWatermark) {
+            paused = true;
+            statistics.readPaused();
+            return;
+        }
+
+        // One message is requested at a time, so that the channel is read again as soon as the previous read is buffered
+        // but the buffer never overshoots the high watermark by more than one read.
+        if (!upstreamComplete && outstandingUpstreamDemand.get() == 0) {
+            outstandingUpstreamDemand.incrementAndGet();
+            upstream.request(1);
+        }
+    }
+
+    private void finish() {
+        if (finished.compareAndSet(false, true)) {
+            statistics.responseFinished();
+        }
+        discardBuffer();
+    }
+
+    private void discardBuffer() {
+        ByteBuffer discarded;
+        while ((discarded = buffer.poll()) != null) {
+            int bytes = discarded.remaining();
+            bufferedBytes.addAndGet(-bytes);
+            statistics.bytesDelivered(bytes);
+        }
+    }
+}
@@ -59,6 +59,14 @@ public abstract class SdkChannelPoolMap<K, P extends ChannelPool>
         return false;
     }
 
+    /**
+     * Remove the given {@link ChannelPool} from this map without closing it, if it is still the pool for the given key.
+     * Returns {@code true} if removed, {@code false} otherwise.
+     */
+    protected final boolean removeWithoutClosing(K key, P pool) {
+        return map.remove(paramNotNull(key, "key"), pool);
+    }
+
     @Override
     public final Iterator<Map.Entry<K, P>> iterator() {
         return new ReadOnlyIterator<>(map.entrySet().iterator());
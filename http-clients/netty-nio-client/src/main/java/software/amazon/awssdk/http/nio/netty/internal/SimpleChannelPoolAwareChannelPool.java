@@ -17,14 +17,24 @@ package software.amazon.awssdk.http.nio.netty.internal;
 
 import io.netty.channel.Channel;
 import io.netty.channel.pool.ChannelPool;
+import io.netty.util.AttributeKey;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.concurrent.Promise;
+import java.util.concurrent.atomic.AtomicBoolean;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.ConnectionPoolStatistics;
+import software.amazon.awssdk.internal.http.ConnectionPoolStatisticsRecorder;
 
 @SdkInternalApi
 final class SimpleChannelPoolAwareChannelPool implements ChannelPool {
+    private static final AttributeKey<AtomicBoolean> IS_LEASED = AttributeKey.newInstance(
+        "aws.http.nio.netty.async.isLeased");
+
     private final ChannelPool delegate;
     private final BetterSimpleChannelPool simpleChannelPool;
+    private final ConnectionPoolStatisticsRecorder statisticsRecorder = new ConnectionPoolStatisticsRecorder();
+    private volatile long lastAcquireNanos = System.nanoTime();
 
     SimpleChannelPoolAwareChannelPool(ChannelPool delegate, BetterSimpleChannelPool simpleChannelPool) {
         this.delegate = delegate;
@@ -33,21 +43,27 @@ final class SimpleChannelPoolAwareChannelPool implements ChannelPool {
 
     @Override
     public Future<Channel> acquire() {
-        return delegate.acquire();
+        lastAcquireNanos = System.nanoTime();
+        long startNanos = statisticsRecorder.acquireStarted();
+        return delegate.acquire().addListener(recordAcquire(startNanos));
     }
 
     @Override
     public Future<Channel> acquire(Promise<Channel> promise) {
-        return delegate.acquire(promise);
+        lastAcquireNanos = System.nanoTime();
+        long startNanos = statisticsRecorder.acquireStarted();
+        return delegate.acquire(promise).addListener(recordAcquire(startNanos));
     }
 
     @Override
     public Future<Void> release(Channel channel) {
+        recordRelease(channel);
         return delegate.release(channel);
     }
 
     @Override
     public Future<Void> release(Channel channel, Promise<Void> promise) {
+        recordRelease(channel);
         return delegate.release(channel, promise);
     }
 
@@ -60,4 +76,40 @@ final class SimpleChannelPoolAwareChannelPool implements ChannelPool {
         return simpleChannelPool;
     }
 
+    /**
+     * @return True if this pool has no open connections and nothing has been acquired from it for the given amount of time.
+     */
+    boolean isIdleFor(long idleNanos) {
+        return simpleChannelPool.openChannels() == 0 && System.nanoTime() - lastAcquireNanos > idleNanos;
+    }
+
+    /**
+     * @return The current statistics of this pool. Only counters are read, so this never waits on the event loops.
+     */
+    ConnectionPoolStatistics statistics(String endpoint, int maxConnections) {
+        return statisticsRecorder.toStatistics()
+                                 .endpoint(endpoint)
+                                 .idleConnections(simpleChannelPool.idleChannels())
+                                 .maxConnections(maxConnections)
+                                 .build();
+    }
+
+    private GenericFutureListener<Future<Channel>> recordAcquire(long startNanos) {
+        return future -> {
+            if (future.isSuccess()) {
+                future.getNow().attr(IS_LEASED).set(new AtomicBoolean(true));
+                statisticsRecorder.acquireSucceeded(startNanos);
+            } else {
+                statisticsRecorder.acquireFailed();
+            }
+        };
+    }
+
+    private void recordRelease(Channel channel) {
+        // A channel may be released more than once, only the first release ends the lease.
+        AtomicBoolean isLeased = channel.attr(IS_LEASED).get();
+        if (isLeased != null && isLeased.compareAndSet(true, false)) {
+            statisticsRecorder.released();
+        }
+    }
 }
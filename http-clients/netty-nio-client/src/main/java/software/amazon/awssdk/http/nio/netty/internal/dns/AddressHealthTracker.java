@@ -0,0 +1,82 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.dns;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Keeps track of resolved addresses that recently failed to accept a connection. An address marked as unhealthy is skipped
+ * by {@link RoundRobinHealthAwareNameResolver} until its quarantine period expires or a connection to it succeeds.
+ */
+@SdkInternalApi
+public final class AddressHealthTracker {
+    private static final Logger log = Logger.loggerFor(AddressHealthTracker.class);
+
+    private static final Duration DEFAULT_QUARANTINE_PERIOD = Duration.ofSeconds(30);
+
+    private final Map<InetAddress, Long> unhealthyUntilNanos = new ConcurrentHashMap<>();
+    private final long quarantineNanos;
+    private final LongSupplier nanoClock;
+
+    public AddressHealthTracker() {
+        this(DEFAULT_QUARANTINE_PERIOD, System::nanoTime);
+    }
+
+    @SdkTestInternalApi
+    AddressHealthTracker(Duration quarantinePeriod, LongSupplier nanoClock) {
+        this.quarantineNanos = quarantinePeriod.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Record that a connection to the given address could not be established.
+     */
+    public void markUnhealthy(InetAddress address) {
+        log.debug(() -> "Marking " + address + " as unhealthy for " + Duration.ofNanos(quarantineNanos));
+        unhealthyUntilNanos.put(address, nanoClock.getAsLong() + quarantineNanos);
+    }
+
+    /**
+     * Record that a connection to the given address was established successfully.
+     */
+    public void markHealthy(InetAddress address) {
+        unhealthyUntilNanos.remove(address);
+    }
+
+    /**
+     * @return True if the address has not failed recently, or its quarantine period has passed.
+     */
+    public boolean isHealthy(InetAddress address) {
+        Long unhealthyUntil = unhealthyUntilNanos.get(address);
+        if (unhealthyUntil == null) {
+            return true;
+        }
+
+        if (nanoClock.getAsLong() - unhealthyUntil >= 0) {
+            unhealthyUntilNanos.remove(address, unhealthyUntil);
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.dns;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Observes the outcome of the connect attempt on a newly created channel and reports it to the {@link AddressHealthTracker},
+ * so that addresses which refuse connections are skipped when the next connection to the same host is created.
+ */
+@SdkInternalApi
+@ChannelHandler.Sharable
+public final class AddressHealthTrackingHandler extends ChannelOutboundHandlerAdapter {
+    private final AddressHealthTracker healthTracker;
+
+    public AddressHealthTrackingHandler(AddressHealthTracker healthTracker) {
+        this.healthTracker = healthTracker;
+    }
+
+    @Override
+    public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress,
+                        ChannelPromise promise) {
+        if (remoteAddress instanceof InetSocketAddress && !((InetSocketAddress) remoteAddress).isUnresolved()) {
+            InetAddress address = ((InetSocketAddress) remoteAddress).getAddress();
+            promise.addListener(f -> {
+                if (f.isSuccess()) {
+                    healthTracker.markHealthy(address);
+                } else if (!f.isCancelled()) {
+                    healthTracker.markUnhealthy(address);
+                }
+            });
+        }
+        ctx.connect(remoteAddress, localAddress, promise);
+    }
+}
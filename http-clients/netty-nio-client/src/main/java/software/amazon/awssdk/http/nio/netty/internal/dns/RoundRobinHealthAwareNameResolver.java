@@ -0,0 +1,124 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.dns;
+
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.NameResolver;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * A {@link InetNameResolver} that resolves all addresses of a host using the delegate resolver and hands them out in a
+ * round-robin fashion, so that consecutive connections to the same host are spread across every address returned by DNS.
+ * Addresses that {@link AddressHealthTracker} currently considers unhealthy are skipped, unless every address for the host
+ * is unhealthy.
+ */
+@SdkInternalApi
+public final class RoundRobinHealthAwareNameResolver extends InetNameResolver {
+    private final NameResolver<InetAddress> delegate;
+    private final AddressHealthTracker healthTracker;
+    private final ConcurrentMap<String, AtomicInteger> hostIndexes;
+
+    /**
+     * @param executor The executor used to notify the futures returned by this resolver.
+     * @param delegate The resolver that performs the actual lookup. It is closed when this resolver is closed.
+     * @param healthTracker The tracker of addresses that recently failed to connect.
+     * @param hostIndexes The round-robin position of each host. This is shared by all resolvers of the same client, so that
+     * connections created on different event loops are spread as well.
+     */
+    public RoundRobinHealthAwareNameResolver(EventExecutor executor,
+                                             NameResolver<InetAddress> delegate,
+                                             AddressHealthTracker healthTracker,
+                                             ConcurrentMap<String, AtomicInteger> hostIndexes) {
+        super(executor);
+        this.delegate = delegate;
+        this.healthTracker = healthTracker;
+        this.hostIndexes = hostIndexes;
+    }
+
+    @Override
+    protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+        delegate.resolveAll(inetHost).addListener((FutureListener<List<InetAddress>>) f -> {
+            if (!f.isSuccess()) {
+                promise.tryFailure(f.cause());
+                return;
+            }
+
+            List<InetAddress> addresses = f.getNow();
+            if (addresses.isEmpty()) {
+                promise.tryFailure(new UnknownHostException(inetHost));
+                return;
+            }
+            promise.trySuccess(addresses.get(nextHealthyIndex(inetHost, addresses)));
+        });
+    }
+
+    @Override
+    protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+        delegate.resolveAll(inetHost).addListener((FutureListener<List<InetAddress>>) f -> {
+            if (!f.isSuccess()) {
+                promise.tryFailure(f.cause());
+                return;
+            }
+
+            List<InetAddress> addresses = f.getNow();
+            if (addresses.isEmpty()) {
+                promise.trySuccess(addresses);
+                return;
+            }
+            promise.trySuccess(rotate(addresses, nextHealthyIndex(inetHost, addresses)));
+        });
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    /**
+     * Advance the round-robin position for the host and return the index of the first healthy address at or after it. If no
+     * address is healthy, the address at the round-robin position is returned so that connections are still attempted.
+     */
+    private int nextHealthyIndex(String inetHost, List<InetAddress> addresses) {
+        int size = addresses.size();
+        int start = Math.floorMod(hostIndexes.computeIfAbsent(inetHost, h -> new AtomicInteger()).getAndIncrement(), size);
+
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            if (healthTracker.isHealthy(addresses.get(index))) {
+                return index;
+            }
+        }
+
+        return start;
+    }
+
+    private static List<InetAddress> rotate(List<InetAddress> addresses, int start) {
+        List<InetAddress> result = new ArrayList<>(addresses.size());
+        for (int i = 0; i < addresses.size(); i++) {
+            result.add(addresses.get((start + i) % addresses.size()));
+        }
+        return result;
+    }
+}
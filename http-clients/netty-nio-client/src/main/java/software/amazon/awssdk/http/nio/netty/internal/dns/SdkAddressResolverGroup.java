@@ -0,0 +1,103 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.dns;
+
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoop;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.DefaultNameResolver;
+import io.netty.resolver.NameResolver;
+import io.netty.resolver.dns.DefaultDnsCache;
+import io.netty.resolver.dns.DnsCache;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.util.concurrent.EventExecutor;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * The {@link AddressResolverGroup} used by the bootstraps of a single Netty client. Every event loop gets its own
+ * {@link RoundRobinHealthAwareNameResolver}, but the round-robin positions, the {@link AddressHealthTracker} and the DNS
+ * cache are shared by all of them.
+ *
+ * <p>When created with {@link #nonBlocking(ChannelFactory, AddressHealthTracker)} lookups are performed asynchronously on the
+ * event loop by Netty's DNS resolver, which caches records for their TTL. Otherwise lookups are delegated to the JDK's
+ * blocking resolver, as is the default for Netty.
+ */
+@SdkInternalApi
+public final class SdkAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+    private final ChannelFactory<? extends DatagramChannel> datagramChannelFactory;
+    private final AddressHealthTracker healthTracker;
+    private final DnsCache dnsCache = new DefaultDnsCache();
+    private final ConcurrentMap<String, AtomicInteger> hostIndexes = new ConcurrentHashMap<>();
+
+    private SdkAddressResolverGroup(ChannelFactory<? extends DatagramChannel> datagramChannelFactory,
+                                    AddressHealthTracker healthTracker) {
+        this.datagramChannelFactory = datagramChannelFactory;
+        this.healthTracker = healthTracker;
+    }
+
+    /**
+     * Create a resolver group that uses Netty's asynchronous DNS resolver.
+     *
+     * @param datagramChannelFactory The factory for the UDP channels used to query the name servers. It must be compatible
+     * with the event loop group the client runs on.
+     * @param healthTracker The tracker of addresses that recently failed to connect.
+     */
+    public static SdkAddressResolverGroup nonBlocking(ChannelFactory<? extends DatagramChannel> datagramChannelFactory,
+                                                      AddressHealthTracker healthTracker) {
+        return new SdkAddressResolverGroup(datagramChannelFactory, healthTracker);
+    }
+
+    /**
+     * Create a resolver group that uses the JDK's blocking resolver.
+     *
+     * @param healthTracker The tracker of addresses that recently failed to connect.
+     */
+    public static SdkAddressResolverGroup blocking(AddressHealthTracker healthTracker) {
+        return new SdkAddressResolverGroup(null, healthTracker);
+    }
+
+    public AddressHealthTracker healthTracker() {
+        return healthTracker;
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new RoundRobinHealthAwareNameResolver(executor, newNameResolver(executor), healthTracker, hostIndexes)
+            .asAddressResolver();
+    }
+
+    private NameResolver<InetAddress> newNameResolver(EventExecutor executor) {
+        if (datagramChannelFactory == null) {
+            return new DefaultNameResolver(executor);
+        }
+
+        if (!(executor instanceof EventLoop)) {
+            throw new IllegalStateException("Unsupported executor type: " + executor.getClass().getName()
+                                            + " (expected: " + EventLoop.class.getName() + ")");
+        }
+
+        return new DnsNameResolverBuilder((EventLoop) executor).channelFactory(datagramChannelFactory)
+                                                               .resolveCache(dnsCache)
+                                                               .build();
+    }
+}
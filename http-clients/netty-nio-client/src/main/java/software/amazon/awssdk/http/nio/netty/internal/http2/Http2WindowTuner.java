@@ -0,0 +1,207 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.http2;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.DefaultHttp2SettingsFrame;
+import io.netty.handler.codec.http2.DefaultHttp2WindowUpdateFrame;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import io.netty.handler.codec.http2.Http2Settings;
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Sizes the inbound flow-control windows of an HTTP/2 connection to its bandwidth-delay product, so that a single stream
+ * can use the whole bandwidth of a long round-trip link without every connection reserving a large window up front.
+ *
+ * <p>When data is received and no estimate is in progress, a {@code PING} is sent and the bytes received until its
+ * {@code ACK} arrives are counted. That count is one round trip's worth of data, i.e. a sample of the bandwidth-delay
+ * product. If the sample fills most of the current window and the bandwidth is the highest seen so far, the sender is
+ * likely limited by the window, so both the connection window and the initial stream window are raised to twice the
+ * sample, up to the configured maximum. Windows are never shrunk.
+ *
+ * <p>This handler is added after the {@code Http2MultiplexHandler} to receive the {@code PING} acknowledgements, and its
+ * {@link #byteCounter()} is added before the {@code Http2FrameCodec} to count the bytes read from the connection. Both
+ * are only used from the connection's event loop.
+ */
+@SdkInternalApi
+public final class Http2WindowTuner extends SimpleChannelInboundHandler<Http2PingFrame> {
+    private static final Logger log = Logger.loggerFor(Http2WindowTuner.class);
+
+    /**
+     * "SDK-BDP" in ASCII, to tell the acknowledgements of estimation pings from those of the health check pings.
+     */
+    static final long BDP_PING_CONTENT = 0x53444B2D424450L;
+
+    /**
+     * Grow the window when a sample fills at least this fraction of it.
+     */
+    private static final double GROWTH_THRESHOLD = 2.0 / 3.0;
+
+    private final Http2WindowTuning tuning;
+    private final int maxWindowSize;
+    private final ChannelHandler byteCounter = new ByteCounter();
+
+    private Channel channel;
+    private boolean started;
+    private boolean pingOutstanding;
+    private long pingSentNanos;
+    private long sampleBytes;
+    private double maxBandwidth;
+
+    private volatile int connectionWindowSize = Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+    private volatile int streamWindowSize;
+
+    Http2WindowTuner(Http2WindowTuning tuning, int initialWindowSize, int maxWindowSize) {
+        super(false);
+        this.tuning = tuning;
+        this.streamWindowSize = initialWindowSize;
+        this.maxWindowSize = Math.max(initialWindowSize, maxWindowSize);
+    }
+
+    /**
+     * @return The handler counting the bytes read from the connection, to be added before the HTTP/2 codec.
+     */
+    public ChannelHandler byteCounter() {
+        return byteCounter;
+    }
+
+    int connectionWindowSize() {
+        return connectionWindowSize;
+    }
+
+    int streamWindowSize() {
+        return streamWindowSize;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        channel = ctx.channel();
+        CompletableFuture<Protocol> protocolFuture = channel.attr(ChannelAttributeKey.PROTOCOL_FUTURE).get();
+        Validate.validState(protocolFuture != null, "Protocol future must be initialized before handler is added.");
+        protocolFuture.thenAccept(p -> channel.eventLoop().execute(() -> start(p)));
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        tuning.unregister(this);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        tuning.unregister(this);
+        ctx.fireChannelInactive();
+    }
+
+    private void start(Protocol protocol) {
+        if (protocol != Protocol.HTTP2 || started || !channel.isActive()) {
+            return;
+        }
+        started = true;
+        tuning.register(this);
+
+        // The connection window starts at the protocol default regardless of the initial stream window, so raise it to
+        // allow at least one stream to use its whole window.
+        if (connectionWindowSize < streamWindowSize) {
+            channel.writeAndFlush(new DefaultHttp2WindowUpdateFrame(streamWindowSize - connectionWindowSize));
+            connectionWindowSize = streamWindowSize;
+        }
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, Http2PingFrame frame) {
+        if (frame.ack() && frame.content() == BDP_PING_CONTENT) {
+            onPingAck();
+        } else {
+            ctx.fireChannelRead(frame);
+        }
+    }
+
+    private void onBytesRead(int bytes) {
+        if (!started) {
+            return;
+        }
+
+        if (pingOutstanding) {
+            sampleBytes += bytes;
+            return;
+        }
+
+        if (connectionWindowSize < maxWindowSize) {
+            pingOutstanding = true;
+            sampleBytes = bytes;
+            pingSentNanos = System.nanoTime();
+            channel.writeAndFlush(new DefaultHttp2PingFrame(BDP_PING_CONTENT, false));
+        }
+    }
+
+    private void onPingAck() {
+        if (!pingOutstanding) {
+            return;
+        }
+        pingOutstanding = false;
+
+        long rttNanos = Math.max(System.nanoTime() - pingSentNanos, 1);
+        double bandwidth = (double) sampleBytes / rttNanos;
+        if (bandwidth < maxBandwidth) {
+            return;
+        }
+        maxBandwidth = bandwidth;
+
+        if (sampleBytes < connectionWindowSize * GROWTH_THRESHOLD) {
+            return;
+        }
+
+        int newWindowSize = (int) Math.min(2 * sampleBytes, maxWindowSize);
+        if (newWindowSize <= connectionWindowSize) {
+            return;
+        }
+
+        long sample = sampleBytes;
+        log.debug(() -> String.format("Growing the HTTP/2 windows of %s to %d bytes, after receiving %d bytes in %d us.",
+                                      channel, newWindowSize, sample, rttNanos / 1000));
+        channel.write(new DefaultHttp2WindowUpdateFrame(newWindowSize - connectionWindowSize));
+        connectionWindowSize = newWindowSize;
+        if (newWindowSize > streamWindowSize) {
+            // Applied to the open and future streams once the server acknowledges the settings
+            channel.write(new DefaultHttp2SettingsFrame(new Http2Settings().initialWindowSize(newWindowSize)));
+            streamWindowSize = newWindowSize;
+        }
+        channel.flush();
+        tuning.windowIncreased();
+    }
+
+    private final class ByteCounter extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof ByteBuf) {
+                onBytesRead(((ByteBuf) msg).readableBytes());
+            }
+            ctx.fireChannelRead(msg);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.http2;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * The window auto-tuning settings of a client, and the registry of the {@link Http2WindowTuner}s of its open HTTP/2
+ * connections, from which the window statistics are computed.
+ */
+@SdkInternalApi
+public final class Http2WindowTuning {
+    private final int maxWindowSize;
+    private final Set<Http2WindowTuner> tuners = ConcurrentHashMap.newKeySet();
+    private final LongAdder windowIncreases = new LongAdder();
+
+    public Http2WindowTuning(int maxWindowSize) {
+        this.maxWindowSize = maxWindowSize;
+    }
+
+    /**
+     * Create the tuner of a new connection whose streams start with the given window size.
+     */
+    public Http2WindowTuner newTuner(int initialWindowSize) {
+        return new Http2WindowTuner(this, initialWindowSize, maxWindowSize);
+    }
+
+    public int maxWindowSize() {
+        return maxWindowSize;
+    }
+
+    /**
+     * @return The number of open connections whose windows are tuned.
+     */
+    public int connections() {
+        return tuners.size();
+    }
+
+    /**
+     * @return The sum of the connection windows of the open connections, i.e. the number of bytes the servers may send to
+     * this client without waiting for it.
+     */
+    public long totalConnectionWindowSize() {
+        long total = 0;
+        for (Http2WindowTuner tuner : tuners) {
+            total += tuner.connectionWindowSize();
+        }
+        return total;
+    }
+
+    /**
+     * @return The largest connection window of the open connections.
+     */
+    public int maxConnectionWindowSize() {
+        int max = 0;
+        for (Http2WindowTuner tuner : tuners) {
+            max = Math.max(max, tuner.connectionWindowSize());
+        }
+        return max;
+    }
+
+    /**
+     * @return The largest initial stream window of the open connections.
+     */
+    public int maxStreamWindowSize() {
+        int max = 0;
+        for (Http2WindowTuner tuner : tuners) {
+            max = Math.max(max, tuner.streamWindowSize());
+        }
+        return max;
+    }
+
+    /**
+     * @return The number of times the windows of a connection were grown.
+     */
+    public long windowIncreases() {
+        return windowIncreases.sum();
+    }
+
+    void register(Http2WindowTuner tuner) {
+        tuners.add(tuner);
+    }
+
+    void unregister(Http2WindowTuner tuner) {
+        tuners.remove(tuner);
+    }
+
+    void windowIncreased() {
+        windowIncreases.increment();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.utils;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.buffer.UnpooledDirectByteBuf;
+import java.nio.ByteBuffer;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.SdkBufferPool;
+
+/**
+ * Wraps a direct {@link ByteBuffer} without copying it, and returns it to the {@link SdkBufferPool} it was leased from once
+ * Netty has written it out and released the {@link ByteBuf}.
+ */
+@SdkInternalApi
+public final class BufferPoolReturningByteBuf extends UnpooledDirectByteBuf {
+    private final ByteBuffer original;
+
+    private BufferPoolReturningByteBuf(ByteBuffer original) {
+        super(UnpooledByteBufAllocator.DEFAULT, original, original.remaining());
+        this.original = original;
+    }
+
+    /**
+     * Wrap the remaining bytes of the given buffer. Direct buffers are returned to the pool when the {@link ByteBuf} is
+     * released; heap buffers are wrapped as usual since the pool never hands them out.
+     */
+    public static ByteBuf wrap(ByteBuffer buffer) {
+        if (!buffer.isDirect() || !buffer.hasRemaining()) {
+            return Unpooled.wrappedBuffer(buffer);
+        }
+        return new BufferPoolReturningByteBuf(buffer);
+    }
+
+    @Override
+    protected void deallocate() {
+        super.deallocate();
+        SdkBufferPool.releaseToOwningPool(original);
+    }
+}
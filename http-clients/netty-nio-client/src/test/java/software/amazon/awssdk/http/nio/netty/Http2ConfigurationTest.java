@@ -48,6 +48,8 @@ public class Http2ConfigurationTest {
         Http2Configuration config1 = Http2Configuration.builder()
                 .maxStreams(7L)
                 .initialWindowSize(42)
+                .autoTuneWindowSize(true)
+                .maxWindowSize(1024)
                 .build();
 
         Http2Configuration config2 = config1.toBuilder().build();
@@ -88,4 +90,18 @@ public class Http2ConfigurationTest {
         expected.expect(IllegalArgumentException.class);
         Http2Configuration.builder().initialWindowSize(0);
     }
+
+    @Test
+    public void builder_maxWindowSize_0_throws() {
+        expected.expect(IllegalArgumentException.class);
+        Http2Configuration.builder().maxWindowSize(0);
+    }
+
+    @Test
+    public void equals_differentAutoTuning_notEqual() {
+        Http2Configuration config1 = Http2Configuration.builder().autoTuneWindowSize(true).build();
+        Http2Configuration config2 = Http2Configuration.builder().autoTuneWindowSize(false).build();
+
+        assertThat(config1).isNotEqualTo(config2);
+    }
 }
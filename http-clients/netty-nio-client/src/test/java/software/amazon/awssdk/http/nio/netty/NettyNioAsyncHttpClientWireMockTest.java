@@ -56,6 +56,8 @@ import io.netty.util.AttributeKey;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -89,6 +91,7 @@ import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.async.SdkHttpFileContentPublisher;
 import software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration;
 import software.amazon.awssdk.http.nio.netty.internal.SdkChannelPoolMap;
 import software.amazon.awssdk.utils.AttributeMap;
@@ -494,6 +497,69 @@ public class NettyNioAsyncHttpClientWireMockTest {
         assertThat(wiremockTrafficListener.requests().toString()).endsWith(content);
     }
 
+    @Test
+    public void contentOfUnknownLength_isSentChunked() throws Exception {
+        String content = randomAlphabetic(5_000);
+        stubFor(any(urlEqualTo("/upload")).withHeader("Transfer-Encoding", equalTo("chunked"))
+                                          .withRequestBody(equalTo(content))
+                                          .willReturn(aResponse()));
+        URI uri = URI.create("http://localhost:" + mockServer.port());
+
+        SdkHttpFullRequest request = createRequest(uri, "/upload", null, SdkHttpMethod.PUT, emptyMap());
+        SdkHttpContentPublisher publisher = createProvider(content);
+        SdkHttpContentPublisher unknownLengthPublisher = new SdkHttpContentPublisher() {
+            @Override
+            public Optional<Long> contentLength() {
+                return Optional.empty();
+            }
+
+            @Override
+            public void subscribe(Subscriber<? super ByteBuffer> s) {
+                publisher.subscribe(s);
+            }
+        };
+        RecordingResponseHandler recorder = new RecordingResponseHandler();
+
+        client.execute(AsyncExecuteRequest.builder().request(request).requestContentPublisher(unknownLengthPublisher).responseHandler(recorder).build());
+
+        recorder.completeFuture.get(5, TimeUnit.SECONDS);
+        assertThat(recorder.responses).hasOnlyOneElementSatisfying(r -> assertThat(r.statusCode()).isEqualTo(200));
+    }
+
+    @Test
+    public void fileContent_plaintext_isSentFromFileWithoutSubscribing() throws Exception {
+        String content = randomAlphabetic(100_000);
+        stubFor(any(urlEqualTo("/upload")).withRequestBody(equalTo(content)).willReturn(aResponse()));
+        URI uri = URI.create("http://localhost:" + mockServer.port());
+
+        FileContentPublisher publisher = new FileContentPublisher(writeToFile(content), createProvider(content));
+        SdkHttpFullRequest request = createRequest(uri, "/upload", content, SdkHttpMethod.PUT, emptyMap());
+        RecordingResponseHandler recorder = new RecordingResponseHandler();
+
+        client.execute(AsyncExecuteRequest.builder().request(request).requestContentPublisher(publisher).responseHandler(recorder).build());
+
+        recorder.completeFuture.get(5, TimeUnit.SECONDS);
+        assertThat(recorder.responses).hasOnlyOneElementSatisfying(r -> assertThat(r.statusCode()).isEqualTo(200));
+        assertThat(publisher.subscribed).isFalse();
+    }
+
+    @Test
+    public void fileContent_tls_isSentByPublisher() throws Exception {
+        String content = randomAlphabetic(100_000);
+        stubFor(any(urlEqualTo("/upload")).withRequestBody(equalTo(content)).willReturn(aResponse()));
+        URI uri = URI.create("https://localhost:" + mockServer.httpsPort());
+
+        FileContentPublisher publisher = new FileContentPublisher(writeToFile(content), createProvider(content));
+        SdkHttpFullRequest request = createRequest(uri, "/upload", content, SdkHttpMethod.PUT, emptyMap());
+        RecordingResponseHandler recorder = new RecordingResponseHandler();
+
+        client.execute(AsyncExecuteRequest.builder().request(request).requestContentPublisher(publisher).responseHandler(recorder).build());
+
+        recorder.completeFuture.get(5, TimeUnit.SECONDS);
+        assertThat(recorder.responses).hasOnlyOneElementSatisfying(r -> assertThat(r.statusCode()).isEqualTo(200));
+        assertThat(publisher.subscribed).isTrue();
+    }
+
     @Test
     public void closeMethodClosesOpenedChannels() throws InterruptedException, TimeoutException, ExecutionException {
         String body = randomAlphabetic(10);
@@ -583,6 +649,39 @@ public class NettyNioAsyncHttpClientWireMockTest {
         };
     }
 
+    private static Path writeToFile(String content) throws IOException {
+        Path file = Files.createTempFile("netty-file-content", ".txt");
+        file.toFile().deleteOnExit();
+        return Files.write(file, content.getBytes(UTF_8));
+    }
+
+    private static final class FileContentPublisher implements SdkHttpFileContentPublisher {
+        private final Path path;
+        private final SdkHttpContentPublisher delegate;
+        private volatile boolean subscribed;
+
+        private FileContentPublisher(Path path, SdkHttpContentPublisher delegate) {
+            this.path = path;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Path path() {
+            return path;
+        }
+
+        @Override
+        public Optional<Long> contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> s) {
+            subscribed = true;
+            delegate.subscribe(s);
+        }
+    }
+
     private SdkHttpFullRequest createRequest(URI uri) {
         return createRequest(uri, "/", null, SdkHttpMethod.GET, emptyMap());
     }
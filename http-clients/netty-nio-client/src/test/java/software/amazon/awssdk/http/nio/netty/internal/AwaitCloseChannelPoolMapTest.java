@@ -173,4 +173,48 @@ public class AwaitCloseChannelPoolMapTest {
         verify(provider).keyManagers();
     }
 
+    @Test
+    public void wildcardHostGroup_s3VirtualHostedEndpoints_shareGroup() {
+        assertThat(AwaitCloseChannelPoolMap.wildcardHostGroup(URI.create("https://bucket-1.s3.us-west-2.amazonaws.com:443")))
+            .contains("https://*.s3.us-west-2.amazonaws.com:443");
+        assertThat(AwaitCloseChannelPoolMap.wildcardHostGroup(URI.create("https://bucket-2.s3.us-west-2.amazonaws.com:443")))
+            .contains("https://*.s3.us-west-2.amazonaws.com:443");
+        assertThat(AwaitCloseChannelPoolMap.wildcardHostGroup(URI.create("https://bucket.s3.amazonaws.com:443")))
+            .contains("https://*.s3.amazonaws.com:443");
+        assertThat(AwaitCloseChannelPoolMap.wildcardHostGroup(URI.create("https://bucket.s3-us-west-2.amazonaws.com:443")))
+            .contains("https://*.s3-us-west-2.amazonaws.com:443");
+    }
+
+    @Test
+    public void wildcardHostGroup_otherHosts_noGroup() {
+        assertThat(AwaitCloseChannelPoolMap.wildcardHostGroup(URI.create("https://s3.us-west-2.amazonaws.com:443"))).isEmpty();
+        assertThat(AwaitCloseChannelPoolMap.wildcardHostGroup(URI.create("https://my.bucket.s3.us-west-2.amazonaws.com:443")))
+            .isEmpty();
+        assertThat(AwaitCloseChannelPoolMap.wildcardHostGroup(URI.create("https://dynamodb.us-west-2.amazonaws.com:443")))
+            .isEmpty();
+    }
+
+    @Test
+    public void maxTotalConnections_limitsConnectionsAcrossPools() {
+        channelPoolMap = AwaitCloseChannelPoolMap.builder()
+                .sdkChannelOptions(new SdkChannelOptions())
+                .sdkEventLoopGroup(SdkEventLoopGroup.builder().build())
+                .configuration(new NettyConfiguration(GLOBAL_HTTP_DEFAULTS))
+                .protocol(Protocol.HTTP1_1)
+                .maxTotalConnections(1)
+                .build();
+
+        SimpleChannelPoolAwareChannelPool first = channelPoolMap.get(URI.create("http://localhost:" + mockProxy.port()));
+        SimpleChannelPoolAwareChannelPool second = channelPoolMap.get(URI.create("http://127.0.0.1:" + mockProxy.port()));
+
+        Future<Channel> firstChannel = first.underlyingSimpleChannelPool().acquire().awaitUninterruptibly();
+        assertThat(firstChannel.isSuccess()).isTrue();
+
+        Future<Channel> secondChannel = second.underlyingSimpleChannelPool().acquire();
+        assertThat(secondChannel.awaitUninterruptibly(500)).isFalse();
+
+        firstChannel.getNow().close();
+        assertThat(secondChannel.awaitUninterruptibly().isSuccess()).isTrue();
+        second.underlyingSimpleChannelPool().release(secondChannel.getNow()).awaitUninterruptibly();
+    }
 }
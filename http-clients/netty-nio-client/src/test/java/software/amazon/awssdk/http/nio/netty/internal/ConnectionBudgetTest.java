@@ -0,0 +1,82 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.Test;
+
+public class ConnectionBudgetTest {
+    private final ConnectionBudget budget = new ConnectionBudget(2);
+
+    @Test
+    public void acquire_belowLimit_succeedsImmediately() {
+        assertThat(budget.acquire(newPromise()).isSuccess()).isTrue();
+        assertThat(budget.acquire(newPromise()).isSuccess()).isTrue();
+        assertThat(budget.openConnections()).isEqualTo(2);
+    }
+
+    @Test
+    public void acquire_atLimit_waitsForRelease() {
+        budget.acquire(newPromise());
+        budget.acquire(newPromise());
+
+        Promise<Void> pending = newPromise();
+        budget.acquire(pending);
+        assertThat(pending.isDone()).isFalse();
+
+        budget.release();
+        assertThat(pending.isSuccess()).isTrue();
+        assertThat(budget.openConnections()).isEqualTo(2);
+    }
+
+    @Test
+    public void release_skipsAcquisitionsCompletedByCaller() {
+        budget.acquire(newPromise());
+        budget.acquire(newPromise());
+
+        Promise<Void> timedOut = newPromise();
+        Promise<Void> pending = newPromise();
+        budget.acquire(timedOut);
+        budget.acquire(pending);
+        timedOut.tryFailure(new RuntimeException("Timed out"));
+
+        budget.release();
+        assertThat(pending.isSuccess()).isTrue();
+        assertThat(budget.openConnections()).isEqualTo(2);
+    }
+
+    @Test
+    public void release_noPendingAcquisitions_returnsPermit() {
+        budget.acquire(newPromise());
+        budget.release();
+        assertThat(budget.openConnections()).isEqualTo(0);
+    }
+
+    @Test
+    public void forceAcquire_exceedsLimit() {
+        budget.acquire(newPromise());
+        budget.acquire(newPromise());
+        budget.forceAcquire();
+        assertThat(budget.openConnections()).isEqualTo(3);
+    }
+
+    private static Promise<Void> newPromise() {
+        return ImmediateEventExecutor.INSTANCE.newPromise();
+    }
+}
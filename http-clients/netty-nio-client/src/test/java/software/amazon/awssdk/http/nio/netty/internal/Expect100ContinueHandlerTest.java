@@ -0,0 +1,168 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.typesafe.netty.http.DefaultStreamedHttpRequest;
+import com.typesafe.netty.http.StreamedHttpRequest;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import java.time.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class Expect100ContinueHandlerTest {
+    private static final Duration TIMEOUT = Duration.ofMillis(10);
+
+    private EmbeddedChannel channel;
+    private Expect100ContinueHandler handler;
+    private RecordingBody body;
+    private RecordingSubscriber bodySubscriber;
+
+    @Before
+    public void setup() {
+        handler = new Expect100ContinueHandler(TIMEOUT);
+        channel = new EmbeddedChannel(handler);
+        body = new RecordingBody();
+        bodySubscriber = new RecordingSubscriber();
+
+        StreamedHttpRequest request = handler.holdBody(new DefaultStreamedHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.PUT,
+                                                                                      "/", body));
+        HttpUtil.setContentLength(request, 1024);
+        channel.writeOutbound(request);
+        request.subscribe(bodySubscriber);
+        bodySubscriber.subscription.request(1);
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void writtenRequest_expectsContinue() {
+        HttpRequest written = channel.readOutbound();
+
+        assertThat(written.headers().get(HttpHeaderNames.EXPECT)).isEqualToIgnoringCase("100-continue");
+    }
+
+    @Test
+    public void continueResponse_releasesHeldDemandAndIsNotPassedOn() {
+        assertThat(body.requested).isEqualTo(0);
+
+        channel.writeInbound(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE));
+        channel.writeInbound(LastHttpContent.EMPTY_LAST_CONTENT);
+
+        assertThat(body.requested).isEqualTo(1);
+        assertThat((Object) channel.readInbound()).isNull();
+
+        bodySubscriber.subscription.request(2);
+        assertThat(body.requested).isEqualTo(3);
+    }
+
+    @Test
+    public void finalResponseBeforeContinue_bodyIsNotSentAndConnectionIsClosedAfterResponse() {
+        HttpResponse forbidden = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.FORBIDDEN);
+        channel.writeInbound(forbidden);
+
+        assertThat(body.requested).isEqualTo(0);
+        assertThat(body.cancelled).isTrue();
+        assertThat(bodySubscriber.completed).isTrue();
+
+        HttpResponse passedOn = channel.readInbound();
+        assertThat(passedOn).isSameAs(forbidden);
+        assertThat(HttpUtil.isKeepAlive(passedOn)).isFalse();
+    }
+
+    @Test
+    public void noResponseWithinTimeout_bodyIsSent() throws InterruptedException {
+        Thread.sleep(TIMEOUT.toMillis() * 5);
+        channel.runScheduledPendingTasks();
+
+        assertThat(body.requested).isEqualTo(1);
+    }
+
+    @Test
+    public void continueAfterTimeout_isNotPassedOn() throws InterruptedException {
+        Thread.sleep(TIMEOUT.toMillis() * 5);
+        channel.runScheduledPendingTasks();
+
+        channel.writeInbound(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE));
+        channel.writeInbound(LastHttpContent.EMPTY_LAST_CONTENT);
+        HttpResponse ok = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        channel.writeInbound(ok);
+
+        assertThat((Object) channel.readInbound()).isSameAs(ok);
+        assertThat(HttpUtil.isKeepAlive(ok)).isTrue();
+    }
+
+    private static final class RecordingBody implements Publisher<HttpContent> {
+        private long requested;
+        private boolean cancelled;
+
+        @Override
+        public void subscribe(Subscriber<? super HttpContent> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    requested += n;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    private static final class RecordingSubscriber implements Subscriber<HttpContent> {
+        private Subscription subscription;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(HttpContent content) {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
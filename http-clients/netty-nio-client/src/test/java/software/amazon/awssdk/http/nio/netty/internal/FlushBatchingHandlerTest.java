@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FlushBatchingHandlerTest {
+    private static final int THRESHOLD = 100;
+
+    private FlushBatching flushBatching;
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setup() {
+        flushBatching = new FlushBatching(THRESHOLD);
+        channel = new EmbeddedChannel(flushBatching.newHandler());
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void smallWrites_areFlushedOnceAtEndOfEventLoopTick() {
+        writeAndFlush(10);
+        writeAndFlush(10);
+        writeAndFlush(10);
+        assertThat(channel.outboundMessages()).isEmpty();
+
+        channel.runPendingTasks();
+
+        assertThat(channel.outboundMessages()).hasSize(3);
+        assertThat(flushBatching.flushesRequested()).isEqualTo(3);
+        assertThat(flushBatching.flushesWritten()).isEqualTo(1);
+    }
+
+    @Test
+    public void thresholdReached_flushesImmediately() {
+        writeAndFlush(60);
+        assertThat(channel.outboundMessages()).isEmpty();
+
+        writeAndFlush(60);
+        assertThat(channel.outboundMessages()).hasSize(2);
+
+        channel.runPendingTasks();
+        assertThat(flushBatching.flushesWritten()).isEqualTo(1);
+    }
+
+    @Test
+    public void writesAfterScheduledFlush_areBatchedAgain() {
+        writeAndFlush(10);
+        channel.runPendingTasks();
+        writeAndFlush(10);
+        writeAndFlush(10);
+        channel.runPendingTasks();
+
+        assertThat(channel.outboundMessages()).hasSize(3);
+        assertThat(flushBatching.flushesWritten()).isEqualTo(2);
+    }
+
+    @Test
+    public void close_flushesPendingWrites() {
+        writeAndFlush(10);
+        channel.close();
+
+        assertThat(channel.outboundMessages()).hasSize(1);
+    }
+
+    @Test
+    public void nonPositiveThreshold_throws() {
+        assertThatThrownBy(() -> new FlushBatching(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void writeAndFlush(int bytes) {
+        channel.write(Unpooled.buffer(bytes).writerIndex(bytes));
+        channel.pipeline().flush();
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class ResponseReadAheadSubscriberTest {
+    private static final int CHUNK_SIZE = 100;
+
+    private ResponseReadAhead readAhead;
+    private RecordingSubscriber subscriber;
+    private ChunkSubscription upstream;
+
+    @Before
+    public void setup() {
+        readAhead = ResponseReadAhead.create(1000, 500);
+        subscriber = new RecordingSubscriber();
+        upstream = new ChunkSubscription(readAhead.wrap(subscriber), 100);
+    }
+
+    @Test
+    public void noDemand_readsUntilHighWatermark() {
+        upstream.start();
+
+        assertThat(upstream.published).isEqualTo(10);
+        assertThat(subscriber.received).isEmpty();
+        assertThat(readAhead.bufferedBytes()).isEqualTo(1000);
+        assertThat(readAhead.peakBufferedBytes()).isEqualTo(1000);
+        assertThat(readAhead.readPauses()).isEqualTo(1);
+        assertThat(readAhead.bufferingResponses()).isEqualTo(1);
+    }
+
+    @Test
+    public void drainedToLowWatermark_resumesReading() {
+        upstream.start();
+
+        subscriber.subscription.request(4);
+        assertThat(upstream.published).isEqualTo(10);
+        assertThat(readAhead.bufferedBytes()).isEqualTo(600);
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.received).hasSize(5);
+        assertThat(upstream.published).isEqualTo(15);
+        assertThat(readAhead.bufferedBytes()).isEqualTo(1000);
+        assertThat(readAhead.readPauses()).isEqualTo(2);
+    }
+
+    @Test
+    public void contentIsDeliveredInOrder() {
+        upstream.start();
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.received).hasSize(100);
+        for (int i = 0; i < subscriber.received.size(); i++) {
+            assertThat(subscriber.received.get(i).get(0)).isEqualTo((byte) i);
+        }
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    public void completion_isDeferredUntilBufferIsDrained() {
+        upstream = new ChunkSubscription(readAhead.wrap(subscriber), 3);
+        upstream.start();
+
+        assertThat(subscriber.completed).isFalse();
+        subscriber.subscription.request(2);
+        assertThat(subscriber.completed).isFalse();
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.received).hasSize(3);
+        assertThat(subscriber.completed).isTrue();
+        assertThat(readAhead.bufferingResponses()).isEqualTo(0);
+    }
+
+    @Test
+    public void error_isDeliveredImmediatelyAndBufferIsDiscarded() {
+        upstream.start();
+        upstream.subscriber.onError(new IOException("boom"));
+
+        assertThat(subscriber.error).hasMessage("boom");
+        assertThat(subscriber.received).isEmpty();
+        assertThat(readAhead.bufferedBytes()).isEqualTo(0);
+        assertThat(readAhead.bufferingResponses()).isEqualTo(0);
+    }
+
+    @Test
+    public void cancel_cancelsUpstreamAndDiscardsBuffer() {
+        upstream.start();
+        subscriber.subscription.cancel();
+
+        assertThat(upstream.cancelled).isTrue();
+        assertThat(readAhead.bufferedBytes()).isEqualTo(0);
+        assertThat(readAhead.bufferingResponses()).isEqualTo(0);
+    }
+
+    @Test
+    public void disabled_doesNotWrapSubscriber() {
+        assertThat(ResponseReadAhead.create(null, null).wrap(subscriber)).isSameAs(subscriber);
+        assertThat(ResponseReadAhead.create(0, null).enabled()).isFalse();
+    }
+
+    @Test
+    public void lowWatermarkDefaultsToHalfOfHighWatermark() {
+        assertThat(ResponseReadAhead.create(1000, null).lowWatermark()).isEqualTo(500);
+    }
+
+    @Test
+    public void lowWatermarkNotBelowHighWatermark_throws() {
+        assertThatThrownBy(() -> ResponseReadAhead.create(1000, 1000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ResponseReadAhead.create(null, 1000)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Publishes numbered chunks synchronously from {@link #request(long)}, like a channel whose reads complete immediately.
+     */
+    private static final class ChunkSubscription implements Subscription {
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private final int chunks;
+        private int published;
+        private boolean cancelled;
+        private boolean completed;
+
+        private ChunkSubscription(Subscriber<? super ByteBuffer> subscriber, int chunks) {
+            this.subscriber = subscriber;
+            this.chunks = chunks;
+        }
+
+        private void start() {
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            for (long i = 0; i < n && published < chunks && !cancelled; i++) {
+                ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+                chunk.put(0, (byte) published++);
+                subscriber.onNext(chunk);
+            }
+            if (published == chunks && !cancelled && !completed) {
+                completed = true;
+                subscriber.onComplete();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static final class RecordingSubscriber implements Subscriber<ByteBuffer> {
+        private final List<ByteBuffer> received = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            received.add(byteBuffer);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
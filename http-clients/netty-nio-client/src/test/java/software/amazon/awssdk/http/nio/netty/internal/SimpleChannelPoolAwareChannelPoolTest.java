@@ -0,0 +1,118 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import software.amazon.awssdk.http.ConnectionPoolStatistics;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SimpleChannelPoolAwareChannelPoolTest {
+    @Mock
+    private ChannelPool delegate;
+
+    private NioEventLoopGroup eventLoopGroup;
+    private SimpleChannelPoolAwareChannelPool channelPool;
+
+    @Before
+    public void setup() {
+        eventLoopGroup = new NioEventLoopGroup(1);
+        Bootstrap bootstrap = new Bootstrap().group(eventLoopGroup).channel(NioSocketChannel.class);
+        BetterSimpleChannelPool simpleChannelPool = new BetterSimpleChannelPool(bootstrap, new AbstractChannelPoolHandler() {
+            @Override
+            public void channelCreated(Channel ch) {
+            }
+        });
+        channelPool = new SimpleChannelPoolAwareChannelPool(delegate, simpleChannelPool);
+        when(delegate.acquire(any(Promise.class))).thenAnswer(i -> i.getArguments()[0]);
+    }
+
+    @After
+    public void tearDown() {
+        eventLoopGroup.shutdownGracefully();
+    }
+
+    @Test
+    public void statistics_pendingAcquire_isCountedAsPending() {
+        channelPool.acquire(newPromise());
+
+        ConnectionPoolStatistics statistics = channelPool.statistics("https://localhost:443", 10);
+        assertThat(statistics.pendingAcquires()).isEqualTo(1);
+        assertThat(statistics.leasedConnections()).isEqualTo(0);
+        assertThat(statistics.endpoint()).isEqualTo("https://localhost:443");
+        assertThat(statistics.maxConnections()).isEqualTo(10);
+    }
+
+    @Test
+    public void statistics_successfulAcquire_isCountedAsLeased() throws Exception {
+        Promise<Channel> promise = newPromise();
+        channelPool.acquire(promise);
+        promise.setSuccess(new MockChannel());
+
+        ConnectionPoolStatistics statistics = channelPool.statistics("https://localhost:443", 10);
+        assertThat(statistics.pendingAcquires()).isEqualTo(0);
+        assertThat(statistics.leasedConnections()).isEqualTo(1);
+        assertThat(statistics.acquireCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void statistics_failedAcquire_isCountedAsFailure() {
+        Promise<Channel> promise = newPromise();
+        channelPool.acquire(promise);
+        promise.setFailure(new RuntimeException("Too many pending acquires"));
+
+        ConnectionPoolStatistics statistics = channelPool.statistics("https://localhost:443", 10);
+        assertThat(statistics.pendingAcquires()).isEqualTo(0);
+        assertThat(statistics.leasedConnections()).isEqualTo(0);
+        assertThat(statistics.acquireFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void statistics_releasedTwice_leaseEndsOnce() throws Exception {
+        Promise<Channel> promise = newPromise();
+        channelPool.acquire(promise);
+        promise.setSuccess(new MockChannel());
+
+        Promise<Channel> otherPromise = newPromise();
+        channelPool.acquire(otherPromise);
+        otherPromise.setSuccess(new MockChannel());
+
+        channelPool.release(promise.getNow());
+        channelPool.release(promise.getNow());
+
+        assertThat(channelPool.statistics("https://localhost:443", 10).leasedConnections()).isEqualTo(1);
+    }
+
+    private static Promise<Channel> newPromise() {
+        return ImmediateEventExecutor.INSTANCE.newPromise();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.dns;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AddressHealthTrackerTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+    private AddressHealthTracker tracker;
+    private InetAddress address;
+
+    @Before
+    public void setup() throws Exception {
+        tracker = new AddressHealthTracker(Duration.ofSeconds(10), nanoTime::get);
+        address = InetAddress.getByAddress(new byte[] {10, 0, 0, 1});
+    }
+
+    @Test
+    public void unknownAddress_isHealthy() {
+        assertThat(tracker.isHealthy(address)).isTrue();
+    }
+
+    @Test
+    public void markUnhealthy_isUnhealthyUntilQuarantineExpires() {
+        tracker.markUnhealthy(address);
+        assertThat(tracker.isHealthy(address)).isFalse();
+
+        nanoTime.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(tracker.isHealthy(address)).isFalse();
+
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(tracker.isHealthy(address)).isTrue();
+    }
+
+    @Test
+    public void markHealthy_clearsQuarantine() {
+        tracker.markUnhealthy(address);
+        tracker.markHealthy(address);
+        assertThat(tracker.isHealthy(address)).isTrue();
+    }
+}
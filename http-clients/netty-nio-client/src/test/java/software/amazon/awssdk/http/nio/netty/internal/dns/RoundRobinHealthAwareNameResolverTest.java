@@ -0,0 +1,117 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.dns;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.resolver.InetNameResolver;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RoundRobinHealthAwareNameResolverTest {
+    private static final String HOST = "bucket.s3.amazonaws.com";
+
+    private InetAddress first;
+    private InetAddress second;
+    private InetAddress third;
+    private AddressHealthTracker healthTracker;
+    private RoundRobinHealthAwareNameResolver resolver;
+
+    @Before
+    public void setup() throws Exception {
+        first = InetAddress.getByAddress(new byte[] {10, 0, 0, 1});
+        second = InetAddress.getByAddress(new byte[] {10, 0, 0, 2});
+        third = InetAddress.getByAddress(new byte[] {10, 0, 0, 3});
+        healthTracker = new AddressHealthTracker();
+        resolver = new RoundRobinHealthAwareNameResolver(ImmediateEventExecutor.INSTANCE,
+                                                         new StaticNameResolver(Arrays.asList(first, second, third)),
+                                                         healthTracker,
+                                                         new ConcurrentHashMap<>());
+    }
+
+    @Test
+    public void resolve_cyclesThroughAllAddresses() {
+        assertThat(resolver.resolve(HOST).getNow()).isEqualTo(first);
+        assertThat(resolver.resolve(HOST).getNow()).isEqualTo(second);
+        assertThat(resolver.resolve(HOST).getNow()).isEqualTo(third);
+        assertThat(resolver.resolve(HOST).getNow()).isEqualTo(first);
+    }
+
+    @Test
+    public void resolve_skipsUnhealthyAddresses() {
+        healthTracker.markUnhealthy(second);
+
+        assertThat(resolver.resolve(HOST).getNow()).isEqualTo(first);
+        assertThat(resolver.resolve(HOST).getNow()).isEqualTo(third);
+        assertThat(resolver.resolve(HOST).getNow()).isEqualTo(third);
+        assertThat(resolver.resolve(HOST).getNow()).isEqualTo(first);
+    }
+
+    @Test
+    public void resolve_allAddressesUnhealthy_stillCyclesThroughAddresses() {
+        healthTracker.markUnhealthy(first);
+        healthTracker.markUnhealthy(second);
+        healthTracker.markUnhealthy(third);
+
+        assertThat(resolver.resolve(HOST).getNow()).isEqualTo(first);
+        assertThat(resolver.resolve(HOST).getNow()).isEqualTo(second);
+    }
+
+    @Test
+    public void resolveAll_rotatesAddresses() {
+        resolver.resolve(HOST);
+
+        assertThat(resolver.resolveAll(HOST).getNow()).containsExactly(second, third, first);
+    }
+
+    @Test
+    public void resolve_noAddresses_fails() {
+        RoundRobinHealthAwareNameResolver emptyResolver =
+            new RoundRobinHealthAwareNameResolver(ImmediateEventExecutor.INSTANCE,
+                                                  new StaticNameResolver(Collections.emptyList()),
+                                                  healthTracker,
+                                                  new ConcurrentHashMap<>());
+
+        assertThat(emptyResolver.resolve(HOST).cause()).isInstanceOf(UnknownHostException.class);
+    }
+
+    private static final class StaticNameResolver extends InetNameResolver {
+        private final List<InetAddress> addresses;
+
+        private StaticNameResolver(List<InetAddress> addresses) {
+            super(ImmediateEventExecutor.INSTANCE);
+            this.addresses = addresses;
+        }
+
+        @Override
+        protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+            promise.setSuccess(addresses.get(0));
+        }
+
+        @Override
+        protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+            promise.setSuccess(addresses);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.http2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.http.nio.netty.internal.http2.Http2WindowTuner.BDP_PING_CONTENT;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import io.netty.handler.codec.http2.Http2SettingsFrame;
+import io.netty.handler.codec.http2.Http2WindowUpdateFrame;
+import java.util.concurrent.CompletableFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey;
+
+public class Http2WindowTunerTest {
+    private static final int INITIAL_WINDOW_SIZE = 1024 * 1024;
+    private static final int MAX_WINDOW_SIZE = 4 * 1024 * 1024;
+
+    private Http2WindowTuning tuning;
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setup() {
+        tuning = new Http2WindowTuning(MAX_WINDOW_SIZE);
+        Http2WindowTuner tuner = tuning.newTuner(INITIAL_WINDOW_SIZE);
+        channel = new EmbeddedChannel();
+        channel.attr(ChannelAttributeKey.PROTOCOL_FUTURE).set(CompletableFuture.completedFuture(Protocol.HTTP2));
+        channel.pipeline().addLast(tuner.byteCounter(), tuner);
+        channel.runPendingTasks();
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void start_raisesConnectionWindowToStreamWindow() {
+        Http2WindowUpdateFrame windowUpdate = channel.readOutbound();
+
+        assertThat(windowUpdate.stream()).isNull();
+        assertThat(windowUpdate.windowSizeIncrement()).isEqualTo(INITIAL_WINDOW_SIZE - Http2CodecUtil.DEFAULT_WINDOW_SIZE);
+        assertThat(tuning.connections()).isEqualTo(1);
+        assertThat(tuning.maxConnectionWindowSize()).isEqualTo(INITIAL_WINDOW_SIZE);
+        assertThat(tuning.maxStreamWindowSize()).isEqualTo(INITIAL_WINDOW_SIZE);
+    }
+
+    @Test
+    public void bytesRead_sendsEstimationPing() {
+        channel.readOutbound();
+        readBytes(1000);
+
+        Http2PingFrame ping = channel.readOutbound();
+        assertThat(ping.ack()).isFalse();
+        assertThat(ping.content()).isEqualTo(BDP_PING_CONTENT);
+
+        readBytes(1000);
+        assertThat((Object) channel.readOutbound()).isNull();
+    }
+
+    @Test
+    public void sampleFillsWindow_growsConnectionAndStreamWindows() {
+        channel.readOutbound();
+        readBytes(INITIAL_WINDOW_SIZE / 2);
+        channel.readOutbound();
+        readBytes(INITIAL_WINDOW_SIZE / 2);
+        channel.writeInbound(new DefaultHttp2PingFrame(BDP_PING_CONTENT, true));
+
+        Http2WindowUpdateFrame windowUpdate = channel.readOutbound();
+        assertThat(windowUpdate.windowSizeIncrement()).isEqualTo(INITIAL_WINDOW_SIZE);
+        Http2SettingsFrame settings = channel.readOutbound();
+        assertThat(settings.settings().initialWindowSize()).isEqualTo(2 * INITIAL_WINDOW_SIZE);
+
+        assertThat(tuning.maxConnectionWindowSize()).isEqualTo(2 * INITIAL_WINDOW_SIZE);
+        assertThat(tuning.maxStreamWindowSize()).isEqualTo(2 * INITIAL_WINDOW_SIZE);
+        assertThat(tuning.windowIncreases()).isEqualTo(1);
+    }
+
+    @Test
+    public void sampleMuchSmallerThanWindow_doesNotGrowWindows() {
+        channel.readOutbound();
+        readBytes(1000);
+        channel.readOutbound();
+        channel.writeInbound(new DefaultHttp2PingFrame(BDP_PING_CONTENT, true));
+
+        assertThat((Object) channel.readOutbound()).isNull();
+        assertThat(tuning.maxConnectionWindowSize()).isEqualTo(INITIAL_WINDOW_SIZE);
+        assertThat(tuning.windowIncreases()).isEqualTo(0);
+    }
+
+    @Test
+    public void growth_isCappedAtMaxWindowSize() {
+        channel.readOutbound();
+        readBytes(MAX_WINDOW_SIZE);
+        channel.readOutbound();
+        channel.writeInbound(new DefaultHttp2PingFrame(BDP_PING_CONTENT, true));
+
+        assertThat(tuning.maxConnectionWindowSize()).isEqualTo(MAX_WINDOW_SIZE);
+        assertThat(tuning.maxStreamWindowSize()).isEqualTo(MAX_WINDOW_SIZE);
+    }
+
+    @Test
+    public void otherPingAcks_areForwarded() {
+        DefaultHttp2PingFrame healthCheckAck = new DefaultHttp2PingFrame(0, true);
+        channel.writeInbound(healthCheckAck);
+
+        assertThat((Object) channel.readInbound()).isSameAs(healthCheckAck);
+    }
+
+    @Test
+    public void channelClosed_connectionIsNoLongerReported() {
+        channel.close();
+
+        assertThat(tuning.connections()).isEqualTo(0);
+        assertThat(tuning.totalConnectionWindowSize()).isEqualTo(0);
+    }
+
+    private void readBytes(int bytes) {
+        ByteBuf buf = Unpooled.buffer(bytes).writerIndex(bytes);
+        channel.writeInbound(buf);
+        ByteBuf forwarded = channel.readInbound();
+        assertThat(forwarded).isSameAs(buf);
+        forwarded.release();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.buffer.ByteBuf;
+import java.nio.ByteBuffer;
+import org.junit.After;
+import org.junit.Test;
+import software.amazon.awssdk.utils.SdkBufferPool;
+
+public class BufferPoolReturningByteBufTest {
+    private final SdkBufferPool pool = SdkBufferPool.create(1024 * 1024);
+
+    @After
+    public void noLeakedBuffers() {
+        assertThat(pool.leasedBuffers()).isEqualTo(0);
+    }
+
+    @Test
+    public void release_returnsBufferToPool() {
+        ByteBuffer buffer = pool.acquire(8192);
+        buffer.put(new byte[100]).flip();
+
+        ByteBuf byteBuf = BufferPoolReturningByteBuf.wrap(buffer);
+        assertThat(byteBuf.readableBytes()).isEqualTo(100);
+        assertThat(pool.leasedBuffers()).isEqualTo(1);
+
+        assertThat(byteBuf.release()).isTrue();
+        assertThat(pool.leasedBuffers()).isEqualTo(0);
+        assertThat(pool.acquire(8192)).isSameAs(buffer);
+        pool.release(buffer);
+    }
+
+    @Test
+    public void retainedDuplicate_bufferReturnedAfterLastRelease() {
+        ByteBuffer buffer = pool.acquire(4096);
+
+        ByteBuf byteBuf = BufferPoolReturningByteBuf.wrap(buffer);
+        ByteBuf duplicate = byteBuf.retainedDuplicate();
+
+        byteBuf.release();
+        assertThat(pool.leasedBuffers()).isEqualTo(1);
+
+        duplicate.release();
+        assertThat(pool.leasedBuffers()).isEqualTo(0);
+    }
+
+    @Test
+    public void heapBuffer_isWrappedWithoutPool() {
+        ByteBuf byteBuf = BufferPoolReturningByteBuf.wrap(ByteBuffer.wrap(new byte[10]));
+
+        assertThat(byteBuf).isNotInstanceOf(BufferPoolReturningByteBuf.class);
+        assertThat(byteBuf.readableBytes()).isEqualTo(10);
+        byteBuf.release();
+    }
+}
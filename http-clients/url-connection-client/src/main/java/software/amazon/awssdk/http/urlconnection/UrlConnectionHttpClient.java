@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.http.urlconnection;
 
+import static software.amazon.awssdk.http.Header.CONTENT_LENGTH;
 import static software.amazon.awssdk.http.HttpStatusFamily.CLIENT_ERROR;
 import static software.amazon.awssdk.http.HttpStatusFamily.SERVER_ERROR;
 import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
@@ -22,6 +23,7 @@ import static software.amazon.awssdk.utils.NumericUtils.saturatedCast;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.security.KeyManagementException;
@@ -30,6 +32,8 @@ import java.security.cert.X509Certificate;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.stream.Collectors;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
@@ -40,6 +44,7 @@ import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ContentStreamProvider;
 import software.amazon.awssdk.http.ExecutableHttpRequest;
 import software.amazon.awssdk.http.HttpExecuteRequest;
 import software.amazon.awssdk.http.HttpExecuteResponse;
@@ -49,8 +54,8 @@ import software.amazon.awssdk.http.SdkHttpConfigurationOption;
 import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.http.TlsKeyManagersProvider;
 import software.amazon.awssdk.http.TlsTrustManagersProvider;
+import software.amazon.awssdk.internal.http.RequestContentWriter;
 import software.amazon.awssdk.utils.AttributeMap;
-import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.Validate;
 
@@ -68,6 +73,11 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
 
     private static final Logger log = Logger.loggerFor(UrlConnectionHttpClient.class);
     private static final String CLIENT_NAME = "UrlConnection";
+    /**
+     * A chunk length of zero lets {@link HttpURLConnection} pick its default chunk size.
+     */
+    private static final int DEFAULT_CHUNK_LENGTH = 0;
+    private static final int COPY_BUFFER_SIZE = 8 * 1024;
 
     private final AttributeMap options;
     private final UrlConnectionFactory connectionFactory;
@@ -133,6 +143,7 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
         invokeSafely(() -> connection.setRequestMethod(request.httpRequest().method().name()));
         if (request.contentStreamProvider().isPresent()) {
             connection.setDoOutput(true);
+            configureStreamingMode(connection, request);
         }
 
         // Disable following redirects since it breaks SDK error handling and matches Apache.
@@ -142,6 +153,40 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
         return connection;
     }
 
+    /**
+     * Without a streaming mode, {@link HttpURLConnection} buffers the whole request body in memory so that it can compute the
+     * Content-Length. Stream the body instead: with a fixed length when the request has a Content-Length or the length of
+     * the content is otherwise known, and chunked otherwise.
+     */
+    private static void configureStreamingMode(HttpURLConnection connection, HttpExecuteRequest request) {
+        Optional<Long> contentLength = requestContentLength(request);
+        if (!contentLength.isPresent()) {
+            OptionalLong knownLength = RequestContentWriter.contentLength(request.contentStreamProvider().get());
+            contentLength = knownLength.isPresent() ? Optional.of(knownLength.getAsLong()) : Optional.empty();
+        }
+        if (contentLength.isPresent()) {
+            connection.setFixedLengthStreamingMode(contentLength.get());
+        } else {
+            connection.setChunkedStreamingMode(DEFAULT_CHUNK_LENGTH);
+        }
+    }
+
+    private static Optional<Long> requestContentLength(HttpExecuteRequest request) {
+        return request.httpRequest()
+                      .firstMatchingHeader(CONTENT_LENGTH)
+                      .flatMap(UrlConnectionHttpClient::parseContentLength);
+    }
+
+    private static Optional<Long> parseContentLength(String contentLength) {
+        try {
+            long length = Long.parseLong(contentLength.trim());
+            return length >= 0 ? Optional.of(length) : Optional.empty();
+        } catch (NumberFormatException e) {
+            log.debug(() -> "Ignoring invalid Content-Length header: " + contentLength);
+            return Optional.empty();
+        }
+    }
+
     private HttpURLConnection createDefaultConnection(URI uri) {
         HttpURLConnection connection = invokeSafely(() -> (HttpURLConnection) uri.toURL().openConnection());
 
@@ -204,14 +249,14 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
         public HttpExecuteResponse call() throws IOException {
             connection.connect();
 
-            request.contentStreamProvider().ifPresent(provider ->
-                    invokeSafely(() -> IoUtils.copy(provider.newStream(), connection.getOutputStream())));
+            if (request.contentStreamProvider().isPresent()) {
+                writeContent(request.contentStreamProvider().get());
+            }
 
             int responseCode = connection.getResponseCode();
-            boolean isErrorResponse = HttpStatusFamily.of(responseCode).isOneOf(CLIENT_ERROR, SERVER_ERROR);
-            InputStream content = !isErrorResponse ? connection.getInputStream() : connection.getErrorStream();
+            InputStream content = responseContent(responseCode);
             AbortableInputStream responseBody = content != null ?
-                                                AbortableInputStream.create(content) : null;
+                                                AbortableInputStream.create(content, connection::disconnect) : null;
 
             return HttpExecuteResponse.builder()
                                       .response(SdkHttpResponse.builder()
@@ -224,6 +269,57 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
                                       .build();
         }
 
+        /**
+         * A request with a Content-Length is streamed with that fixed length, and {@link HttpURLConnection} rejects any byte
+         * written beyond it, so at most that many bytes of the content are written.
+         */
+        private void writeContent(ContentStreamProvider provider) throws IOException {
+            long maxLength = requestContentLength(request).orElse(Long.MAX_VALUE);
+
+            if (RequestContentWriter.canWrite(provider)) {
+                try (OutputStream out = connection.getOutputStream()) {
+                    RequestContentWriter.write(provider, out, maxLength);
+                }
+                return;
+            }
+
+            // Closing the output stream completes a streamed body, e.g. by writing the last chunk.
+            try (InputStream content = provider.newStream();
+                 OutputStream out = connection.getOutputStream()) {
+                copy(content, out, maxLength);
+            }
+        }
+
+        private static void copy(InputStream in, OutputStream out, long maxLength) throws IOException {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            long remaining = maxLength;
+            int read;
+            while (remaining > 0 && (read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+
+        /**
+         * The body is handed to the caller as the connection's own stream, so that it is only buffered once, by whoever reads
+         * it. For error responses that is the error stream: {@link HttpURLConnection#getInputStream()} throws for them.
+         *
+         * <p>In streaming mode, {@link HttpURLConnection} cannot retry an authentication challenge, so it discards the
+         * connection when it receives a 401 or 407. Those responses have their status and headers, but no body.
+         */
+        private InputStream responseContent(int responseCode) throws IOException {
+            boolean isErrorResponse = HttpStatusFamily.of(responseCode).isOneOf(CLIENT_ERROR, SERVER_ERROR);
+            if (!isErrorResponse) {
+                return connection.getInputStream();
+            }
+
+            InputStream errorStream = connection.getErrorStream();
+            if (errorStream == null) {
+                log.debug(() -> "No response body is available for the " + responseCode + " error response.");
+            }
+            return errorStream;
+        }
+
         private Map<String, List<String>> extractHeaders(HttpURLConnection response) {
             return response.getHeaderFields().entrySet().stream()
                            .filter(e -> e.getKey() != null)
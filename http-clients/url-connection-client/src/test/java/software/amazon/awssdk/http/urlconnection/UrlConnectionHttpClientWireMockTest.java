@@ -14,14 +14,34 @@
  */
 package software.amazon.awssdk.http.urlconnection;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLSocketFactory;
 import org.junit.After;
+import org.junit.Test;
+import software.amazon.awssdk.http.ByteBufferContentStreamProvider;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpClientTestSuite;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.IoUtils;
 
 public final class UrlConnectionHttpClientWireMockTest extends SdkHttpClientTestSuite {
 
@@ -45,4 +65,86 @@ public final class UrlConnectionHttpClientWireMockTest extends SdkHttpClientTest
     public void reset() {
         HttpsURLConnection.setDefaultSSLSocketFactory((SSLSocketFactory) SSLSocketFactory.getDefault());
     }
+
+    @Test
+    public void requestWithContentLength_isStreamedWithFixedLength() throws Exception {
+        HttpExecuteResponse response = put("/fixed", 200, true);
+
+        assertThat(response.httpResponse().statusCode()).isEqualTo(200);
+        mockServer.verify(putRequestedFor(urlPathEqualTo("/fixed")).withHeader("Content-Length", equalTo("4"))
+                                                                   .withHeader("Transfer-Encoding", absent())
+                                                                   .withRequestBody(equalTo("Body")));
+    }
+
+    @Test
+    public void requestWithoutContentLength_isStreamedChunked() throws Exception {
+        HttpExecuteResponse response = put("/chunked", 200, false);
+
+        assertThat(response.httpResponse().statusCode()).isEqualTo(200);
+        mockServer.verify(putRequestedFor(urlPathEqualTo("/chunked")).withHeader("Transfer-Encoding", equalTo("chunked"))
+                                                                     .withRequestBody(equalTo("Body")));
+    }
+
+    @Test
+    public void errorResponse_bodyIsReadFromConnection() throws Exception {
+        HttpExecuteResponse response = put("/error", 503, true);
+
+        assertThat(response.httpResponse().statusCode()).isEqualTo(503);
+        assertThat(IoUtils.toUtf8String(response.responseBody().get())).isEqualTo("error body");
+    }
+
+    @Test
+    public void streamLongerThanContentLength_onlyContentLengthIsSent() throws Exception {
+        ContentStreamProvider content = () -> new ByteArrayInputStream("Body and more".getBytes(StandardCharsets.UTF_8));
+        HttpExecuteResponse response = put("/longer-stream", 200, true, content);
+
+        assertThat(response.httpResponse().statusCode()).isEqualTo(200);
+        mockServer.verify(putRequestedFor(urlPathEqualTo("/longer-stream")).withHeader("Content-Length", equalTo("4"))
+                                                                           .withRequestBody(equalTo("Body")));
+    }
+
+    @Test
+    public void byteBufferLongerThanContentLength_onlyContentLengthIsSent() throws Exception {
+        byte[] body = "Body and more".getBytes(StandardCharsets.UTF_8);
+        ContentStreamProvider content = new ByteBufferContentStreamProvider() {
+            @Override
+            public ByteBuffer byteBuffer() {
+                return ByteBuffer.wrap(body).asReadOnlyBuffer();
+            }
+
+            @Override
+            public InputStream newStream() {
+                return new ByteArrayInputStream(body);
+            }
+        };
+        HttpExecuteResponse response = put("/longer-buffer", 200, true, content);
+
+        assertThat(response.httpResponse().statusCode()).isEqualTo(200);
+        mockServer.verify(putRequestedFor(urlPathEqualTo("/longer-buffer")).withHeader("Content-Length", equalTo("4"))
+                                                                           .withRequestBody(equalTo("Body")));
+    }
+
+    private HttpExecuteResponse put(String path, int responseCode, boolean withContentLength) throws Exception {
+        return put(path, responseCode, withContentLength,
+                   () -> new ByteArrayInputStream("Body".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private HttpExecuteResponse put(String path, int responseCode, boolean withContentLength,
+                                    ContentStreamProvider content) throws Exception {
+        mockServer.stubFor(any(urlPathEqualTo(path)).willReturn(aResponse().withStatus(responseCode)
+                                                                           .withBody("error body")));
+
+        SdkHttpFullRequest.Builder request = SdkHttpFullRequest.builder()
+                                                               .uri(URI.create("http://localhost:" + mockServer.port() + path))
+                                                               .method(SdkHttpMethod.PUT);
+        if (withContentLength) {
+            request.putHeader("Content-Length", "4");
+        }
+
+        return createSdkHttpClient().prepareRequest(HttpExecuteRequest.builder()
+                                                                      .request(request.build())
+                                                                      .contentStreamProvider(content)
+                                                                      .build())
+                                    .call();
+    }
 }
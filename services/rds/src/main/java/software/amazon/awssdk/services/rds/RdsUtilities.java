@@ -0,0 +1,265 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.rds;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.signer.Aws4Signer;
+import software.amazon.awssdk.auth.signer.params.Aws4PresignerParams;
+import software.amazon.awssdk.awscore.client.config.AwsClientOption;
+import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.rds.internal.AuthenticationTokenCache;
+import software.amazon.awssdk.services.rds.model.GenerateAuthenticationTokenRequest;
+
+/**
+ * Utilities for working with Amazon RDS. An instance of this class can be created by:
+ * <p>
+ * 1) Directly using the {@link #builder()} method. You have to manually specify the configuration params like region and
+ * credentials provider on the builder.
+ *
+ * <pre>
+ * RdsUtilities utilities = RdsUtilities.builder()
+ *                                      .region(Region.US_WEST_2)
+ *                                      .credentialsProvider(DefaultCredentialsProvider.create())
+ *                                      .build();
+ * String token = utilities.generateAuthenticationToken(r -> r.hostname("mydb.123456789012.us-west-2.rds.amazonaws.com")
+ *                                                             .port(3306)
+ *                                                             .username("db_user"));
+ * </pre>
+ * </p>
+ *
+ * <p>
+ * 2) Using the low-level client {@link RdsClient#utilities()} method. This is recommended as SDK will use the same
+ * configuration from the {@link RdsClient} object to create the {@link RdsUtilities} object.
+ *
+ * <pre>
+ * RdsClient rdsClient = RdsClient.create();
+ * RdsUtilities utilities = rdsClient.utilities();
+ * </pre>
+ * </p>
+ *
+ * Note: This class does not make network calls, other than those made by the credentials provider.
+ */
+@Immutable
+@ThreadSafe
+@SdkPublicApi
+public final class RdsUtilities {
+    private static final String SIGNING_NAME = "rds-db";
+
+    /**
+     * How long a generated authentication token is valid. RDS doesn't accept tokens that are valid for longer.
+     */
+    private static final Duration TOKEN_VALIDITY = Duration.ofMinutes(15);
+
+    /**
+     * How long a generated authentication token is handed out again, which leaves a connection 5 minutes to use it unless the
+     * credentials it's signed with expire sooner.
+     */
+    private static final Duration TOKEN_REUSE_DURATION = Duration.ofMinutes(10);
+
+    private static final AuthenticationTokenCache TOKEN_CACHE = new AuthenticationTokenCache(TOKEN_REUSE_DURATION);
+
+    private final Region region;
+    private final AwsCredentialsProvider credentialsProvider;
+    private final Clock clock;
+    private final AuthenticationTokenCache tokenCache;
+
+    private RdsUtilities(Builder builder) {
+        this.region = builder.region;
+        this.credentialsProvider = builder.credentialsProvider;
+        this.clock = builder.clock != null ? builder.clock : Clock.systemUTC();
+        this.tokenCache = builder.tokenCache != null ? builder.tokenCache : TOKEN_CACHE;
+    }
+
+    /**
+     * Creates a builder for {@link RdsUtilities}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Used by low-level client
+    @SdkInternalApi
+    static RdsUtilities create(SdkClientConfiguration clientConfiguration) {
+        return RdsUtilities.builder()
+                           .region(clientConfiguration.option(AwsClientOption.AWS_REGION))
+                           .credentialsProvider(clientConfiguration.option(AwsClientOption.CREDENTIALS_PROVIDER))
+                           .build();
+    }
+
+    /**
+     * Generates an authentication token that a database user can connect to an RDS database with, using IAM database
+     * authentication. The token is used as the password of the database user, and is valid for 15 minutes after it was
+     * generated or until the credentials it's signed with expire, whichever is sooner.
+     *
+     * <p>
+     *     This is a convenience which creates an instance of the {@link GenerateAuthenticationTokenRequest.Builder} avoiding
+     *     the need to create one manually via {@link GenerateAuthenticationTokenRequest#builder()}
+     * </p>
+     *
+     * @param request A {@link Consumer} that will call methods on {@link GenerateAuthenticationTokenRequest.Builder} to create
+     *                a request.
+     * @return The authentication token.
+     * @see #generateAuthenticationToken(GenerateAuthenticationTokenRequest)
+     */
+    public String generateAuthenticationToken(Consumer<GenerateAuthenticationTokenRequest.Builder> request) {
+        return generateAuthenticationToken(GenerateAuthenticationTokenRequest.builder().applyMutation(request).build());
+    }
+
+    /**
+     * Generates an authentication token that a database user can connect to an RDS database with, using IAM database
+     * authentication. The token is used as the password of the database user, and is valid for 15 minutes after it was
+     * generated or until the credentials it's signed with expire, whichever is sooner.
+     *
+     * <p>
+     *     Tokens are cached for the database, user, region and credentials they are for, and the same token is returned for
+     *     10 minutes after it was generated, so that opening many connections to a database doesn't sign a token for each of
+     *     them. A token is therefore valid for at least 5 more minutes when it's returned, unless the credentials it's signed
+     *     with expire sooner. Temporary credentials, such as those of an assumed role, may expire before a token generated with
+     *     them, so callers using such credentials should open connections soon after retrieving a token.
+     * </p>
+     *
+     * <p>
+     *     If same configuration options are set on both #GenerateAuthenticationTokenRequest and #RdsUtilities objects (for
+     *     example: region), the configuration set on the #GenerateAuthenticationTokenRequest takes precedence.
+     * </p>
+     *
+     * @param request The request to generate a token for.
+     * @return The authentication token.
+     */
+    public String generateAuthenticationToken(GenerateAuthenticationTokenRequest request) {
+        Region resolvedRegion = resolveRegion(request);
+        AwsCredentials credentials = resolveCredentialsProvider(request).resolveCredentials();
+
+        AuthenticationTokenCache.Key key = new AuthenticationTokenCache.Key(request.hostname(), request.port(),
+                                                                            request.username(), resolvedRegion, credentials);
+        return tokenCache.token(key, clock.instant(),
+                                signingTime -> presignToken(request, resolvedRegion, credentials, signingTime));
+    }
+
+    /**
+     * Presign a connect request to the database, and strip its scheme, which gives the authentication token.
+     */
+    private static String presignToken(GenerateAuthenticationTokenRequest request,
+                                       Region region,
+                                       AwsCredentials credentials,
+                                       Instant signingTime) {
+        SdkHttpFullRequest httpRequest = SdkHttpFullRequest.builder()
+                                                           .method(SdkHttpMethod.GET)
+                                                           .protocol("https")
+                                                           .host(request.hostname())
+                                                           .port(request.port())
+                                                           .encodedPath("/")
+                                                           .putRawQueryParameter("DBUser", request.username())
+                                                           .putRawQueryParameter("Action", "connect")
+                                                           .build();
+
+        Aws4PresignerParams presignerParams = Aws4PresignerParams.builder()
+                                                                 .signingRegion(region)
+                                                                 .signingName(SIGNING_NAME)
+                                                                 .signingClockOverride(Clock.fixed(signingTime,
+                                                                                                   ZoneOffset.UTC))
+                                                                 .expirationTime(signingTime.plus(TOKEN_VALIDITY))
+                                                                 .awsCredentials(credentials)
+                                                                 .build();
+
+        String presignedUrl = Aws4Signer.create().presign(httpRequest, presignerParams).getUri().toString();
+        return presignedUrl.substring("https://".length());
+    }
+
+    private Region resolveRegion(GenerateAuthenticationTokenRequest request) {
+        if (request.region() == null && this.region == null) {
+            throw new IllegalArgumentException("Region should be provided either in GenerateAuthenticationTokenRequest object "
+                                               + "or RdsUtilities object");
+        }
+
+        return request.region() != null ? request.region() : this.region;
+    }
+
+    private AwsCredentialsProvider resolveCredentialsProvider(GenerateAuthenticationTokenRequest request) {
+        if (request.credentialsProvider() == null && this.credentialsProvider == null) {
+            throw new IllegalArgumentException("Credentials provider should be provided either in "
+                                               + "GenerateAuthenticationTokenRequest object or RdsUtilities object");
+        }
+
+        return request.credentialsProvider() != null ? request.credentialsProvider() : this.credentialsProvider;
+    }
+
+    /**
+     * Builder class to construct {@link RdsUtilities} object
+     */
+    public static final class Builder {
+        private Region region;
+        private AwsCredentialsProvider credentialsProvider;
+        private Clock clock;
+        private AuthenticationTokenCache tokenCache;
+
+        private Builder() {
+        }
+
+        /**
+         * The default region to use when working with the methods in {@link RdsUtilities} class.
+         *
+         * @return This object for method chaining
+         */
+        public Builder region(Region region) {
+            this.region = region;
+            return this;
+        }
+
+        /**
+         * The default credentials provider to use when working with the methods in {@link RdsUtilities} class.
+         *
+         * @return This object for method chaining
+         */
+        public Builder credentialsProvider(AwsCredentialsProvider credentialsProvider) {
+            this.credentialsProvider = credentialsProvider;
+            return this;
+        }
+
+        @SdkTestInternalApi
+        Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        @SdkTestInternalApi
+        Builder tokenCache(AuthenticationTokenCache tokenCache) {
+            this.tokenCache = tokenCache;
+            return this;
+        }
+
+        /**
+         * Construct a {@link RdsUtilities} object.
+         */
+        public RdsUtilities build() {
+            return new RdsUtilities(this);
+        }
+    }
+}
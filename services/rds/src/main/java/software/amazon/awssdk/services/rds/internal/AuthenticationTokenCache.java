@@ -0,0 +1,184 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.rds.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * A cache of RDS IAM authentication tokens, keyed by the database endpoint, the database user, the signing region and the
+ * credentials the token is signed with. A token is reused for the given reuse duration after it was generated, which is
+ * shorter than its validity, so that tokens handed out remain valid for a while.
+ *
+ * <p>The least recently used tokens are evicted once the cache holds {@link #MAX_ENTRIES} tokens.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class AuthenticationTokenCache {
+    private static final int MAX_ENTRIES = 1000;
+
+    private final Duration reuseDuration;
+
+    /**
+     * The token of each key, which is still being generated while its future isn't complete. The map's lock is only held to
+     * look up and replace tokens, never while a token is generated.
+     */
+    private final Map<Key, CompletableFuture<CachedToken>> tokens;
+
+    public AuthenticationTokenCache(Duration reuseDuration) {
+        this.reuseDuration = reuseDuration;
+        this.tokens = new LinkedHashMap<Key, CompletableFuture<CachedToken>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<CachedToken>> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+    }
+
+    /**
+     * Retrieve the token for the given key, generating it if there is no token for the key that was generated less than the
+     * reuse duration before the given time.
+     *
+     * <p>While the token of a key is generated, other callers asking for the same key wait for that token rather than signing
+     * another one, so that many connections opened at the same time don't all sign a token for the same database. Tokens of
+     * other keys are generated concurrently.
+     *
+     * @param key The database, user, region and credentials the token is for.
+     * @param now The current time.
+     * @param tokenGenerator Generates a token signed at the time it's given.
+     * @return The token.
+     */
+    public String token(Key key, Instant now, Function<Instant, String> tokenGenerator) {
+        CompletableFuture<CachedToken> generatedToken = new CompletableFuture<>();
+        CompletableFuture<CachedToken> currentToken;
+        synchronized (tokens) {
+            currentToken = tokens.get(key);
+            if (currentToken == null || !isReusable(currentToken, now)) {
+                tokens.put(key, generatedToken);
+                currentToken = null;
+            }
+        }
+
+        if (currentToken != null) {
+            return awaitToken(currentToken);
+        }
+
+        try {
+            String token = tokenGenerator.apply(now);
+            generatedToken.complete(new CachedToken(token, now, now.plus(reuseDuration)));
+            return token;
+        } catch (RuntimeException | Error e) {
+            generatedToken.completeExceptionally(e);
+            synchronized (tokens) {
+                tokens.remove(key, generatedToken);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Whether the given token can be handed out at the given time. Tokens that are still being generated are reusable, because
+     * they're signed at about the given time.
+     */
+    private static boolean isReusable(CompletableFuture<CachedToken> token, Instant now) {
+        if (!token.isDone()) {
+            return true;
+        }
+        if (token.isCompletedExceptionally()) {
+            return false;
+        }
+        CachedToken cachedToken = token.join();
+        return !now.isBefore(cachedToken.signingTime) && now.isBefore(cachedToken.reuseUntil);
+    }
+
+    private static String awaitToken(CompletableFuture<CachedToken> token) {
+        try {
+            return token.join().token;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The key of a token in the cache.
+     */
+    public static final class Key {
+        private final String hostname;
+        private final int port;
+        private final String username;
+        private final Region region;
+        private final AwsCredentials credentials;
+
+        public Key(String hostname, int port, String username, Region region, AwsCredentials credentials) {
+            this.hostname = hostname;
+            this.port = port;
+            this.username = username;
+            this.region = region;
+            this.credentials = credentials;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key that = (Key) o;
+
+            return port == that.port &&
+                   hostname.equals(that.hostname) &&
+                   username.equals(that.username) &&
+                   region.id().equals(that.region.id()) &&
+                   credentials.equals(that.credentials);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hostname, port, username, region.id(), credentials);
+        }
+    }
+
+    private static final class CachedToken {
+        private final String token;
+        private final Instant signingTime;
+        private final Instant reuseUntil;
+
+        private CachedToken(String token, Instant signingTime, Instant reuseUntil) {
+            this.token = token;
+            this.signingTime = signingTime;
+            this.reuseUntil = reuseUntil;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.rds.model;
+
+import java.util.Objects;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.rds.RdsUtilities;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * A request to generate an authentication token that a database user can connect to an RDS database instance or cluster with,
+ * using IAM database authentication.
+ *
+ * @see RdsUtilities#generateAuthenticationToken(GenerateAuthenticationTokenRequest)
+ * @see #builder()
+ */
+@SdkPublicApi
+@Immutable
+@ThreadSafe
+public final class GenerateAuthenticationTokenRequest
+        implements ToCopyableBuilder<GenerateAuthenticationTokenRequest.Builder, GenerateAuthenticationTokenRequest> {
+    private final String hostname;
+    private final int port;
+    private final String username;
+    private final Region region;
+    private final AwsCredentialsProvider credentialsProvider;
+
+    private GenerateAuthenticationTokenRequest(BuilderImpl builder) {
+        this.hostname = Validate.paramNotBlank(builder.hostname, "hostname");
+        this.port = Validate.isPositive(Validate.paramNotNull(builder.port, "port"), "port");
+        this.username = Validate.paramNotBlank(builder.username, "username");
+        this.region = builder.region;
+        this.credentialsProvider = builder.credentialsProvider;
+    }
+
+    /**
+     * Create a builder that can be used to create a {@link GenerateAuthenticationTokenRequest}.
+     */
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    /**
+     * @return The hostname of the database to connect to.
+     */
+    public String hostname() {
+        return hostname;
+    }
+
+    /**
+     * @return The port of the database to connect to.
+     */
+    public int port() {
+        return port;
+    }
+
+    /**
+     * @return The database user to connect as.
+     */
+    public String username() {
+        return username;
+    }
+
+    /**
+     * @return The region of the database, which the token is signed for. If null, the region of the {@link RdsUtilities} is
+     * used.
+     */
+    public Region region() {
+        return region;
+    }
+
+    /**
+     * @return The provider of the credentials the token is signed with. If null, the credentials provider of the
+     * {@link RdsUtilities} is used.
+     */
+    public AwsCredentialsProvider credentialsProvider() {
+        return credentialsProvider;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new BuilderImpl(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        GenerateAuthenticationTokenRequest that = (GenerateAuthenticationTokenRequest) o;
+
+        return port == that.port &&
+               hostname.equals(that.hostname) &&
+               username.equals(that.username) &&
+               Objects.equals(region, that.region) &&
+               Objects.equals(credentialsProvider, that.credentialsProvider);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hostname, port, username, region, credentialsProvider);
+    }
+
+    /**
+     * A builder for a {@link GenerateAuthenticationTokenRequest}, created with {@link #builder()}.
+     */
+    @SdkPublicApi
+    @NotThreadSafe
+    public interface Builder extends CopyableBuilder<Builder, GenerateAuthenticationTokenRequest> {
+        /**
+         * Configure the hostname of the database to connect to.
+         */
+        Builder hostname(String hostname);
+
+        /**
+         * Configure the port of the database to connect to.
+         */
+        Builder port(Integer port);
+
+        /**
+         * Configure the database user to connect as.
+         */
+        Builder username(String username);
+
+        /**
+         * Configure the region of the database, which the token is signed for. This overrides the region of the
+         * {@link RdsUtilities}.
+         */
+        Builder region(Region region);
+
+        /**
+         * Configure the provider of the credentials the token is signed with. This overrides the credentials provider of the
+         * {@link RdsUtilities}.
+         */
+        Builder credentialsProvider(AwsCredentialsProvider credentialsProvider);
+    }
+
+    private static final class BuilderImpl implements Builder {
+        private String hostname;
+        private Integer port;
+        private String username;
+        private Region region;
+        private AwsCredentialsProvider credentialsProvider;
+
+        private BuilderImpl() {
+        }
+
+        private BuilderImpl(GenerateAuthenticationTokenRequest request) {
+            this.hostname = request.hostname;
+            this.port = request.port;
+            this.username = request.username;
+            this.region = request.region;
+            this.credentialsProvider = request.credentialsProvider;
+        }
+
+        @Override
+        public Builder hostname(String hostname) {
+            this.hostname = hostname;
+            return this;
+        }
+
+        @Override
+        public Builder port(Integer port) {
+            this.port = port;
+            return this;
+        }
+
+        @Override
+        public Builder username(String username) {
+            this.username = username;
+            return this;
+        }
+
+        @Override
+        public Builder region(Region region) {
+            this.region = region;
+            return this;
+        }
+
+        @Override
+        public Builder credentialsProvider(AwsCredentialsProvider credentialsProvider) {
+            this.credentialsProvider = credentialsProvider;
+            return this;
+        }
+
+        @Override
+        public GenerateAuthenticationTokenRequest build() {
+            return new GenerateAuthenticationTokenRequest(this);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.rds.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.regions.Region;
+
+public class AuthenticationTokenCacheTest {
+    private static final Instant NOW = Instant.parse("2016-11-07T17:39:33Z");
+
+    private final AuthenticationTokenCache cache = new AuthenticationTokenCache(Duration.ofMinutes(10));
+
+    @Test
+    public void token_otherKeyGenerating_doesNotWait() throws Exception {
+        CountDownLatch generating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> blockedToken = CompletableFuture.supplyAsync(
+            () -> cache.token(key("user1"), NOW, signingTime -> {
+                generating.countDown();
+                await(release);
+                return "token1";
+            }));
+        assertThat(generating.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThat(cache.token(key("user2"), NOW, signingTime -> "token2")).isEqualTo("token2");
+            assertThat(blockedToken).isNotDone();
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(blockedToken.get(5, TimeUnit.SECONDS)).isEqualTo("token1");
+    }
+
+    @Test
+    public void token_sameKeyGenerating_waitsForThatToken() throws Exception {
+        AtomicInteger generatedTokens = new AtomicInteger(0);
+        CountDownLatch generating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> firstToken = CompletableFuture.supplyAsync(
+            () -> cache.token(key("user1"), NOW, signingTime -> {
+                generatedTokens.incrementAndGet();
+                generating.countDown();
+                await(release);
+                return "token1";
+            }));
+        assertThat(generating.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> secondToken = CompletableFuture.supplyAsync(
+            () -> cache.token(key("user1"), NOW, signingTime -> "token" + generatedTokens.incrementAndGet()));
+        release.countDown();
+
+        assertThat(firstToken.get(5, TimeUnit.SECONDS)).isEqualTo("token1");
+        assertThat(secondToken.get(5, TimeUnit.SECONDS)).isEqualTo("token1");
+        assertThat(generatedTokens.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void token_generationFailed_isNotReused() {
+        assertThatThrownBy(() -> cache.token(key("user1"), NOW, signingTime -> {
+            throw new IllegalStateException("Signing failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.token(key("user1"), NOW, signingTime -> "token1")).isEqualTo("token1");
+    }
+
+    private static AuthenticationTokenCache.Key key(String username) {
+        return new AuthenticationTokenCache.Key("host.us-east-1.amazonaws.com", 3306, username, Region.US_EAST_1,
+                                                AwsBasicCredentials.create("access_key", "secret_key"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -22,7 +22,6 @@ import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.checksums.SdkChecksum;
-import software.amazon.awssdk.utils.BinaryUtils;
 
 @SdkInternalApi
 public class ChecksumCalculatingAsyncRequestBody implements AsyncRequestBody {
@@ -50,6 +49,7 @@ public class ChecksumCalculatingAsyncRequestBody implements AsyncRequestBody {
 
         private final Subscriber<? super ByteBuffer> wrapped;
         private final SdkChecksum checksum;
+        private final ChecksumUpdater checksumUpdater = new ChecksumUpdater();
 
         ChecksumCalculatingSubscriber(Subscriber<? super ByteBuffer> wrapped,
                                       SdkChecksum sdkChecksum) {
@@ -64,8 +64,7 @@ public class ChecksumCalculatingAsyncRequestBody implements AsyncRequestBody {
 
         @Override
         public void onNext(ByteBuffer byteBuffer) {
-            byte[] buf = BinaryUtils.copyBytesFrom(byteBuffer);
-            checksum.update(buf, 0, buf.length);
+            checksumUpdater.update(checksum, byteBuffer, byteBuffer.remaining());
             wrapped.onNext(byteBuffer);
         }
 
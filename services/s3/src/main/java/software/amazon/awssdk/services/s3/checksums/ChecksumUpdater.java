@@ -0,0 +1,48 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.checksums;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Feeds the contents of {@link ByteBuffer}s to a {@link Checksum} without consuming them. Heap buffers are read in place;
+ * direct buffers are copied through a scratch array that is reused across calls, so that no array is allocated per buffer.
+ *
+ * <p>This class is not thread safe, each subscriber should use its own instance.
+ */
+@SdkInternalApi
+final class ChecksumUpdater {
+    private byte[] scratch = new byte[0];
+
+    /**
+     * Update the checksum with the first {@code length} remaining bytes of the buffer. The buffer's position is unchanged.
+     */
+    void update(Checksum checksum, ByteBuffer buffer, int length) {
+        if (buffer.hasArray()) {
+            checksum.update(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+            return;
+        }
+
+        if (scratch.length < length) {
+            scratch = new byte[length];
+        }
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.get(scratch, 0, length);
+        checksum.update(scratch, 0, length);
+    }
+}
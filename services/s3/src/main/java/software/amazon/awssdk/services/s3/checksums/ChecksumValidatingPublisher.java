@@ -18,7 +18,6 @@ package software.amazon.awssdk.services.s3.checksums;
 import static java.lang.Math.toIntExact;
 
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
@@ -26,7 +25,6 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.core.checksums.SdkChecksum;
 import software.amazon.awssdk.core.exception.SdkClientException;
-import software.amazon.awssdk.utils.BinaryUtils;
 
 @SdkInternalApi
 public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffer> {
@@ -60,6 +58,8 @@ public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffe
         private final SdkChecksum sdkChecksum;
         private final long strippedLength;
 
+        private final ChecksumUpdater checksumUpdater = new ChecksumUpdater();
+
         private byte[] streamChecksum = new byte[CHECKSUM_SIZE];
         private long lengthRead = 0;
 
@@ -78,14 +78,14 @@ public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffe
 
         @Override
         public void onNext(ByteBuffer byteBuffer) {
-            byte[] buf = BinaryUtils.copyBytesFrom(byteBuffer);
+            int length = byteBuffer.remaining();
 
             if (lengthRead < strippedLength) {
-                int toUpdate = (int) Math.min(strippedLength - lengthRead, buf.length);
+                int toUpdate = (int) Math.min(strippedLength - lengthRead, length);
 
-                sdkChecksum.update(buf, 0, toUpdate);
+                checksumUpdater.update(sdkChecksum, byteBuffer, toUpdate);
             }
-            lengthRead += buf.length;
+            lengthRead += length;
 
             if (lengthRead >= strippedLength) {
                 // Incoming buffer contains at least a bit of the checksum
@@ -103,12 +103,17 @@ public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffe
                 //                                |           <--- bufChecksumOffset
                 //                            |<->|           <--- streamChecksumOffset
                 int cksumBytesSoFar = toIntExact(lengthRead - strippedLength);
-                int bufChecksumOffset = (buf.length > cksumBytesSoFar) ? (buf.length - cksumBytesSoFar) : 0;
-                int streamChecksumOffset = (buf.length > cksumBytesSoFar) ? 0 : (cksumBytesSoFar - buf.length);
-                int cksumBytes = Math.min(cksumBytesSoFar, buf.length);
-                System.arraycopy(buf, bufChecksumOffset, streamChecksum, streamChecksumOffset, cksumBytes);
-                if (buf.length > cksumBytesSoFar) {
-                    wrapped.onNext(ByteBuffer.wrap(Arrays.copyOfRange(buf, 0, buf.length - cksumBytesSoFar)));
+                int bufChecksumOffset = (length > cksumBytesSoFar) ? (length - cksumBytesSoFar) : 0;
+                int streamChecksumOffset = (length > cksumBytesSoFar) ? 0 : (cksumBytesSoFar - length);
+                int cksumBytes = Math.min(cksumBytesSoFar, length);
+                ByteBuffer checksumBytes = byteBuffer.duplicate();
+                checksumBytes.position(byteBuffer.position() + bufChecksumOffset);
+                checksumBytes.get(streamChecksum, streamChecksumOffset, cksumBytes);
+                if (length > cksumBytesSoFar) {
+                    // Hand out a view of the data bytes rather than a copy of them
+                    ByteBuffer data = byteBuffer.duplicate();
+                    data.limit(byteBuffer.position() + length - cksumBytesSoFar);
+                    wrapped.onNext(data);
                 } else {
                     // Always be sure to satisfy the wrapped publisher's demand.
                     wrapped.onNext(ByteBuffer.allocate(0));
@@ -161,8 +166,9 @@ public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffe
 
         @Override
         public void onNext(ByteBuffer byteBuffer) {
-            byte[] buf = BinaryUtils.copyBytesFrom(byteBuffer);
-            wrapped.onNext(ByteBuffer.wrap(Arrays.copyOfRange(buf, 0, buf.length - CHECKSUM_SIZE)));
+            ByteBuffer data = byteBuffer.duplicate();
+            data.limit(byteBuffer.limit() - CHECKSUM_SIZE);
+            wrapped.onNext(data);
         }
 
         @Override
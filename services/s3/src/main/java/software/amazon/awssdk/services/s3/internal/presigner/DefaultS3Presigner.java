@@ -32,8 +32,10 @@ import java.util.stream.Stream;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.auth.signer.AwsS3V4Signer;
 import software.amazon.awssdk.auth.signer.AwsSignerExecutionAttribute;
+import software.amazon.awssdk.auth.signer.internal.Aws4PresignTemplate;
 import software.amazon.awssdk.awscore.AwsExecutionAttribute;
 import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
 import software.amazon.awssdk.awscore.client.builder.AwsDefaultClientBuilder;
@@ -67,6 +69,7 @@ import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectBatchPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
@@ -75,6 +78,7 @@ import software.amazon.awssdk.services.s3.transform.GetObjectRequestMarshaller;
 import software.amazon.awssdk.services.s3.transform.PutObjectRequestMarshaller;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
 /**
  * The default implementation of the {@link S3Presigner} interface.
@@ -84,6 +88,14 @@ public final class DefaultS3Presigner extends DefaultSdkPresigner implements S3P
     private static final AwsS3V4Signer DEFAULT_SIGNER = AwsS3V4Signer.create();
     private static final String SERVICE_NAME = "s3";
     private static final String SIGNING_NAME = "s3";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+
+    /**
+     * The key of the object that is presigned through the whole presigning process, to create the template of a batch. It
+     * needs to be url-encoded, so that a signer that encodes the path again can't be mistaken for one that doesn't.
+     */
+    private static final String TEMPLATE_KEY = "presign template";
+    private static final String ENCODED_TEMPLATE_KEY = SdkHttpUtils.urlEncodeIgnoreSlashes(TEMPLATE_KEY);
 
     private final List<ExecutionInterceptor> clientInterceptors;
     private final GetObjectRequestMarshaller getObjectRequestMarshaller;
@@ -163,6 +175,73 @@ public final class DefaultS3Presigner extends DefaultSdkPresigner implements S3P
             .build();
     }
 
+    /**
+     * The credentials and expiration of the batch, and its endpoint and signing key, are resolved once, by presigning a
+     * template request through the whole presigning process. The requests of the batch that only differ from the template
+     * request in their key and query parameters are then only marshalled, and presigned with {@link Aws4PresignTemplate}.
+     * The other requests are presigned through the whole presigning process.
+     */
+    @Override
+    public List<PresignedGetObjectRequest> presignGetObjects(GetObjectBatchPresignRequest request) {
+        AwsCredentials credentials = resolveCredentials(credentialsProvider());
+        AwsCredentialsProvider batchCredentials = StaticCredentialsProvider.create(credentials);
+        Instant signatureExpiration = Instant.now().plus(request.signatureDuration());
+        Optional<BatchTemplate> template = createBatchTemplate(request.bucket(), credentials, signatureExpiration);
+
+        List<PresignedGetObjectRequest> presignedRequests = new ArrayList<>(request.getObjectRequests().size());
+        for (GetObjectRequest getObjectRequest : request.getObjectRequests()) {
+            Optional<PresignedGetObjectRequest> presignedRequest = template.flatMap(t -> t.presign(getObjectRequest));
+            if (presignedRequest.isPresent()) {
+                presignedRequests.add(presignedRequest.get());
+            } else {
+                ExecutionContext execCtx = createExecutionContext(getObjectRequest, "GetObject", batchCredentials,
+                                                                  signatureExpiration);
+                presignedRequests.add(presign(PresignedGetObjectRequest.builder(),
+                                              execCtx,
+                                              GetObjectRequest.class,
+                                              getObjectRequestMarshaller::marshall)
+                                          .build());
+            }
+        }
+        return presignedRequests;
+    }
+
+    /**
+     * Presign the template request of a batch, and create the template of the batch from it, if the template request was
+     * presigned in a way that {@link Aws4PresignTemplate} can reproduce.
+     */
+    private Optional<BatchTemplate> createBatchTemplate(String bucket,
+                                                        AwsCredentials credentials,
+                                                        Instant signatureExpiration) {
+        GetObjectRequest templateRequest = GetObjectRequest.builder()
+                                                           .bucket(bucket)
+                                                           .key(TEMPLATE_KEY)
+                                                           .build();
+        SdkHttpFullRequest marshalledTemplate = getObjectRequestMarshaller.marshall(templateRequest);
+        String marshalledPath = marshalledTemplate.encodedPath();
+        if (!marshalledPath.endsWith(ENCODED_TEMPLATE_KEY) || !marshalledTemplate.rawQueryParameters().isEmpty()) {
+            return Optional.empty();
+        }
+
+        ExecutionContext execCtx = createExecutionContext(templateRequest, "GetObject",
+                                                          StaticCredentialsProvider.create(credentials), signatureExpiration);
+        SdkHttpFullRequest signedHttpRequest = presignHttpRequest(execCtx, GetObjectRequest.class,
+                                                                  getObjectRequestMarshaller::marshall);
+        String signedPath = signedHttpRequest.encodedPath();
+        if (!signedPath.endsWith(ENCODED_TEMPLATE_KEY)) {
+            return Optional.empty();
+        }
+
+        PresignedGetObjectRequest.Builder presignedTemplate = PresignedGetObjectRequest.builder();
+        initializePresignedRequest(presignedTemplate, execCtx, signedHttpRequest);
+
+        String signedPathPrefix = signedPath.substring(0, signedPath.length() - ENCODED_TEMPLATE_KEY.length());
+        String marshalledPathPrefix = marshalledPath.substring(0, marshalledPath.length() - ENCODED_TEMPLATE_KEY.length());
+        return Aws4PresignTemplate.create(signedHttpRequest, signedPathPrefix, credentials, UNSIGNED_PAYLOAD)
+                                  .map(t -> new BatchTemplate(t, presignedTemplate.build(), marshalledTemplate,
+                                                              marshalledPathPrefix));
+    }
+
     @Override
     public PresignedPutObjectRequest presignPutObject(PutObjectPresignRequest request) {
         return presign(PresignedPutObjectRequest.builder(),
@@ -184,7 +263,29 @@ public final class DefaultS3Presigner extends DefaultSdkPresigner implements S3P
                                                               Function<U, SdkHttpFullRequest> requestMarshaller,
                                                               String operationName) {
         ExecutionContext execCtx = createExecutionContext(presignRequest, requestToPresign, operationName);
+        return presign(presignedRequest, execCtx, requestToPresignType, requestMarshaller);
+    }
+
+    /**
+     * Generate a {@link PresignedRequest} from the {@link SdkRequest} of an execution context.
+     */
+    private <T extends PresignedRequest.Builder, U> T presign(T presignedRequest,
+                                                              ExecutionContext execCtx,
+                                                              Class<U> requestToPresignType,
+                                                              Function<U, SdkHttpFullRequest> requestMarshaller) {
+        SdkHttpFullRequest signedHttpRequest = presignHttpRequest(execCtx, requestToPresignType, requestMarshaller);
+
+        initializePresignedRequest(presignedRequest, execCtx, signedHttpRequest);
+
+        return presignedRequest;
+    }
 
+    /**
+     * Generate the presigned HTTP request of the {@link SdkRequest} of an execution context.
+     */
+    private <U> SdkHttpFullRequest presignHttpRequest(ExecutionContext execCtx,
+                                                      Class<U> requestToPresignType,
+                                                      Function<U, SdkHttpFullRequest> requestMarshaller) {
         callBeforeExecutionHooks(execCtx);
         callModifyRequestHooksAndUpdateContext(execCtx);
         callBeforeMarshallingHooks(execCtx);
@@ -194,29 +295,33 @@ public final class DefaultS3Presigner extends DefaultSdkPresigner implements S3P
         callModifyHttpRequestHooksAndUpdateContext(execCtx);
 
         SdkHttpFullRequest httpRequest = getHttpFullRequest(execCtx);
-        SdkHttpFullRequest signedHttpRequest = presignRequest(execCtx, httpRequest);
-
-        initializePresignedRequest(presignedRequest, execCtx, signedHttpRequest);
-
-        return presignedRequest;
+        return presignRequest(execCtx, httpRequest);
     }
 
     /**
      * Creates an execution context from the provided requests information.
      */
     private ExecutionContext createExecutionContext(PresignRequest presignRequest, SdkRequest sdkRequest, String operationName) {
-        AwsCredentialsProvider clientCredentials = credentialsProvider();
+        Instant signatureExpiration = Instant.now().plus(presignRequest.signatureDuration());
+        return createExecutionContext(sdkRequest, operationName, credentialsProvider(), signatureExpiration);
+    }
+
+    /**
+     * Creates an execution context from the provided request information, credentials and signature expiration. The
+     * credentials are only used if the request doesn't override them.
+     */
+    private ExecutionContext createExecutionContext(SdkRequest sdkRequest,
+                                                    String operationName,
+                                                    AwsCredentialsProvider clientCredentials,
+                                                    Instant signatureExpiration) {
         AwsCredentialsProvider credentialsProvider = sdkRequest.overrideConfiguration()
                                                                .filter(c -> c instanceof AwsRequestOverrideConfiguration)
                                                                .map(c -> (AwsRequestOverrideConfiguration) c)
                                                                .flatMap(AwsRequestOverrideConfiguration::credentialsProvider)
                                                                .orElse(clientCredentials);
+        AwsCredentials credentials = resolveCredentials(credentialsProvider);
 
         Signer signer = sdkRequest.overrideConfiguration().flatMap(RequestOverrideConfiguration::signer).orElse(DEFAULT_SIGNER);
-        Instant signatureExpiration = Instant.now().plus(presignRequest.signatureDuration());
-
-        AwsCredentials credentials = credentialsProvider.resolveCredentials();
-        Validate.validState(credentials != null, "Credential providers must never return null.");
 
         ExecutionAttributes executionAttributes = new ExecutionAttributes()
             .putAttribute(AwsSignerExecutionAttribute.AWS_CREDENTIALS, credentials)
@@ -243,6 +348,12 @@ public final class DefaultS3Presigner extends DefaultSdkPresigner implements S3P
                                .build();
     }
 
+    private AwsCredentials resolveCredentials(AwsCredentialsProvider credentialsProvider) {
+        AwsCredentials credentials = credentialsProvider.resolveCredentials();
+        Validate.validState(credentials != null, "Credential providers must never return null.");
+        return credentials;
+    }
+
     /**
      * Call the before-execution interceptor hooks.
      */
@@ -398,6 +509,51 @@ public final class DefaultS3Presigner extends DefaultSdkPresigner implements S3P
                         .signedPayload(signedPayload);
     }
 
+    /**
+     * The template of a batch: its presigned template request, and the parts of the marshalled template request that the
+     * requests presigned from it must share.
+     */
+    private final class BatchTemplate {
+        private final Aws4PresignTemplate presignTemplate;
+        private final PresignedGetObjectRequest presignedTemplate;
+        private final SdkHttpFullRequest marshalledTemplate;
+        private final String marshalledPathPrefix;
+
+        private BatchTemplate(Aws4PresignTemplate presignTemplate,
+                              PresignedGetObjectRequest presignedTemplate,
+                              SdkHttpFullRequest marshalledTemplate,
+                              String marshalledPathPrefix) {
+            this.presignTemplate = presignTemplate;
+            this.presignedTemplate = presignedTemplate;
+            this.marshalledTemplate = marshalledTemplate;
+            this.marshalledPathPrefix = marshalledPathPrefix;
+        }
+
+        /**
+         * Presign the provided request from this template, if it only differs from the template request in its key and
+         * query parameters.
+         */
+        private Optional<PresignedGetObjectRequest> presign(GetObjectRequest getObjectRequest) {
+            if (getObjectRequest.overrideConfiguration().isPresent()) {
+                return Optional.empty();
+            }
+
+            SdkHttpFullRequest marshalledRequest = getObjectRequestMarshaller.marshall(getObjectRequest);
+            if (!marshalledRequest.encodedPath().startsWith(marshalledPathPrefix) ||
+                !marshalledRequest.headers().equals(marshalledTemplate.headers()) ||
+                marshalledRequest.contentStreamProvider().isPresent()) {
+                return Optional.empty();
+            }
+
+            String encodedPathSuffix = marshalledRequest.encodedPath().substring(marshalledPathPrefix.length());
+            SdkHttpFullRequest signedHttpRequest = presignTemplate.presign(encodedPathSuffix,
+                                                                           marshalledRequest.rawQueryParameters());
+            return Optional.of(presignedTemplate.toBuilder()
+                                                .httpRequest(signedHttpRequest)
+                                                .build());
+        }
+    }
+
     @SdkInternalApi
     public static final class Builder extends DefaultSdkPresigner.Builder<Builder>
         implements S3Presigner.Builder {
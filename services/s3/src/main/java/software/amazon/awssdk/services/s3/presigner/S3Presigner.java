@@ -17,6 +17,8 @@ package software.amazon.awssdk.services.s3.presigner;
 
 import java.net.URI;
 import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.Immutable;
 import software.amazon.awssdk.annotations.NotThreadSafe;
@@ -33,6 +35,7 @@ import software.amazon.awssdk.regions.providers.DefaultAwsRegionProviderChain;
 import software.amazon.awssdk.services.s3.internal.presigner.DefaultS3Presigner;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectBatchPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
@@ -266,6 +269,67 @@ public interface S3Presigner extends SdkPresigner {
         return presignGetObject(builder.build());
     }
 
+    /**
+     * Presign a batch of {@link GetObjectRequest}s for the objects of one bucket, so that they can be executed at a later
+     * time without requiring additional signing or authentication.
+     * <p/>
+     *
+     * This is equivalent to invoking {@link #presignGetObject(GetObjectPresignRequest)} for each request of the batch, but
+     * is faster when many objects are presigned at once: the credentials, expiration, endpoint and signing key are
+     * resolved once for the whole batch, rather than once for each request. Requests that only differ from each other in
+     * their key and query parameters (such as {@link GetObjectRequest#versionId()} and
+     * {@link GetObjectRequest#responseContentDisposition()}) are then presigned without going through the execution
+     * interceptors again. Requests that set headers or override their configuration are presigned one by one.
+     * <p/>
+     *
+     * <b>Example Usage</b>
+     * <p/>
+     *
+     * <pre>
+     * {@code
+     *     S3Presigner presigner = ...;
+     *
+     *     // Create the GetObjectRequests to be pre-signed
+     *     List<GetObjectRequest> getObjectRequests = ...;
+     *
+     *     // Create a GetObjectBatchPresignRequest to specify the bucket and the signature duration
+     *     GetObjectBatchPresignRequest getObjectBatchPresignRequest =
+     *         GetObjectBatchPresignRequest.builder()
+     *                                     .bucket("my-bucket")
+     *                                     .signatureDuration(Duration.ofMinutes(10))
+     *                                     .getObjectRequests(getObjectRequests)
+     *                                     .build();
+     *
+     *     // Generate the presigned requests, in the order of the GetObjectRequests
+     *     List<PresignedGetObjectRequest> presignedGetObjectRequests =
+     *         presigner.presignGetObjects(getObjectBatchPresignRequest);
+     * }
+     * </pre>
+     */
+    default List<PresignedGetObjectRequest> presignGetObjects(GetObjectBatchPresignRequest request) {
+        List<PresignedGetObjectRequest> presignedRequests = new ArrayList<>(request.getObjectRequests().size());
+        for (GetObjectRequest getObjectRequest : request.getObjectRequests()) {
+            presignedRequests.add(presignGetObject(r -> r.signatureDuration(request.signatureDuration())
+                                                         .getObjectRequest(getObjectRequest)));
+        }
+        return presignedRequests;
+    }
+
+    /**
+     * Presign a batch of {@link GetObjectRequest}s for the objects of one bucket, so that they can be executed at a later
+     * time without requiring additional signing or authentication.
+     * <p />
+     * This is a shorter method of invoking {@link #presignGetObjects(GetObjectBatchPresignRequest)} without needing
+     * to call {@code GetObjectBatchPresignRequest.builder()} or {@code .build()}.
+     *
+     * @see #presignGetObjects(GetObjectBatchPresignRequest)
+     */
+    default List<PresignedGetObjectRequest> presignGetObjects(Consumer<GetObjectBatchPresignRequest.Builder> request) {
+        GetObjectBatchPresignRequest.Builder builder = GetObjectBatchPresignRequest.builder();
+        request.accept(builder);
+        return presignGetObjects(builder.build());
+    }
+
     /**
      * Presign a {@link PutObjectRequest} so that it can be executed at a later time without requiring additional
      * signing or authentication.
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.presigner.model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.awscore.presigner.PresignRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * A request to pre-sign a batch of {@link GetObjectRequest}s for the objects of one bucket, with the same signature duration,
+ * so that they can be executed at a later time without requiring additional signing or authentication.
+ *
+ * @see S3Presigner#presignGetObjects(GetObjectBatchPresignRequest)
+ * @see #builder()
+ */
+@SdkPublicApi
+@Immutable
+@ThreadSafe
+public final class GetObjectBatchPresignRequest
+        extends PresignRequest
+        implements ToCopyableBuilder<GetObjectBatchPresignRequest.Builder, GetObjectBatchPresignRequest> {
+    private final String bucket;
+    private final List<GetObjectRequest> getObjectRequests;
+
+    private GetObjectBatchPresignRequest(DefaultBuilder builder) {
+        super(builder);
+        this.bucket = Validate.paramNotNull(builder.bucket, "bucket");
+        Validate.paramNotNull(builder.getObjectRequests, "getObjectRequests");
+
+        List<GetObjectRequest> getObjectRequests = new ArrayList<>(builder.getObjectRequests.size());
+        for (GetObjectRequest getObjectRequest : builder.getObjectRequests) {
+            Validate.paramNotNull(getObjectRequest, "getObjectRequests[]");
+            if (getObjectRequest.bucket() == null) {
+                getObjectRequest = getObjectRequest.toBuilder().bucket(bucket).build();
+            }
+            Validate.isTrue(bucket.equals(getObjectRequest.bucket()),
+                            "The bucket of every GetObjectRequest must be %s, but was %s.", bucket, getObjectRequest.bucket());
+            getObjectRequests.add(getObjectRequest);
+        }
+        this.getObjectRequests = Collections.unmodifiableList(getObjectRequests);
+    }
+
+    /**
+     * Create a builder that can be used to create a {@link GetObjectBatchPresignRequest}.
+     *
+     * @see S3Presigner#presignGetObjects(GetObjectBatchPresignRequest)
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * Retrieve the bucket of the objects whose {@link GetObjectRequest}s should be presigned.
+     */
+    public String bucket() {
+        return bucket;
+    }
+
+    /**
+     * Retrieve the {@link GetObjectRequest}s that should be presigned, in order. The bucket of each request is the bucket of
+     * this batch.
+     */
+    public List<GetObjectRequest> getObjectRequests() {
+        return getObjectRequests;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new DefaultBuilder(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        GetObjectBatchPresignRequest that = (GetObjectBatchPresignRequest) o;
+
+        return bucket.equals(that.bucket) && getObjectRequests.equals(that.getObjectRequests);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + bucket.hashCode();
+        result = 31 * result + getObjectRequests.hashCode();
+        return result;
+    }
+
+    /**
+     * A builder for a {@link GetObjectBatchPresignRequest}, created with {@link #builder()}.
+     */
+    @SdkPublicApi
+    @NotThreadSafe
+    public interface Builder extends PresignRequest.Builder,
+                                     CopyableBuilder<GetObjectBatchPresignRequest.Builder, GetObjectBatchPresignRequest> {
+        /**
+         * Configure the bucket of the objects whose {@link GetObjectRequest}s should be presigned.
+         */
+        Builder bucket(String bucket);
+
+        /**
+         * Configure the {@link GetObjectRequest}s that should be presigned. Their bucket may be left unset, in which case it's
+         * the bucket of the batch, and otherwise must be the bucket of the batch.
+         */
+        Builder getObjectRequests(Collection<GetObjectRequest> getObjectRequests);
+
+        /**
+         * Configure the {@link GetObjectRequest}s that should be presigned.
+         *
+         * @see #getObjectRequests(Collection)
+         */
+        default Builder getObjectRequests(GetObjectRequest... getObjectRequests) {
+            return getObjectRequests(Arrays.asList(getObjectRequests));
+        }
+
+        @Override
+        Builder signatureDuration(Duration signatureDuration);
+
+        @Override
+        GetObjectBatchPresignRequest build();
+    }
+
+    @SdkInternalApi
+    private static final class DefaultBuilder extends PresignRequest.DefaultBuilder<DefaultBuilder> implements Builder {
+        private String bucket;
+        private List<GetObjectRequest> getObjectRequests;
+
+        private DefaultBuilder() {}
+
+        private DefaultBuilder(GetObjectBatchPresignRequest request) {
+            super(request);
+            this.bucket = request.bucket;
+            this.getObjectRequests = request.getObjectRequests;
+        }
+
+        @Override
+        public Builder bucket(String bucket) {
+            this.bucket = bucket;
+            return this;
+        }
+
+        @Override
+        public Builder getObjectRequests(Collection<GetObjectRequest> getObjectRequests) {
+            this.getObjectRequests = getObjectRequests == null ? null : new ArrayList<>(getObjectRequests);
+            return this;
+        }
+
+        @Override
+        public GetObjectBatchPresignRequest build() {
+            return new GetObjectBatchPresignRequest(this);
+        }
+    }
+}
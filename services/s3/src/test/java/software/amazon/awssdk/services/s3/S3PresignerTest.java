@@ -18,8 +18,16 @@ package software.amazon.awssdk.services.s3;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import static java.util.stream.Collectors.toMap;
+
 import java.net.URI;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
 import org.assertj.core.data.Offset;
 import org.junit.After;
 import org.junit.Before;
@@ -29,10 +37,14 @@ import org.mockito.runners.MockitoJUnitRunner;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.signer.AwsS3V4Signer;
+import software.amazon.awssdk.auth.signer.params.Aws4PresignerParams;
 import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.signer.NoOpSigner;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.RequestPayer;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
@@ -214,6 +226,126 @@ public class S3PresignerTest {
         });
     }
 
+    @Test
+    public void getObjects_PresignedRequestsHaveValidSignatures() {
+        List<PresignedGetObjectRequest> presigned =
+            presigner.presignGetObjects(r -> r.bucket("foo34343434")
+                                              .signatureDuration(Duration.ofMinutes(5))
+                                              .getObjectRequests(GetObjectRequest.builder().key("bar").build(),
+                                                                 GetObjectRequest.builder()
+                                                                                 .key("baz/qux quux")
+                                                                                 .versionId("1")
+                                                                                 .build(),
+                                                                 GetObjectRequest.builder()
+                                                                                 .key("corge")
+                                                                                 .responseContentType("text/plain")
+                                                                                 .build()));
+
+        assertThat(presigned).hasSize(3);
+        assertThat(presigned.get(0).url().getPath()).isEqualTo("/bar");
+        assertThat(presigned.get(1).url().getPath()).isEqualTo("/baz/qux%20quux");
+        assertThat(presigned.get(1).httpRequest().rawQueryParameters().get("versionId")).containsExactly("1");
+        assertThat(presigned.get(2).url().getPath()).isEqualTo("/corge");
+        assertThat(presigned.get(2).httpRequest().rawQueryParameters().get("response-content-type"))
+            .containsExactly("text/plain");
+
+        for (PresignedGetObjectRequest presignedRequest : presigned) {
+            assertThat(presignedRequest.isBrowserExecutable()).isTrue();
+            assertThat(presignedRequest.signedHeaders().keySet()).containsExactly("host");
+            assertThat(presignedRequest.expiration()).isEqualTo(presigned.get(0).expiration());
+            assertSignatureIsValid(presignedRequest, AwsBasicCredentials.create("x", "x"));
+        }
+    }
+
+    @Test
+    public void getObjects_RequestsWithHeadersOrOverriddenConfigurationArePresignedIndividually() {
+        AwsRequestOverrideConfiguration overrideConfiguration =
+            AwsRequestOverrideConfiguration.builder()
+                                           .credentialsProvider(() -> AwsBasicCredentials.create("b", "b"))
+                                           .build();
+
+        List<PresignedGetObjectRequest> presigned =
+            presigner.presignGetObjects(r -> r.bucket("foo34343434")
+                                              .signatureDuration(Duration.ofMinutes(5))
+                                              .getObjectRequests(GetObjectRequest.builder()
+                                                                                 .key("bar")
+                                                                                 .requestPayer(RequestPayer.REQUESTER)
+                                                                                 .build(),
+                                                                 GetObjectRequest.builder()
+                                                                                 .key("baz")
+                                                                                 .overrideConfiguration(overrideConfiguration)
+                                                                                 .build()));
+
+        assertThat(presigned.get(0).isBrowserExecutable()).isFalse();
+        assertThat(presigned.get(0).signedHeaders().keySet()).containsExactlyInAnyOrder("host", "x-amz-request-payer");
+        assertThat(presigned.get(1).httpRequest().rawQueryParameters().get("X-Amz-Credential").get(0)).startsWith("b/");
+        assertSignatureIsValid(presigned.get(1), AwsBasicCredentials.create("b", "b"));
+    }
+
+    @Test
+    public void getObjects_RequestsAfterOneWithOverriddenCredentialsHaveValidSignatures() {
+        AwsRequestOverrideConfiguration overrideConfiguration =
+            AwsRequestOverrideConfiguration.builder()
+                                           .credentialsProvider(() -> AwsBasicCredentials.create("b", "b"))
+                                           .build();
+
+        List<PresignedGetObjectRequest> presigned =
+            presigner.presignGetObjects(r -> r.bucket("foo34343434")
+                                              .signatureDuration(Duration.ofMinutes(5))
+                                              .getObjectRequests(GetObjectRequest.builder().key("bar").build(),
+                                                                 GetObjectRequest.builder()
+                                                                                 .key("baz")
+                                                                                 .overrideConfiguration(overrideConfiguration)
+                                                                                 .build(),
+                                                                 GetObjectRequest.builder().key("corge").build(),
+                                                                 GetObjectRequest.builder().key("grault").build()));
+
+        assertThat(presigned).hasSize(4);
+        assertSignatureIsValid(presigned.get(0), AwsBasicCredentials.create("x", "x"));
+        assertSignatureIsValid(presigned.get(1), AwsBasicCredentials.create("b", "b"));
+        assertSignatureIsValid(presigned.get(2), AwsBasicCredentials.create("x", "x"));
+        assertSignatureIsValid(presigned.get(3), AwsBasicCredentials.create("x", "x"));
+    }
+
+    /**
+     * Presign the provided presigned GetObject request again, at the same time and for the same duration, and check that the
+     * signature is the same.
+     */
+    private static void assertSignatureIsValid(PresignedGetObjectRequest presigned, AwsCredentials credentials) {
+        SdkHttpRequest httpRequest = presigned.httpRequest();
+        Map<String, List<String>> queryParameters = httpRequest.rawQueryParameters();
+        Instant signingTime = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+                                               .withZone(ZoneOffset.UTC)
+                                               .parse(queryParameters.get("X-Amz-Date").get(0), Instant::from);
+        long expires = Long.parseLong(queryParameters.get("X-Amz-Expires").get(0));
+
+        SdkHttpFullRequest unsignedRequest =
+            SdkHttpFullRequest.builder()
+                              .method(httpRequest.method())
+                              .protocol(httpRequest.protocol())
+                              .host(httpRequest.host())
+                              .port(httpRequest.port())
+                              .encodedPath(httpRequest.encodedPath())
+                              .rawQueryParameters(queryParameters.entrySet()
+                                                                 .stream()
+                                                                 .filter(e -> !e.getKey().startsWith("X-Amz-"))
+                                                                 .collect(toMap(Map.Entry::getKey, Map.Entry::getValue)))
+                              .build();
+        SdkHttpFullRequest signedRequest =
+            AwsS3V4Signer.create().presign(unsignedRequest,
+                                           Aws4PresignerParams.builder()
+                                                              .awsCredentials(credentials)
+                                                              .signingName("s3")
+                                                              .signingRegion(Region.US_WEST_2)
+                                                              .signingClockOverride(Clock.fixed(signingTime, ZoneOffset.UTC))
+                                                              .expirationTime(signingTime.plusSeconds(expires))
+                                                              .doubleUrlEncode(false)
+                                                              .build());
+
+        assertThat(signedRequest.rawQueryParameters().get("X-Amz-Signature"))
+            .isEqualTo(queryParameters.get("X-Amz-Signature"));
+    }
+
     @Test
     public void putObject_IsNotUrlCompatible() {
         PresignedPutObjectRequest presigned =
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.presigner.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.Test;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+
+public class GetObjectBatchPresignRequestTest {
+    private static final GetObjectRequest GET_OBJECT_REQUEST = GetObjectRequest.builder()
+                                                                               .bucket("some-bucket")
+                                                                               .key("some-key")
+                                                                               .build();
+
+    @Test
+    public void build_minimal_maximal() {
+        GetObjectBatchPresignRequest getObjectBatchPresignRequest =
+            GetObjectBatchPresignRequest.builder()
+                                        .bucket("some-bucket")
+                                        .getObjectRequests(GET_OBJECT_REQUEST)
+                                        .signatureDuration(Duration.ofSeconds(123L))
+                                        .build();
+
+        assertThat(getObjectBatchPresignRequest.bucket()).isEqualTo("some-bucket");
+        assertThat(getObjectBatchPresignRequest.getObjectRequests()).containsExactly(GET_OBJECT_REQUEST);
+        assertThat(getObjectBatchPresignRequest.signatureDuration()).isEqualTo(Duration.ofSeconds(123L));
+    }
+
+    @Test
+    public void build_requestWithoutBucket_usesBatchBucket() {
+        GetObjectBatchPresignRequest getObjectBatchPresignRequest =
+            GetObjectBatchPresignRequest.builder()
+                                        .bucket("some-bucket")
+                                        .getObjectRequests(GetObjectRequest.builder().key("some-key").build())
+                                        .signatureDuration(Duration.ofSeconds(123L))
+                                        .build();
+
+        assertThat(getObjectBatchPresignRequest.getObjectRequests()).containsExactly(GET_OBJECT_REQUEST);
+    }
+
+    @Test
+    public void build_requestWithOtherBucket_fails() {
+        assertThatThrownBy(() -> GetObjectBatchPresignRequest.builder()
+                                                             .bucket("other-bucket")
+                                                             .getObjectRequests(GET_OBJECT_REQUEST)
+                                                             .signatureDuration(Duration.ofSeconds(123L))
+                                                             .build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("some-bucket");
+    }
+
+    @Test
+    public void build_missingProperty_bucket() {
+        assertThatThrownBy(() -> GetObjectBatchPresignRequest.builder()
+                                                             .getObjectRequests(GET_OBJECT_REQUEST)
+                                                             .signatureDuration(Duration.ofSeconds(123L))
+                                                             .build())
+            .isInstanceOf(NullPointerException.class)
+            .hasMessageContaining("bucket");
+    }
+
+    @Test
+    public void toBuilder() {
+        GetObjectBatchPresignRequest getObjectBatchPresignRequest =
+            GetObjectBatchPresignRequest.builder()
+                                        .bucket("some-bucket")
+                                        .getObjectRequests(GET_OBJECT_REQUEST)
+                                        .signatureDuration(Duration.ofSeconds(123L))
+                                        .build();
+
+        GetObjectBatchPresignRequest otherGetObjectBatchPresignRequest = getObjectBatchPresignRequest.toBuilder().build();
+
+        assertThat(otherGetObjectBatchPresignRequest).isEqualTo(getObjectBatchPresignRequest);
+        assertThat(otherGetObjectBatchPresignRequest.hashCode()).isEqualTo(getObjectBatchPresignRequest.hashCode());
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sts.auth;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
+
+/**
+ * A process-wide cache of the sessions assumed by {@link StsAssumeRoleCredentialsProvider}s that share their sessions, keyed by
+ * the STS client and the {@link AssumeRoleRequest} that the session was assumed with.
+ *
+ * <p>Providers that assume the same role with the same request and client, such as the providers of the clients created for
+ * one tenant, share one session instead of each assuming the role. A session is shared until it has less than
+ * {@link StsCredentialsProvider#PREFETCH_TIME} left before it expires, so that a provider refreshing its credentials always gets
+ * a session that it won't need to refresh right away. If several providers need a new session at the same time, only one of
+ * them calls STS and the others wait for its session.
+ *
+ * <p>Providers {@link #acquire(StsClient, AssumeRoleRequest)} the sessions they use and {@link #release(StsClient,
+ * AssumeRoleRequest)} them when they are closed, and a session is removed once no provider uses it. The cache doesn't keep the
+ * STS clients alive, so the sessions of a client that is no longer used are removed once the client is garbage collected, and
+ * expired sessions that no provider uses are removed whenever a new session is stored. The least recently used sessions are
+ * evicted when the cache has more than {@link #MAX_ENTRIES} sessions.
+ */
+@SdkInternalApi
+@ThreadSafe
+final class AssumeRoleSessionCache {
+    static final int MAX_ENTRIES = 1_000;
+
+    private static final AssumeRoleSessionCache INSTANCE = new AssumeRoleSessionCache(MAX_ENTRIES);
+
+    /**
+     * The sessions, in order of last access. Guarded by itself.
+     */
+    private final Map<Key, Entry> sessions;
+
+    /**
+     * The keys whose STS client has been garbage collected.
+     */
+    private final ReferenceQueue<StsClient> collectedClients = new ReferenceQueue<>();
+
+    AssumeRoleSessionCache(int maxEntries) {
+        this.sessions = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    static AssumeRoleSessionCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Register a provider that uses the session of the provided client and request, so that the session is kept until the
+     * provider {@link #release(StsClient, AssumeRoleRequest)}s it.
+     */
+    void acquire(StsClient stsClient, AssumeRoleRequest assumeRoleRequest) {
+        synchronized (sessions) {
+            expungeCollectedClients();
+            Key key = new Key(stsClient, assumeRoleRequest, collectedClients);
+            sessions.computeIfAbsent(key, k -> new Entry()).providers++;
+        }
+    }
+
+    /**
+     * Unregister a provider that {@link #acquire(StsClient, AssumeRoleRequest)}d the session of the provided client and request,
+     * removing the session if no other provider uses it.
+     */
+    void release(StsClient stsClient, AssumeRoleRequest assumeRoleRequest) {
+        synchronized (sessions) {
+            expungeCollectedClients();
+            Key key = new Key(stsClient, assumeRoleRequest, null);
+            Entry entry = sessions.get(key);
+            if (entry != null && --entry.providers <= 0) {
+                sessions.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the shared session for the provided client and request, calling the provided supplier to assume the role if
+     * there is no session that is valid for long enough and no other caller is already assuming the role.
+     */
+    SessionCredentialsHolder sessionCredentials(StsClient stsClient,
+                                                AssumeRoleRequest assumeRoleRequest,
+                                                Supplier<SessionCredentialsHolder> sessionSupplier) {
+        Key key = new Key(stsClient, assumeRoleRequest, null);
+        CompletableFuture<SessionCredentialsHolder> session;
+        boolean assumeRole = false;
+
+        synchronized (sessions) {
+            expungeCollectedClients();
+            Entry entry = sessions.get(key);
+            if (entry == null || entry.session == null || isExpiring(entry.session)) {
+                removeExpiredSessions();
+                entry = sessions.get(key);
+                if (entry == null) {
+                    entry = new Entry();
+                    sessions.put(new Key(stsClient, assumeRoleRequest, collectedClients), entry);
+                }
+                entry.session = new CompletableFuture<>();
+                assumeRole = true;
+            }
+            session = entry.session;
+        }
+
+        if (assumeRole) {
+            try {
+                session.complete(sessionSupplier.get());
+            } catch (RuntimeException | Error e) {
+                synchronized (sessions) {
+                    Entry entry = sessions.get(key);
+                    if (entry != null && entry.session == session) {
+                        entry.session = null;
+                    }
+                }
+                session.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return session.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    int size() {
+        synchronized (sessions) {
+            expungeCollectedClients();
+            return sessions.size();
+        }
+    }
+
+    /**
+     * Remove the expired sessions that no provider has acquired, which would otherwise be kept until they are evicted or their
+     * client is garbage collected. Guarded by {@link #sessions}.
+     */
+    private void removeExpiredSessions() {
+        Instant now = Instant.now();
+        Iterator<Entry> entries = sessions.values().iterator();
+        while (entries.hasNext()) {
+            Entry entry = entries.next();
+            CompletableFuture<SessionCredentialsHolder> session = entry.session;
+            if (entry.providers <= 0 && session != null && session.isDone() &&
+                !session.join().getSessionCredentialsExpiration().toInstant().isAfter(now)) {
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove the sessions whose STS client has been garbage collected. Guarded by {@link #sessions}.
+     */
+    private void expungeCollectedClients() {
+        Reference<? extends StsClient> collected;
+        while ((collected = collectedClients.poll()) != null) {
+            sessions.remove(collected);
+        }
+    }
+
+    private static boolean isExpiring(CompletableFuture<SessionCredentialsHolder> session) {
+        if (!session.isDone()) {
+            return false;
+        }
+
+        Instant expiration = session.join().getSessionCredentialsExpiration().toInstant();
+        return Duration.between(Instant.now(), expiration).compareTo(StsCredentialsProvider.PREFETCH_TIME) <= 0;
+    }
+
+    /**
+     * The shared session of a key, or null if it hasn't been assumed yet, and the number of providers that use it. Guarded by
+     * {@link #sessions}.
+     */
+    private static final class Entry {
+        private CompletableFuture<SessionCredentialsHolder> session;
+        private int providers;
+    }
+
+    /**
+     * The key of a session: the identity of the STS client, whose credentials the role is assumed with, and the request. The
+     * client is only weakly referenced, and a key whose client has been garbage collected is only equal to itself.
+     */
+    private static final class Key extends WeakReference<StsClient> {
+        private final AssumeRoleRequest assumeRoleRequest;
+        private final int hashCode;
+
+        private Key(StsClient stsClient, AssumeRoleRequest assumeRoleRequest, ReferenceQueue<StsClient> queue) {
+            super(stsClient, queue);
+            this.assumeRoleRequest = assumeRoleRequest;
+            this.hashCode = 31 * System.identityHashCode(stsClient) + assumeRoleRequest.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key that = (Key) o;
+            StsClient stsClient = get();
+            return stsClient != null && stsClient == that.get() && assumeRoleRequest.equals(that.assumeRoleRequest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -43,6 +43,16 @@ import software.amazon.awssdk.utils.Validate;
 @ThreadSafe
 public final class StsAssumeRoleCredentialsProvider extends StsCredentialsProvider {
     private Supplier<AssumeRoleRequest> assumeRoleRequestSupplier;
+    private final boolean sharedSessionCacheEnabled;
+
+    /**
+     * The client and request of the shared session this provider has acquired, or null if it has acquired none. Guarded by
+     * {@link #sharedSessionLock}.
+     */
+    private StsClient sharedSessionClient;
+    private AssumeRoleRequest sharedSessionRequest;
+    private boolean closed;
+    private final Object sharedSessionLock = new Object();
 
     /**
      * @see #builder()
@@ -52,6 +62,7 @@ public final class StsAssumeRoleCredentialsProvider extends StsCredentialsProvid
         Validate.notNull(builder.assumeRoleRequestSupplier, "Assume role request must not be null.");
 
         this.assumeRoleRequestSupplier = builder.assumeRoleRequestSupplier;
+        this.sharedSessionCacheEnabled = Boolean.TRUE.equals(builder.sharedSessionCacheEnabled);
     }
 
     /**
@@ -68,10 +79,59 @@ public final class StsAssumeRoleCredentialsProvider extends StsCredentialsProvid
         return stsClient.assumeRole(assumeRoleRequest).credentials();
     }
 
+    @Override
+    SessionCredentialsHolder getUpdatedSessionCredentials(StsClient stsClient) {
+        if (!sharedSessionCacheEnabled) {
+            return super.getUpdatedSessionCredentials(stsClient);
+        }
+
+        AssumeRoleRequest assumeRoleRequest = assumeRoleRequestSupplier.get();
+        Validate.notNull(assumeRoleRequest, "Assume role request must not be null.");
+        acquireSharedSession(stsClient, assumeRoleRequest);
+        return AssumeRoleSessionCache.getInstance().sessionCredentials(stsClient, assumeRoleRequest, () -> {
+            return new SessionCredentialsHolder(stsClient.assumeRole(assumeRoleRequest).credentials());
+        });
+    }
+
+    /**
+     * Make sure this provider has acquired the shared session of the provided request, and only that one, so that the session
+     * is kept while this provider uses it. A request supplier can return a different request each time.
+     */
+    private void acquireSharedSession(StsClient stsClient, AssumeRoleRequest assumeRoleRequest) {
+        synchronized (sharedSessionLock) {
+            if (closed || assumeRoleRequest.equals(sharedSessionRequest)) {
+                return;
+            }
+
+            AssumeRoleSessionCache.getInstance().acquire(stsClient, assumeRoleRequest);
+            releaseSharedSession();
+            sharedSessionClient = stsClient;
+            sharedSessionRequest = assumeRoleRequest;
+        }
+    }
+
+    private void releaseSharedSession() {
+        if (sharedSessionRequest != null) {
+            AssumeRoleSessionCache.getInstance().release(sharedSessionClient, sharedSessionRequest);
+            sharedSessionClient = null;
+            sharedSessionRequest = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        synchronized (sharedSessionLock) {
+            closed = true;
+            releaseSharedSession();
+        }
+    }
+
     @Override
     public String toString() {
         return ToString.builder("StsAssumeRoleCredentialsProvider")
                        .add("refreshRequest", assumeRoleRequestSupplier)
+                       .add("sharedSessionCacheEnabled", sharedSessionCacheEnabled)
                        .build();
     }
 
@@ -82,6 +142,7 @@ public final class StsAssumeRoleCredentialsProvider extends StsCredentialsProvid
     @NotThreadSafe
     public static final class Builder extends BaseBuilder<Builder, StsAssumeRoleCredentialsProvider> {
         private Supplier<AssumeRoleRequest> assumeRoleRequestSupplier;
+        private Boolean sharedSessionCacheEnabled = false;
 
         private Builder() {
             super(StsAssumeRoleCredentialsProvider::new);
@@ -118,5 +179,21 @@ public final class StsAssumeRoleCredentialsProvider extends StsCredentialsProvid
         public Builder refreshRequest(Consumer<AssumeRoleRequest.Builder> assumeRoleRequest) {
             return refreshRequest(AssumeRoleRequest.builder().applyMutation(assumeRoleRequest).build());
         }
+
+        /**
+         * Configure whether the provider should share its sessions with the other providers in this process that enable this
+         * setting and assume the role with the same {@link StsClient} and an equal {@link AssumeRoleRequest}. If this is true,
+         * such providers, for example the providers of the clients created for one tenant, call STS once for all of them
+         * instead of once each, and only one of them calls STS when they need a new session at the same time.
+         *
+         * <p>A shared session is reused until it is about to expire, and is dropped once all the providers that use it are
+         * closed. The least recently used sessions are evicted when many different roles are assumed.
+         *
+         * <p>By default, this is disabled.</p>
+         */
+        public Builder sharedSessionCacheEnabled(Boolean sharedSessionCacheEnabled) {
+            this.sharedSessionCacheEnabled = sharedSessionCacheEnabled;
+            return this;
+        }
     }
 }
@@ -17,16 +17,20 @@ package software.amazon.awssdk.services.sts.auth;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import software.amazon.awssdk.annotations.NotThreadSafe;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.auth.credentials.AsyncAwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.services.sts.StsClient;
 import software.amazon.awssdk.services.sts.model.Credentials;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.cache.CacheRefreshExecutor;
+import software.amazon.awssdk.utils.cache.CacheRefreshStatistics;
 import software.amazon.awssdk.utils.cache.CachedSupplier;
 import software.amazon.awssdk.utils.cache.NonBlocking;
 import software.amazon.awssdk.utils.cache.RefreshResult;
@@ -35,11 +39,23 @@ import software.amazon.awssdk.utils.cache.RefreshResult;
  * An implementation of {@link AwsCredentialsProvider} that is extended within this package to provide support for periodically-
  * updating session credentials. When credentials get close to expiration, this class will attempt to update them asynchronously
  * using {@link #getUpdatedCredentials(StsClient)}. If the credentials end up expiring, this class will block all calls to
- * {@link #resolveCredentials()} until the credentials can be updated.
+ * {@link #resolveCredentials()} until the credentials can be updated. Calls to {@link #resolveCredentialsAsync()} never block:
+ * the credentials are updated on a shared background thread.
  */
 @ThreadSafe
 @SdkInternalApi
-abstract class StsCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+abstract class StsCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
+    /**
+     * How long before the session expires that the credentials are considered stale, and all callers block to update them.
+     */
+    static final Duration STALE_TIME = Duration.ofMinutes(1);
+
+    /**
+     * How long before the session expires that the credentials are updated, in the background if asynchronous updates are
+     * enabled.
+     */
+    static final Duration PREFETCH_TIME = Duration.ofMinutes(5);
+
     /**
      * The STS client that should be used for periodically updating the session credentials in the background.
      */
@@ -65,19 +81,38 @@ abstract class StsCredentialsProvider implements AwsCredentialsProvider, SdkAuto
      * expiring.
      */
     private RefreshResult<SessionCredentialsHolder> updateSessionCredentials() {
-        SessionCredentialsHolder credentials = new SessionCredentialsHolder(getUpdatedCredentials(stsClient));
+        SessionCredentialsHolder credentials = getUpdatedSessionCredentials(stsClient);
         Instant actualTokenExpiration = credentials.getSessionCredentialsExpiration().toInstant();
         return RefreshResult.builder(credentials)
-                            .staleTime(actualTokenExpiration.minus(Duration.ofMinutes(1)))
-                            .prefetchTime(actualTokenExpiration.minus(Duration.ofMinutes(5)))
+                            .staleTime(actualTokenExpiration.minus(STALE_TIME))
+                            .prefetchTime(actualTokenExpiration.minus(PREFETCH_TIME))
                             .build();
     }
 
+    /**
+     * Call STS to get a new session. Overridden by child classes that can share sessions with other providers.
+     */
+    SessionCredentialsHolder getUpdatedSessionCredentials(StsClient stsClient) {
+        return new SessionCredentialsHolder(getUpdatedCredentials(stsClient));
+    }
+
     @Override
     public AwsCredentials resolveCredentials() {
         return sessionCache.get().getSessionCredentials();
     }
 
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        return sessionCache.getAsync(CacheRefreshExecutor.get()).thenApply(SessionCredentialsHolder::getSessionCredentials);
+    }
+
+    /**
+     * Retrieve the statistics of the calls this provider has made to STS to refresh its cached session credentials.
+     */
+    public CacheRefreshStatistics refreshStatistics() {
+        return sessionCache.refreshStatistics();
+    }
+
     @Override
     public void close() {
         sessionCache.close();
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sts.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.mockito.Mockito;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
+import software.amazon.awssdk.services.sts.model.Credentials;
+
+/**
+ * Validate the functionality of {@link AssumeRoleSessionCache}.
+ */
+public class AssumeRoleSessionCacheTest {
+    private static final AssumeRoleRequest REQUEST = AssumeRoleRequest.builder().roleArn("role").roleSessionName("session").build();
+
+    private final StsClient stsClient = Mockito.mock(StsClient.class);
+
+    @Test
+    public void concurrentCallersShareOneAssumeRole() throws Exception {
+        AssumeRoleSessionCache cache = new AssumeRoleSessionCache(AssumeRoleSessionCache.MAX_ENTRIES);
+        AtomicInteger assumeRoleCalls = new AtomicInteger(0);
+        CountDownLatch assumeRoleStarted = new CountDownLatch(1);
+        CountDownLatch assumeRoleReleased = new CountDownLatch(1);
+
+        CompletableFuture<SessionCredentialsHolder> first = CompletableFuture.supplyAsync(() -> {
+            return cache.sessionCredentials(stsClient, REQUEST, () -> {
+                assumeRoleCalls.incrementAndGet();
+                assumeRoleStarted.countDown();
+                awaitUninterruptibly(assumeRoleReleased);
+                return session(Duration.ofHours(1));
+            });
+        });
+        assertThat(assumeRoleStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<SessionCredentialsHolder> second = CompletableFuture.supplyAsync(() -> {
+            return cache.sessionCredentials(stsClient, REQUEST, () -> {
+                assumeRoleCalls.incrementAndGet();
+                return session(Duration.ofHours(1));
+            });
+        });
+        assumeRoleReleased.countDown();
+
+        assertThat(second.get(10, TimeUnit.SECONDS)).isSameAs(first.get(10, TimeUnit.SECONDS));
+        assertThat(assumeRoleCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void failedAssumeRoleIsNotCached() {
+        AssumeRoleSessionCache cache = new AssumeRoleSessionCache(AssumeRoleSessionCache.MAX_ENTRIES);
+
+        assertThatThrownBy(() -> cache.sessionCredentials(stsClient, REQUEST, () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        SessionCredentialsHolder session = session(Duration.ofHours(1));
+        assertThat(cache.sessionCredentials(stsClient, REQUEST, () -> session)).isSameAs(session);
+    }
+
+    @Test
+    public void sessionsOfDifferentClientsAreNotShared() {
+        AssumeRoleSessionCache cache = new AssumeRoleSessionCache(AssumeRoleSessionCache.MAX_ENTRIES);
+        SessionCredentialsHolder session = session(Duration.ofHours(1));
+        SessionCredentialsHolder otherSession = session(Duration.ofHours(1));
+
+        assertThat(cache.sessionCredentials(stsClient, REQUEST, () -> session)).isSameAs(session);
+        assertThat(cache.sessionCredentials(Mockito.mock(StsClient.class), REQUEST, () -> otherSession)).isSameAs(otherSession);
+        assertThat(cache.sessionCredentials(stsClient, REQUEST, () -> otherSession)).isSameAs(session);
+    }
+
+    @Test
+    public void leastRecentlyUsedSessionIsEvicted() {
+        AssumeRoleSessionCache cache = new AssumeRoleSessionCache(2);
+        AssumeRoleRequest otherRequest = REQUEST.toBuilder().roleArn("other-role").build();
+        AssumeRoleRequest thirdRequest = REQUEST.toBuilder().roleArn("third-role").build();
+        SessionCredentialsHolder session = session(Duration.ofHours(1));
+        SessionCredentialsHolder newSession = session(Duration.ofHours(1));
+
+        cache.sessionCredentials(stsClient, REQUEST, () -> session);
+        cache.sessionCredentials(stsClient, otherRequest, () -> session(Duration.ofHours(1)));
+        cache.sessionCredentials(stsClient, REQUEST, () -> newSession);
+        cache.sessionCredentials(stsClient, thirdRequest, () -> session(Duration.ofHours(1)));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.sessionCredentials(stsClient, REQUEST, () -> newSession)).isSameAs(session);
+    }
+
+    @Test
+    public void sessionIsRemovedOnceAllProvidersReleaseIt() {
+        AssumeRoleSessionCache cache = new AssumeRoleSessionCache(AssumeRoleSessionCache.MAX_ENTRIES);
+        cache.acquire(stsClient, REQUEST);
+        cache.acquire(stsClient, REQUEST);
+        cache.sessionCredentials(stsClient, REQUEST, () -> session(Duration.ofHours(1)));
+
+        cache.release(stsClient, REQUEST);
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.release(stsClient, REQUEST);
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void expiredSessionWithoutProvidersIsRemovedWhenAnotherSessionIsStored() {
+        AssumeRoleSessionCache cache = new AssumeRoleSessionCache(AssumeRoleSessionCache.MAX_ENTRIES);
+        AssumeRoleRequest otherRequest = REQUEST.toBuilder().roleArn("other-role").build();
+        AssumeRoleRequest acquiredRequest = REQUEST.toBuilder().roleArn("acquired-role").build();
+
+        cache.acquire(stsClient, acquiredRequest);
+        cache.sessionCredentials(stsClient, acquiredRequest, () -> session(Duration.ofHours(-1)));
+        cache.sessionCredentials(stsClient, REQUEST, () -> session(Duration.ofHours(-1)));
+        assertThat(cache.size()).isEqualTo(2);
+
+        cache.sessionCredentials(stsClient, otherRequest, () -> session(Duration.ofHours(1)));
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void sessionsOfCollectedClientAreRemoved() throws InterruptedException {
+        AssumeRoleSessionCache cache = new AssumeRoleSessionCache(AssumeRoleSessionCache.MAX_ENTRIES);
+        cacheSessionOfUnreferencedClient(cache);
+        assertThat(cache.size()).isEqualTo(1);
+
+        for (int i = 0; i < 100 && cache.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    private static void cacheSessionOfUnreferencedClient(AssumeRoleSessionCache cache) {
+        StsClient unreferencedClient = new StsClient() {
+            @Override
+            public String serviceName() {
+                return "sts";
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        cache.acquire(unreferencedClient, REQUEST);
+        cache.sessionCredentials(unreferencedClient, REQUEST, () -> session(Duration.ofHours(1)));
+    }
+
+    private static SessionCredentialsHolder session(Duration validity) {
+        return new SessionCredentialsHolder(Credentials.builder()
+                                                       .accessKeyId("a")
+                                                       .secretAccessKey("b")
+                                                       .sessionToken("c")
+                                                       .expiration(Instant.now().plus(validity))
+                                                       .build());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
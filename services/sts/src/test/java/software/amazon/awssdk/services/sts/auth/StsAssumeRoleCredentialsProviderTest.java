@@ -15,6 +15,17 @@
 
 package software.amazon.awssdk.services.sts.auth;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.mockito.Mockito;
 import software.amazon.awssdk.services.sts.StsClient;
 import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
 import software.amazon.awssdk.services.sts.model.AssumeRoleResponse;
@@ -44,4 +55,59 @@ public class StsAssumeRoleCredentialsProviderTest extends StsCredentialsProvider
     protected AssumeRoleResponse callClient(StsClient client, AssumeRoleRequest request) {
         return client.assumeRole(request);
     }
+
+    @Test
+    public void sharedSessionIsAssumedOnceForEqualRequests() {
+        assumeRoleWithSharedProviders(Instant.now().plus(Duration.ofHours(1)), getRequest(), getRequest());
+        verify(stsClient, times(1)).assumeRole(Mockito.any(AssumeRoleRequest.class));
+    }
+
+    @Test
+    public void sharedSessionIsNotReusedWhenAboutToExpire() {
+        assumeRoleWithSharedProviders(Instant.now().plus(Duration.ofMinutes(3)), getRequest(), getRequest());
+        verify(stsClient, times(2)).assumeRole(Mockito.any(AssumeRoleRequest.class));
+    }
+
+    @Test
+    public void sharedSessionIsNotReusedForDifferentRequests() {
+        assumeRoleWithSharedProviders(Instant.now().plus(Duration.ofHours(1)),
+                                      AssumeRoleRequest.builder().roleArn("role-1").build(),
+                                      AssumeRoleRequest.builder().roleArn("role-2").build());
+        verify(stsClient, times(2)).assumeRole(Mockito.any(AssumeRoleRequest.class));
+    }
+
+    @Test
+    public void sharedSessionIsDroppedOnceItsProvidersAreClosed() {
+        assumeRoleWithSharedProviders(Instant.now().plus(Duration.ofHours(1)), getRequest());
+        assumeRoleWithSharedProviders(Instant.now().plus(Duration.ofHours(1)), getRequest());
+        verify(stsClient, times(2)).assumeRole(Mockito.any(AssumeRoleRequest.class));
+    }
+
+    /**
+     * Resolve the credentials of one shared-session provider per request, keeping all of them open until they have all resolved
+     * their credentials.
+     */
+    private void assumeRoleWithSharedProviders(Instant expiration, AssumeRoleRequest... requests) {
+        Credentials credentials = Credentials.builder()
+                                             .accessKeyId("a")
+                                             .secretAccessKey("b")
+                                             .sessionToken("c")
+                                             .expiration(expiration)
+                                             .build();
+        when(stsClient.assumeRole(Mockito.any(AssumeRoleRequest.class))).thenReturn(getResponse(credentials));
+
+        List<StsAssumeRoleCredentialsProvider> credentialsProviders = new ArrayList<>();
+        try {
+            for (AssumeRoleRequest request : requests) {
+                StsAssumeRoleCredentialsProvider credentialsProvider = createCredentialsProviderBuilder(request)
+                    .stsClient(stsClient)
+                    .sharedSessionCacheEnabled(true)
+                    .build();
+                credentialsProviders.add(credentialsProvider);
+                assertThat(credentialsProvider.resolveCredentials().accessKeyId()).isEqualTo("a");
+            }
+        } finally {
+            credentialsProviders.forEach(StsAssumeRoleCredentialsProvider::close);
+        }
+    }
 }
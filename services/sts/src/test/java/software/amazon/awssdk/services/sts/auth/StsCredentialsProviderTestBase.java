@@ -63,6 +63,29 @@ public abstract class StsCredentialsProviderTestBase<RequestT, ResponseT> {
         callClient(verify(stsClient, times(2)), Mockito.any());
     }
 
+    @Test
+    public void asyncResolutionCachesNonExpiredSession() {
+        Credentials credentials = Credentials.builder()
+                                             .accessKeyId("a")
+                                             .secretAccessKey("b")
+                                             .sessionToken("c")
+                                             .expiration(Instant.now().plus(Duration.ofHours(5)))
+                                             .build();
+        RequestT request = getRequest();
+        when(callClient(stsClient, request)).thenReturn(getResponse(credentials));
+
+        try (StsCredentialsProvider credentialsProvider = createCredentialsProviderBuilder(request).stsClient(stsClient).build()) {
+            for (int i = 0; i < 2; ++i) {
+                AwsSessionCredentials providedCredentials =
+                    (AwsSessionCredentials) credentialsProvider.resolveCredentialsAsync().join();
+                assertThat(providedCredentials.accessKeyId()).isEqualTo("a");
+                assertThat(providedCredentials.sessionToken()).isEqualTo("c");
+            }
+        }
+
+        callClient(verify(stsClient, times(1)), Mockito.any());
+    }
+
     protected abstract RequestT getRequest();
 
     protected abstract ResponseT getResponse(Credentials credentials);
@@ -32,9 +32,13 @@ import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import javax.net.ssl.SSLHandshakeException;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
@@ -149,6 +153,71 @@ public abstract class SdkHttpClientTestSuite {
         testForResponseCode(returnCode, SdkHttpMethod.POST);
     }
 
+    @Test
+    public void byteBufferContent_isSent() throws Exception {
+        ByteBuffer content = ByteBuffer.wrap("xxBody".getBytes(StandardCharsets.UTF_8));
+        content.position(2);
+
+        testForContent(new ByteBufferContentStreamProvider() {
+            @Override
+            public ByteBuffer byteBuffer() {
+                return content.duplicate();
+            }
+
+            @Override
+            public InputStream newStream() {
+                return new ByteArrayInputStream("Body".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+
+    @Test
+    public void fileRegionContent_isSent() throws Exception {
+        Path file = Files.createTempFile(getClass().getSimpleName(), ".dat");
+        try {
+            Files.write(file, "xxBodyxx".getBytes(StandardCharsets.UTF_8));
+            testForContent(new FileRegionContentStreamProvider() {
+                @Override
+                public Path path() {
+                    return file;
+                }
+
+                @Override
+                public long position() {
+                    return 2;
+                }
+
+                @Override
+                public long size() {
+                    return 4;
+                }
+
+                @Override
+                public InputStream newStream() {
+                    return new ByteArrayInputStream("Body".getBytes(StandardCharsets.UTF_8));
+                }
+            });
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private void testForContent(ContentStreamProvider content) throws Exception {
+        SdkHttpClient client = createSdkHttpClient();
+        stubForMockRequest(200);
+
+        SdkHttpFullRequest req = mockSdkRequest("http://localhost:" + mockServer.port(), SdkHttpMethod.PUT);
+        HttpExecuteResponse rsp = client.prepareRequest(HttpExecuteRequest.builder()
+                                                                          .request(req.toBuilder()
+                                                                                      .putHeader("Content-Length", "4")
+                                                                                      .build())
+                                                                          .contentStreamProvider(content)
+                                                                          .build())
+                                        .call();
+
+        validateResponse(rsp, 200, SdkHttpMethod.PUT);
+    }
+
     private void testForResponseCode(int returnCode, SdkHttpMethod method) throws Exception {
         SdkHttpClient client = createSdkHttpClient();
 
@@ -58,6 +58,15 @@ public class BenchmarkRunner {
         V2OptimizedClientCreationBenchmark.class.getSimpleName(),
         V2DefaultClientCreationBenchmark.class.getSimpleName());
 
+    /**
+     * These are only compiled with the jdk11 profile, so they are referenced by name. When they are not on the classpath,
+     * the names simply match no benchmark.
+     */
+    private static final List<String> JDK11_BENCHMARKS = Arrays.asList(
+        "JdkHttpClientBenchmark",
+        "JdkAsyncHttpClientBenchmark",
+        "V2JdkClientCreationBenchmark");
+
     private static final Logger log = Logger.loggerFor(BenchmarkRunner.class);
 
     private final List<String> benchmarksToRun;
@@ -74,6 +83,7 @@ public class BenchmarkRunner {
         benchmarksToRun.addAll(ASYNC_BENCHMARKS);
         benchmarksToRun.addAll(PROTOCOL_BENCHMARKS);
         benchmarksToRun.addAll(COLD_START_BENCHMARKS);
+        benchmarksToRun.addAll(JDK11_BENCHMARKS);
 
         BenchmarkRunner runner = new BenchmarkRunner(benchmarksToRun);
 
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.apicall.httpclient.async;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.benchmark.utils.BenchmarkUtils;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.async.SdkHttpFileContentPublisher;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+
+/**
+ * Uploads a 10 GB file with the netty client to a local server that discards the request body. Run with the GC profiler to
+ * see the allocation rate of the upload path; with pooled request buffers it should not grow with the size of the file.
+ *
+ * <p>{@code fileRegion} compares sending the file as a zero-copy file region against reading it through the publisher.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NettyFileUploadBenchmark {
+    private static final long FILE_SIZE = 10L * 1024 * 1024 * 1024;
+
+    @Param({"true", "false"})
+    private boolean fileRegion;
+
+    private Server server;
+    private URI uri;
+    private Path file;
+    private SdkAsyncHttpClient client;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        int port = BenchmarkUtils.getUnusedPort();
+        server = new Server();
+        ServerConnector connector = new ServerConnector(server);
+        connector.setPort(port);
+        server.addConnector(connector);
+        ServletContextHandler context = new ServletContextHandler(server, "/");
+        context.addServlet(new ServletHolder(new DiscardingServlet()), "/*");
+        server.setHandler(context);
+        server.start();
+        uri = URI.create("http://localhost:" + port + "/upload");
+
+        // A sparse file, so that setting up the benchmark doesn't need 10 GB of writes
+        file = Files.createTempFile("netty-file-upload-benchmark", ".dat");
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(FILE_SIZE);
+        }
+
+        client = NettyNioAsyncHttpClient.create();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.close();
+        server.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int upload() {
+        AsyncRequestBody body = AsyncRequestBody.fromFile(file);
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .method(SdkHttpMethod.PUT)
+                                                       .uri(uri)
+                                                       .putHeader("Content-Length", Long.toString(FILE_SIZE))
+                                                       .build();
+        CompletableFuture<Integer> status = new CompletableFuture<>();
+        client.execute(AsyncExecuteRequest.builder()
+                                          .request(request)
+                                          .requestContentPublisher(fileRegion ? new FileContentPublisher(body, file)
+                                                                              : new ContentPublisher(body))
+                                          .responseHandler(new StatusCodeHandler(status))
+                                          .build())
+              .join();
+        return status.join();
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(NettyFileUploadBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> run = new Runner(opt).run();
+    }
+
+    private static class ContentPublisher implements SdkHttpContentPublisher {
+        private final AsyncRequestBody body;
+
+        private ContentPublisher(AsyncRequestBody body) {
+            this.body = body;
+        }
+
+        @Override
+        public Optional<Long> contentLength() {
+            return body.contentLength();
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> s) {
+            body.subscribe(s);
+        }
+    }
+
+    private static final class FileContentPublisher extends ContentPublisher implements SdkHttpFileContentPublisher {
+        private final Path path;
+
+        private FileContentPublisher(AsyncRequestBody body, Path path) {
+            super(body);
+            this.path = path;
+        }
+
+        @Override
+        public Path path() {
+            return path;
+        }
+    }
+
+    private static final class StatusCodeHandler implements SdkAsyncHttpResponseHandler {
+        private final CompletableFuture<Integer> status;
+
+        private StatusCodeHandler(CompletableFuture<Integer> status) {
+            this.status = status;
+        }
+
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+            status.complete(headers.statusCode());
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            stream.subscribe(new Subscriber<ByteBuffer>() {
+                @Override
+                public void onSubscribe(Subscription s) {
+                    s.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(ByteBuffer byteBuffer) {
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            status.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Reads and discards the whole request body before responding.
+     */
+    private static final class DiscardingServlet extends HttpServlet {
+        @Override
+        protected void doPut(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = request.getInputStream()) {
+                while (in.read(buffer) != -1) {
+                    // Discard
+                }
+            }
+            response.setStatus(HttpStatus.OK_200);
+            response.setContentLength(0);
+        }
+    }
+}
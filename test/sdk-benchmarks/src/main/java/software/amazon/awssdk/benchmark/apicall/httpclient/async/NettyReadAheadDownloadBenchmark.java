@@ -0,0 +1,222 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.apicall.httpclient.async;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.benchmark.utils.BenchmarkUtils;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+
+/**
+ * Downloads a 100 MB object with the netty client from a local server, the way an S3 GetObject transfer would. The
+ * subscriber requests one buffer at a time and checksums it on a separate thread before requesting the next, like a
+ * subscriber that writes the object to disk.
+ *
+ * <p>{@code readAheadHighWatermark} compares reading only on demand ({@code 0}) against reading ahead of the subscriber
+ * with different buffer sizes.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NettyReadAheadDownloadBenchmark {
+    private static final int OBJECT_SIZE = 100 * 1024 * 1024;
+
+    @Param({"0", "1048576", "8388608"})
+    private int readAheadHighWatermark;
+
+    private Server server;
+    private URI uri;
+    private NettyNioAsyncHttpClient client;
+    private ExecutorService consumer;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        int port = BenchmarkUtils.getUnusedPort();
+        server = new Server();
+        ServerConnector connector = new ServerConnector(server);
+        connector.setPort(port);
+        server.addConnector(connector);
+        ServletContextHandler context = new ServletContextHandler(server, "/");
+        context.addServlet(new ServletHolder(new ObjectServlet()), "/*");
+        server.setHandler(context);
+        server.start();
+        uri = URI.create("http://localhost:" + port + "/object");
+
+        client = (NettyNioAsyncHttpClient) NettyNioAsyncHttpClient.builder()
+                                                                  .responseReadAheadHighWatermark(readAheadHighWatermark)
+                                                                  .build();
+        consumer = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.close();
+        consumer.shutdown();
+        server.stop();
+    }
+
+    @Benchmark
+    public long download() {
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .method(SdkHttpMethod.GET)
+                                                       .uri(uri)
+                                                       .build();
+        CompletableFuture<Long> checksum = new CompletableFuture<>();
+        client.execute(AsyncExecuteRequest.builder()
+                                          .request(request)
+                                          .requestContentPublisher(new EmptyContentPublisher())
+                                          .responseHandler(new ChecksumHandler(consumer, checksum))
+                                          .build())
+              .join();
+        return checksum.join();
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(NettyReadAheadDownloadBenchmark.class.getSimpleName())
+            .build();
+        Collection<RunResult> run = new Runner(opt).run();
+    }
+
+    private static final class EmptyContentPublisher implements SdkHttpContentPublisher {
+        @Override
+        public Optional<Long> contentLength() {
+            return Optional.of(0L);
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> s) {
+            AsyncRequestBody.empty().subscribe(s);
+        }
+    }
+
+    private static final class ChecksumHandler implements SdkAsyncHttpResponseHandler {
+        private final ExecutorService consumer;
+        private final CompletableFuture<Long> checksum;
+
+        private ChecksumHandler(ExecutorService consumer, CompletableFuture<Long> checksum) {
+            this.consumer = consumer;
+            this.checksum = checksum;
+        }
+
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            stream.subscribe(new Subscriber<ByteBuffer>() {
+                private final CRC32 crc = new CRC32();
+                private Subscription subscription;
+
+                @Override
+                public void onSubscribe(Subscription s) {
+                    subscription = s;
+                    s.request(1);
+                }
+
+                @Override
+                public void onNext(ByteBuffer byteBuffer) {
+                    consumer.execute(() -> {
+                        crc.update(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(),
+                                   byteBuffer.remaining());
+                        subscription.request(1);
+                    });
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    checksum.completeExceptionally(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    consumer.execute(() -> checksum.complete(crc.getValue()));
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            checksum.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Responds to every GET with {@link #OBJECT_SIZE} bytes.
+     */
+    private static final class ObjectServlet extends HttpServlet {
+        private final byte[] chunk = new byte[1024 * 1024];
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setStatus(HttpStatus.OK_200);
+            response.setContentLength(OBJECT_SIZE);
+            try (OutputStream out = response.getOutputStream()) {
+                for (int written = 0; written < OBJECT_SIZE; written += chunk.length) {
+                    out.write(chunk);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.apicall.httpclient.async;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.benchmark.utils.BenchmarkUtils;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+
+/**
+ * Uploads 64 MB to a local server as many small chunks, the way an event stream or an {@code AsyncRequestBody} built from
+ * small buffers would, with and without flush batching.
+ *
+ * <p>The score is the time per upload, i.e. the inverse of the throughput. The number of flushes requested and written,
+ * which approximates the number of write system calls, is available from
+ * {@link NettyNioAsyncHttpClient#flushBatchingStatistics()}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NettySmallChunkUploadBenchmark {
+    private static final long CONTENT_LENGTH = 64L * 1024 * 1024;
+
+    @Param({"256", "4096"})
+    private int chunkSize;
+
+    @Param({"0", "65536"})
+    private int flushBatchingThreshold;
+
+    private Server server;
+    private URI uri;
+    private NettyNioAsyncHttpClient client;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        int port = BenchmarkUtils.getUnusedPort();
+        server = new Server();
+        ServerConnector connector = new ServerConnector(server);
+        connector.setPort(port);
+        server.addConnector(connector);
+        ServletContextHandler context = new ServletContextHandler(server, "/");
+        context.addServlet(new ServletHolder(new DiscardingServlet()), "/*");
+        server.setHandler(context);
+        server.start();
+        uri = URI.create("http://localhost:" + port + "/upload");
+
+        client = (NettyNioAsyncHttpClient) NettyNioAsyncHttpClient.builder()
+                                                                  .flushBatchingThreshold(flushBatchingThreshold)
+                                                                  .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public int upload() {
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .method(SdkHttpMethod.PUT)
+                                                       .uri(uri)
+                                                       .putHeader("Content-Length", Long.toString(CONTENT_LENGTH))
+                                                       .build();
+        CompletableFuture<Integer> status = new CompletableFuture<>();
+        client.execute(AsyncExecuteRequest.builder()
+                                          .request(request)
+                                          .requestContentPublisher(new ChunkPublisher(chunkSize))
+                                          .responseHandler(new StatusCodeHandler(status))
+                                          .build())
+              .join();
+        return status.join();
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(NettySmallChunkUploadBenchmark.class.getSimpleName())
+            .build();
+        Collection<RunResult> run = new Runner(opt).run();
+    }
+
+    /**
+     * Publishes {@link #CONTENT_LENGTH} bytes as chunks of the given size.
+     */
+    private static final class ChunkPublisher implements SdkHttpContentPublisher {
+        private final int chunkSize;
+
+        private ChunkPublisher(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public Optional<Long> contentLength() {
+            return Optional.of(CONTENT_LENGTH);
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> s) {
+            s.onSubscribe(new Subscription() {
+                private final AtomicLong demand = new AtomicLong();
+                private long published;
+                private boolean done;
+
+                @Override
+                public void request(long n) {
+                    // Only the thread that raised the demand from zero publishes, so that requests made from onNext don't
+                    // recurse.
+                    if (demand.getAndAdd(n) != 0) {
+                        return;
+                    }
+                    do {
+                        if (done) {
+                            return;
+                        }
+                        if (published == CONTENT_LENGTH) {
+                            done = true;
+                            s.onComplete();
+                            return;
+                        }
+                        int size = (int) Math.min(chunkSize, CONTENT_LENGTH - published);
+                        published += size;
+                        s.onNext(ByteBuffer.allocate(size));
+                    } while (demand.decrementAndGet() != 0);
+                }
+
+                @Override
+                public void cancel() {
+                    done = true;
+                }
+            });
+        }
+    }
+
+    private static final class StatusCodeHandler implements SdkAsyncHttpResponseHandler {
+        private final CompletableFuture<Integer> status;
+
+        private StatusCodeHandler(CompletableFuture<Integer> status) {
+            this.status = status;
+        }
+
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+            status.complete(headers.statusCode());
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            stream.subscribe(new Subscriber<ByteBuffer>() {
+                @Override
+                public void onSubscribe(Subscription s) {
+                    s.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(ByteBuffer byteBuffer) {
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            status.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Reads and discards the whole request body before responding.
+     */
+    private static final class DiscardingServlet extends HttpServlet {
+        @Override
+        protected void doPut(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = request.getInputStream()) {
+                while (in.read(buffer) != -1) {
+                    // Discard
+                }
+            }
+            response.setStatus(HttpStatus.OK_200);
+            response.setContentLength(0);
+        }
+    }
+}
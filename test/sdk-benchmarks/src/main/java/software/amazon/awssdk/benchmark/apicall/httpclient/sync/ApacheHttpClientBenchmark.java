@@ -16,6 +16,7 @@
 package software.amazon.awssdk.benchmark.apicall.httpclient.sync;
 
 import static software.amazon.awssdk.benchmark.utils.BenchmarkConstant.CONCURRENT_CALLS;
+import static software.amazon.awssdk.benchmark.utils.BenchmarkConstant.CONTENDED_THREADS;
 import static software.amazon.awssdk.benchmark.utils.BenchmarkUtils.awaitCountdownLatchUninterruptibly;
 import static software.amazon.awssdk.benchmark.utils.BenchmarkUtils.countDownUponCompletion;
 import static software.amazon.awssdk.benchmark.utils.BenchmarkUtils.trustAllTlsAttributeMapBuilder;
@@ -33,10 +34,12 @@ import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.profile.StackProfiler;
@@ -60,6 +63,9 @@ import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonClient;
 @BenchmarkMode(Mode.Throughput)
 public class ApacheHttpClientBenchmark implements SdkHttpClientBenchmark {
 
+    @Param({"false", "true"})
+    private boolean useConcurrentConnectionPool;
+
     private MockServer mockServer;
     private SdkHttpClient sdkHttpClient;
     private ProtocolRestJsonClient client;
@@ -70,6 +76,7 @@ public class ApacheHttpClientBenchmark implements SdkHttpClientBenchmark {
         mockServer = new MockServer();
         mockServer.start();
         sdkHttpClient = ApacheHttpClient.builder()
+                                        .useConcurrentConnectionPool(useConcurrentConnectionPool)
                                         .buildWithDefaults(trustAllTlsAttributeMapBuilder().build());
         client = ProtocolRestJsonClient.builder()
                                        .endpointOverride(mockServer.getHttpsUri())
@@ -107,10 +114,21 @@ public class ApacheHttpClientBenchmark implements SdkHttpClientBenchmark {
         awaitCountdownLatchUninterruptibly(countDownLatch, 10, TimeUnit.SECONDS);
     }
 
+    /**
+     * Many more threads than pooled connections calling the client at once, so that most of the time is spent leasing and
+     * releasing connections.
+     */
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public void contendedApiCall(Blackhole blackhole) {
+        blackhole.consume(client.allTypes());
+    }
+
     public static void main(String... args) throws Exception {
 
         Options opt = new OptionsBuilder()
             .include(ApacheHttpClientBenchmark.class.getSimpleName() + ".concurrentApiCall")
+            .include(ApacheHttpClientBenchmark.class.getSimpleName() + ".contendedApiCall")
             .addProfiler(StackProfiler.class)
             .build();
         Collection<RunResult> run = new Runner(opt).run();
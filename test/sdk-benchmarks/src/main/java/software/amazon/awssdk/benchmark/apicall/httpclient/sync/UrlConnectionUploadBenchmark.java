@@ -0,0 +1,172 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.apicall.httpclient.sync;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.benchmark.utils.BenchmarkUtils;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+
+/**
+ * Uploads 1 GB with the url connection client to a local server that discards the request body. The forked JVM only has a
+ * 256 MB heap, so the upload fails if the client buffers the request body; run with the GC profiler to see the allocation
+ * rate of the upload path.
+ *
+ * <p>{@code contentLength} compares a fixed length upload against a chunked one.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UrlConnectionUploadBenchmark {
+    private static final long UPLOAD_SIZE = 1024L * 1024 * 1024;
+
+    @Param({"true", "false"})
+    private boolean contentLength;
+
+    private Server server;
+    private URI uri;
+    private SdkHttpClient client;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        int port = BenchmarkUtils.getUnusedPort();
+        server = new Server();
+        ServerConnector connector = new ServerConnector(server);
+        connector.setPort(port);
+        server.addConnector(connector);
+        ServletContextHandler context = new ServletContextHandler(server, "/");
+        context.addServlet(new ServletHolder(new DiscardingServlet()), "/*");
+        server.setHandler(context);
+        server.start();
+        uri = URI.create("http://localhost:" + port + "/upload");
+
+        client = UrlConnectionHttpClient.create();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public int upload() throws IOException {
+        SdkHttpFullRequest.Builder request = SdkHttpFullRequest.builder()
+                                                               .method(SdkHttpMethod.PUT)
+                                                               .uri(uri);
+        if (contentLength) {
+            request.putHeader("Content-Length", Long.toString(UPLOAD_SIZE));
+        }
+
+        HttpExecuteResponse response = client.prepareRequest(HttpExecuteRequest.builder()
+                                                                                .request(request.build())
+                                                                                .contentStreamProvider(ZeroInputStream::new)
+                                                                                .build())
+                                             .call();
+        if (response.responseBody().isPresent()) {
+            response.responseBody().get().close();
+        }
+        return response.httpResponse().statusCode();
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(UrlConnectionUploadBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> run = new Runner(opt).run();
+    }
+
+    /**
+     * {@link #UPLOAD_SIZE} zero bytes, without holding them in memory.
+     */
+    private static final class ZeroInputStream extends InputStream {
+        private long remaining = UPLOAD_SIZE;
+
+        @Override
+        public int read() {
+            if (remaining <= 0) {
+                return -1;
+            }
+            remaining--;
+            return 0;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = (int) Math.min(len, remaining);
+            remaining -= read;
+            return read;
+        }
+    }
+
+    /**
+     * Reads and discards the whole request body before responding.
+     */
+    private static final class DiscardingServlet extends HttpServlet {
+        @Override
+        protected void doPut(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = request.getInputStream()) {
+                while (in.read(buffer) != -1) {
+                    // Discard
+                }
+            }
+            response.setStatus(HttpStatus.OK_200);
+            response.setContentLength(0);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.credentials;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A stand-in for an external credential process, used by {@link ProcessCredentialsProviderBenchmark}. It waits for the
+ * given startup delay, to simulate a slow process, and then prints session credentials that expire after the given number of
+ * seconds.
+ *
+ * <p>Usage: {@code FakeCredentialProcess <startupDelayMillis> <validitySeconds>}
+ */
+public final class FakeCredentialProcess {
+    private FakeCredentialProcess() {
+    }
+
+    public static void main(String... args) throws InterruptedException {
+        long startupDelayMillis = Long.parseLong(args[0]);
+        long validitySeconds = Long.parseLong(args[1]);
+
+        Thread.sleep(startupDelayMillis);
+
+        System.out.println("{\"Version\": 1, "
+                           + "\"AccessKeyId\": \"akid\", "
+                           + "\"SecretAccessKey\": \"skid\", "
+                           + "\"SessionToken\": \"" + UUID.randomUUID() + "\", "
+                           + "\"Expiration\": \"" + Instant.now().plusSeconds(validitySeconds) + "\"}");
+    }
+}
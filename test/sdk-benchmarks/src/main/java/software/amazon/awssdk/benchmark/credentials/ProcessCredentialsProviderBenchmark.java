@@ -0,0 +1,108 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.credentials;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.auth.credentials.ProcessCredentialsProvider;
+
+/**
+ * Benchmark for resolving credentials from a {@link ProcessCredentialsProvider} whose credentials expire every few seconds,
+ * from several threads at once.
+ *
+ * <p>The credentials are loaded by a {@link FakeCredentialProcess}, a new JVM that waits before it prints them, so each refresh
+ * takes at least {@link #PROCESS_STARTUP_DELAY_MILLIS}. Without asynchronous credential updates, the caller that refreshes the
+ * credentials waits for the process, which shows in the highest percentiles of the sampled times. With asynchronous credential
+ * updates, the credentials are refreshed in the background before they expire, and no caller waits for the process.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+@Fork(1)
+public class ProcessCredentialsProviderBenchmark {
+    private static final long PROCESS_STARTUP_DELAY_MILLIS = 200;
+    private static final long CREDENTIALS_VALIDITY_SECONDS = 8;
+    private static final Duration CREDENTIAL_REFRESH_THRESHOLD = Duration.ofSeconds(6);
+
+    @Param({"false", "true"})
+    private boolean asyncCredentialUpdateEnabled;
+
+    private ProcessCredentialsProvider credentialsProvider;
+
+    @Setup
+    public void setup() {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String command = String.format("\"%s\" -cp \"%s\" %s %d %d",
+                                       java,
+                                       System.getProperty("java.class.path"),
+                                       FakeCredentialProcess.class.getName(),
+                                       PROCESS_STARTUP_DELAY_MILLIS,
+                                       CREDENTIALS_VALIDITY_SECONDS);
+
+        credentialsProvider = ProcessCredentialsProvider.builder()
+                                                        .command(command)
+                                                        .credentialRefreshThreshold(CREDENTIAL_REFRESH_THRESHOLD)
+                                                        .asyncCredentialUpdateEnabled(asyncCredentialUpdateEnabled)
+                                                        .build();
+
+        // Load the first credentials, which every caller has to wait for.
+        credentialsProvider.resolveCredentials();
+    }
+
+    @TearDown
+    public void tearDown() {
+        credentialsProvider.close();
+    }
+
+    @Benchmark
+    public void resolveCredentials(Blackhole blackhole) {
+        blackhole.consume(credentialsProvider.resolveCredentials());
+    }
+
+    public static void main(String... args) throws RunnerException, CommandLineOptionException {
+        Options opt = new OptionsBuilder()
+            .parent(new CommandLineOptions())
+            .include(ProcessCredentialsProviderBenchmark.class.getSimpleName())
+            .build();
+        Collection<RunResult> run = new Runner(opt).run();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.presigner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectBatchPresignRequest;
+
+/**
+ * Benchmark for presigning GetObject requests for the objects of one bucket, one by one and as a batch.
+ *
+ * <p>Each invocation presigns {@link #BATCH_SIZE} URLs, and is counted as that many operations, so the throughput is reported in
+ * URLs per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(2)
+public class S3PresignerBenchmark {
+    private static final int BATCH_SIZE = 1000;
+    private static final String BUCKET = "benchmark-bucket";
+    private static final Duration SIGNATURE_DURATION = Duration.ofMinutes(15);
+
+    private S3Presigner presigner;
+    private List<GetObjectRequest> getObjectRequests;
+    private GetObjectBatchPresignRequest batchPresignRequest;
+
+    @Setup
+    public void setup() {
+        presigner = S3Presigner.builder()
+                               .region(Region.US_WEST_2)
+                               .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("akid",
+                                                                                                                "skid")))
+                               .build();
+
+        getObjectRequests = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            getObjectRequests.add(GetObjectRequest.builder()
+                                                  .bucket(BUCKET)
+                                                  .key("path/to/object-" + i + ".jpg")
+                                                  .responseContentDisposition("attachment; filename=\"object-" + i + ".jpg\"")
+                                                  .build());
+        }
+
+        batchPresignRequest = GetObjectBatchPresignRequest.builder()
+                                                          .bucket(BUCKET)
+                                                          .signatureDuration(SIGNATURE_DURATION)
+                                                          .getObjectRequests(getObjectRequests)
+                                                          .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        presigner.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void presignGetObject(Blackhole blackhole) {
+        for (GetObjectRequest getObjectRequest : getObjectRequests) {
+            blackhole.consume(presigner.presignGetObject(r -> r.signatureDuration(SIGNATURE_DURATION)
+                                                               .getObjectRequest(getObjectRequest)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void presignGetObjects(Blackhole blackhole) {
+        blackhole.consume(presigner.presignGetObjects(batchPresignRequest));
+    }
+
+    public static void main(String... args) throws RunnerException, CommandLineOptionException {
+        Options opt = new OptionsBuilder()
+            .parent(new CommandLineOptions())
+            .include(S3PresignerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> run = new Runner(opt).run();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.signer;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.signer.Aws4Signer;
+import software.amazon.awssdk.auth.signer.AwsS3V4Signer;
+import software.amazon.awssdk.auth.signer.params.Aws4PresignerParams;
+import software.amazon.awssdk.auth.signer.params.Aws4SignerParams;
+import software.amazon.awssdk.auth.signer.params.AwsS3V4SignerParams;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * Benchmark for signing and presigning requests with SigV4.
+ *
+ * <p>The GC profiler is enabled so that the allocation rate per signature ("gc.alloc.rate.norm") is reported alongside the
+ * throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(2)
+public class SignerBenchmark {
+    private static final AwsCredentials CREDENTIALS = AwsBasicCredentials.create("akid", "skid");
+    private static final byte[] JSON_BODY = ("{\"TableName\":\"benchmark\",\"Key\":{\"id\":{\"S\":\"0123456789\"}}}")
+        .getBytes(StandardCharsets.UTF_8);
+
+    private final Aws4Signer aws4Signer = Aws4Signer.create();
+    private final AwsS3V4Signer s3Signer = AwsS3V4Signer.create();
+
+    private final SdkHttpFullRequest dynamoDbRequest =
+        SdkHttpFullRequest.builder()
+                          .method(SdkHttpMethod.POST)
+                          .uri(URI.create("https://dynamodb.us-west-2.amazonaws.com/"))
+                          .putHeader("Content-Type", "application/x-amz-json-1.0")
+                          .putHeader("X-Amz-Target", "DynamoDB_20120810.GetItem")
+                          .putHeader("User-Agent", "aws-sdk-java/2.x benchmark")
+                          .putHeader("amz-sdk-invocation-id", "6f2d1c9e-5f0e-4b5b-9a5e-2b3b8c1c7a10")
+                          .putHeader("Content-Length", Integer.toString(JSON_BODY.length))
+                          .contentStreamProvider(() -> new ByteArrayInputStream(JSON_BODY))
+                          .build();
+
+    private final SdkHttpFullRequest s3Request =
+        SdkHttpFullRequest.builder()
+                          .method(SdkHttpMethod.GET)
+                          .uri(URI.create("https://benchmark-bucket.s3.us-west-2.amazonaws.com/path/to/object.txt"))
+                          .putRawQueryParameter("versionId", "3HL4kqtJlcpXroDTDmJ.rmSpXd3dIbrHY")
+                          .putHeader("User-Agent", "aws-sdk-java/2.x benchmark")
+                          .putHeader("Range", "bytes=0-1023")
+                          .putHeader("amz-sdk-invocation-id", "6f2d1c9e-5f0e-4b5b-9a5e-2b3b8c1c7a10")
+                          .build();
+
+    private final Aws4SignerParams aws4SignerParams = Aws4SignerParams.builder()
+                                                                      .awsCredentials(CREDENTIALS)
+                                                                      .signingName("dynamodb")
+                                                                      .signingRegion(Region.US_WEST_2)
+                                                                      .build();
+
+    private final AwsS3V4SignerParams s3SignerParams = AwsS3V4SignerParams.builder()
+                                                                          .awsCredentials(CREDENTIALS)
+                                                                          .signingName("s3")
+                                                                          .signingRegion(Region.US_WEST_2)
+                                                                          .build();
+
+    @Benchmark
+    public SdkHttpFullRequest aws4Sign() {
+        return aws4Signer.sign(dynamoDbRequest, aws4SignerParams);
+    }
+
+    @Benchmark
+    public SdkHttpFullRequest s3Sign() {
+        return s3Signer.sign(s3Request, s3SignerParams);
+    }
+
+    @Benchmark
+    public SdkHttpFullRequest s3Presign() {
+        return s3Signer.presign(s3Request, Aws4PresignerParams.builder()
+                                                              .awsCredentials(CREDENTIALS)
+                                                              .signingName("s3")
+                                                              .signingRegion(Region.US_WEST_2)
+                                                              .expirationTime(Instant.now().plus(Duration.ofMinutes(15)))
+                                                              .build());
+    }
+
+    public static void main(String... args) throws RunnerException, CommandLineOptionException {
+        Options opt = new OptionsBuilder()
+            .parent(new CommandLineOptions())
+            .include(SignerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> run = new Runner(opt).run();
+    }
+}
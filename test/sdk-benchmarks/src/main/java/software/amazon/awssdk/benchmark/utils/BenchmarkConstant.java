@@ -33,6 +33,8 @@ public final class BenchmarkConstant {
 
     public static final int CONCURRENT_CALLS = 50;
 
+    public static final int CONTENDED_THREADS = 512;
+
     public static final Instant TIMESTAMP_MEMBER = LocalDateTime.now().toInstant(ZoneOffset.UTC);
 
     public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
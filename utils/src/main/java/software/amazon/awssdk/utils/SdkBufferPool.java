@@ -0,0 +1,263 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+
+/**
+ * A pool of direct {@link ByteBuffer}s shared by the producers and consumers of request content, so that streaming a large
+ * body does not allocate a new buffer per chunk.
+ *
+ * <p>A producer {@link #acquire(int)}s a buffer, fills it and hands it downstream. Whoever consumes the buffer last (for
+ * example, the HTTP client once the bytes are written to the socket) {@link #release(ByteBuffer)}s it back to the pool.
+ * Releasing is always safe: buffers that were not leased from this pool, or were already released, are ignored. A consumer
+ * that does not know which pool a buffer came from can use {@link #releaseToOwningPool(ByteBuffer)} instead. A leased
+ * buffer that is never released is not lost either; once it is garbage collected, the pool stops accounting for it and logs
+ * it as a leak.
+ *
+ * <p>The pool never holds more than its configured number of bytes. When that limit is reached, or a buffer outside of the
+ * pooled sizes is requested, {@link #acquire(int)} returns a regular heap buffer instead.
+ */
+@SdkProtectedApi
+public final class SdkBufferPool {
+    private static final Logger log = Logger.loggerFor(SdkBufferPool.class);
+
+    private static final int MIN_POOLED_BUFFER_SIZE_SHIFT = 12; // 4 KiB
+    private static final int MAX_POOLED_BUFFER_SIZE_SHIFT = 20; // 1 MiB
+    private static final long DEFAULT_MAX_POOLED_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * The outstanding leases of every pool, so that a buffer can be returned to the pool it was leased from without knowing
+     * which pool that is.
+     */
+    private static final Map<Object, Lease> LEASES = new ConcurrentHashMap<>();
+
+    private static final SdkBufferPool DEFAULT = new SdkBufferPool(DEFAULT_MAX_POOLED_BYTES);
+
+    private final long maxPooledBytes;
+    private final AtomicLong pooledBytes = new AtomicLong();
+    private final Queue<ByteBuffer>[] freeBuffers;
+    private final AtomicInteger leasedBuffers = new AtomicInteger();
+    private final ReferenceQueue<ByteBuffer> collectedLeases = new ReferenceQueue<>();
+
+    @SuppressWarnings("unchecked")
+    private SdkBufferPool(long maxPooledBytes) {
+        Validate.isTrue(maxPooledBytes >= 0, "maxPooledBytes must not be negative");
+        this.maxPooledBytes = maxPooledBytes;
+        this.freeBuffers = new Queue[MAX_POOLED_BUFFER_SIZE_SHIFT - MIN_POOLED_BUFFER_SIZE_SHIFT + 1];
+        for (int i = 0; i < freeBuffers.length; i++) {
+            freeBuffers[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * @return The pool shared by the SDK's request bodies and HTTP clients.
+     */
+    public static SdkBufferPool defaultPool() {
+        return DEFAULT;
+    }
+
+    /**
+     * Create a pool that is separate from {@link #defaultPool()}.
+     *
+     * @param maxPooledBytes The maximum number of bytes of direct memory allocated by the pool, whether the buffers are
+     * leased or free.
+     */
+    public static SdkBufferPool create(long maxPooledBytes) {
+        return new SdkBufferPool(maxPooledBytes);
+    }
+
+    /**
+     * Lease a buffer with at least the given number of bytes remaining. The buffer's position is zero and its limit is the
+     * requested capacity; its actual capacity may be larger.
+     */
+    public ByteBuffer acquire(int capacity) {
+        Validate.isNotNegative(capacity, "capacity");
+        expungeCollectedLeases();
+
+        int sizeClass = sizeClass(capacity);
+        if (sizeClass < 0) {
+            return ByteBuffer.allocate(capacity);
+        }
+
+        ByteBuffer buffer = freeBuffers[sizeClass].poll();
+        if (buffer == null) {
+            int bufferSize = 1 << (sizeClass + MIN_POOLED_BUFFER_SIZE_SHIFT);
+            if (!reserve(bufferSize)) {
+                return ByteBuffer.allocate(capacity);
+            }
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        buffer.clear();
+        buffer.limit(capacity);
+        Lease lease = new Lease(buffer, this, sizeClass, collectedLeases);
+        leasedBuffers.incrementAndGet();
+        LEASES.put(lease, lease);
+        return buffer;
+    }
+
+    /**
+     * Return a buffer to the pool. The buffer must not be used by the caller afterwards.
+     *
+     * @return True if the buffer was leased from this pool, false if it was ignored.
+     */
+    public boolean release(ByteBuffer buffer) {
+        Lease lease = lease(buffer);
+        return lease != null && lease.pool == this && release(lease, buffer);
+    }
+
+    /**
+     * Return a buffer to whichever pool it was leased from. The buffer must not be used by the caller afterwards.
+     *
+     * @return True if the buffer was leased from a pool, false if it was ignored.
+     */
+    public static boolean releaseToOwningPool(ByteBuffer buffer) {
+        Lease lease = lease(buffer);
+        return lease != null && lease.pool.release(lease, buffer);
+    }
+
+    private static Lease lease(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) {
+            return null;
+        }
+        return LEASES.get(new LeaseLookup(buffer));
+    }
+
+    private boolean release(Lease lease, ByteBuffer buffer) {
+        if (!LEASES.remove(lease, lease)) {
+            return false;
+        }
+
+        // The buffer is strongly reachable again, make sure the lease is not reported as a leak.
+        lease.clear();
+        leasedBuffers.decrementAndGet();
+        freeBuffers[lease.sizeClass].offer(buffer);
+        return true;
+    }
+
+    /**
+     * @return The number of buffers that are currently leased and have been neither released nor garbage collected.
+     */
+    public int leasedBuffers() {
+        expungeCollectedLeases();
+        return leasedBuffers.get();
+    }
+
+    /**
+     * @return The number of bytes of direct memory currently allocated by this pool, whether the buffers are leased or free.
+     */
+    public long pooledBytes() {
+        expungeCollectedLeases();
+        return pooledBytes.get();
+    }
+
+    private boolean reserve(int bufferSize) {
+        long current;
+        do {
+            current = pooledBytes.get();
+            if (current + bufferSize > maxPooledBytes) {
+                return false;
+            }
+        } while (!pooledBytes.compareAndSet(current, current + bufferSize));
+        return true;
+    }
+
+    private void expungeCollectedLeases() {
+        Reference<? extends ByteBuffer> reference;
+        while ((reference = collectedLeases.poll()) != null) {
+            Lease lease = (Lease) reference;
+            if (LEASES.remove(lease, lease)) {
+                log.debug(() -> "A buffer leased from the SDK buffer pool was garbage collected without being released.");
+                leasedBuffers.decrementAndGet();
+                pooledBytes.addAndGet(-(1L << (lease.sizeClass + MIN_POOLED_BUFFER_SIZE_SHIFT)));
+            }
+        }
+    }
+
+    private static int sizeClass(int capacity) {
+        if (capacity == 0 || capacity > 1 << MAX_POOLED_BUFFER_SIZE_SHIFT) {
+            return -1;
+        }
+        int shift = 32 - Integer.numberOfLeadingZeros(capacity - 1);
+        return Math.max(shift, MIN_POOLED_BUFFER_SIZE_SHIFT) - MIN_POOLED_BUFFER_SIZE_SHIFT;
+    }
+
+    /**
+     * A leased buffer and the pool it was leased from, keyed by identity. The buffer is only weakly referenced, so that
+     * buffers which are never released can be garbage collected and removed from the pool's accounting.
+     */
+    private static final class Lease extends WeakReference<ByteBuffer> {
+        private final int hashCode;
+        private final SdkBufferPool pool;
+        private final int sizeClass;
+
+        private Lease(ByteBuffer buffer, SdkBufferPool pool, int sizeClass, ReferenceQueue<ByteBuffer> queue) {
+            super(buffer, queue);
+            this.hashCode = System.identityHashCode(buffer);
+            this.pool = pool;
+            this.sizeClass = sizeClass;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o instanceof LeaseLookup) {
+                return get() == ((LeaseLookup) o).buffer;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Looks up the {@link Lease} of a buffer. {@link ByteBuffer#equals(Object)} compares contents, so buffers cannot be used
+     * as keys directly.
+     */
+    private static final class LeaseLookup {
+        private final ByteBuffer buffer;
+
+        private LeaseLookup(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Lease && ((Lease) o).get() == buffer;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(buffer);
+        }
+    }
+}
@@ -18,8 +18,6 @@ package software.amazon.awssdk.utils.async;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
@@ -31,8 +29,10 @@ public class FlatteningSubscriber<U> extends DelegatingSubscriber<Iterable<U>, U
     private final Object lock = new Object();
 
     private boolean requestedNextBatch;
+    private boolean awaitingBatch;
     private Queue<U> currentBatch;
     private boolean onCompleteCalled = false;
+    private boolean onCompleteSignalled = false;
     private Subscription sourceSubscription;
 
     public FlatteningSubscriber(Subscriber<? super U> subscriber) {
@@ -52,6 +52,7 @@ public class FlatteningSubscriber<U> extends DelegatingSubscriber<Iterable<U>, U
                     // After that requestedNextBatch is always true and more requests are made in fulfillDemand()
                     if (!requestedNextBatch) {
                         requestedNextBatch = true;
+                        awaitingBatch = true;
                         sourceSubscription.request(1);
                     } else {
                         fulfillDemand();
@@ -69,8 +70,8 @@ public class FlatteningSubscriber<U> extends DelegatingSubscriber<Iterable<U>, U
     @Override
     public void onNext(Iterable<U> nextItems) {
         synchronized (lock) {
-            currentBatch = StreamSupport.stream(nextItems.spliterator(), false)
-                                        .collect(Collectors.toCollection(LinkedList::new));
+            awaitingBatch = false;
+            nextItems.forEach(currentBatch::add);
             fulfillDemand();
         }
     }
@@ -82,9 +83,12 @@ public class FlatteningSubscriber<U> extends DelegatingSubscriber<Iterable<U>, U
         }
 
         if (onCompleteCalled && currentBatch.isEmpty()) {
-            subscriber.onComplete();
-        } else if (currentBatch.isEmpty() && demand.get() > 0) {
+            signalOnComplete();
+        } else if (currentBatch.isEmpty() && demand.get() > 0 && !awaitingBatch) {
+            // The downstream subscriber may request more from within onNext, which re-enters this method. Only one batch
+            // is requested at a time, so that a batch never arrives while items of the previous one are still queued.
             requestedNextBatch = true;
+            awaitingBatch = true;
             sourceSubscription.request(1);
         }
     }
@@ -94,8 +98,15 @@ public class FlatteningSubscriber<U> extends DelegatingSubscriber<Iterable<U>, U
         synchronized (lock) {
             onCompleteCalled = true;
             if (currentBatch.isEmpty()) {
-                subscriber.onComplete();
+                signalOnComplete();
             }
         }
     }
+
+    private void signalOnComplete() {
+        if (!onCompleteSignalled) {
+            onCompleteSignalled = true;
+            subscriber.onComplete();
+        }
+    }
 }
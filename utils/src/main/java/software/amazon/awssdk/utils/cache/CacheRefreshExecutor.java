@@ -0,0 +1,151 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.SystemSetting;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * The executor that is shared by all {@link CachedSupplier}s to refresh their values in the background, such as when the
+ * {@link NonBlocking} prefetch strategy prefetches a value, or when a value is retrieved with
+ * {@link CachedSupplier#getAsync(Executor)}.
+ *
+ * <p>The executor is bounded: by default, it runs at most {@value #DEFAULT_MAX_THREADS} refreshes at a time on daemon threads,
+ * which are released after they have been idle for a minute, and it rejects refreshes when {@value #MAX_QUEUED_REFRESHES}
+ * refreshes are already waiting to run. Each cache refreshes its value at most once at a time, so this is only reached with
+ * that many caches. A rejected prefetch is retried the next time the value is retrieved, and a rejected
+ * {@link CachedSupplier#getAsync(Executor)} refresh completes its future with a
+ * {@link java.util.concurrent.RejectedExecutionException}.
+ *
+ * <p>The refreshes block their thread while they call the supplier, e.g. while the credentials providers call the instance
+ * metadata service, STS or a credentials process. Applications with many caches backed by slow suppliers can raise the
+ * number of threads with the {@code aws.cacheRefreshThreads} system property or the {@code AWS_CACHE_REFRESH_THREADS}
+ * environment variable, so that slow refreshes don't delay the refreshes of other caches.
+ *
+ * <p>Refreshes that should run at a later time, such as the prefetches that {@link NonBlocking} schedules ahead of time, are
+ * scheduled with {@link #schedule(Runnable, Duration)}, which waits on a single shared daemon thread and then runs them on this
+ * executor.
+ */
+@SdkProtectedApi
+public final class CacheRefreshExecutor {
+    private static final Logger log = Logger.loggerFor(CacheRefreshExecutor.class);
+
+    private static final int DEFAULT_MAX_THREADS = 8;
+    private static final int MAX_QUEUED_REFRESHES = 10_000;
+
+    private static final Executor EXECUTOR = createExecutor();
+    private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+    private CacheRefreshExecutor() {
+    }
+
+    /**
+     * Retrieve the executor on which cached values should be refreshed in the background.
+     */
+    public static Executor get() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Run the provided refresh on the {@link #get()} executor after the provided delay.
+     *
+     * @return The scheduled refresh, which can be cancelled before it runs.
+     */
+    public static ScheduledFuture<?> schedule(Runnable refresh, Duration delay) {
+        return SCHEDULER.schedule(() -> EXECUTOR.execute(refresh), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor scheduler =
+            new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().daemonThreads(true)
+                                                                         .threadNamePrefix("sdk-cache-refresh-scheduler")
+                                                                         .build());
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private static Executor createExecutor() {
+        int maxThreads = configuredMaxThreads();
+        ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                                   new LinkedBlockingQueue<>(MAX_QUEUED_REFRESHES),
+                                   new ThreadFactoryBuilder().daemonThreads(true)
+                                                             .threadNamePrefix("sdk-cache-refresh")
+                                                             .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Read the number of threads from {@link Setting#CACHE_REFRESH_THREADS}. An invalid value is logged and ignored rather than
+     * thrown, since it's read while the executor is initialized: an exception would make every later refresh fail with
+     * {@link NoClassDefFoundError}.
+     */
+    static int configuredMaxThreads() {
+        Setting setting = Setting.CACHE_REFRESH_THREADS;
+        String value = setting.getStringValueOrThrow();
+        try {
+            return Validate.isPositive(Integer.parseInt(value.trim()), setting.property());
+        } catch (IllegalArgumentException e) {
+            log.warn(() -> "Environment variable '" + setting.environmentVariable() + "' or system property '" +
+                           setting.property() + "' was defined as '" + value + "', but should be a positive integer. " +
+                           "Using the default of " + DEFAULT_MAX_THREADS + " threads instead.", e);
+            return DEFAULT_MAX_THREADS;
+        }
+    }
+
+    private enum Setting implements SystemSetting {
+        /**
+         * The number of threads that refresh cached values in the background.
+         */
+        CACHE_REFRESH_THREADS("aws.cacheRefreshThreads", "AWS_CACHE_REFRESH_THREADS", Integer.toString(DEFAULT_MAX_THREADS));
+
+        private final String systemProperty;
+        private final String environmentVariable;
+        private final String defaultValue;
+
+        Setting(String systemProperty, String environmentVariable, String defaultValue) {
+            this.systemProperty = systemProperty;
+            this.environmentVariable = environmentVariable;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        public String property() {
+            return systemProperty;
+        }
+
+        @Override
+        public String environmentVariable() {
+            return environmentVariable;
+        }
+
+        @Override
+        public String defaultValue() {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils.cache;
+
+import java.time.Duration;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * A point-in-time view of the refreshes of one or more {@link CachedSupplier}s, such as the caches that hold the credentials of
+ * credentials providers.
+ *
+ * <p>A refresh is a call to the supplier of the cached value, whether it's made because the value is stale, or in the
+ * background because its prefetch time has arrived. The values are read from independent counters without locking, so they are
+ * not guaranteed to be consistent with each other while values are being refreshed concurrently.
+ *
+ * <p>The statistics of the caches of all credentials providers together are returned by {@link #aggregate()}, and the
+ * credentials providers that refresh their credentials from a remote source, such as the instance metadata service, STS or
+ * a credentials process, return the statistics of their own cache from {@code refreshStatistics()}.
+ *
+ * @see CachedSupplier#refreshStatistics()
+ * @see CachedSupplier#aggregateRefreshStatistics()
+ */
+@SdkPublicApi
+public final class CacheRefreshStatistics {
+    private final long refreshCount;
+    private final long refreshFailureCount;
+    private final Duration totalRefreshTime;
+    private final Duration maxRefreshTime;
+
+    private CacheRefreshStatistics(BuilderImpl builder) {
+        this.refreshCount = builder.refreshCount;
+        this.refreshFailureCount = builder.refreshFailureCount;
+        this.totalRefreshTime = builder.totalRefreshTime;
+        this.maxRefreshTime = builder.maxRefreshTime;
+    }
+
+    /**
+     * @return The number of refreshes that have been attempted, including those that failed.
+     */
+    public long refreshCount() {
+        return refreshCount;
+    }
+
+    /**
+     * @return The number of refreshes that failed, because the supplier of the value threw an exception.
+     */
+    public long refreshFailureCount() {
+        return refreshFailureCount;
+    }
+
+    /**
+     * @return The sum of the time spent in the refreshes counted by {@link #refreshCount()}.
+     */
+    public Duration totalRefreshTime() {
+        return totalRefreshTime;
+    }
+
+    /**
+     * @return The longest time spent in one of the refreshes counted by {@link #refreshCount()}.
+     */
+    public Duration maxRefreshTime() {
+        return maxRefreshTime;
+    }
+
+    /**
+     * Retrieve the statistics of the refreshes of all caches in this class loader, such as the caches of all credentials
+     * providers.
+     */
+    public static CacheRefreshStatistics aggregate() {
+        return CachedSupplier.aggregateRefreshStatistics();
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("CacheRefreshStatistics")
+                       .add("refreshCount", refreshCount)
+                       .add("refreshFailureCount", refreshFailureCount)
+                       .add("totalRefreshTime", totalRefreshTime)
+                       .add("maxRefreshTime", maxRefreshTime)
+                       .build();
+    }
+
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    public interface Builder {
+        Builder refreshCount(long refreshCount);
+
+        Builder refreshFailureCount(long refreshFailureCount);
+
+        Builder totalRefreshTime(Duration totalRefreshTime);
+
+        Builder maxRefreshTime(Duration maxRefreshTime);
+
+        CacheRefreshStatistics build();
+    }
+
+    private static final class BuilderImpl implements Builder {
+        private long refreshCount;
+        private long refreshFailureCount;
+        private Duration totalRefreshTime = Duration.ZERO;
+        private Duration maxRefreshTime = Duration.ZERO;
+
+        @Override
+        public Builder refreshCount(long refreshCount) {
+            this.refreshCount = refreshCount;
+            return this;
+        }
+
+        @Override
+        public Builder refreshFailureCount(long refreshFailureCount) {
+            this.refreshFailureCount = refreshFailureCount;
+            return this;
+        }
+
+        @Override
+        public Builder totalRefreshTime(Duration totalRefreshTime) {
+            this.totalRefreshTime = totalRefreshTime;
+            return this;
+        }
+
+        @Override
+        public Builder maxRefreshTime(Duration maxRefreshTime) {
+            this.maxRefreshTime = maxRefreshTime;
+            return this;
+        }
+
+        @Override
+        public CacheRefreshStatistics build() {
+            return new CacheRefreshStatistics(this);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Records the refreshes of one or more {@link CachedSupplier}s. Every counter is a {@link LongAdder} or a
+ * {@link LongAccumulator}, so recording never blocks and reading a snapshot never contends with the refreshes.
+ */
+@SdkInternalApi
+final class CacheRefreshStatisticsRecorder {
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder refreshFailureCount = new LongAdder();
+    private final LongAdder totalRefreshNanos = new LongAdder();
+    private final LongAccumulator maxRefreshNanos = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Record a refresh.
+     *
+     * @param elapsedNanos The time spent in the refresh.
+     * @param succeeded Whether the refresh succeeded.
+     */
+    void refreshed(long elapsedNanos, boolean succeeded) {
+        long nanos = Math.max(0, elapsedNanos);
+        refreshCount.increment();
+        if (!succeeded) {
+            refreshFailureCount.increment();
+        }
+        totalRefreshNanos.add(nanos);
+        maxRefreshNanos.accumulate(nanos);
+    }
+
+    CacheRefreshStatistics toStatistics() {
+        return CacheRefreshStatistics.builder()
+                                     .refreshCount(refreshCount.sum())
+                                     .refreshFailureCount(refreshFailureCount.sum())
+                                     .totalRefreshTime(Duration.ofNanos(totalRefreshNanos.sum()))
+                                     .maxRefreshTime(Duration.ofNanos(maxRefreshNanos.get()))
+                                     .build();
+    }
+}
@@ -17,7 +17,11 @@ package software.amazon.awssdk.utils.cache;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
@@ -31,7 +35,14 @@ import software.amazon.awssdk.utils.Validate;
  * value.
  *
  * For example, the {@link OneCallerBlocks} strategy will have a single caller block to update the value, and the
- * {@link NonBlocking} strategy maintains a thread pool for updating the value asynchronously in the background.
+ * {@link NonBlocking} strategy updates the value asynchronously in the background, on a thread pool that is shared by all caches.
+ *
+ * The prefetch time of each value is moved to a random time in the first half of the time between its prefetch time and its
+ * stale time, so that values that were refreshed at the same time, such as the credentials that many credentials providers load
+ * when an application starts, are not all prefetched at the same time.
+ *
+ * The refreshes of each cache, and of all caches together, are counted in {@link #refreshStatistics()} and
+ * {@link #aggregateRefreshStatistics()}.
  *
  * This should be created using {@link #builder(Supplier)}.
  */
@@ -43,6 +54,16 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
      */
     private static final Duration BLOCKING_REFRESH_MAX_WAIT = Duration.ofSeconds(5);
 
+    /**
+     * The statistics of the refreshes of all caches.
+     */
+    private static final CacheRefreshStatisticsRecorder AGGREGATE_STATISTICS = new CacheRefreshStatisticsRecorder();
+
+    /**
+     * The statistics of the refreshes of this cache.
+     */
+    private final CacheRefreshStatisticsRecorder statistics = new CacheRefreshStatisticsRecorder();
+
     /**
      * Used as a primitive form of rate limiting for the speed of our refreshes. This will make sure that the backing supplier has
      * a period of time to update the value when the {@link RefreshResult#staleTime} arrives without getting called by every
@@ -50,6 +71,12 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
      */
     private final Lock refreshLock = new ReentrantLock();
 
+    /**
+     * The refresh that is currently being performed for {@link #getAsync(Executor)} callers, or null if there is none. This is
+     * used to make sure that callers that ask for the value while it's being refreshed share a single refresh.
+     */
+    private final AtomicReference<CompletableFuture<T>> asyncRefresh = new AtomicReference<>();
+
     /**
      * The strategy we should use for pre-fetching the cached data when the {@link RefreshResult#prefetchTime} arrives. This is
      * configured when the cache is created via {@link Builder#prefetchStrategy(PrefetchStrategy)}.
@@ -94,6 +121,33 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
         return this.cachedValue.value();
     }
 
+    /**
+     * Retrieve the value without blocking the calling thread.
+     *
+     * <p>If the cached value is not stale, the returned future is already completed with it, and if its prefetch time has
+     * arrived, the value is updated on the provided executor in the background. If the cached value is stale, it's updated on
+     * the provided executor, and the returned future is completed when it has been. Callers that retrieve the value while it's
+     * being updated share the update.
+     *
+     * <p>The configured {@link PrefetchStrategy} is not used by this method, because it may block the calling thread.
+     *
+     * @param executor The executor that should be used for updating the value.
+     */
+    public CompletableFuture<T> getAsync(Executor executor) {
+        RefreshResult<T> currentValue = this.cachedValue;
+        Instant now = Instant.now();
+
+        if (now.isAfter(currentValue.staleTime())) {
+            // Don't expose the shared refresh future, so that one caller can't complete or cancel it for the others.
+            return refreshCacheAsync(executor).thenApply(value -> value);
+        }
+
+        if (now.isAfter(currentValue.prefetchTime())) {
+            refreshCacheAsync(executor);
+        }
+        return CompletableFuture.completedFuture(currentValue.value());
+    }
+
     /**
      * Determines whether the value in this cache is stale, and all threads should block and wait for an updated value.
      */
@@ -129,7 +183,8 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
                 // Make sure the value was not refreshed while we waited for the lock.
                 if (cacheIsStale() || shouldInitiateCachePrefetch()) {
                     // It wasn't, call the supplier to update it.
-                    cachedValue = valueSupplier.get();
+                    cachedValue = refreshValue();
+                    prefetchStrategy.valueUpdated(cachedValue.prefetchTime(), this::refreshCache);
                 }
             } finally {
                 if (lockAcquired) {
@@ -141,6 +196,98 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
         }
     }
 
+    /**
+     * Refresh the cached value on the provided executor, unless it's already being refreshed for another
+     * {@link #getAsync(Executor)} caller, in which case the refresh that's in progress is returned.
+     */
+    private CompletableFuture<T> refreshCacheAsync(Executor executor) {
+        while (true) {
+            CompletableFuture<T> currentRefresh = asyncRefresh.get();
+            if (currentRefresh != null) {
+                return currentRefresh;
+            }
+
+            CompletableFuture<T> refresh = new CompletableFuture<>();
+            if (!asyncRefresh.compareAndSet(null, refresh)) {
+                continue;
+            }
+
+            try {
+                executor.execute(() -> {
+                    try {
+                        refreshCache();
+                        T value = cachedValue.value();
+                        asyncRefresh.set(null);
+                        refresh.complete(value);
+                    } catch (Throwable t) {
+                        asyncRefresh.set(null);
+                        refresh.completeExceptionally(t);
+                    }
+                });
+            } catch (RuntimeException e) {
+                asyncRefresh.set(null);
+                refresh.completeExceptionally(e);
+            }
+            return refresh;
+        }
+    }
+
+    /**
+     * Call the supplier to get an updated value, recording the refresh in the statistics of this cache and of all caches.
+     */
+    private RefreshResult<T> refreshValue() {
+        long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            RefreshResult<T> refreshResult = jitterPrefetchTime(valueSupplier.get());
+            succeeded = true;
+            return refreshResult;
+        } finally {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            statistics.refreshed(elapsedNanos, succeeded);
+            AGGREGATE_STATISTICS.refreshed(elapsedNanos, succeeded);
+        }
+    }
+
+    /**
+     * Move the prefetch time of a refreshed value to a random time in the first half of the time between its prefetch time and
+     * its stale time. The value is left as is if it has no prefetch time or no stale time, if it is stale before it should be
+     * prefetched, or if it should already be prefetched.
+     */
+    static <T> RefreshResult<T> jitterPrefetchTime(RefreshResult<T> refreshResult) {
+        Instant prefetchTime = refreshResult.prefetchTime();
+        Instant staleTime = refreshResult.staleTime();
+        if (prefetchTime == null || staleTime == null ||
+            staleTime.equals(Instant.MAX) || !prefetchTime.isBefore(staleTime) || !prefetchTime.isAfter(Instant.now())) {
+            return refreshResult;
+        }
+
+        long jitterWindowMillis = Duration.between(prefetchTime, staleTime).toMillis() / 2;
+        if (jitterWindowMillis <= 0) {
+            return refreshResult;
+        }
+
+        return RefreshResult.builder(refreshResult.value())
+                            .staleTime(staleTime)
+                            .prefetchTime(prefetchTime.plusMillis(ThreadLocalRandom.current().nextLong(jitterWindowMillis)))
+                            .build();
+    }
+
+    /**
+     * Retrieve the statistics of the refreshes of this cache.
+     */
+    public CacheRefreshStatistics refreshStatistics() {
+        return statistics.toStatistics();
+    }
+
+    /**
+     * Retrieve the statistics of the refreshes of all caches in this class loader, such as the caches of all credentials
+     * providers.
+     */
+    public static CacheRefreshStatistics aggregateRefreshStatistics() {
+        return AGGREGATE_STATISTICS.toStatistics();
+    }
+
     private void handleInterruptedException(String message, InterruptedException cause) {
         Thread.currentThread().interrupt();
         throw new IllegalStateException(message, cause);
@@ -198,6 +345,12 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
          */
         void prefetch(Runnable valueUpdater);
 
+        /**
+         * Invoked after the cache has updated its value, with the time at which the new value should be prefetched. Strategies
+         * that prefetch the value ahead of time, instead of when it's next retrieved, use this to schedule the prefetch.
+         */
+        default void valueUpdated(Instant prefetchTime, Runnable valueUpdater) {}
+
         /**
          * Free any resources associated with the strategy. This is invoked when the {@link CachedSupplier#close()} method is
          * invoked.
@@ -15,49 +15,96 @@
 
 package software.amazon.awssdk.utils.cache;
 
-import java.util.concurrent.ExecutorService;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
-import software.amazon.awssdk.utils.ExecutorUtils;
+import software.amazon.awssdk.utils.Logger;
 
 /**
- * A {@link CachedSupplier.PrefetchStrategy} that will run a single thread in the background to update the value. A call to
- * prefetch on this strategy will never return.
+ * A {@link CachedSupplier.PrefetchStrategy} that will update the value in the background. A call to prefetch on this strategy
+ * will never block.
  *
  * Multiple calls to {@link #prefetch(Runnable)} will still only result in one background task performing the update.
+ *
+ * The updates of all instances run on the bounded {@link CacheRefreshExecutor}, so that creating many instances, such as one per
+ * credentials provider, doesn't create a thread per instance. If too many updates are already waiting to run, an update is
+ * skipped, and the value will be updated the next time it's retrieved.
+ *
+ * If the strategy is created to prefetch ahead of time, the update is also scheduled for the prefetch time of each value, so
+ * that the value is updated in the background even if it isn't retrieved between its prefetch time and its stale time. Callers
+ * keep getting the current value while it's updated. Such a strategy should be closed when the cache is no longer needed. The
+ * scheduled updates only reference the strategy weakly, so if the cache and its strategy are no longer used but weren't closed,
+ * the updates stop once they are garbage collected.
  */
 @SdkProtectedApi
 public class NonBlocking implements CachedSupplier.PrefetchStrategy {
+    private static final Logger log = Logger.loggerFor(NonBlocking.class);
+
     /**
      * Whether we are currently refreshing the supplier. This is used to make sure only one caller is blocking at a time.
      */
     private final AtomicBoolean currentlyRefreshing = new AtomicBoolean(false);
 
     /**
-     * Single threaded executor to asynchronous refresh the value.
+     * The name of the thread while it is performing the update, or null to keep the name of the shared thread.
+     */
+    private final String asyncThreadName;
+
+    /**
+     * Whether the update should be scheduled for the prefetch time of each value, instead of only being started when the value
+     * is retrieved after its prefetch time.
+     */
+    private final boolean prefetchAheadOfTime;
+
+    /**
+     * The update that is scheduled for the prefetch time of the current value, or null if there is none.
+     */
+    private final AtomicReference<ScheduledFuture<?>> scheduledPrefetch = new AtomicReference<>();
+
+    /**
+     * The updater of the value that the scheduled update refreshes. It's held here, rather than by the scheduled update, so
+     * that the scheduled update doesn't keep the cache from being garbage collected.
+     */
+    private volatile Runnable scheduledValueUpdater;
+
+    /**
+     * Whether this strategy has been closed, after which no more updates are started.
      */
-    private final ExecutorService executor;
+    private volatile boolean closed = false;
 
     /**
-     * Create a non-blocking prefetch strategy that uses the provided value for the name of the background thread that will be
+     * Create a non-blocking prefetch strategy that uses the provided value for the name of the background thread while it is
      * performing the update.
      */
     public NonBlocking(String asyncThreadName) {
-        this.executor = ExecutorUtils.newSingleDaemonThreadExecutor(1, asyncThreadName);
+        this(asyncThreadName, false);
+    }
+
+    /**
+     * Create a non-blocking prefetch strategy that uses the provided value for the name of the background thread while it is
+     * performing the update, and that schedules the update for the prefetch time of each value if {@code prefetchAheadOfTime}
+     * is true.
+     */
+    public NonBlocking(String asyncThreadName, boolean prefetchAheadOfTime) {
+        this.asyncThreadName = asyncThreadName;
+        this.prefetchAheadOfTime = prefetchAheadOfTime;
     }
 
     @Override
     public void prefetch(Runnable valueUpdater) {
         // Only run one async refresh at a time.
-        if (currentlyRefreshing.compareAndSet(false, true)) {
+        if (!closed && currentlyRefreshing.compareAndSet(false, true)) {
             try {
-                executor.submit(() -> {
-                    try {
-                        valueUpdater.run();
-                    } finally {
-                        currentlyRefreshing.set(false);
-                    }
-                });
+                CacheRefreshExecutor.get().execute(() -> update(valueUpdater));
+            } catch (RejectedExecutionException e) {
+                currentlyRefreshing.set(false);
+                log.debug(() -> "Skipped a background update of a cached value, because too many updates are already "
+                                + "waiting.", e);
             } catch (RuntimeException e) {
                 currentlyRefreshing.set(false);
                 throw e;
@@ -65,8 +112,64 @@ public class NonBlocking implements CachedSupplier.PrefetchStrategy {
         }
     }
 
+    @Override
+    public void valueUpdated(Instant prefetchTime, Runnable valueUpdater) {
+        Instant now = Instant.now();
+        if (!prefetchAheadOfTime || closed || !prefetchTime.isAfter(now) || prefetchTime.equals(Instant.MAX)) {
+            // There's nothing to schedule, and a value whose prefetch time has passed is updated when it's next retrieved.
+            return;
+        }
+
+        // Run just after the prefetch time, so that the cache considers it to have passed.
+        Duration delay = Duration.between(now, prefetchTime).plusMillis(1);
+        scheduledValueUpdater = valueUpdater;
+        ScheduledFuture<?> prefetch = CacheRefreshExecutor.schedule(scheduledPrefetch(new WeakReference<>(this)), delay);
+
+        ScheduledFuture<?> previousPrefetch = scheduledPrefetch.getAndSet(prefetch);
+        if (previousPrefetch != null) {
+            previousPrefetch.cancel(false);
+        }
+        if (closed) {
+            prefetch.cancel(false);
+        }
+    }
+
+    /**
+     * Create the scheduled update of the provided strategy, which does nothing if the strategy has been garbage collected.
+     */
+    private static Runnable scheduledPrefetch(WeakReference<NonBlocking> strategyReference) {
+        return () -> {
+            NonBlocking strategy = strategyReference.get();
+            if (strategy != null && !strategy.closed && strategy.currentlyRefreshing.compareAndSet(false, true)) {
+                strategy.update(strategy.scheduledValueUpdater);
+            }
+        };
+    }
+
+    private void update(Runnable valueUpdater) {
+        Thread thread = Thread.currentThread();
+        String threadName = thread.getName();
+        if (asyncThreadName != null) {
+            thread.setName(asyncThreadName);
+        }
+
+        try {
+            valueUpdater.run();
+        } catch (RuntimeException e) {
+            log.warn(() -> "Failed to update a cached value in the background. It will be updated again the next time it's "
+                           + "retrieved.", e);
+        } finally {
+            thread.setName(threadName);
+            currentlyRefreshing.set(false);
+        }
+    }
+
     @Override
     public void close() {
-        executor.shutdown();
+        closed = true;
+        ScheduledFuture<?> prefetch = scheduledPrefetch.getAndSet(null);
+        if (prefetch != null) {
+            prefetch.cancel(false);
+        }
     }
 }
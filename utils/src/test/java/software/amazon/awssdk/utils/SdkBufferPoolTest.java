@@ -0,0 +1,135 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import org.junit.After;
+import org.junit.Test;
+
+public class SdkBufferPoolTest {
+    private final SdkBufferPool pool = SdkBufferPool.create(64 * 1024);
+
+    @After
+    public void noLeakedBuffers() {
+        assertThat(pool.leasedBuffers()).isEqualTo(0);
+    }
+
+    @Test
+    public void acquire_returnsDirectBufferLimitedToRequestedCapacity() {
+        ByteBuffer buffer = pool.acquire(10_000);
+
+        assertThat(buffer.isDirect()).isTrue();
+        assertThat(buffer.position()).isEqualTo(0);
+        assertThat(buffer.limit()).isEqualTo(10_000);
+        assertThat(buffer.capacity()).isEqualTo(16 * 1024);
+        assertThat(pool.leasedBuffers()).isEqualTo(1);
+
+        assertThat(pool.release(buffer)).isTrue();
+    }
+
+    @Test
+    public void release_bufferIsReused() {
+        ByteBuffer buffer = pool.acquire(16 * 1024);
+        buffer.put((byte) 1);
+        pool.release(buffer);
+
+        ByteBuffer reused = pool.acquire(16 * 1024);
+        assertThat(reused).isSameAs(buffer);
+        assertThat(reused.position()).isEqualTo(0);
+        assertThat(pool.pooledBytes()).isEqualTo(16 * 1024);
+
+        pool.release(reused);
+    }
+
+    @Test
+    public void release_twice_isIgnored() {
+        ByteBuffer buffer = pool.acquire(1024);
+
+        assertThat(pool.release(buffer)).isTrue();
+        assertThat(pool.release(buffer)).isFalse();
+    }
+
+    @Test
+    public void release_bufferWithSameContentsFromElsewhere_isIgnored() {
+        ByteBuffer buffer = pool.acquire(4096);
+        ByteBuffer other = ByteBuffer.allocateDirect(4096);
+        other.limit(4096);
+
+        assertThat(other).isEqualTo(buffer);
+        assertThat(pool.release(other)).isFalse();
+        assertThat(pool.leasedBuffers()).isEqualTo(1);
+
+        pool.release(buffer);
+    }
+
+    @Test
+    public void release_bufferFromOtherPool_isIgnored() {
+        SdkBufferPool otherPool = SdkBufferPool.create(64 * 1024);
+        ByteBuffer buffer = otherPool.acquire(4096);
+
+        assertThat(pool.release(buffer)).isFalse();
+        assertThat(otherPool.leasedBuffers()).isEqualTo(1);
+
+        assertThat(otherPool.release(buffer)).isTrue();
+    }
+
+    @Test
+    public void releaseToOwningPool_returnsBufferToPoolItWasLeasedFrom() {
+        SdkBufferPool otherPool = SdkBufferPool.create(64 * 1024);
+        ByteBuffer buffer = otherPool.acquire(4096);
+
+        assertThat(SdkBufferPool.releaseToOwningPool(buffer)).isTrue();
+        assertThat(otherPool.leasedBuffers()).isEqualTo(0);
+        assertThat(otherPool.acquire(4096)).isSameAs(buffer);
+        assertThat(SdkBufferPool.releaseToOwningPool(buffer)).isTrue();
+
+        assertThat(SdkBufferPool.releaseToOwningPool(buffer)).isFalse();
+        assertThat(SdkBufferPool.releaseToOwningPool(ByteBuffer.allocateDirect(4096))).isFalse();
+    }
+
+    @Test
+    public void acquire_poolExhausted_fallsBackToHeapBuffer() {
+        ByteBuffer first = pool.acquire(64 * 1024);
+        ByteBuffer second = pool.acquire(64 * 1024);
+
+        assertThat(first.isDirect()).isTrue();
+        assertThat(second.isDirect()).isFalse();
+        assertThat(pool.release(second)).isFalse();
+
+        pool.release(first);
+    }
+
+    @Test
+    public void acquire_largerThanPooledSizes_fallsBackToHeapBuffer() {
+        assertThat(pool.acquire(2 * 1024 * 1024).isDirect()).isFalse();
+        assertThat(pool.pooledBytes()).isEqualTo(0);
+    }
+
+    @Test
+    public void leasedBufferNeverReleased_isForgottenOnceCollected() throws InterruptedException {
+        pool.acquire(4096);
+        assertThat(pool.pooledBytes()).isEqualTo(4096);
+
+        for (int i = 0; i < 100 && pool.leasedBuffers() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(pool.pooledBytes()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class FlatteningSubscriberTest {
+    private final List<Integer> received = new ArrayList<>();
+    private final RecordingSubscription source = new RecordingSubscription();
+    private boolean completed;
+
+    @Test
+    public void requestFromOnNext_requestsOneBatchAtATime() {
+        Subscriber<Iterable<Integer>> flattening = new FlatteningSubscriber<>(new RequestingSubscriber());
+        flattening.onSubscribe(source);
+        assertThat(source.requested).isEqualTo(1);
+
+        flattening.onNext(Arrays.asList(1, 2, 3));
+        assertThat(source.requested).isEqualTo(2);
+
+        flattening.onNext(Arrays.asList(4, 5));
+        flattening.onComplete();
+
+        assertThat(received).containsExactly(1, 2, 3, 4, 5);
+        assertThat(completed).isTrue();
+    }
+
+    @Test
+    public void batchArrivesWhileItemsAreQueued_noItemsAreLost() {
+        RequestingSubscriber downstream = new RequestingSubscriber();
+        downstream.requestOnNext = false;
+        Subscriber<Iterable<Integer>> flattening = new FlatteningSubscriber<>(downstream);
+        flattening.onSubscribe(source);
+
+        flattening.onNext(Arrays.asList(1, 2));
+        flattening.onNext(Arrays.asList(3));
+        downstream.subscription.request(3);
+        flattening.onComplete();
+
+        assertThat(received).containsExactly(1, 2, 3);
+        assertThat(completed).isTrue();
+    }
+
+    private final class RequestingSubscriber implements Subscriber<Integer> {
+        private Subscription subscription;
+        private boolean requestOnNext = true;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            received.add(item);
+            if (requestOnNext) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onComplete() {
+            assertThat(completed).isFalse();
+            completed = true;
+        }
+    }
+
+    private static final class RecordingSubscription implements Subscription {
+        private long requested;
+
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2010-2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class CacheRefreshExecutorTest {
+    private static final String THREADS_PROPERTY = "aws.cacheRefreshThreads";
+
+    @Test
+    public void configuredMaxThreads_defaultsToEight() {
+        assertThat(CacheRefreshExecutor.configuredMaxThreads()).isEqualTo(8);
+    }
+
+    @Test
+    public void configuredMaxThreads_readsSystemProperty() {
+        System.setProperty(THREADS_PROPERTY, "32");
+        try {
+            assertThat(CacheRefreshExecutor.configuredMaxThreads()).isEqualTo(32);
+        } finally {
+            System.clearProperty(THREADS_PROPERTY);
+        }
+    }
+
+    @Test
+    public void configuredMaxThreads_invalidValue_usesDefault() {
+        System.setProperty(THREADS_PROPERTY, "0");
+        try {
+            assertThat(CacheRefreshExecutor.configuredMaxThreads()).isEqualTo(8);
+            System.setProperty(THREADS_PROPERTY, "many");
+            assertThat(CacheRefreshExecutor.configuredMaxThreads()).isEqualTo(8);
+        } finally {
+            System.clearProperty(THREADS_PROPERTY);
+        }
+    }
+}
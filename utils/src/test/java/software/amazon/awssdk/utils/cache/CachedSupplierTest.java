@@ -19,15 +19,20 @@ import static org.junit.Assert.fail;
 import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 
 import java.io.Closeable;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import org.junit.After;
 import org.junit.Assert;
@@ -238,6 +243,230 @@ public class CachedSupplierTest {
         }
     }
 
+    @Test
+    public void getAsyncBeforeInitializationDoesNotBlockCaller() {
+        try (WaitingSupplier waitingSupplier = new WaitingSupplier(future(), future())) {
+            CachedSupplier<String> cachedSupplier = CachedSupplier.builder(waitingSupplier).build();
+
+            // Perform two async "gets" on this thread, which would block if the value was refreshed on it.
+            CompletableFuture<String> firstGet = cachedSupplier.getAsync(executorService);
+            CompletableFuture<String> secondGet = cachedSupplier.getAsync(executorService);
+            waitingSupplier.waitForGetsToHaveStarted(1);
+            Assert.assertFalse(firstGet.isDone());
+            Assert.assertFalse(secondGet.isDone());
+
+            // Release the refresh, and make sure both "gets" share it.
+            waitingSupplier.permits.release(50);
+            Assert.assertEquals("value", waitFor(firstGet));
+            Assert.assertEquals("value", waitFor(secondGet));
+            waitingSupplier.waitForGetsToHaveFinished(1);
+            Assert.assertFalse(waitingSupplier.startedGetPermits.tryAcquire());
+        }
+    }
+
+    @Test
+    public void getAsyncOfCachedValueIsAlreadyCompleted() {
+        try (WaitingSupplier waitingSupplier = new WaitingSupplier(future(), future())) {
+            CachedSupplier<String> cachedSupplier = CachedSupplier.builder(waitingSupplier).build();
+
+            // Prime the cache.
+            waitingSupplier.permits.release(1);
+            waitFor(cachedSupplier.getAsync(executorService));
+
+            CompletableFuture<String> get = cachedSupplier.getAsync(executorService);
+            Assert.assertTrue(get.isDone());
+            Assert.assertEquals("value", get.join());
+            waitingSupplier.waitForGetsToHaveFinished(1);
+        }
+    }
+
+    @Test
+    public void getAsyncPrefetchesInBackground() {
+        try (WaitingSupplier waitingSupplier = new WaitingSupplier(future(), past())) {
+            CachedSupplier<String> cachedSupplier = CachedSupplier.builder(waitingSupplier)
+                                                                  .prefetchStrategy(new OneCallerBlocks())
+                                                                  .build();
+
+            // Prime the cache.
+            waitingSupplier.permits.release(1);
+            waitFor(cachedSupplier.getAsync(executorService));
+
+            // The prefetch time has passed, but the cached value is returned right away while it's refreshed in the background.
+            Assert.assertTrue(cachedSupplier.getAsync(executorService).isDone());
+            Assert.assertTrue(cachedSupplier.getAsync(executorService).isDone());
+            waitingSupplier.waitForGetsToHaveStarted(2);
+
+            // Make sure only one background refresh was started.
+            waitingSupplier.permits.release(50);
+            waitingSupplier.waitForGetsToHaveFinished(2);
+            Assert.assertFalse(waitingSupplier.startedGetPermits.tryAcquire());
+        }
+    }
+
+    @Test
+    public void getAsyncFailsWhenRefreshFails() {
+        CachedSupplier<String> failingSupplier = CachedSupplier.<String>builder(() -> {
+            throw new IllegalStateException("failed");
+        }).build();
+
+        try {
+            failingSupplier.getAsync(executorService).get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        } catch (InterruptedException | TimeoutException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    public void manyNonBlockingPrefetchStrategiesShareTheRefreshExecutor() {
+        AtomicInteger refreshes = new AtomicInteger(0);
+        List<CachedSupplier<Integer>> cachedSuppliers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            cachedSuppliers.add(CachedSupplier.builder(() -> RefreshResult.builder(refreshes.incrementAndGet())
+                                                                          .staleTime(future())
+                                                                          .prefetchTime(past())
+                                                                          .build())
+                                              .prefetchStrategy(new NonBlocking("test-" + i))
+                                              .build());
+        }
+
+        try {
+            // Prime each cache, then kick off a background refresh of each cache.
+            cachedSuppliers.forEach(CachedSupplier::get);
+            cachedSuppliers.forEach(CachedSupplier::get);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (refreshes.get() < 200 && System.nanoTime() < deadline) {
+                invokeSafely(() -> Thread.sleep(10));
+            }
+            Assert.assertEquals(200, refreshes.get());
+        } finally {
+            cachedSuppliers.forEach(CachedSupplier::close);
+        }
+    }
+
+    @Test
+    public void nonBlockingPrefetchAheadOfTimeUpdatesWithoutRetrieval() {
+        AtomicInteger refreshes = new AtomicInteger(0);
+        CachedSupplier<Integer> cachedSupplier =
+            CachedSupplier.builder(() -> RefreshResult.builder(refreshes.incrementAndGet())
+                                                      .prefetchTime(Instant.now().plusMillis(100))
+                                                      .build())
+                          .prefetchStrategy(new NonBlocking("test-prefetch-ahead", true))
+                          .build();
+
+        try {
+            Assert.assertEquals(1, (int) cachedSupplier.get());
+
+            // The value is updated at each prefetch time, without being retrieved.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (refreshes.get() < 3 && System.nanoTime() < deadline) {
+                invokeSafely(() -> Thread.sleep(10));
+            }
+            Assert.assertTrue(refreshes.get() >= 3);
+        } finally {
+            cachedSupplier.close();
+        }
+
+        // Closing the cache stops the updates.
+        invokeSafely(() -> Thread.sleep(200));
+        int refreshesAfterClose = refreshes.get();
+        invokeSafely(() -> Thread.sleep(300));
+        Assert.assertEquals(refreshesAfterClose, refreshes.get());
+    }
+
+    @Test
+    public void nonBlockingPrefetchAheadOfTimeStopsOnceUnclosedCacheIsCollected() {
+        AtomicInteger refreshes = new AtomicInteger(0);
+        createUnreferencedPrefetchingCache(refreshes);
+
+        // Keep collecting until the scheduled updates find the cache collected and stop.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int refreshesBefore;
+        do {
+            refreshesBefore = refreshes.get();
+            System.gc();
+            invokeSafely(() -> Thread.sleep(300));
+        } while (refreshes.get() != refreshesBefore && System.nanoTime() < deadline);
+
+        Assert.assertEquals(refreshesBefore, refreshes.get());
+    }
+
+    private static void createUnreferencedPrefetchingCache(AtomicInteger refreshes) {
+        CachedSupplier<Integer> cachedSupplier =
+            CachedSupplier.builder(() -> RefreshResult.builder(refreshes.incrementAndGet())
+                                                      .prefetchTime(Instant.now().plusMillis(100))
+                                                      .build())
+                          .prefetchStrategy(new NonBlocking("test-prefetch-unreferenced", true))
+                          .build();
+        Assert.assertEquals(1, (int) cachedSupplier.get());
+    }
+
+    @Test
+    public void refreshStatisticsCountRefreshesAndFailures() {
+        AtomicInteger calls = new AtomicInteger(0);
+        CachedSupplier<String> cachedSupplier = CachedSupplier.<String>builder(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("failed");
+            }
+            return RefreshResult.builder("value").staleTime(past()).build();
+        }).build();
+
+        try {
+            cachedSupplier.get();
+            fail();
+        } catch (IllegalStateException e) {
+            // Expected.
+        }
+        cachedSupplier.get();
+        cachedSupplier.get();
+
+        CacheRefreshStatistics statistics = cachedSupplier.refreshStatistics();
+        Assert.assertEquals(3, statistics.refreshCount());
+        Assert.assertEquals(1, statistics.refreshFailureCount());
+        Assert.assertTrue(statistics.maxRefreshTime().compareTo(statistics.totalRefreshTime()) <= 0);
+        Assert.assertTrue(CachedSupplier.aggregateRefreshStatistics().refreshCount() >= 3);
+    }
+
+    @Test
+    public void prefetchTimeIsJitteredWithinFirstHalfOfPrefetchWindow() {
+        Instant prefetchTime = Instant.now().plus(Duration.ofMinutes(1));
+        Instant staleTime = prefetchTime.plus(Duration.ofMinutes(10));
+
+        for (int i = 0; i < 100; i++) {
+            RefreshResult<String> jittered = CachedSupplier.jitterPrefetchTime(RefreshResult.builder("value")
+                                                                                            .staleTime(staleTime)
+                                                                                            .prefetchTime(prefetchTime)
+                                                                                            .build());
+            Assert.assertEquals("value", jittered.value());
+            Assert.assertEquals(staleTime, jittered.staleTime());
+            Assert.assertFalse(jittered.prefetchTime().isBefore(prefetchTime));
+            Assert.assertTrue(jittered.prefetchTime().isBefore(prefetchTime.plus(Duration.ofMinutes(5))));
+        }
+    }
+
+    @Test
+    public void passedPrefetchTimeIsNotJittered() {
+        Instant prefetchTime = Instant.now().minus(Duration.ofSeconds(1));
+        Instant staleTime = prefetchTime.plus(Duration.ofMinutes(10));
+        RefreshResult<String> jittered = CachedSupplier.jitterPrefetchTime(RefreshResult.builder("value")
+                                                                                        .staleTime(staleTime)
+                                                                                        .prefetchTime(prefetchTime)
+                                                                                        .build());
+        Assert.assertEquals(prefetchTime, jittered.prefetchTime());
+    }
+
+    @Test
+    public void prefetchTimeIsNotJitteredWithoutStaleTime() {
+        Instant prefetchTime = Instant.now();
+        RefreshResult<String> jittered = CachedSupplier.jitterPrefetchTime(RefreshResult.builder("value")
+                                                                                        .prefetchTime(prefetchTime)
+                                                                                        .build());
+        Assert.assertEquals(prefetchTime, jittered.prefetchTime());
+    }
+
     /**
      * Asynchronously perform a "get" on the provided supplier, returning the future that will be completed when the "get"
      * finishes.
@@ -262,8 +491,8 @@ public class CachedSupplierTest {
     /**
      * Wait for the provided future to complete, failing the test if it does not.
      */
-    private void waitFor(Future<?> future) {
-        invokeSafely(() -> future.get(10, TimeUnit.SECONDS));
+    private <T> T waitFor(Future<T> future) {
+        return invokeSafely(() -> future.get(10, TimeUnit.SECONDS));
     }
 
     /**